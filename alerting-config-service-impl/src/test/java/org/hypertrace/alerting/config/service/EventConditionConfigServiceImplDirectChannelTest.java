@@ -0,0 +1,12 @@
+package org.hypertrace.alerting.config.service;
+
+import io.grpc.Channel;
+
+/** Runs the service tests with the config service called directly rather than in process. */
+class EventConditionConfigServiceImplDirectChannelTest extends EventConditionConfigServiceImplTest {
+
+  @Override
+  Channel buildConfigChannel() {
+    return this.mockGenericConfigService.directChannel();
+  }
+}
@@ -5,6 +5,7 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertIterableEquals;
 import static org.mockito.Mockito.mock;
 
+import io.grpc.Channel;
 import java.util.List;
 import org.hypertrace.alerting.config.service.v1.Attribute;
 import org.hypertrace.alerting.config.service.v1.BaselineThresholdCondition;
@@ -46,13 +47,17 @@ public class EventConditionConfigServiceImplTest {
     this.mockGenericConfigService
         .addService(
             new EventConditionConfigServiceImpl(
-                this.mockGenericConfigService.channel(), configChangeEventGenerator))
+                this.buildConfigChannel(), configChangeEventGenerator))
         .start();
 
     this.eventConditionsStub =
         EventConditionConfigServiceGrpc.newBlockingStub(this.mockGenericConfigService.channel());
   }
 
+  Channel buildConfigChannel() {
+    return this.mockGenericConfigService.channel();
+  }
+
   @AfterEach
   void afterEach() {
     this.mockGenericConfigService.shutdown();
@@ -11,6 +11,8 @@ dependencies {
   api(commonLibs.hypertrace.grpcutils.context)
 
   implementation(projects.configServiceChangeEventGenerator)
+  implementation(commonLibs.guava)
+  implementation(commonLibs.hypertrace.framework.metrics.jakarta)
   implementation(commonLibs.slf4j2.api)
 
   annotationProcessor(commonLibs.lombok)
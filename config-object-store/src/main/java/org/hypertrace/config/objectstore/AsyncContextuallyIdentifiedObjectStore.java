@@ -0,0 +1,163 @@
+package org.hypertrace.config.objectstore;
+
+import com.google.protobuf.Value;
+import io.grpc.Deadline;
+import io.grpc.Status;
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import org.hypertrace.config.service.change.event.api.ConfigChangeEventGenerator;
+import org.hypertrace.config.service.v1.ConfigServiceGrpc.ConfigServiceFutureStub;
+import org.hypertrace.config.service.v1.DeleteConfigRequest;
+import org.hypertrace.config.service.v1.GetConfigRequest;
+import org.hypertrace.config.service.v1.UpsertConfigRequest;
+import org.hypertrace.core.grpcutils.context.RequestContext;
+
+/**
+ * Non-blocking counterpart of {@link ContextuallyIdentifiedObjectStore}, built on the future stub.
+ * Of {@link ClientConfig}, only the timeouts are supported.
+ */
+public abstract class AsyncContextuallyIdentifiedObjectStore<T> {
+  private static final ChangeEventValueOverrides CHANGE_EVENT_VALUE_OVERRIDES =
+      new ChangeEventValueOverrides(AsyncContextuallyIdentifiedObjectStore.class);
+
+  private final ConfigServiceFutureStub configServiceFutureStub;
+  private final String resourceNamespace;
+  private final String resourceName;
+  private final ClientConfig clientConfig;
+  private final IdentifiedResultProcessor<T> resultProcessor;
+
+  protected AsyncContextuallyIdentifiedObjectStore(
+      ConfigServiceFutureStub configServiceFutureStub,
+      String resourceNamespace,
+      String resourceName,
+      ConfigChangeEventGenerator configChangeEventGenerator) {
+    this(
+        configServiceFutureStub,
+        resourceNamespace,
+        resourceName,
+        configChangeEventGenerator,
+        ClientConfig.DEFAULT);
+  }
+
+  protected AsyncContextuallyIdentifiedObjectStore(
+      ConfigServiceFutureStub configServiceFutureStub,
+      String resourceNamespace,
+      String resourceName,
+      ConfigChangeEventGenerator configChangeEventGenerator,
+      ClientConfig clientConfig) {
+    this.configServiceFutureStub = configServiceFutureStub;
+    this.resourceNamespace = resourceNamespace;
+    this.resourceName = resourceName;
+    this.clientConfig = clientConfig;
+    // Only single objects are read, so their order and parallel decoding don't apply
+    this.resultProcessor =
+        new IdentifiedResultProcessor<>(
+            new ObjectConversions<>(
+                this::buildDataFromValue,
+                this::buildValueForChangeEvent,
+                this::isChangeEventValueOverridden,
+                this::buildClassNameForChangeEvent),
+            UnaryOperator.identity(),
+            Optional.ofNullable(configChangeEventGenerator),
+            Optional.empty());
+  }
+
+  protected AsyncContextuallyIdentifiedObjectStore(
+      ConfigServiceFutureStub configServiceFutureStub,
+      String resourceNamespace,
+      String resourceName) {
+    this(configServiceFutureStub, resourceNamespace, resourceName, null);
+  }
+
+  protected abstract Optional<T> buildDataFromValue(Value value);
+
+  protected abstract Value buildValueFromData(T data);
+
+  protected Value buildValueForChangeEvent(T data) {
+    return this.buildValueFromData(data);
+  }
+
+  boolean isChangeEventValueOverridden() {
+    return CHANGE_EVENT_VALUE_OVERRIDES.isOverridden(this.getClass());
+  }
+
+  protected String buildClassNameForChangeEvent(T data) {
+    return data.getClass().getName();
+  }
+
+  protected abstract String getConfigContextFromRequestContext(RequestContext requestContext);
+
+  public CompletionStage<Optional<ConfigObject<T>>> getObject(RequestContext context) {
+    String configContext = this.getConfigContextFromRequestContext(context);
+    return FutureStubCalls.recoverNotFound(
+        FutureStubCalls.call(
+                context,
+                () ->
+                    this.configServiceFutureStub
+                        .withDeadline(getDeadline(ConfigServiceMethod.GET_CONFIG))
+                        .getConfig(
+                            GetConfigRequest.newBuilder()
+                                .setResourceName(this.resourceName)
+                                .setResourceNamespace(this.resourceNamespace)
+                                .addContexts(configContext)
+                                .build()))
+            .thenApply(
+                response ->
+                    this.resultProcessor
+                        .buildFetchedObject(configContext, response)
+                        .<ConfigObject<T>>map(Function.identity())));
+  }
+
+  public CompletionStage<Optional<T>> getData(RequestContext context) {
+    return this.getObject(context).thenApply(object -> object.map(ConfigObject::getData));
+  }
+
+  public CompletionStage<ConfigObject<T>> upsertObject(RequestContext context, T data) {
+    String configContext = this.getConfigContextFromRequestContext(context);
+    UpsertConfigRequest request =
+        UpsertConfigRequest.newBuilder()
+            .setResourceName(this.resourceName)
+            .setResourceNamespace(this.resourceNamespace)
+            .setContext(configContext)
+            .setConfig(this.buildValueFromData(data))
+            .build();
+    return FutureStubCalls.call(
+            context,
+            () ->
+                this.configServiceFutureStub
+                    .withDeadline(getDeadline(ConfigServiceMethod.UPSERT_CONFIG))
+                    .upsertConfig(request))
+        .<ConfigObject<T>>thenApply(
+            response ->
+                this.resultProcessor
+                    .processUpsertResult(context, response, upsertedData -> configContext)
+                    .orElseThrow(Status.INTERNAL::asRuntimeException));
+  }
+
+  public CompletionStage<Optional<DeletedConfigObject<T>>> deleteObject(RequestContext context) {
+    return FutureStubCalls.recoverNotFound(
+        FutureStubCalls.call(
+                context,
+                () ->
+                    this.configServiceFutureStub
+                        .withDeadline(getDeadline(ConfigServiceMethod.DELETE_CONFIG))
+                        .deleteConfig(
+                            DeleteConfigRequest.newBuilder()
+                                .setResourceName(this.resourceName)
+                                .setResourceNamespace(this.resourceNamespace)
+                                .setContext(this.getConfigContextFromRequestContext(context))
+                                .build()))
+            .thenApply(
+                response ->
+                    Optional.<DeletedConfigObject<T>>of(
+                        this.resultProcessor.processDeleteResult(
+                            context, response.getDeletedConfig()))));
+  }
+
+  private Deadline getDeadline(ConfigServiceMethod method) {
+    return Deadline.after(this.clientConfig.getTimeout(method).toMillis(), TimeUnit.MILLISECONDS);
+  }
+}
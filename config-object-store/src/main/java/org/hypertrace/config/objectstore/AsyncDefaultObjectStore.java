@@ -0,0 +1,160 @@
+package org.hypertrace.config.objectstore;
+
+import com.google.protobuf.Value;
+import io.grpc.Deadline;
+import io.grpc.Status;
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import org.hypertrace.config.service.change.event.api.ConfigChangeEventGenerator;
+import org.hypertrace.config.service.v1.ConfigServiceGrpc.ConfigServiceFutureStub;
+import org.hypertrace.config.service.v1.DeleteConfigRequest;
+import org.hypertrace.config.service.v1.GetConfigRequest;
+import org.hypertrace.config.service.v1.GetConfigResponse;
+import org.hypertrace.config.service.v1.UpsertConfigRequest;
+import org.hypertrace.core.grpcutils.context.RequestContext;
+
+/**
+ * AsyncDefaultObjectStore is the non-blocking counterpart of {@link DefaultObjectStore}, built on
+ * the future stub. Decoding and change events behave as in the blocking store. Of {@link
+ * ClientConfig}, only the timeouts are supported.
+ *
+ * @param <T>
+ */
+public abstract class AsyncDefaultObjectStore<T> {
+  private static final ChangeEventValueOverrides CHANGE_EVENT_VALUE_OVERRIDES =
+      new ChangeEventValueOverrides(AsyncDefaultObjectStore.class);
+
+  private final ConfigServiceFutureStub configServiceFutureStub;
+  private final String resourceNamespace;
+  private final String resourceName;
+  private final ClientConfig clientConfig;
+  private final DefaultResultProcessor<T> resultProcessor;
+
+  protected AsyncDefaultObjectStore(
+      ConfigServiceFutureStub configServiceFutureStub,
+      String resourceNamespace,
+      String resourceName,
+      ConfigChangeEventGenerator configChangeEventGenerator,
+      ClientConfig clientConfig) {
+    this.configServiceFutureStub = configServiceFutureStub;
+    this.resourceNamespace = resourceNamespace;
+    this.resourceName = resourceName;
+    this.clientConfig = clientConfig;
+    this.resultProcessor =
+        new DefaultResultProcessor<>(
+            new ObjectConversions<>(
+                this::buildDataFromValue,
+                this::buildValueForChangeEvent,
+                this::isChangeEventValueOverridden,
+                this::buildClassNameForChangeEvent),
+            Optional.ofNullable(configChangeEventGenerator));
+  }
+
+  protected AsyncDefaultObjectStore(
+      ConfigServiceFutureStub configServiceFutureStub,
+      String resourceNamespace,
+      String resourceName,
+      ConfigChangeEventGenerator configChangeEventGenerator) {
+    this(
+        configServiceFutureStub,
+        resourceNamespace,
+        resourceName,
+        configChangeEventGenerator,
+        ClientConfig.DEFAULT);
+  }
+
+  protected AsyncDefaultObjectStore(
+      ConfigServiceFutureStub configServiceFutureStub,
+      String resourceNamespace,
+      String resourceName) {
+    this(configServiceFutureStub, resourceNamespace, resourceName, null);
+  }
+
+  protected abstract Optional<T> buildDataFromValue(Value value);
+
+  protected abstract Value buildValueFromData(T data);
+
+  protected Value buildValueForChangeEvent(T data) {
+    return this.buildValueFromData(data);
+  }
+
+  boolean isChangeEventValueOverridden() {
+    return CHANGE_EVENT_VALUE_OVERRIDES.isOverridden(this.getClass());
+  }
+
+  protected String buildClassNameForChangeEvent(T data) {
+    return data.getClass().getName();
+  }
+
+  public CompletionStage<Optional<ConfigObject<T>>> getObject(RequestContext context) {
+    return FutureStubCalls.recoverNotFound(
+        this.getConfig(context).thenApply(this.resultProcessor::buildFetchedObject));
+  }
+
+  public CompletionStage<Optional<T>> getData(RequestContext context) {
+    return FutureStubCalls.recoverNotFound(
+        this.getConfig(context)
+            .thenApply(
+                response ->
+                    Optional.of(
+                        this.buildDataFromValue(response.getConfig())
+                            .orElseThrow(Status.INTERNAL::asRuntimeException))));
+  }
+
+  public CompletionStage<ConfigObject<T>> upsertObject(RequestContext context, T data) {
+    UpsertConfigRequest request =
+        UpsertConfigRequest.newBuilder()
+            .setResourceName(this.resourceName)
+            .setResourceNamespace(this.resourceNamespace)
+            .setConfig(this.buildValueFromData(data))
+            .build();
+    return FutureStubCalls.call(
+            context,
+            () ->
+                this.configServiceFutureStub
+                    .withDeadline(getDeadline(ConfigServiceMethod.UPSERT_CONFIG))
+                    .upsertConfig(request))
+        .thenApply(response -> this.resultProcessor.processUpsertResult(context, response));
+  }
+
+  public CompletionStage<Optional<ConfigObject<T>>> deleteObject(RequestContext context) {
+    return FutureStubCalls.recoverNotFound(
+        FutureStubCalls.call(
+                context,
+                () ->
+                    this.configServiceFutureStub
+                        .withDeadline(getDeadline(ConfigServiceMethod.DELETE_CONFIG))
+                        .deleteConfig(
+                            DeleteConfigRequest.newBuilder()
+                                .setResourceName(this.resourceName)
+                                .setResourceNamespace(this.resourceNamespace)
+                                .build()))
+            .thenApply(
+                response ->
+                    Optional.of(
+                        this.resultProcessor.processDeleteResult(
+                            context, response.getDeletedConfig()))));
+  }
+
+  protected Deadline getDeadline() {
+    return Deadline.after(this.clientConfig.getTimeout().toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  protected Deadline getDeadline(ConfigServiceMethod method) {
+    return Deadline.after(this.clientConfig.getTimeout(method).toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  private CompletionStage<GetConfigResponse> getConfig(RequestContext context) {
+    return FutureStubCalls.call(
+        context,
+        () ->
+            this.configServiceFutureStub
+                .withDeadline(getDeadline(ConfigServiceMethod.GET_CONFIG))
+                .getConfig(
+                    GetConfigRequest.newBuilder()
+                        .setResourceName(this.resourceName)
+                        .setResourceNamespace(this.resourceNamespace)
+                        .build()));
+  }
+}
@@ -0,0 +1,103 @@
+package org.hypertrace.config.objectstore;
+
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.stream.Collectors;
+import javax.annotation.Nullable;
+import org.hypertrace.config.service.change.event.api.ConfigChangeEventGenerator;
+import org.hypertrace.config.service.v1.ConfigServiceGrpc.ConfigServiceFutureStub;
+import org.hypertrace.config.service.v1.Filter;
+import org.hypertrace.config.service.v1.Pagination;
+import org.hypertrace.config.service.v1.SortBy;
+import org.hypertrace.core.grpcutils.context.RequestContext;
+
+/**
+ * Non-blocking counterpart of {@link IdentifiedFilterPushedDownObjectStore}, built on the future
+ * stub.
+ */
+public abstract class AsyncIdentifiedFilterPushedDownObjectStore<T, F, S>
+    extends AsyncIdentifiedObjectStore<T> {
+
+  private final ConfigServiceFutureStub configServiceFutureStub;
+  private final String resourceNamespace;
+  private final String resourceName;
+
+  protected AsyncIdentifiedFilterPushedDownObjectStore(
+      ConfigServiceFutureStub configServiceFutureStub,
+      String resourceNamespace,
+      String resourceName,
+      ConfigChangeEventGenerator configChangeEventGenerator,
+      ClientConfig clientConfig) {
+    super(
+        configServiceFutureStub,
+        resourceNamespace,
+        resourceName,
+        configChangeEventGenerator,
+        clientConfig);
+    this.configServiceFutureStub = configServiceFutureStub;
+    this.resourceNamespace = resourceNamespace;
+    this.resourceName = resourceName;
+  }
+
+  public CompletionStage<List<ContextualConfigObject<T>>> getMatchingObjects(
+      RequestContext context, F filterInput, List<S> sortInput, @Nullable Pagination pagination) {
+    return getMatchingObjects(context, filterInput, sortInput, pagination, false)
+        .thenApply(ConfigsResponse::getContextualConfigObjects);
+  }
+
+  public CompletionStage<List<ContextualConfigObject<T>>> getMatchingObjects(
+      RequestContext context, F filterInput, List<S> sortInput) {
+    return getMatchingObjects(context, filterInput, sortInput, null);
+  }
+
+  public CompletionStage<List<T>> getMatchingData(
+      RequestContext context, F filterInput, List<S> sortInput, @Nullable Pagination pagination) {
+    return getMatchingObjects(context, filterInput, sortInput, pagination)
+        .thenApply(
+            objects ->
+                objects.stream()
+                    .map(ConfigObject::getData)
+                    .collect(Collectors.toUnmodifiableList()));
+  }
+
+  public CompletionStage<ConfigsResponse<ContextualConfigObject<T>>>
+      getMatchingObjectsWithTotalCount(
+          RequestContext context,
+          F filterInput,
+          List<S> sortInput,
+          @Nullable Pagination pagination) {
+    return getMatchingObjects(context, filterInput, sortInput, pagination, true);
+  }
+
+  private CompletionStage<ConfigsResponse<ContextualConfigObject<T>>> getMatchingObjects(
+      RequestContext context,
+      F filterInput,
+      List<S> sortInput,
+      Pagination pagination,
+      boolean totalIncluded) {
+    Filter filter = buildFilter(filterInput);
+    List<SortBy> sortByList = sortInput.stream().map(this::buildSort).collect(Collectors.toList());
+    return FutureStubCalls.call(
+            context,
+            () ->
+                this.configServiceFutureStub
+                    .withDeadline(getDeadline(ConfigServiceMethod.GET_ALL_CONFIGS))
+                    .getAllConfigs(
+                        IdentifiedFilterPushedDownObjectStore.buildGetAllConfigsRequest(
+                            this.resourceNamespace,
+                            this.resourceName,
+                            filter,
+                            sortByList,
+                            pagination,
+                            totalIncluded)))
+        .thenApplyAsync(
+            response ->
+                new ConfigsResponseImpl<>(
+                    this.buildFetchedObjects(response), response.getTotalCount()),
+            this.getResultExecutor());
+  }
+
+  protected abstract SortBy buildSort(S sortInput);
+
+  protected abstract Filter buildFilter(F filterInput);
+}
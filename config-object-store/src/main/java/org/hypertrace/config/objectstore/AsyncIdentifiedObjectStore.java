@@ -0,0 +1,278 @@
+package org.hypertrace.config.objectstore;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.protobuf.Value;
+import io.grpc.Deadline;
+import io.grpc.Status;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.hypertrace.config.service.change.event.api.ConfigChangeEventGenerator;
+import org.hypertrace.config.service.v1.ConfigServiceGrpc.ConfigServiceFutureStub;
+import org.hypertrace.config.service.v1.DeleteConfigRequest;
+import org.hypertrace.config.service.v1.DeleteConfigsRequest;
+import org.hypertrace.config.service.v1.DeleteConfigsRequest.ConfigToDelete;
+import org.hypertrace.config.service.v1.GetAllConfigsRequest;
+import org.hypertrace.config.service.v1.GetAllConfigsResponse;
+import org.hypertrace.config.service.v1.GetConfigRequest;
+import org.hypertrace.config.service.v1.UpsertAllConfigsRequest;
+import org.hypertrace.config.service.v1.UpsertAllConfigsRequest.ConfigToUpsert;
+import org.hypertrace.config.service.v1.UpsertConfigRequest;
+import org.hypertrace.core.grpcutils.context.RequestContext;
+
+/**
+ * AsyncIdentifiedObjectStore is the non-blocking counterpart of {@link IdentifiedObjectStore},
+ * built on the future stub. Decoding, ordering and change events behave as in the blocking store.
+ * Of {@link ClientConfig}, only the timeouts, parallel decoding and the result executor are
+ * supported. Responses are decoded, and their change events generated, on the result executor, so
+ * that the grpc callback threads are never blocked by them.
+ *
+ * @param <T>
+ */
+public abstract class AsyncIdentifiedObjectStore<T> {
+  private static final ChangeEventValueOverrides CHANGE_EVENT_VALUE_OVERRIDES =
+      new ChangeEventValueOverrides(AsyncIdentifiedObjectStore.class);
+  private static final Executor DEFAULT_RESULT_EXECUTOR =
+      Executors.newFixedThreadPool(
+          Runtime.getRuntime().availableProcessors(),
+          new ThreadFactoryBuilder()
+              .setNameFormat("config-object-store-result-%d")
+              .setDaemon(true)
+              .build());
+
+  private final ConfigServiceFutureStub configServiceFutureStub;
+  private final String resourceNamespace;
+  private final String resourceName;
+  private final ClientConfig clientConfig;
+  private final IdentifiedResultProcessor<T> resultProcessor;
+  private final Executor resultExecutor;
+
+  protected AsyncIdentifiedObjectStore(
+      ConfigServiceFutureStub configServiceFutureStub,
+      String resourceNamespace,
+      String resourceName,
+      ConfigChangeEventGenerator configChangeEventGenerator,
+      ClientConfig clientConfig) {
+    this.configServiceFutureStub = configServiceFutureStub;
+    this.resourceNamespace = resourceNamespace;
+    this.resourceName = resourceName;
+    this.clientConfig = clientConfig;
+    this.resultProcessor =
+        new IdentifiedResultProcessor<>(
+            new ObjectConversions<>(
+                this::buildDataFromValue,
+                this::buildValueForChangeEvent,
+                this::isChangeEventValueOverridden,
+                this::buildClassNameForChangeEvent),
+            this::orderFetchedObjects,
+            Optional.ofNullable(configChangeEventGenerator),
+            clientConfig.getParallelDecodeConfig());
+    this.resultExecutor = clientConfig.getResultExecutor().orElse(DEFAULT_RESULT_EXECUTOR);
+  }
+
+  protected AsyncIdentifiedObjectStore(
+      ConfigServiceFutureStub configServiceFutureStub,
+      String resourceNamespace,
+      String resourceName,
+      ConfigChangeEventGenerator configChangeEventGenerator) {
+    this(
+        configServiceFutureStub,
+        resourceNamespace,
+        resourceName,
+        configChangeEventGenerator,
+        ClientConfig.DEFAULT);
+  }
+
+  protected AsyncIdentifiedObjectStore(
+      ConfigServiceFutureStub configServiceFutureStub,
+      String resourceNamespace,
+      String resourceName) {
+    this(configServiceFutureStub, resourceNamespace, resourceName, null);
+  }
+
+  protected abstract Optional<T> buildDataFromValue(Value value);
+
+  protected abstract Value buildValueFromData(T data);
+
+  protected abstract String getContextFromData(T data);
+
+  protected Value buildValueForChangeEvent(T data) {
+    return this.buildValueFromData(data);
+  }
+
+  boolean isChangeEventValueOverridden() {
+    return CHANGE_EVENT_VALUE_OVERRIDES.isOverridden(this.getClass());
+  }
+
+  protected String buildClassNameForChangeEvent(T data) {
+    return data.getClass().getName();
+  }
+
+  protected List<ContextualConfigObject<T>> orderFetchedObjects(
+      List<ContextualConfigObject<T>> objects) {
+    return objects;
+  }
+
+  public CompletionStage<List<ContextualConfigObject<T>>> getAllObjects(RequestContext context) {
+    return FutureStubCalls.call(
+            context,
+            () ->
+                this.configServiceFutureStub
+                    .withDeadline(getDeadline(ConfigServiceMethod.GET_ALL_CONFIGS))
+                    .getAllConfigs(
+                        GetAllConfigsRequest.newBuilder()
+                            .setResourceName(this.resourceName)
+                            .setResourceNamespace(this.resourceNamespace)
+                            .build()))
+        .thenApplyAsync(this::buildFetchedObjects, this.resultExecutor);
+  }
+
+  public CompletionStage<List<T>> getAllConfigData(RequestContext context) {
+    return getAllObjects(context)
+        .thenApply(
+            objects ->
+                objects.stream()
+                    .map(ConfigObject::getData)
+                    .collect(Collectors.toUnmodifiableList()));
+  }
+
+  public CompletionStage<Optional<ContextualConfigObject<T>>> getObject(
+      RequestContext context, String id) {
+    return FutureStubCalls.recoverNotFound(
+        FutureStubCalls.call(
+                context,
+                () ->
+                    this.configServiceFutureStub
+                        .withDeadline(getDeadline(ConfigServiceMethod.GET_CONFIG))
+                        .getConfig(
+                            GetConfigRequest.newBuilder()
+                                .setResourceName(this.resourceName)
+                                .setResourceNamespace(this.resourceNamespace)
+                                .addContexts(id)
+                                .build()))
+            .thenApplyAsync(
+                response -> this.resultProcessor.buildFetchedObject(id, response),
+                this.resultExecutor));
+  }
+
+  public CompletionStage<Optional<T>> getData(RequestContext context, String id) {
+    return getObject(context, id).thenApply(object -> object.map(ConfigObject::getData));
+  }
+
+  public CompletionStage<ContextualConfigObject<T>> upsertObject(RequestContext context, T data) {
+    UpsertConfigRequest request =
+        UpsertConfigRequest.newBuilder()
+            .setResourceName(this.resourceName)
+            .setResourceNamespace(this.resourceNamespace)
+            .setContext(this.getContextFromData(data))
+            .setConfig(this.buildValueFromData(data))
+            .build();
+    return FutureStubCalls.call(
+            context,
+            () ->
+                this.configServiceFutureStub
+                    .withDeadline(getDeadline(ConfigServiceMethod.UPSERT_CONFIG))
+                    .upsertConfig(request))
+        .thenApplyAsync(
+            response ->
+                this.resultProcessor
+                    .processUpsertResult(context, response, this::getContextFromData)
+                    .orElseThrow(Status.INTERNAL::asRuntimeException),
+            this.resultExecutor);
+  }
+
+  public CompletionStage<Optional<DeletedContextualConfigObject<T>>> deleteObject(
+      RequestContext requestContext, String context) {
+    return FutureStubCalls.recoverNotFound(
+        FutureStubCalls.call(
+                requestContext,
+                () ->
+                    this.configServiceFutureStub
+                        .withDeadline(getDeadline(ConfigServiceMethod.DELETE_CONFIG))
+                        .deleteConfig(
+                            DeleteConfigRequest.newBuilder()
+                                .setResourceName(this.resourceName)
+                                .setResourceNamespace(this.resourceNamespace)
+                                .setContext(context)
+                                .build()))
+            .thenApplyAsync(
+                response ->
+                    Optional.of(
+                        this.resultProcessor.processDeleteResult(
+                            requestContext, response.getDeletedConfig())),
+                this.resultExecutor));
+  }
+
+  public CompletionStage<List<ContextualConfigObject<T>>> upsertObjects(
+      RequestContext context, List<T> data) {
+    List<ConfigToUpsert> configs =
+        data.stream()
+            .map(
+                singleData ->
+                    ConfigToUpsert.newBuilder()
+                        .setResourceName(this.resourceName)
+                        .setResourceNamespace(this.resourceNamespace)
+                        .setContext(this.getContextFromData(singleData))
+                        .setConfig(this.buildValueFromData(singleData))
+                        .build())
+            .collect(Collectors.toUnmodifiableList());
+    return FutureStubCalls.call(
+            context,
+            () ->
+                this.configServiceFutureStub
+                    .withDeadline(getDeadline(ConfigServiceMethod.UPSERT_ALL_CONFIGS))
+                    .upsertAllConfigs(
+                        UpsertAllConfigsRequest.newBuilder().addAllConfigs(configs).build()))
+        .thenApplyAsync(
+            response ->
+                this.resultProcessor.processUpsertResults(
+                    context, response.getUpsertedConfigsList()),
+            this.resultExecutor);
+  }
+
+  public CompletionStage<List<DeletedContextualConfigObject<T>>> deleteObjects(
+      RequestContext requestContext, List<String> contexts) {
+    List<ConfigToDelete> configsToDelete =
+        contexts.stream()
+            .map(
+                context ->
+                    ConfigToDelete.newBuilder()
+                        .setResourceName(this.resourceName)
+                        .setResourceNamespace(this.resourceNamespace)
+                        .setContext(context)
+                        .build())
+            .collect(Collectors.toUnmodifiableList());
+    return FutureStubCalls.call(
+            requestContext,
+            () ->
+                this.configServiceFutureStub
+                    .withDeadline(getDeadline(ConfigServiceMethod.DELETE_CONFIGS))
+                    .deleteConfigs(
+                        DeleteConfigsRequest.newBuilder().addAllConfigs(configsToDelete).build()))
+        .thenApplyAsync(
+            response ->
+                this.resultProcessor.processDeleteResults(
+                    requestContext, response.getDeletedConfigsList()),
+            this.resultExecutor);
+  }
+
+  List<ContextualConfigObject<T>> buildFetchedObjects(GetAllConfigsResponse response) {
+    return this.resultProcessor.buildFetchedObjects(response);
+  }
+
+  Executor getResultExecutor() {
+    return this.resultExecutor;
+  }
+
+  protected Deadline getDeadline() {
+    return Deadline.after(this.clientConfig.getTimeout().toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  protected Deadline getDeadline(ConfigServiceMethod method) {
+    return Deadline.after(this.clientConfig.getTimeout(method).toMillis(), TimeUnit.MILLISECONDS);
+  }
+}
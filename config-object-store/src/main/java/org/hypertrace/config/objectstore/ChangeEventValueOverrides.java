@@ -0,0 +1,41 @@
+package org.hypertrace.config.objectstore;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+/**
+ * Detects store classes overriding {@code buildValueForChangeEvent} of a base store class. Stores
+ * keeping the default report the stored config values as they are, rather than decoding and
+ * encoding them again. Results are cached per store class.
+ */
+class ChangeEventValueOverrides {
+  private static final String METHOD_NAME = "buildValueForChangeEvent";
+
+  private final Class<?> baseClass;
+  private final ClassValue<Boolean> overridden =
+      new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> storeClass) {
+          for (Class<?> type = storeClass;
+              type != null && !type.equals(baseClass);
+              type = type.getSuperclass()) {
+            if (Arrays.stream(type.getDeclaredMethods()).anyMatch(this::isOverride)) {
+              return true;
+            }
+          }
+          return false;
+        }
+
+        private boolean isOverride(Method method) {
+          return method.getName().equals(METHOD_NAME) && method.getParameterCount() == 1;
+        }
+      };
+
+  ChangeEventValueOverrides(Class<?> baseClass) {
+    this.baseClass = baseClass;
+  }
+
+  boolean isOverridden(Class<?> storeClass) {
+    return this.overridden.get(storeClass);
+  }
+}
@@ -1,11 +1,83 @@
 package org.hypertrace.config.objectstore;
 
 import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import javax.annotation.Nullable;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Singular;
 import lombok.Value;
 
+/** Settings of the object stores, built with {@link #builder()} beyond the timeout. */
 @Value
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Builder(toBuilder = true)
 public class ClientConfig {
+  private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(10);
+
   Duration timeout;
+  // Reads are served from a client side cache when set
+  @Nullable ObjectStoreCacheConfig cacheConfig;
+  // Large read results are decoded in parallel when set
+  @Nullable ParallelDecodeConfig parallelDecodeConfig;
+  // Reads are persisted to and, during outages, served from local snapshots when set
+  @Nullable ObjectStoreSnapshotConfig snapshotConfig;
+  // Reads fail fast, or are served stale from the cache, while the config service is failing
+  @Nullable ObjectStoreCircuitBreakerConfig circuitBreakerConfig;
+  // Overrides of the timeout for single config service methods
+  @Singular Map<ConfigServiceMethod, Duration> methodTimeouts;
+  // Reads failing with UNAVAILABLE are retried within a budget when set
+  @Nullable ObjectStoreRetryConfig retryConfig;
+  // Slow single object and all object reads are hedged when set
+  @Nullable ObjectStoreHedgingConfig hedgingConfig;
+  // Non-blocking stores decode and process results here rather than on the grpc callback threads,
+  // a pool shared by all of them when unset
+  @Nullable Executor resultExecutor;
   // TODO: Explore unobtrusive ways of setting this default from config
-  public static ClientConfig DEFAULT = new ClientConfig(Duration.ofSeconds(10));
+  public static ClientConfig DEFAULT = new ClientConfig(DEFAULT_TIMEOUT);
+
+  public ClientConfig(Duration timeout) {
+    this(timeout, null, null, null, null, Map.of(), null, null, null);
+  }
+
+  /** A builder starting from the default timeout. */
+  public static ClientConfigBuilder builder() {
+    return new ClientConfigBuilder().timeout(DEFAULT_TIMEOUT);
+  }
+
+  /** The timeout of a config service method, which defaults to {@link #getTimeout()}. */
+  public Duration getTimeout(ConfigServiceMethod method) {
+    return this.methodTimeouts.getOrDefault(method, this.timeout);
+  }
+
+  public Optional<ObjectStoreCacheConfig> getCacheConfig() {
+    return Optional.ofNullable(this.cacheConfig);
+  }
+
+  public Optional<ParallelDecodeConfig> getParallelDecodeConfig() {
+    return Optional.ofNullable(this.parallelDecodeConfig);
+  }
+
+  public Optional<ObjectStoreSnapshotConfig> getSnapshotConfig() {
+    return Optional.ofNullable(this.snapshotConfig);
+  }
+
+  public Optional<ObjectStoreCircuitBreakerConfig> getCircuitBreakerConfig() {
+    return Optional.ofNullable(this.circuitBreakerConfig);
+  }
+
+  public Optional<ObjectStoreRetryConfig> getRetryConfig() {
+    return Optional.ofNullable(this.retryConfig);
+  }
+
+  public Optional<ObjectStoreHedgingConfig> getHedgingConfig() {
+    return Optional.ofNullable(this.hedgingConfig);
+  }
+
+  public Optional<Executor> getResultExecutor() {
+    return Optional.ofNullable(this.resultExecutor);
+  }
 }
@@ -0,0 +1,204 @@
+package org.hypertrace.config.objectstore;
+
+import com.google.common.base.Ticker;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.grpc.Status;
+import io.micrometer.core.instrument.Counter;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.hypertrace.core.grpcutils.context.RequestContext;
+import org.hypertrace.core.serviceframework.metrics.PlatformMetricsRegistry;
+
+/**
+ * Count based circuit breaker of the reads of one resource. Reads failing with an outage status or
+ * taking too long count as failures. While the breaker is open reads fail fast with {@link
+ * Status#UNAVAILABLE}, and the first read after the open duration is repeated in the background as
+ * a probe rather than being let through.
+ */
+@Slf4j
+class ConfigCircuitBreaker {
+  private static final String STATE_METRIC = "hypertrace.config.objectstore.circuitbreaker.state";
+  private static final String REJECTED_METRIC =
+      "hypertrace.config.objectstore.circuitbreaker.rejected";
+  // Tells apart the state gauges of the breakers of a resource, one per store
+  private static final String INSTANCE_TAG = "instance";
+  private static final AtomicInteger INSTANCE_COUNT = new AtomicInteger();
+  private static final Set<Status.Code> OUTAGE_STATUS_CODES =
+      Set.of(Status.Code.UNAVAILABLE, Status.Code.DEADLINE_EXCEEDED, Status.Code.INTERNAL);
+  private static final Executor PROBE_EXECUTOR =
+      Executors.newFixedThreadPool(
+          2,
+          new ThreadFactoryBuilder()
+              .setNameFormat("config-object-circuit-probe-%d")
+              .setDaemon(true)
+              .build());
+
+  enum State {
+    CLOSED,
+    OPEN,
+    HALF_OPEN
+  }
+
+  private final String resourceName;
+  private final int windowSize;
+  private final int failureThreshold;
+  private final long slowCallNanos;
+  private final long openNanos;
+  private final Ticker ticker;
+  private final Executor probeExecutor;
+  private final boolean[] outcomes;
+  private final AtomicInteger stateGauge;
+  private final Counter rejected;
+  private int nextOutcome;
+  private int recordedOutcomes;
+  private int recordedFailures;
+  private long openedAtNanos;
+  private volatile State state = State.CLOSED;
+
+  ConfigCircuitBreaker(
+      ObjectStoreCircuitBreakerConfig config, String resourceName, Map<String, String> metricTags) {
+    this(config, resourceName, metricTags, Ticker.systemTicker(), PROBE_EXECUTOR);
+  }
+
+  ConfigCircuitBreaker(
+      ObjectStoreCircuitBreakerConfig config,
+      String resourceName,
+      Map<String, String> metricTags,
+      Ticker ticker,
+      Executor probeExecutor) {
+    this.resourceName = resourceName;
+    this.windowSize = config.getWindowSize();
+    this.failureThreshold =
+        (int) Math.ceil(config.getFailureRateThreshold() * config.getWindowSize());
+    this.slowCallNanos = config.getSlowCallThreshold().toNanos();
+    this.openNanos = config.getOpenDuration().toNanos();
+    this.ticker = ticker;
+    this.probeExecutor = probeExecutor;
+    this.outcomes = new boolean[config.getWindowSize()];
+    Map<String, String> stateMetricTags = new HashMap<>(metricTags);
+    stateMetricTags.put(INSTANCE_TAG, String.valueOf(INSTANCE_COUNT.incrementAndGet()));
+    this.stateGauge =
+        PlatformMetricsRegistry.registerGauge(STATE_METRIC, stateMetricTags, new AtomicInteger());
+    this.rejected = PlatformMetricsRegistry.registerCounter(REJECTED_METRIC, metricTags);
+  }
+
+  /** Whether a failure means the config service is unavailable, rather than the request is bad. */
+  static boolean isOutage(Throwable throwable) {
+    return OUTAGE_STATUS_CODES.contains(Status.fromThrowable(throwable).getCode());
+  }
+
+  State getState() {
+    return this.state;
+  }
+
+  <R> R execute(RequestContext requestContext, Function<RequestContext, R> read) {
+    if (this.state != State.CLOSED) {
+      this.tryStartProbe(requestContext, read);
+      this.rejected.increment();
+      throw Status.UNAVAILABLE
+          .withDescription("Circuit breaker of " + this.resourceName + " is open")
+          .asRuntimeException();
+    }
+    long startNanos = this.ticker.read();
+    R result;
+    try {
+      result = read.apply(requestContext);
+    } catch (RuntimeException exception) {
+      this.record(isOutage(exception) || this.isSlow(startNanos));
+      throw exception;
+    }
+    this.record(this.isSlow(startNanos));
+    return result;
+  }
+
+  private boolean isSlow(long startNanos) {
+    return this.ticker.read() - startNanos >= this.slowCallNanos;
+  }
+
+  private synchronized void record(boolean failed) {
+    if (this.state != State.CLOSED) {
+      // Reads started before the breaker opened
+      return;
+    }
+    if (this.outcomes[this.nextOutcome]) {
+      this.recordedFailures--;
+    }
+    this.outcomes[this.nextOutcome] = failed;
+    if (failed) {
+      this.recordedFailures++;
+    }
+    this.nextOutcome = (this.nextOutcome + 1) % this.windowSize;
+    this.recordedOutcomes = Math.min(this.recordedOutcomes + 1, this.windowSize);
+    if (this.recordedOutcomes == this.windowSize
+        && this.recordedFailures >= this.failureThreshold) {
+      log.warn(
+          "Opening circuit breaker of {} after {} of the last {} reads failed",
+          this.resourceName,
+          this.recordedFailures,
+          this.windowSize);
+      this.open();
+    }
+  }
+
+  private <R> void tryStartProbe(RequestContext requestContext, Function<RequestContext, R> read) {
+    synchronized (this) {
+      if (this.state != State.OPEN || this.ticker.read() - this.openedAtNanos < this.openNanos) {
+        return;
+      }
+      this.transition(State.HALF_OPEN);
+    }
+    try {
+      this.probeExecutor.execute(() -> this.probe(requestContext, read));
+    } catch (RuntimeException e) {
+      synchronized (this) {
+        this.open();
+      }
+      log.warn("Failed to start circuit breaker probe of {}", this.resourceName, e);
+    }
+  }
+
+  private <R> void probe(RequestContext requestContext, Function<RequestContext, R> read) {
+    long startNanos = this.ticker.read();
+    boolean failed;
+    try {
+      read.apply(requestContext);
+      failed = this.isSlow(startNanos);
+    } catch (RuntimeException e) {
+      log.debug("Circuit breaker probe of {} failed", this.resourceName, e);
+      failed = isOutage(e) || this.isSlow(startNanos);
+    }
+    synchronized (this) {
+      if (failed) {
+        this.open();
+      } else {
+        log.info("Closing circuit breaker of {} after a successful probe", this.resourceName);
+        this.close();
+      }
+    }
+  }
+
+  private void open() {
+    this.openedAtNanos = this.ticker.read();
+    this.transition(State.OPEN);
+  }
+
+  private void close() {
+    Arrays.fill(this.outcomes, false);
+    this.nextOutcome = 0;
+    this.recordedOutcomes = 0;
+    this.recordedFailures = 0;
+    this.transition(State.CLOSED);
+  }
+
+  private void transition(State state) {
+    this.state = state;
+    this.stateGauge.set(state.ordinal());
+  }
+}
@@ -16,4 +16,12 @@ public interface ConfigObject<T> {
   Instant getLastUpdatedTimestamp();
 
   String getLastUpdateEmail();
+
+  /**
+   * Whether the object is a last known good value served from the client side cache while the
+   * circuit breaker of its store is open, rather than a current read.
+   */
+  default boolean isStale() {
+    return false;
+  }
 }
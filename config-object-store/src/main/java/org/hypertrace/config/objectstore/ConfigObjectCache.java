@@ -0,0 +1,286 @@
+package org.hypertrace.config.objectstore;
+
+import com.google.common.base.Throwables;
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.hypertrace.config.change.event.v1.ConfigChangeEventKey;
+import org.hypertrace.core.grpcutils.context.RequestContext;
+import org.hypertrace.core.serviceframework.metrics.PlatformMetricsRegistry;
+
+/**
+ * Client side cache of the reads of an object store, keyed by tenant and an optional config
+ * context. Loads run on the calling thread under its request context; refreshes run in the
+ * background under the request context of the read which found the entry due for a refresh.
+ *
+ * <p>With a maximum staleness, the last value loaded for each key is also kept for that long. Loads
+ * failing with an outage status, for example while the circuit breaker of the store is open, are
+ * then answered with that value, marked stale.
+ *
+ * <p>An invalidation can't stop a load already in flight, which may have read the config before the
+ * write it is invalidated for. Loads therefore note the invalidation generation of their tenant
+ * they started in, and a loaded value is dropped rather than kept if the tenant was invalidated
+ * since. Generations are striped by tenant, so other tenants' writes rarely drop a value.
+ */
+@Slf4j
+class ConfigObjectCache<V> {
+  private static final String CACHE_METRIC = "hypertrace.config.objectstore.cache";
+  private static final String STALENESS_METRIC = "hypertrace.config.objectstore.cache.staleness";
+  private static final String REFRESH_FAILURES_METRIC =
+      "hypertrace.config.objectstore.cache.refresh.failures";
+  private static final String STALE_SERVED_METRIC =
+      "hypertrace.config.objectstore.cache.stale.served";
+  private static final int INVALIDATION_GENERATION_STRIPES = 1024;
+  private static final Executor REFRESH_EXECUTOR =
+      Executors.newFixedThreadPool(
+          2,
+          new ThreadFactoryBuilder()
+              .setNameFormat("config-object-cache-refresh-%d")
+              .setDaemon(true)
+              .build());
+
+  private final Cache<CacheKey, CachedValue<V>> cache;
+  private final Optional<Cache<CacheKey, V>> lastKnownGoodValues;
+  private final UnaryOperator<V> staleMarker;
+  private final Set<CacheKey> refreshingKeys = ConcurrentHashMap.newKeySet();
+  // Incremented by every invalidation of the tenants of a stripe, before the entries are dropped
+  private final AtomicLongArray invalidationGenerations =
+      new AtomicLongArray(INVALIDATION_GENERATION_STRIPES);
+  private final long refreshAfterNanos;
+  private final Ticker ticker;
+  private final Executor refreshExecutor;
+  private final Timer staleness;
+  private final Counter refreshFailures;
+  private final Counter staleServed;
+
+  ConfigObjectCache(ObjectStoreCacheConfig config, Map<String, String> metricTags) {
+    this(config, metricTags, Optional.empty(), UnaryOperator.identity());
+  }
+
+  ConfigObjectCache(
+      ObjectStoreCacheConfig config,
+      Map<String, String> metricTags,
+      Optional<Duration> maximumStaleness,
+      UnaryOperator<V> staleMarker) {
+    this(
+        config,
+        metricTags,
+        maximumStaleness,
+        staleMarker,
+        Ticker.systemTicker(),
+        REFRESH_EXECUTOR);
+  }
+
+  ConfigObjectCache(
+      ObjectStoreCacheConfig config,
+      Map<String, String> metricTags,
+      Ticker ticker,
+      Executor refreshExecutor) {
+    this(config, metricTags, Optional.empty(), UnaryOperator.identity(), ticker, refreshExecutor);
+  }
+
+  ConfigObjectCache(
+      ObjectStoreCacheConfig config,
+      Map<String, String> metricTags,
+      Optional<Duration> maximumStaleness,
+      UnaryOperator<V> staleMarker,
+      Ticker ticker,
+      Executor refreshExecutor) {
+    this.lastKnownGoodValues =
+        maximumStaleness.map(
+            staleness ->
+                CacheBuilder.newBuilder()
+                    .expireAfterWrite(staleness)
+                    .maximumSize(config.getMaximumSize())
+                    .ticker(ticker)
+                    .<CacheKey, V>build());
+    this.staleMarker = staleMarker;
+    this.cache =
+        CacheBuilder.newBuilder()
+            .expireAfterWrite(config.getExpireAfterWrite())
+            .maximumSize(config.getMaximumSize())
+            .ticker(ticker)
+            .recordStats()
+            .build();
+    this.refreshAfterNanos = config.getRefreshAfterWrite().toNanos();
+    this.ticker = ticker;
+    this.refreshExecutor = refreshExecutor;
+    PlatformMetricsRegistry.registerCache(CACHE_METRIC, this.cache, metricTags);
+    this.staleness = PlatformMetricsRegistry.registerTimer(STALENESS_METRIC, metricTags);
+    this.refreshFailures =
+        PlatformMetricsRegistry.registerCounter(REFRESH_FAILURES_METRIC, metricTags);
+    this.staleServed = PlatformMetricsRegistry.registerCounter(STALE_SERVED_METRIC, metricTags);
+  }
+
+  /**
+   * Returns the cached value for the tenant of the request and the given context, loading it on a
+   * miss. Requests without a tenant bypass the cache.
+   */
+  V get(RequestContext requestContext, String context, Function<RequestContext, V> loader) {
+    Optional<String> tenantId = requestContext.getTenantId();
+    if (tenantId.isEmpty()) {
+      return loader.apply(requestContext);
+    }
+    CacheKey key = new CacheKey(tenantId.get(), context);
+    AtomicBoolean loaded = new AtomicBoolean();
+    CachedValue<V> cachedValue;
+    try {
+      cachedValue =
+          this.cache.get(
+              key,
+              () -> {
+                loaded.set(true);
+                return this.load(key, requestContext, loader);
+              });
+    } catch (ExecutionException e) {
+      throw new IllegalStateException(e.getCause());
+    } catch (UncheckedExecutionException e) {
+      Optional<V> staleValue = this.getStaleValue(key, e.getCause());
+      if (staleValue.isPresent()) {
+        return staleValue.get();
+      }
+      // Surface the original grpc status rather than the guava wrapper
+      Throwables.throwIfUnchecked(e.getCause());
+      throw e;
+    }
+    if (loaded.get() && !this.isCurrent(key, cachedValue)) {
+      // Answers this read, which was concurrent with the write, but must not be served again
+      this.cache.asMap().remove(key, cachedValue);
+      return cachedValue.getValue();
+    }
+    long ageNanos = this.ticker.read() - cachedValue.getLoadedAtNanos();
+    this.staleness.record(ageNanos, TimeUnit.NANOSECONDS);
+    if (ageNanos >= this.refreshAfterNanos) {
+      this.refreshInBackground(key, cachedValue, requestContext, loader);
+    }
+    return cachedValue.getValue();
+  }
+
+  void invalidate(String tenantId, String context) {
+    CacheKey key = new CacheKey(tenantId, context);
+    this.invalidationGenerations.incrementAndGet(getInvalidationGenerationStripe(tenantId));
+    this.cache.invalidate(key);
+    this.lastKnownGoodValues.ifPresent(values -> values.invalidate(key));
+  }
+
+  void invalidateTenant(String tenantId) {
+    this.invalidationGenerations.incrementAndGet(getInvalidationGenerationStripe(tenantId));
+    this.cache.asMap().keySet().removeIf(key -> key.getTenantId().equals(tenantId));
+    this.lastKnownGoodValues.ifPresent(
+        values -> values.asMap().keySet().removeIf(key -> key.getTenantId().equals(tenantId)));
+  }
+
+  /** Drops the entry an event was published for, or every entry of its tenant if it has none. */
+  void invalidate(ConfigChangeEventKey eventKey) {
+    if (eventKey.hasContext()) {
+      this.invalidate(eventKey.getTenantId(), eventKey.getContext());
+    } else {
+      this.invalidateTenant(eventKey.getTenantId());
+    }
+  }
+
+  private void refreshInBackground(
+      CacheKey key,
+      CachedValue<V> staleValue,
+      RequestContext requestContext,
+      Function<RequestContext, V> loader) {
+    if (!this.refreshingKeys.add(key)) {
+      return;
+    }
+    try {
+      this.refreshExecutor.execute(
+          () -> {
+            try {
+              CachedValue<V> refreshedValue = this.load(key, requestContext, loader);
+              // Only replace the entry that was read, an invalidation since then must win
+              if (this.isCurrent(key, refreshedValue)) {
+                this.cache.asMap().replace(key, staleValue, refreshedValue);
+              }
+            } catch (RuntimeException e) {
+              this.refreshFailures.increment();
+              log.debug("Failed to refresh cached config for tenant {}", key.getTenantId(), e);
+            } finally {
+              this.refreshingKeys.remove(key);
+            }
+          });
+    } catch (RuntimeException e) {
+      this.refreshingKeys.remove(key);
+      throw e;
+    }
+  }
+
+  private CachedValue<V> load(
+      CacheKey key, RequestContext requestContext, Function<RequestContext, V> loader) {
+    long generation = this.getInvalidationGeneration(key);
+    V value = loader.apply(requestContext);
+    CachedValue<V> cachedValue = new CachedValue<>(value, this.ticker.read(), generation);
+    if (this.isCurrent(key, cachedValue)) {
+      this.lastKnownGoodValues.ifPresent(values -> values.put(key, value));
+    }
+    return cachedValue;
+  }
+
+  /** Whether the tenant of the key was not invalidated since the value started loading. */
+  private boolean isCurrent(CacheKey key, CachedValue<V> cachedValue) {
+    return cachedValue.getInvalidationGeneration() == this.getInvalidationGeneration(key);
+  }
+
+  private long getInvalidationGeneration(CacheKey key) {
+    return this.invalidationGenerations.get(getInvalidationGenerationStripe(key.getTenantId()));
+  }
+
+  private static int getInvalidationGenerationStripe(String tenantId) {
+    return Math.floorMod(tenantId.hashCode(), INVALIDATION_GENERATION_STRIPES);
+  }
+
+  private Optional<V> getStaleValue(CacheKey key, Throwable loadFailure) {
+    if (!ConfigCircuitBreaker.isOutage(loadFailure)) {
+      return Optional.empty();
+    }
+    Optional<V> staleValue =
+        this.lastKnownGoodValues
+            .map(values -> values.getIfPresent(key))
+            .map(this.staleMarker::apply);
+    if (staleValue.isPresent()) {
+      this.staleServed.increment();
+      log.debug("Serving stale cached config for tenant {}", key.getTenantId(), loadFailure);
+    }
+    return staleValue;
+  }
+
+  @Value
+  private static class CacheKey {
+    String tenantId;
+    String context;
+  }
+
+  /** Compared by identity so a refresh never replaces an entry reloaded after an invalidation. */
+  @Getter
+  @AllArgsConstructor
+  private static class CachedValue<V> {
+    private final V value;
+    private final long loadedAtNanos;
+    private final long invalidationGeneration;
+  }
+}
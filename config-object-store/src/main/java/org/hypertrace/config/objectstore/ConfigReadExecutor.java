@@ -0,0 +1,298 @@
+package org.hypertrace.config.objectstore;
+
+import com.google.common.base.Throwables;
+import com.google.common.base.Ticker;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.grpc.Context;
+import io.grpc.Context.CancellableContext;
+import io.grpc.Status;
+import io.micrometer.core.instrument.Counter;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.hypertrace.core.grpcutils.context.RequestContext;
+import org.hypertrace.core.serviceframework.metrics.PlatformMetricsRegistry;
+
+/**
+ * Runs the reads of one resource, retrying them within a token bucket budget and hedging slow
+ * reads, as configured in the {@link ClientConfig}.
+ */
+@Slf4j
+class ConfigReadExecutor {
+  private static final String RETRIES_METRIC = "hypertrace.config.objectstore.read.retries";
+  private static final String RETRIES_DENIED_METRIC =
+      "hypertrace.config.objectstore.read.retries.denied";
+  private static final String HEDGES_METRIC = "hypertrace.config.objectstore.read.hedges";
+  private static final long MINIMUM_HEDGING_LATENCIES = 20;
+  private static final long HEDGING_THREAD_KEEP_ALIVE_SECONDS = 60;
+  private static final ScheduledExecutorService DEADLINE_SCHEDULER =
+      Executors.newSingleThreadScheduledExecutor(
+          new ThreadFactoryBuilder()
+              .setNameFormat("config-object-read-deadline-%d")
+              .setDaemon(true)
+              .build());
+
+  private final ClientConfig clientConfig;
+  private final Optional<ObjectStoreRetryConfig> retryConfig;
+  private final Optional<ObjectStoreHedgingConfig> hedgingConfig;
+  private final Ticker ticker;
+  private final Executor hedgingExecutor;
+  private final Map<ConfigServiceMethod, RollingLatencyHistogram> latencies =
+      new ConcurrentHashMap<>();
+  private final Counter retries;
+  private final Counter retriesDenied;
+  private final Counter hedges;
+  private double retryTokens;
+
+  ConfigReadExecutor(ClientConfig clientConfig, Map<String, String> metricTags) {
+    this(
+        clientConfig,
+        metricTags,
+        Ticker.systemTicker(),
+        clientConfig
+            .getHedgingConfig()
+            .map(ConfigReadExecutor::buildHedgingExecutor)
+            .orElseGet(MoreExecutors::directExecutor));
+  }
+
+  ConfigReadExecutor(
+      ClientConfig clientConfig,
+      Map<String, String> metricTags,
+      Ticker ticker,
+      Executor hedgingExecutor) {
+    this.clientConfig = clientConfig;
+    this.retryConfig = clientConfig.getRetryConfig();
+    this.hedgingConfig = clientConfig.getHedgingConfig();
+    this.ticker = ticker;
+    this.hedgingExecutor = hedgingExecutor;
+    this.retryTokens = this.retryConfig.map(ObjectStoreRetryConfig::getBudgetTokens).orElse(0);
+    this.retries = PlatformMetricsRegistry.registerCounter(RETRIES_METRIC, metricTags);
+    this.retriesDenied = PlatformMetricsRegistry.registerCounter(RETRIES_DENIED_METRIC, metricTags);
+    this.hedges = PlatformMetricsRegistry.registerCounter(HEDGES_METRIC, metricTags);
+  }
+
+  /** An executor of the reads of one resource, if retries or hedging are configured. */
+  static Optional<ConfigReadExecutor> forConfig(
+      ClientConfig clientConfig, Map<String, String> metricTags) {
+    if (clientConfig.getRetryConfig().isEmpty() && clientConfig.getHedgingConfig().isEmpty()) {
+      return Optional.empty();
+    }
+    return Optional.of(new ConfigReadExecutor(clientConfig, metricTags));
+  }
+
+  /**
+   * Owned by the executor of one resource, its threads exit once idle. Attempts beyond the maximum
+   * are rejected rather than queued.
+   */
+  private static Executor buildHedgingExecutor(ObjectStoreHedgingConfig config) {
+    ThreadPoolExecutor executor =
+        new ThreadPoolExecutor(
+            config.getMaxConcurrentAttempts(),
+            config.getMaxConcurrentAttempts(),
+            HEDGING_THREAD_KEEP_ALIVE_SECONDS,
+            TimeUnit.SECONDS,
+            new SynchronousQueue<>(),
+            new ThreadFactoryBuilder()
+                .setNameFormat("config-object-hedged-read-%d")
+                .setDaemon(true)
+                .build());
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  /**
+   * Makes a read under the request context. The call must build its stub with a fresh deadline
+   * each time it is invoked, as retries and hedges invoke it again.
+   */
+  <R> R read(
+      RequestContext requestContext,
+      ConfigServiceMethod method,
+      boolean hedgeable,
+      Callable<R> call) {
+    int retryCount = 0;
+    while (true) {
+      try {
+        R result =
+            hedgeable && this.hedgingConfig.isPresent()
+                ? this.hedgedAttempt(requestContext, method, call)
+                : this.attempt(requestContext, method, call);
+        this.depositRetryToken();
+        return result;
+      } catch (RuntimeException exception) {
+        if (!this.tryRetry(exception, retryCount)) {
+          throw exception;
+        }
+        retryCount++;
+        log.debug("Retrying read of {}, attempt {}", method, retryCount + 1, exception);
+      }
+    }
+  }
+
+  private <R> R attempt(
+      RequestContext requestContext, ConfigServiceMethod method, Callable<R> call) {
+    long startNanos = this.ticker.read();
+    R result = requestContext.call(call);
+    this.hedgingConfig.ifPresent(
+        config -> this.getLatencies(method, config).record(this.ticker.read() - startNanos));
+    return result;
+  }
+
+  private <R> R hedgedAttempt(
+      RequestContext requestContext, ConfigServiceMethod method, Callable<R> call) {
+    ObjectStoreHedgingConfig config = this.hedgingConfig.orElseThrow();
+    Optional<Duration> hedgingDelay =
+        this.getLatencies(method, config)
+            .getPercentile(config.getLatencyPercentile(), MINIMUM_HEDGING_LATENCIES)
+            .map(percentile -> max(percentile, config.getMinimumDelay()));
+    if (hedgingDelay.isEmpty()) {
+      return this.attempt(requestContext, method, call);
+    }
+    // The attempts run under cancellable children of a context with the deadline of the read,
+    // which bounds the deadlines their calls set, so the hedge does not extend the read
+    CancellableContext readContext =
+        Context.current()
+            .withDeadlineAfter(
+                this.clientConfig.getTimeout(method).toNanos(),
+                TimeUnit.NANOSECONDS,
+                DEADLINE_SCHEDULER);
+    CancellableContext primaryContext = readContext.withCancellation();
+    CancellableContext hedgeContext = readContext.withCancellation();
+    try {
+      CompletableFuture<R> primary;
+      try {
+        primary = this.startAttempt(primaryContext, requestContext, method, call);
+      } catch (RejectedExecutionException e) {
+        // Every thread is taken, so the read runs on the calling thread, unhedged
+        Context previousContext = readContext.attach();
+        try {
+          return this.attempt(requestContext, method, call);
+        } finally {
+          readContext.detach(previousContext);
+        }
+      }
+      try {
+        return primary.get(hedgingDelay.get().toNanos(), TimeUnit.NANOSECONDS);
+      } catch (TimeoutException e) {
+        this.hedges.increment();
+      }
+      CompletableFuture<R> hedge;
+      try {
+        hedge = this.startAttempt(hedgeContext, requestContext, method, call);
+      } catch (RejectedExecutionException e) {
+        return primary.get();
+      }
+      return firstSuccessful(List.of(primary, hedge)).get();
+    } catch (ExecutionException e) {
+      throw unwrap(e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw Status.CANCELLED.withCause(e).asRuntimeException();
+    } finally {
+      // The losing attempt, if any, is cancelled along with its call
+      readContext.cancel(null);
+    }
+  }
+
+  private <R> CompletableFuture<R> startAttempt(
+      CancellableContext context,
+      RequestContext requestContext,
+      ConfigServiceMethod method,
+      Callable<R> call) {
+    return CompletableFuture.supplyAsync(
+        () -> this.attempt(requestContext, method, call),
+        context.fixedContextExecutor(this.hedgingExecutor));
+  }
+
+  private boolean tryRetry(RuntimeException exception, int retryCount) {
+    if (this.retryConfig.isEmpty()
+        || Status.fromThrowable(exception).getCode() != Status.Code.UNAVAILABLE
+        || retryCount >= this.retryConfig.get().getMaxRetries()) {
+      return false;
+    }
+    if (!this.tryWithdrawRetryToken()) {
+      this.retriesDenied.increment();
+      return false;
+    }
+    this.retries.increment();
+    long backoffNanos = this.retryConfig.get().getBackoff().toNanos();
+    try {
+      TimeUnit.NANOSECONDS.sleep(ThreadLocalRandom.current().nextLong(backoffNanos + 1));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw Status.CANCELLED.withCause(e).asRuntimeException();
+    }
+    return true;
+  }
+
+  private synchronized boolean tryWithdrawRetryToken() {
+    if (this.retryTokens < 1) {
+      return false;
+    }
+    this.retryTokens--;
+    return true;
+  }
+
+  private void depositRetryToken() {
+    this.retryConfig.ifPresent(
+        config -> {
+          synchronized (this) {
+            this.retryTokens =
+                Math.min(config.getBudgetTokens(), this.retryTokens + config.getBudgetRatio());
+          }
+        });
+  }
+
+  private RollingLatencyHistogram getLatencies(
+      ConfigServiceMethod method, ObjectStoreHedgingConfig config) {
+    return this.latencies.computeIfAbsent(
+        method, unused -> new RollingLatencyHistogram(config.getHistogramWindow(), this.ticker));
+  }
+
+  private static <R> CompletableFuture<R> firstSuccessful(List<CompletableFuture<R>> attempts) {
+    CompletableFuture<R> result = new CompletableFuture<>();
+    AtomicInteger failures = new AtomicInteger();
+    attempts.forEach(
+        attempt ->
+            attempt.whenComplete(
+                (value, failure) -> {
+                  if (failure == null) {
+                    result.complete(value);
+                  } else if (failures.incrementAndGet() == attempts.size()) {
+                    result.completeExceptionally(failure);
+                  }
+                }));
+    return result;
+  }
+
+  private static RuntimeException unwrap(Throwable throwable) {
+    Throwable cause = throwable;
+    while ((cause instanceof ExecutionException || cause instanceof CompletionException)
+        && cause.getCause() != null) {
+      cause = cause.getCause();
+    }
+    Throwables.throwIfUnchecked(cause);
+    return new IllegalStateException(cause);
+  }
+
+  private static Duration max(Duration first, Duration second) {
+    return first.compareTo(second) >= 0 ? first : second;
+  }
+}
@@ -0,0 +1,11 @@
+package org.hypertrace.config.objectstore;
+
+/** The config service methods called by the object stores, to configure them one by one. */
+public enum ConfigServiceMethod {
+  GET_CONFIG,
+  GET_ALL_CONFIGS,
+  UPSERT_CONFIG,
+  UPSERT_ALL_CONFIGS,
+  DELETE_CONFIG,
+  DELETE_CONFIGS
+}
@@ -0,0 +1,321 @@
+package org.hypertrace.config.objectstore;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import com.google.common.io.BaseEncoding;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.protobuf.Message;
+import com.google.protobuf.Parser;
+import io.grpc.Status;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.hypertrace.core.grpcutils.context.RequestContext;
+import org.hypertrace.core.serviceframework.metrics.PlatformMetricsRegistry;
+
+/**
+ * Local file snapshots of the last good read of each tenant for one resource. A snapshot is a small
+ * header - a format version and the time it was written - followed by the read response in its
+ * proto binary encoding. Snapshots are memory mapped when loaded and replaced atomically when
+ * written.
+ *
+ * <p>The first read of a tenant is served from its snapshot, if there is one, while the live read
+ * runs in the background, so restarted processes don't all hit the config service at once. Later
+ * reads go to the config service and fall back to the snapshot if it can't be reached. Snapshots
+ * older than the configured max serve age are ignored.
+ *
+ * <p>Writes and deletes of the snapshot of a tenant are applied one at a time, in the order they
+ * were requested. An update requested while another is pending supersedes it, so that a slow disk
+ * never applies outdated reads.
+ */
+@Slf4j
+class ConfigSnapshotStore<M extends Message> {
+  private static final int FORMAT_VERSION = 1;
+  private static final int HEADER_BYTES = Integer.BYTES + Long.BYTES;
+  private static final String SNAPSHOT_FILE_SUFFIX = ".snapshot";
+  private static final String AGE_METRIC = "hypertrace.config.objectstore.snapshot.age";
+  private static final String WRITE_FAILURES_METRIC =
+      "hypertrace.config.objectstore.snapshot.write.failures";
+  private static final Set<Status.Code> OUTAGE_STATUS_CODES =
+      Set.of(Status.Code.UNAVAILABLE, Status.Code.DEADLINE_EXCEEDED, Status.Code.INTERNAL);
+  private static final Executor BACKGROUND_EXECUTOR =
+      Executors.newFixedThreadPool(
+          2,
+          new ThreadFactoryBuilder()
+              .setNameFormat("config-object-snapshot-%d")
+              .setDaemon(true)
+              .build());
+
+  private final Path directory;
+  private final Parser<M> parser;
+  private final Duration maxServeAge;
+  private final Clock clock;
+  private final Executor backgroundExecutor;
+  private final Set<String> liveTenants = ConcurrentHashMap.newKeySet();
+  private final Set<String> refreshingTenants = ConcurrentHashMap.newKeySet();
+  private final Map<String, HashCode> writtenDigests = new ConcurrentHashMap<>();
+  private final Map<String, SnapshotUpdate> pendingUpdates = new ConcurrentHashMap<>();
+  private final Timer age;
+  private final Counter writeFailures;
+
+  ConfigSnapshotStore(
+      ObjectStoreSnapshotConfig config,
+      String resourceNamespace,
+      String resourceName,
+      Parser<M> parser,
+      Map<String, String> metricTags) {
+    this(
+        config,
+        resourceNamespace,
+        resourceName,
+        parser,
+        metricTags,
+        Clock.systemUTC(),
+        BACKGROUND_EXECUTOR);
+  }
+
+  ConfigSnapshotStore(
+      ObjectStoreSnapshotConfig config,
+      String resourceNamespace,
+      String resourceName,
+      Parser<M> parser,
+      Map<String, String> metricTags,
+      Clock clock,
+      Executor backgroundExecutor) {
+    this.directory = config.getDirectory().resolve(resourceNamespace).resolve(resourceName);
+    this.parser = parser;
+    this.maxServeAge = config.getMaxServeAge();
+    this.clock = clock;
+    this.backgroundExecutor = backgroundExecutor;
+    this.age = PlatformMetricsRegistry.registerTimer(AGE_METRIC, metricTags);
+    this.writeFailures = PlatformMetricsRegistry.registerCounter(WRITE_FAILURES_METRIC, metricTags);
+  }
+
+  /**
+   * Reads through the snapshot of the request's tenant. Requests without a tenant bypass the
+   * snapshots.
+   */
+  M read(RequestContext requestContext, Function<RequestContext, M> loader) {
+    Optional<String> tenantId = requestContext.getTenantId();
+    if (tenantId.isEmpty()) {
+      return loader.apply(requestContext);
+    }
+    if (!this.liveTenants.contains(tenantId.get())) {
+      Optional<M> snapshot = this.load(tenantId.get());
+      if (snapshot.isPresent()) {
+        this.refreshInBackground(tenantId.get(), requestContext, loader);
+        return snapshot.get();
+      }
+    }
+    try {
+      return this.loadLive(tenantId.get(), requestContext, loader);
+    } catch (RuntimeException exception) {
+      if (!OUTAGE_STATUS_CODES.contains(Status.fromThrowable(exception).getCode())) {
+        throw exception;
+      }
+      Optional<M> snapshot = this.load(tenantId.get());
+      if (snapshot.isEmpty()) {
+        throw exception;
+      }
+      log.warn(
+          "Serving config snapshot for tenant {} as the config service read failed",
+          tenantId.get(),
+          exception);
+      return snapshot.get();
+    }
+  }
+
+  private M loadLive(
+      String tenantId, RequestContext requestContext, Function<RequestContext, M> loader) {
+    M result;
+    try {
+      result = loader.apply(requestContext);
+    } catch (RuntimeException exception) {
+      if (Status.fromThrowable(exception).getCode() == Status.Code.NOT_FOUND) {
+        // There is nothing left to serve, so the snapshot must not outlive the config
+        this.liveTenants.add(tenantId);
+        this.update(tenantId, new SnapshotUpdate(null, null));
+      }
+      throw exception;
+    }
+    this.liveTenants.add(tenantId);
+    // Only write when the read changed. Message hash codes may collide, so compare a digest of
+    // the encoding instead.
+    byte[] body = result.toByteArray();
+    HashCode digest = Hashing.sha256().hashBytes(body);
+    SnapshotUpdate pendingUpdate = this.pendingUpdates.get(tenantId);
+    HashCode latestDigest =
+        pendingUpdate == null ? this.writtenDigests.get(tenantId) : pendingUpdate.digest;
+    if (!digest.equals(latestDigest)) {
+      this.update(tenantId, new SnapshotUpdate(body, digest));
+    }
+    return result;
+  }
+
+  /**
+   * Replaces the pending update of the tenant's snapshot, scheduling its application unless an
+   * earlier update is still being applied, which then applies this one next.
+   */
+  private void update(String tenantId, SnapshotUpdate update) {
+    if (this.pendingUpdates.put(tenantId, update) != null) {
+      return;
+    }
+    try {
+      this.backgroundExecutor.execute(() -> this.applyPendingUpdates(tenantId));
+    } catch (RuntimeException e) {
+      this.pendingUpdates.remove(tenantId, update);
+      throw e;
+    }
+  }
+
+  /** Applies the latest pending update of the tenant until no newer one arrived meanwhile. */
+  private void applyPendingUpdates(String tenantId) {
+    SnapshotUpdate update = this.pendingUpdates.get(tenantId);
+    while (update != null) {
+      if (update.body == null) {
+        this.delete(tenantId);
+      } else {
+        this.write(tenantId, update.body, update.digest);
+      }
+      if (this.pendingUpdates.remove(tenantId, update)) {
+        return;
+      }
+      update = this.pendingUpdates.get(tenantId);
+    }
+  }
+
+  private void refreshInBackground(
+      String tenantId, RequestContext requestContext, Function<RequestContext, M> loader) {
+    if (!this.refreshingTenants.add(tenantId)) {
+      return;
+    }
+    try {
+      this.backgroundExecutor.execute(
+          () -> {
+            try {
+              this.loadLive(tenantId, requestContext, loader);
+            } catch (RuntimeException e) {
+              log.debug("Failed to refresh config snapshot for tenant {}", tenantId, e);
+            } finally {
+              this.refreshingTenants.remove(tenantId);
+            }
+          });
+    } catch (RuntimeException e) {
+      this.refreshingTenants.remove(tenantId);
+      throw e;
+    }
+  }
+
+  private Optional<M> load(String tenantId) {
+    try (FileChannel channel = FileChannel.open(this.getPath(tenantId), StandardOpenOption.READ)) {
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      if (buffer.remaining() < HEADER_BYTES || buffer.getInt() != FORMAT_VERSION) {
+        log.warn("Ignoring config snapshot of unknown format for tenant {}", tenantId);
+        return Optional.empty();
+      }
+      Duration snapshotAge =
+          Duration.between(Instant.ofEpochMilli(buffer.getLong()), this.clock.instant());
+      if (snapshotAge.compareTo(this.maxServeAge) > 0) {
+        log.warn(
+            "Ignoring config snapshot for tenant {} written {} ago, exceeding the max serve age",
+            tenantId,
+            snapshotAge);
+        return Optional.empty();
+      }
+      M snapshot = this.parser.parseFrom(buffer);
+      this.age.record(snapshotAge);
+      return Optional.of(snapshot);
+    } catch (NoSuchFileException e) {
+      return Optional.empty();
+    } catch (IOException e) {
+      log.warn("Failed to load config snapshot for tenant {}", tenantId, e);
+      return Optional.empty();
+    }
+  }
+
+  private void write(String tenantId, byte[] body, HashCode digest) {
+    ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + body.length);
+    buffer.putInt(FORMAT_VERSION).putLong(this.clock.millis()).put(body).flip();
+    Path tempFile = null;
+    try {
+      Files.createDirectories(this.directory);
+      tempFile = Files.createTempFile(this.directory, null, null);
+      try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.WRITE)) {
+        while (buffer.hasRemaining()) {
+          channel.write(buffer);
+        }
+      }
+      Files.move(
+          tempFile,
+          this.getPath(tenantId),
+          StandardCopyOption.ATOMIC_MOVE,
+          StandardCopyOption.REPLACE_EXISTING);
+      this.writtenDigests.put(tenantId, digest);
+    } catch (IOException e) {
+      // Forget the digest so the next read retries the write
+      this.writtenDigests.remove(tenantId);
+      this.writeFailures.increment();
+      log.warn("Failed to write config snapshot for tenant {}", tenantId, e);
+      this.deleteQuietly(tempFile);
+    }
+  }
+
+  private void delete(String tenantId) {
+    this.writtenDigests.remove(tenantId);
+    try {
+      Files.deleteIfExists(this.getPath(tenantId));
+    } catch (IOException e) {
+      log.warn("Failed to delete config snapshot for tenant {}", tenantId, e);
+    }
+  }
+
+  private void deleteQuietly(Path tempFile) {
+    if (tempFile == null) {
+      return;
+    }
+    try {
+      Files.deleteIfExists(tempFile);
+    } catch (IOException e) {
+      log.debug("Failed to delete temporary config snapshot {}", tempFile, e);
+    }
+  }
+
+  private Path getPath(String tenantId) {
+    // Tenant ids are encoded so that they are always valid file names
+    return this.directory.resolve(
+        BaseEncoding.base64Url().omitPadding().encode(tenantId.getBytes(UTF_8))
+            + SNAPSHOT_FILE_SUFFIX);
+  }
+
+  /** A write of the body with the given digest, or a delete if it has none. */
+  private static class SnapshotUpdate {
+    private final byte[] body;
+    private final HashCode digest;
+
+    private SnapshotUpdate(byte[] body, HashCode digest) {
+      this.body = body;
+      this.digest = digest;
+    }
+  }
+}
@@ -1,18 +1,31 @@
 package org.hypertrace.config.objectstore;
 
 import com.google.protobuf.Value;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Callable;
 import java.util.function.Function;
+import org.hypertrace.config.change.event.v1.ConfigChangeEventKey;
 import org.hypertrace.config.service.change.event.api.ConfigChangeEventGenerator;
 import org.hypertrace.config.service.v1.ConfigServiceGrpc.ConfigServiceBlockingStub;
 import org.hypertrace.core.grpcutils.context.RequestContext;
 
+/**
+ * Object store of a single object per config context, derived from the request context. Of {@link
+ * ClientConfig}, the timeouts, retries, hedging and the cache are supported; reads are cached per
+ * tenant and config context, and dropped from the cache by the writes of this store.
+ */
 public abstract class ContextuallyIdentifiedObjectStore<T> {
+  private static final ChangeEventValueOverrides CHANGE_EVENT_VALUE_OVERRIDES =
+      new ChangeEventValueOverrides(ContextuallyIdentifiedObjectStore.class);
+
   private final ConfigServiceBlockingStub configServiceBlockingStub;
   private final String resourceNamespace;
   private final String resourceName;
   private final Optional<ConfigChangeEventGenerator> configChangeEventGenerator;
   private final ClientConfig clientConfig;
+  private final Optional<ConfigReadExecutor> readExecutor;
+  private final Optional<ConfigObjectCache<Optional<ContextualConfigObject<T>>>> objectCache;
 
   protected ContextuallyIdentifiedObjectStore(
       ConfigServiceBlockingStub configServiceBlockingStub,
@@ -38,6 +51,22 @@ public abstract class ContextuallyIdentifiedObjectStore<T> {
     this.resourceName = resourceName;
     this.configChangeEventGenerator = Optional.ofNullable(configChangeEventGenerator);
     this.clientConfig = clientConfig;
+    this.readExecutor =
+        ConfigReadExecutor.forConfig(
+            clientConfig,
+            Map.of("resourceNamespace", resourceNamespace, "resourceName", resourceName));
+    // Delegates live for a single call, so the cache is kept by this store instead
+    this.objectCache =
+        clientConfig
+            .getCacheConfig()
+            .map(
+                cacheConfig ->
+                    new ConfigObjectCache<>(
+                        cacheConfig,
+                        Map.of(
+                            "resourceNamespace", resourceNamespace,
+                            "resourceName", resourceName,
+                            "query", "contextual")));
   }
 
   protected ContextuallyIdentifiedObjectStore(
@@ -55,6 +84,10 @@ public abstract class ContextuallyIdentifiedObjectStore<T> {
     return this.buildValueFromData(data);
   }
 
+  boolean isChangeEventValueOverridden() {
+    return CHANGE_EVENT_VALUE_OVERRIDES.isOverridden(this.getClass());
+  }
+
   protected String buildClassNameForChangeEvent(T data) {
     return data.getClass().getName();
   }
@@ -68,24 +101,56 @@ public abstract class ContextuallyIdentifiedObjectStore<T> {
   }
 
   public Optional<ConfigObject<T>> getObject(RequestContext context) {
-    return this.buildObjectStoreForContext(context)
-        .getObject(context, this.getConfigContextFromRequestContext(context))
+    String configContext = this.getConfigContextFromRequestContext(context);
+    Function<RequestContext, Optional<ContextualConfigObject<T>>> loader =
+        requestContext ->
+            this.buildObjectStoreForContext(requestContext)
+                .getObject(requestContext, configContext);
+    return this.objectCache
+        .map(cache -> cache.get(context, configContext, loader))
+        .orElseGet(() -> loader.apply(context))
         .map(Function.identity());
   }
 
   public Optional<T> getData(RequestContext context) {
-    return this.buildObjectStoreForContext(context)
-        .getData(context, this.getConfigContextFromRequestContext(context));
+    return this.getObject(context).map(ConfigObject::getData);
   }
 
   public ConfigObject<T> upsertObject(RequestContext context, T data) {
-    return this.buildObjectStoreForContext(context).upsertObject(context, data);
+    try {
+      return this.buildObjectStoreForContext(context).upsertObject(context, data);
+    } finally {
+      this.invalidateCache(context);
+    }
   }
 
   public Optional<DeletedConfigObject<T>> deleteObject(RequestContext context) {
-    return this.buildObjectStoreForContext(context)
-        .deleteObject(context, this.getConfigContextFromRequestContext(context))
-        .map(Function.identity());
+    try {
+      return this.buildObjectStoreForContext(context)
+          .deleteObject(context, this.getConfigContextFromRequestContext(context))
+          .map(Function.identity());
+    } finally {
+      this.invalidateCache(context);
+    }
+  }
+
+  /**
+   * Drops the cached read a change event makes stale, for callers consuming the change events of
+   * this store's config type. A no-op unless caching is enabled in the {@link ClientConfig}.
+   */
+  public void invalidateCache(ConfigChangeEventKey eventKey) {
+    this.objectCache.ifPresent(cache -> cache.invalidate(eventKey));
+  }
+
+  private void invalidateCache(RequestContext context) {
+    this.objectCache.ifPresent(
+        cache ->
+            context
+                .getTenantId()
+                .ifPresent(
+                    tenantId ->
+                        cache.invalidate(
+                            tenantId, this.getConfigContextFromRequestContext(context))));
   }
 
   private class ContextAwareIdentifiedObjectStoreDelegate extends IdentifiedObjectStore<T> {
@@ -103,7 +168,11 @@ public abstract class ContextuallyIdentifiedObjectStore<T> {
           resourceNamespace,
           resourceName,
           configChangeEventGenerator,
-          clientConfig);
+          // Delegates live for a single call, so reads are cached by the outer store
+          ClientConfig.builder()
+              .timeout(clientConfig.getTimeout())
+              .methodTimeouts(clientConfig.getMethodTimeouts())
+              .build());
       this.requestContext = requestContext;
     }
 
@@ -122,11 +191,25 @@ public abstract class ContextuallyIdentifiedObjectStore<T> {
       return ContextuallyIdentifiedObjectStore.this.buildValueForChangeEvent(data);
     }
 
+    @Override
+    boolean isChangeEventValueOverridden() {
+      return ContextuallyIdentifiedObjectStore.this.isChangeEventValueOverridden();
+    }
+
     @Override
     protected String buildClassNameForChangeEvent(T data) {
       return ContextuallyIdentifiedObjectStore.this.buildClassNameForChangeEvent(data);
     }
 
+    @Override
+    <R> R read(
+        RequestContext context, ConfigServiceMethod method, boolean hedged, Callable<R> call) {
+      // Retry budgets and latencies are kept across calls by the outer store
+      return readExecutor
+          .map(executor -> executor.read(context, method, hedged, call))
+          .orElseGet(() -> context.call(call));
+    }
+
     @Override
     protected String getContextFromData(T data) {
       return ContextuallyIdentifiedObjectStore.this.getConfigContextFromRequestContext(
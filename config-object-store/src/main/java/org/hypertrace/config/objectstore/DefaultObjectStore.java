@@ -3,9 +3,12 @@ package org.hypertrace.config.objectstore;
 import com.google.protobuf.Value;
 import io.grpc.Deadline;
 import io.grpc.Status;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Callable;
 import java.util.concurrent.TimeUnit;
-import lombok.extern.slf4j.Slf4j;
+import java.util.function.Function;
+import org.hypertrace.config.change.event.v1.ConfigChangeEventKey;
 import org.hypertrace.config.service.change.event.api.ConfigChangeEventGenerator;
 import org.hypertrace.config.service.v1.ConfigServiceGrpc.ConfigServiceBlockingStub;
 import org.hypertrace.config.service.v1.ContextSpecificConfig;
@@ -22,13 +25,21 @@ import org.hypertrace.core.grpcutils.context.RequestContext;
  *
  * @param <T>
  */
-@Slf4j
 public abstract class DefaultObjectStore<T> {
+  private static final String DEFAULT_CACHE_CONTEXT = "";
+  private static final ChangeEventValueOverrides CHANGE_EVENT_VALUE_OVERRIDES =
+      new ChangeEventValueOverrides(DefaultObjectStore.class);
+
   private final ConfigServiceBlockingStub configServiceBlockingStub;
   private final String resourceNamespace;
   private final String resourceName;
   private final Optional<ConfigChangeEventGenerator> configChangeEventGeneratorOptional;
   private final ClientConfig clientConfig;
+  private final Optional<ConfigObjectCache<Optional<ConfigObject<T>>>> objectCache;
+  private final Optional<ConfigSnapshotStore<GetConfigResponse>> configSnapshot;
+  private final Optional<ConfigCircuitBreaker> circuitBreaker;
+  private final Optional<ConfigReadExecutor> readExecutor;
+  private final DefaultResultProcessor<T> resultProcessor;
 
   protected DefaultObjectStore(
       ConfigServiceBlockingStub configServiceBlockingStub,
@@ -41,6 +52,58 @@ public abstract class DefaultObjectStore<T> {
     this.resourceName = resourceName;
     this.configChangeEventGeneratorOptional = Optional.ofNullable(configChangeEventGenerator);
     this.clientConfig = clientConfig;
+    this.objectCache =
+        clientConfig
+            .getCacheConfig()
+            .map(
+                cacheConfig ->
+                    new ConfigObjectCache<Optional<ConfigObject<T>>>(
+                        cacheConfig,
+                        Map.of(
+                            "resourceNamespace", resourceNamespace,
+                            "resourceName", resourceName,
+                            "query", "single"),
+                        clientConfig
+                            .getCircuitBreakerConfig()
+                            .map(ObjectStoreCircuitBreakerConfig::getMaximumStaleness),
+                        object -> object.map(StaleConfigObject::new)));
+    this.configSnapshot =
+        clientConfig
+            .getSnapshotConfig()
+            .map(
+                snapshotConfig ->
+                    new ConfigSnapshotStore<>(
+                        snapshotConfig,
+                        resourceNamespace,
+                        resourceName,
+                        GetConfigResponse.parser(),
+                        Map.of(
+                            "resourceNamespace", resourceNamespace,
+                            "resourceName", resourceName,
+                            "query", "single")));
+    this.circuitBreaker =
+        clientConfig
+            .getCircuitBreakerConfig()
+            .map(
+                circuitBreakerConfig ->
+                    new ConfigCircuitBreaker(
+                        circuitBreakerConfig,
+                        resourceNamespace + "/" + resourceName,
+                        Map.of(
+                            "resourceNamespace", resourceNamespace,
+                            "resourceName", resourceName)));
+    this.readExecutor =
+        ConfigReadExecutor.forConfig(
+            clientConfig,
+            Map.of("resourceNamespace", resourceNamespace, "resourceName", resourceName));
+    this.resultProcessor =
+        new DefaultResultProcessor<>(
+            new ObjectConversions<>(
+                this::buildDataFromValue,
+                this::buildValueForChangeEvent,
+                this::isChangeEventValueOverridden,
+                this::buildClassNameForChangeEvent),
+            this.configChangeEventGeneratorOptional);
   }
 
   protected DefaultObjectStore(
@@ -76,27 +139,18 @@ public abstract class DefaultObjectStore<T> {
   }
 
   public Optional<ConfigObject<T>> getObject(RequestContext context) {
+    return this.objectCache
+        .map(cache -> cache.get(context, DEFAULT_CACHE_CONTEXT, this::fetchObject))
+        .orElseGet(() -> this.fetchObject(context));
+  }
+
+  private Optional<ConfigObject<T>> fetchObject(RequestContext context) {
     try {
       GetConfigResponse getConfigResponse =
-          context.call(
-              () ->
-                  this.configServiceBlockingStub
-                      .withDeadline(getDeadline())
-                      .getConfig(
-                          GetConfigRequest.newBuilder()
-                              .setResourceName(this.resourceName)
-                              .setResourceNamespace(this.resourceNamespace)
-                              .build()));
-
-      return ConfigObjectImpl.tryBuild(
-          getConfigResponse.getConfig(),
-          getConfigResponse.getCreationTimestamp(),
-          getConfigResponse.getUpdateTimestamp(),
-          getConfigResponse.getCreatedByEmail(),
-          getConfigResponse.getLastUserUpdateTimestamp(),
-          getConfigResponse.getLastUserUpdateEmail(),
-          getConfigResponse.getLastUpdateEmail(),
-          this::buildDataFromValue);
+          this.configSnapshot
+              .map(snapshot -> snapshot.read(context, this::fetchConfig))
+              .orElseGet(() -> this.fetchConfig(context));
+      return this.resultProcessor.buildFetchedObject(getConfigResponse);
     } catch (Exception exception) {
       if (Status.fromThrowable(exception).equals(Status.NOT_FOUND)) {
         return Optional.empty();
@@ -105,19 +159,26 @@ public abstract class DefaultObjectStore<T> {
     }
   }
 
+  private GetConfigResponse fetchConfig(RequestContext context) {
+    return this.read(
+        context,
+        ConfigServiceMethod.GET_CONFIG,
+        () ->
+            this.configServiceBlockingStub
+                .withDeadline(getDeadline(ConfigServiceMethod.GET_CONFIG))
+                .getConfig(
+                    GetConfigRequest.newBuilder()
+                        .setResourceName(this.resourceName)
+                        .setResourceNamespace(this.resourceNamespace)
+                        .build()));
+  }
+
   public Optional<T> getData(RequestContext context) {
+    if (this.objectCache.isPresent() || this.configSnapshot.isPresent()) {
+      return this.getObject(context).map(ConfigObject::getData);
+    }
     try {
-      Value value =
-          context.call(
-              () ->
-                  this.configServiceBlockingStub
-                      .withDeadline(getDeadline())
-                      .getConfig(
-                          GetConfigRequest.newBuilder()
-                              .setResourceName(this.resourceName)
-                              .setResourceNamespace(this.resourceNamespace)
-                              .build())
-                      .getConfig());
+      Value value = this.fetchConfig(context).getConfig();
       T data = this.buildDataFromValue(value).orElseThrow(Status.INTERNAL::asRuntimeException);
       return Optional.of(data);
     } catch (Exception exception) {
@@ -129,48 +190,23 @@ public abstract class DefaultObjectStore<T> {
   }
 
   public ConfigObject<T> upsertObject(RequestContext context, T data) {
-    UpsertConfigResponse response =
-        context.call(
-            () ->
-                this.configServiceBlockingStub
-                    .withDeadline(getDeadline())
-                    .upsertConfig(
-                        UpsertConfigRequest.newBuilder()
-                            .setResourceName(this.resourceName)
-                            .setResourceNamespace(this.resourceNamespace)
-                            .setConfig(this.buildValueFromData(data))
-                            .build()));
-
-    ConfigObject<T> upsertedObject =
-        ConfigObjectImpl.tryBuild(response, this::buildDataFromValue)
-            .orElseThrow(Status.INTERNAL::asRuntimeException);
-
-    if (!context.isUserTrackingSuppressed()) {
-      configChangeEventGeneratorOptional.ifPresent(
-          configChangeEventGenerator -> {
-            if (response.hasPrevConfig()) {
-              configChangeEventGenerator.sendUpdateNotification(
-                  context,
-                  this.buildClassNameForChangeEvent(upsertedObject.getData()),
-                  this.buildDataFromValue(response.getPrevConfig())
-                      .map(this::buildValueForChangeEvent)
-                      .orElseGet(
-                          () -> {
-                            log.error(
-                                "Unable to convert previousValue back to data for change event. Falling back to raw value {}",
-                                response.getPrevConfig());
-                            return response.getPrevConfig();
-                          }),
-                  this.buildValueForChangeEvent(upsertedObject.getData()));
-            } else {
-              configChangeEventGenerator.sendCreateNotification(
-                  context,
-                  this.buildClassNameForChangeEvent(upsertedObject.getData()),
-                  this.buildValueForChangeEvent(upsertedObject.getData()));
-            }
-          });
+    UpsertConfigResponse response;
+    try {
+      response =
+          context.call(
+              () ->
+                  this.configServiceBlockingStub
+                      .withDeadline(getDeadline(ConfigServiceMethod.UPSERT_CONFIG))
+                      .upsertConfig(
+                          UpsertConfigRequest.newBuilder()
+                              .setResourceName(this.resourceName)
+                              .setResourceNamespace(this.resourceNamespace)
+                              .setConfig(this.buildValueFromData(data))
+                              .build()));
+    } finally {
+      this.invalidateCache(context);
     }
-    return upsertedObject;
+    return this.resultProcessor.processUpsertResult(context, response);
   }
 
   public Optional<ConfigObject<T>> deleteObject(RequestContext context) {
@@ -180,34 +216,74 @@ public abstract class DefaultObjectStore<T> {
               .call(
                   () ->
                       this.configServiceBlockingStub
-                          .withDeadline(getDeadline())
+                          .withDeadline(getDeadline(ConfigServiceMethod.DELETE_CONFIG))
                           .deleteConfig(
                               DeleteConfigRequest.newBuilder()
                                   .setResourceName(this.resourceName)
                                   .setResourceNamespace(this.resourceNamespace)
                                   .build()))
               .getDeletedConfig();
-      ConfigObject<T> object =
-          ConfigObjectImpl.tryBuild(deletedConfig, this::buildDataFromValue)
-              .orElseThrow(Status.INTERNAL::asRuntimeException);
-      if (!context.isUserTrackingSuppressed()) {
-        configChangeEventGeneratorOptional.ifPresent(
-            configChangeEventGenerator ->
-                configChangeEventGenerator.sendDeleteNotification(
-                    context,
-                    this.buildClassNameForChangeEvent(object.getData()),
-                    this.buildValueForChangeEvent(object.getData())));
-      }
-      return Optional.of(object);
+      return Optional.of(this.resultProcessor.processDeleteResult(context, deletedConfig));
     } catch (Exception exception) {
       if (Status.fromThrowable(exception).equals(Status.NOT_FOUND)) {
         return Optional.empty();
       }
       throw exception;
+    } finally {
+      this.invalidateCache(context);
+    }
+  }
+
+  /**
+   * Whether this store overrides {@link #buildValueForChangeEvent}. If it doesn't, change events
+   * carry the stored config values as they are.
+   */
+  boolean isChangeEventValueOverridden() {
+    return CHANGE_EVENT_VALUE_OVERRIDES.isOverridden(this.getClass());
+  }
+
+  /**
+   * Drops the cached config of the tenant a change event was published for, for callers consuming
+   * the change events of this store's config type. A no-op unless caching is enabled in the {@link
+   * ClientConfig}.
+   */
+  public void invalidateCache(ConfigChangeEventKey eventKey) {
+    this.objectCache.ifPresent(cache -> cache.invalidateTenant(eventKey.getTenantId()));
+  }
+
+  private void invalidateCache(RequestContext context) {
+    if (this.objectCache.isEmpty()) {
+      return;
     }
+    context
+        .getTenantId()
+        .ifPresent(
+            tenantId ->
+                this.objectCache.ifPresent(
+                    cache -> cache.invalidate(tenantId, DEFAULT_CACHE_CONTEXT)));
+  }
+
+  /**
+   * Makes a hedgeable read of the config service, through the circuit breaker if one is
+   * configured. The read is retried and hedged as configured, so the call must set its own
+   * deadline.
+   */
+  private <R> R read(RequestContext context, ConfigServiceMethod method, Callable<R> call) {
+    Function<RequestContext, R> read =
+        requestContext ->
+            this.readExecutor
+                .map(executor -> executor.read(requestContext, method, true, call))
+                .orElseGet(() -> requestContext.call(call));
+    return this.circuitBreaker
+        .map(breaker -> breaker.execute(context, read))
+        .orElseGet(() -> read.apply(context));
   }
 
   protected Deadline getDeadline() {
     return Deadline.after(this.clientConfig.getTimeout().toMillis(), TimeUnit.MILLISECONDS);
   }
+
+  protected Deadline getDeadline(ConfigServiceMethod method) {
+    return Deadline.after(this.clientConfig.getTimeout(method).toMillis(), TimeUnit.MILLISECONDS);
+  }
 }
@@ -0,0 +1,88 @@
+package org.hypertrace.config.objectstore;
+
+import io.grpc.Status;
+import java.util.List;
+import java.util.Optional;
+import org.hypertrace.config.service.change.event.api.ConfigChangeEventGenerator;
+import org.hypertrace.config.service.change.event.api.ConfigChangeNotification;
+import org.hypertrace.config.service.v1.ContextSpecificConfig;
+import org.hypertrace.config.service.v1.GetConfigResponse;
+import org.hypertrace.config.service.v1.UpsertConfigResponse;
+import org.hypertrace.core.grpcutils.context.RequestContext;
+
+/**
+ * Decodes the config service responses of default object stores and reports the changes they carry
+ * to the change event generator. It makes no calls of its own, so the blocking and the
+ * non-blocking stores share it.
+ */
+final class DefaultResultProcessor<T> {
+  private final ObjectConversions<T> conversions;
+  private final Optional<ConfigChangeEventGenerator> configChangeEventGeneratorOptional;
+
+  DefaultResultProcessor(
+      ObjectConversions<T> conversions,
+      Optional<ConfigChangeEventGenerator> configChangeEventGeneratorOptional) {
+    this.conversions = conversions;
+    this.configChangeEventGeneratorOptional = configChangeEventGeneratorOptional;
+  }
+
+  Optional<ConfigObject<T>> buildFetchedObject(GetConfigResponse getConfigResponse) {
+    return ConfigObjectImpl.tryBuild(
+        getConfigResponse.getConfig(),
+        getConfigResponse.getCreationTimestamp(),
+        getConfigResponse.getUpdateTimestamp(),
+        getConfigResponse.getCreatedByEmail(),
+        getConfigResponse.getLastUserUpdateTimestamp(),
+        getConfigResponse.getLastUserUpdateEmail(),
+        getConfigResponse.getLastUpdateEmail(),
+        this.conversions::buildDataFromValue);
+  }
+
+  ConfigObject<T> processUpsertResult(RequestContext context, UpsertConfigResponse response) {
+    ConfigObject<T> upsertedObject =
+        ConfigObjectImpl.tryBuild(response, this.conversions::buildDataFromValue)
+            .orElseThrow(Status.INTERNAL::asRuntimeException);
+
+    if (!context.isUserTrackingSuppressed()) {
+      configChangeEventGeneratorOptional.ifPresent(
+          configChangeEventGenerator -> {
+            if (response.hasPrevConfig()) {
+              configChangeEventGenerator.sendNotifications(
+                  context,
+                  List.of(
+                      ConfigChangeNotification.update(
+                          this.conversions.buildClassNameForChangeEvent(upsertedObject.getData()),
+                          Optional.empty(),
+                          this.conversions.buildPreviousChangeEventValue(response.getPrevConfig()),
+                          this.conversions.buildChangeEventValue(
+                              upsertedObject.getData(), response.getConfig()))));
+            } else {
+              configChangeEventGenerator.sendCreateNotification(
+                  context,
+                  this.conversions.buildClassNameForChangeEvent(upsertedObject.getData()),
+                  this.conversions
+                      .buildChangeEventValue(upsertedObject.getData(), response.getConfig())
+                      .get());
+            }
+          });
+    }
+    return upsertedObject;
+  }
+
+  ConfigObject<T> processDeleteResult(RequestContext context, ContextSpecificConfig deletedConfig) {
+    ConfigObject<T> object =
+        ConfigObjectImpl.tryBuild(deletedConfig, this.conversions::buildDataFromValue)
+            .orElseThrow(Status.INTERNAL::asRuntimeException);
+    if (!context.isUserTrackingSuppressed()) {
+      configChangeEventGeneratorOptional.ifPresent(
+          configChangeEventGenerator ->
+              configChangeEventGenerator.sendDeleteNotification(
+                  context,
+                  this.conversions.buildClassNameForChangeEvent(object.getData()),
+                  this.conversions
+                      .buildChangeEventValue(object.getData(), deletedConfig.getConfig())
+                      .get()));
+    }
+    return object;
+  }
+}
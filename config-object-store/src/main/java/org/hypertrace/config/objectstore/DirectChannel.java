@@ -0,0 +1,247 @@
+package org.hypertrace.config.objectstore;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.grpc.BindableService;
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.Context;
+import io.grpc.Context.CancellableContext;
+import io.grpc.Contexts;
+import io.grpc.Deadline;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerMethodDefinition;
+import io.grpc.ServerServiceDefinition;
+import io.grpc.Status;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * A channel invoking services of the same JVM directly, on the calling thread. Calls skip the
+ * transport, marshalling, call credentials and server interceptors, and run with the caller's gRPC
+ * context, so the services see the caller's request context. Calls of methods of other services go
+ * to the fallback channel.
+ *
+ * <p>Unlike over an in-process channel, the service runs on the thread sending the request, so a
+ * blocking stub waits for the service to return. The call's deadline cancels the service's context
+ * and closes the call, but stops the service only where the service checks its context. As with a
+ * server, an exception thrown by the service closes the call as UNKNOWN, and only the code and
+ * description of a status reach the caller.
+ */
+public class DirectChannel extends Channel {
+  private static final ScheduledExecutorService DEADLINE_SCHEDULER =
+      Executors.newSingleThreadScheduledExecutor(
+          new ThreadFactoryBuilder()
+              .setNameFormat("config-direct-channel-deadline-%d")
+              .setDaemon(true)
+              .build());
+
+  private final Channel fallbackChannel;
+  private final Map<String, ServerMethodDefinition<?, ?>> methods;
+
+  public DirectChannel(Channel fallbackChannel, BindableService... services) {
+    this(
+        fallbackChannel,
+        Arrays.stream(services)
+            .map(BindableService::bindService)
+            .toArray(ServerServiceDefinition[]::new));
+  }
+
+  public DirectChannel(Channel fallbackChannel, ServerServiceDefinition... services) {
+    this.fallbackChannel = fallbackChannel;
+    this.methods =
+        Arrays.stream(services)
+            .flatMap(service -> service.getMethods().stream())
+            .collect(
+                Collectors.toUnmodifiableMap(
+                    method -> method.getMethodDescriptor().getFullMethodName(),
+                    Function.identity()));
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <ReqT, RespT> ClientCall<ReqT, RespT> newCall(
+      MethodDescriptor<ReqT, RespT> methodDescriptor, CallOptions callOptions) {
+    ServerMethodDefinition<ReqT, RespT> method =
+        (ServerMethodDefinition<ReqT, RespT>)
+            this.methods.get(methodDescriptor.getFullMethodName());
+    if (method == null) {
+      return this.fallbackChannel.newCall(methodDescriptor, callOptions);
+    }
+    return new DirectCall<>(method, callOptions);
+  }
+
+  @Override
+  public String authority() {
+    return this.fallbackChannel.authority();
+  }
+
+  private static class DirectCall<ReqT, RespT> extends ClientCall<ReqT, RespT> {
+    private final ServerMethodDefinition<ReqT, RespT> method;
+    private final CallOptions callOptions;
+    private final Context callerContext = Context.current();
+    private final Executor responseExecutor;
+    private CancellableContext serverContext;
+    private volatile ServerCall.Listener<ReqT> serverListener;
+    private Listener<RespT> responseListener;
+    private boolean closed;
+    private volatile boolean cancelled;
+
+    DirectCall(ServerMethodDefinition<ReqT, RespT> method, CallOptions callOptions) {
+      this.method = method;
+      this.callOptions = callOptions;
+      // Responses are delivered in order, on the executor of the call if it has one
+      this.responseExecutor =
+          callOptions.getExecutor() == null
+              ? MoreExecutors.directExecutor()
+              : MoreExecutors.newSequentialExecutor(callOptions.getExecutor());
+    }
+
+    @Override
+    public void start(Listener<RespT> responseListener, Metadata headers) {
+      this.responseListener = responseListener;
+      Deadline deadline = this.getEffectiveDeadline();
+      this.serverContext =
+          deadline == null
+              ? this.callerContext.withCancellation()
+              : this.callerContext.withDeadline(deadline, DEADLINE_SCHEDULER);
+      if (this.serverContext.isCancelled()) {
+        this.close(Contexts.statusFromCancelled(this.serverContext), new Metadata());
+        return;
+      }
+      // The caller sees the deadline or its own cancellation even while the service is running
+      this.serverContext.addListener(
+          context -> this.cancel(Contexts.statusFromCancelled(context)),
+          MoreExecutors.directExecutor());
+      ServerCallHandler<ReqT, RespT> handler = this.method.getServerCallHandler();
+      this.runInServerContext(
+          () -> this.serverListener = handler.startCall(new DirectServerCall(), headers));
+    }
+
+    @Override
+    public void request(int numMessages) {
+      // Responses are delivered as the service sends them
+    }
+
+    @Override
+    public void cancel(String message, Throwable cause) {
+      this.cancel(Status.CANCELLED.withDescription(message).withCause(cause));
+    }
+
+    @Override
+    public void halfClose() {
+      this.runInServerContext(() -> this.serverListener.onHalfClose());
+    }
+
+    @Override
+    public void sendMessage(ReqT message) {
+      this.runInServerContext(() -> this.serverListener.onMessage(message));
+    }
+
+    @Override
+    public boolean isReady() {
+      return true;
+    }
+
+    private Deadline getEffectiveDeadline() {
+      Deadline callDeadline = this.callOptions.getDeadline();
+      Deadline contextDeadline = this.callerContext.getDeadline();
+      if (callDeadline == null || contextDeadline == null) {
+        return callDeadline == null ? contextDeadline : callDeadline;
+      }
+      return callDeadline.minimum(contextDeadline);
+    }
+
+    private void runInServerContext(Runnable runnable) {
+      if (this.isClosed()) {
+        return;
+      }
+      try {
+        this.serverContext.run(runnable);
+      } catch (RuntimeException exception) {
+        // Like a server, even for a status exception, which services should report instead
+        this.close(
+            Status.UNKNOWN.withDescription("Application error processing RPC").withCause(exception),
+            new Metadata());
+      }
+    }
+
+    private void cancel(Status status) {
+      if (this.close(status, new Metadata())) {
+        this.cancelled = true;
+        if (this.serverListener != null) {
+          this.serverListener.onCancel();
+        }
+      }
+    }
+
+    private synchronized boolean isClosed() {
+      return this.closed;
+    }
+
+    /** Closes the call once, returning whether it was still open. */
+    private boolean close(Status status, Metadata trailers) {
+      synchronized (this) {
+        if (this.closed) {
+          return false;
+        }
+        this.closed = true;
+      }
+      // Causes and their stack traces don't cross process boundaries either
+      Status clientStatus =
+          Status.fromCode(status.getCode()).withDescription(status.getDescription());
+      if (this.serverContext == null) {
+        // Cancelled before it was started
+        return true;
+      }
+      this.responseExecutor.execute(() -> this.responseListener.onClose(clientStatus, trailers));
+      this.serverContext.cancel(null);
+      return true;
+    }
+
+    private class DirectServerCall extends ServerCall<ReqT, RespT> {
+      @Override
+      public void request(int numMessages) {
+        // Requests are delivered as the caller sends them
+      }
+
+      @Override
+      public void sendHeaders(Metadata headers) {
+        responseExecutor.execute(() -> responseListener.onHeaders(headers));
+      }
+
+      @Override
+      public void sendMessage(RespT message) {
+        if (!isClosed()) {
+          responseExecutor.execute(() -> responseListener.onMessage(message));
+        }
+      }
+
+      @Override
+      public void close(Status status, Metadata trailers) {
+        if (DirectCall.this.close(status, trailers) && serverListener != null) {
+          serverListener.onComplete();
+        }
+      }
+
+      @Override
+      public boolean isCancelled() {
+        return cancelled;
+      }
+
+      @Override
+      public MethodDescriptor<ReqT, RespT> getMethodDescriptor() {
+        return method.getMethodDescriptor();
+      }
+    }
+  }
+}
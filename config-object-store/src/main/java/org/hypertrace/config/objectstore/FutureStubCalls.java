@@ -0,0 +1,65 @@
+package org.hypertrace.config.objectstore;
+
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import io.grpc.Status;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
+import org.hypertrace.core.grpcutils.context.RequestContext;
+
+/** Adapts calls made on the future stub to the {@link CompletionStage}s of the async stores. */
+class FutureStubCalls {
+  private FutureStubCalls() {}
+
+  /**
+   * Starts the call in the given request context. Completion callbacks run on the grpc executor,
+   * so stages chained on the result should not block.
+   */
+  static <R> CompletionStage<R> call(
+      RequestContext requestContext, Supplier<ListenableFuture<R>> call) {
+    CompletableFuture<R> result = new CompletableFuture<>();
+    ListenableFuture<R> future;
+    try {
+      future = requestContext.call(call::get);
+    } catch (RuntimeException exception) {
+      result.completeExceptionally(exception);
+      return result;
+    }
+    Futures.addCallback(
+        future,
+        new FutureCallback<>() {
+          @Override
+          public void onSuccess(R response) {
+            result.complete(response);
+          }
+
+          @Override
+          public void onFailure(Throwable throwable) {
+            result.completeExceptionally(throwable);
+          }
+        },
+        MoreExecutors.directExecutor());
+    return result;
+  }
+
+  /** Maps a NOT_FOUND failure to an empty result, as the blocking stores do. */
+  static <V> CompletionStage<Optional<V>> recoverNotFound(CompletionStage<Optional<V>> stage) {
+    return stage.handle(
+        (value, throwable) -> {
+          if (throwable == null) {
+            return value;
+          }
+          if (Status.fromThrowable(throwable).getCode() == Status.Code.NOT_FOUND) {
+            return Optional.empty();
+          }
+          throw throwable instanceof CompletionException
+              ? (CompletionException) throwable
+              : new CompletionException(throwable);
+        });
+  }
+}
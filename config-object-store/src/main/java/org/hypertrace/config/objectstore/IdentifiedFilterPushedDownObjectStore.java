@@ -97,12 +97,21 @@ public abstract class IdentifiedFilterPushedDownObjectStore<T, F, S>
     Filter filter = buildFilter(filterInput);
     List<SortBy> sortByList = sortInput.stream().map(this::buildSort).collect(Collectors.toList());
     GetAllConfigsResponse getConfigsResponse =
-        context.call(
+        this.read(
+            context,
+            ConfigServiceMethod.GET_ALL_CONFIGS,
+            false,
             () ->
                 this.configServiceBlockingStub
-                    .withDeadline(getDeadline())
+                    .withDeadline(getDeadline(ConfigServiceMethod.GET_ALL_CONFIGS))
                     .getAllConfigs(
-                        buildGetAllConfigsRequest(filter, sortByList, pagination, totalIncluded)));
+                        buildGetAllConfigsRequest(
+                            this.resourceNamespace,
+                            this.resourceName,
+                            filter,
+                            sortByList,
+                            pagination,
+                            totalIncluded)));
 
     List<ContextualConfigObject<T>> contextualConfigObjectsList =
         getConfigsResponse.getContextSpecificConfigsList().stream()
@@ -118,12 +127,17 @@ public abstract class IdentifiedFilterPushedDownObjectStore<T, F, S>
         contextualConfigObjectsList, getConfigsResponse.getTotalCount());
   }
 
-  private GetAllConfigsRequest buildGetAllConfigsRequest(
-      Filter filter, List<SortBy> sortByList, Pagination pagination, boolean totalIncluded) {
+  static GetAllConfigsRequest buildGetAllConfigsRequest(
+      String resourceNamespace,
+      String resourceName,
+      Filter filter,
+      List<SortBy> sortByList,
+      Pagination pagination,
+      boolean totalIncluded) {
     GetAllConfigsRequest.Builder getAllConfigsRequest =
         GetAllConfigsRequest.newBuilder()
-            .setResourceName(this.resourceName)
-            .setResourceNamespace(this.resourceNamespace)
+            .setResourceName(resourceName)
+            .setResourceNamespace(resourceNamespace)
             .setFilter(filter)
             .addAllSortBy(sortByList);
     if (pagination != null) {
@@ -1,26 +1,36 @@
 package org.hypertrace.config.objectstore;
 
+import com.google.common.collect.Lists;
 import com.google.protobuf.Value;
 import io.grpc.Deadline;
 import io.grpc.Status;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.Callable;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
-import lombok.extern.slf4j.Slf4j;
+import org.hypertrace.config.change.event.v1.ConfigChangeEventKey;
 import org.hypertrace.config.service.change.event.api.ConfigChangeEventGenerator;
 import org.hypertrace.config.service.v1.ConfigServiceGrpc.ConfigServiceBlockingStub;
 import org.hypertrace.config.service.v1.ContextSpecificConfig;
 import org.hypertrace.config.service.v1.DeleteConfigRequest;
 import org.hypertrace.config.service.v1.DeleteConfigsRequest;
 import org.hypertrace.config.service.v1.DeleteConfigsRequest.ConfigToDelete;
+import org.hypertrace.config.service.v1.DeleteConfigsResponse;
 import org.hypertrace.config.service.v1.Filter;
 import org.hypertrace.config.service.v1.GetAllConfigsRequest;
+import org.hypertrace.config.service.v1.GetAllConfigsResponse;
 import org.hypertrace.config.service.v1.GetConfigRequest;
 import org.hypertrace.config.service.v1.GetConfigResponse;
 import org.hypertrace.config.service.v1.UpsertAllConfigsRequest;
 import org.hypertrace.config.service.v1.UpsertAllConfigsRequest.ConfigToUpsert;
-import org.hypertrace.config.service.v1.UpsertAllConfigsResponse.UpsertedConfig;
+import org.hypertrace.config.service.v1.UpsertAllConfigsResponse;
 import org.hypertrace.config.service.v1.UpsertConfigRequest;
 import org.hypertrace.config.service.v1.UpsertConfigResponse;
 import org.hypertrace.core.grpcutils.context.RequestContext;
@@ -31,13 +41,23 @@ import org.hypertrace.core.grpcutils.context.RequestContext;
  *
  * @param <T>
  */
-@Slf4j
 public abstract class IdentifiedObjectStore<T> {
+  private static final String ALL_OBJECTS_CACHE_CONTEXT = "";
+  private static final int MAX_CONTEXTS_PER_GET_REQUEST = 500;
+  private static final ChangeEventValueOverrides CHANGE_EVENT_VALUE_OVERRIDES =
+      new ChangeEventValueOverrides(IdentifiedObjectStore.class);
+
   private final ConfigServiceBlockingStub configServiceBlockingStub;
   private final String resourceNamespace;
   private final String resourceName;
   private final Optional<ConfigChangeEventGenerator> configChangeEventGeneratorOptional;
   private final ClientConfig clientConfig;
+  private final Optional<ConfigObjectCache<List<ContextualConfigObject<T>>>> allObjectsCache;
+  private final Optional<ConfigObjectCache<Optional<ContextualConfigObject<T>>>> objectCache;
+  private final Optional<ConfigSnapshotStore<GetAllConfigsResponse>> allConfigsSnapshot;
+  private final Optional<ConfigCircuitBreaker> circuitBreaker;
+  private final Optional<ConfigReadExecutor> readExecutor;
+  private final IdentifiedResultProcessor<T> resultProcessor;
 
   protected IdentifiedObjectStore(
       ConfigServiceBlockingStub configServiceBlockingStub,
@@ -50,6 +70,59 @@ public abstract class IdentifiedObjectStore<T> {
     this.resourceName = resourceName;
     this.configChangeEventGeneratorOptional = Optional.ofNullable(configChangeEventGenerator);
     this.clientConfig = clientConfig;
+    this.allObjectsCache =
+        clientConfig
+            .getCacheConfig()
+            .map(
+                cacheConfig ->
+                    this.<List<ContextualConfigObject<T>>>buildCache(
+                        cacheConfig, "all", IdentifiedObjectStore::markAllStale));
+    this.objectCache =
+        clientConfig
+            .getCacheConfig()
+            .map(
+                cacheConfig ->
+                    this.<Optional<ContextualConfigObject<T>>>buildCache(
+                        cacheConfig, "single", IdentifiedObjectStore::markStale));
+    this.allConfigsSnapshot =
+        clientConfig
+            .getSnapshotConfig()
+            .map(
+                snapshotConfig ->
+                    new ConfigSnapshotStore<>(
+                        snapshotConfig,
+                        resourceNamespace,
+                        resourceName,
+                        GetAllConfigsResponse.parser(),
+                        Map.of(
+                            "resourceNamespace", resourceNamespace,
+                            "resourceName", resourceName,
+                            "query", "all")));
+    this.circuitBreaker =
+        clientConfig
+            .getCircuitBreakerConfig()
+            .map(
+                circuitBreakerConfig ->
+                    new ConfigCircuitBreaker(
+                        circuitBreakerConfig,
+                        resourceNamespace + "/" + resourceName,
+                        Map.of(
+                            "resourceNamespace", resourceNamespace,
+                            "resourceName", resourceName)));
+    this.readExecutor =
+        ConfigReadExecutor.forConfig(
+            clientConfig,
+            Map.of("resourceNamespace", resourceNamespace, "resourceName", resourceName));
+    this.resultProcessor =
+        new IdentifiedResultProcessor<>(
+            new ObjectConversions<>(
+                this::buildDataFromValue,
+                this::buildValueForChangeEvent,
+                this::isChangeEventValueOverridden,
+                this::buildClassNameForChangeEvent),
+            this::orderFetchedObjects,
+            this.configChangeEventGeneratorOptional,
+            clientConfig.getParallelDecodeConfig());
   }
 
   protected IdentifiedObjectStore(
@@ -92,11 +165,81 @@ public abstract class IdentifiedObjectStore<T> {
   }
 
   public List<ContextualConfigObject<T>> getAllObjects(RequestContext context) {
-    return context
-        .call(
+    return this.allObjectsCache
+        .map(cache -> cache.get(context, ALL_OBJECTS_CACHE_CONTEXT, this::fetchAllObjects))
+        .orElseGet(() -> this.fetchAllObjects(context));
+  }
+
+  private List<ContextualConfigObject<T>> fetchAllObjects(RequestContext context) {
+    return this.buildFetchedObjects(
+        this.allConfigsSnapshot
+            .map(snapshot -> snapshot.read(context, this::fetchAllConfigs))
+            .orElseGet(() -> this.fetchAllConfigs(context)));
+  }
+
+  private GetAllConfigsResponse fetchAllConfigs(RequestContext context) {
+    return this.read(
+        context,
+        ConfigServiceMethod.GET_ALL_CONFIGS,
+        true,
+        () ->
+            this.configServiceBlockingStub
+                .withDeadline(getDeadline(ConfigServiceMethod.GET_ALL_CONFIGS))
+                .getAllConfigs(
+                    GetAllConfigsRequest.newBuilder()
+                        .setResourceName(this.resourceName)
+                        .setResourceNamespace(this.resourceNamespace)
+                        .build()));
+  }
+
+  /**
+   * Fetches the objects matching a filter, restricted to the given contexts when any are provided.
+   * Reads are not served from the client side cache.
+   */
+  List<ContextualConfigObject<T>> fetchMatchingObjects(
+      RequestContext context, Optional<Filter> filter, Collection<String> contexts) {
+    GetAllConfigsRequest.Builder requestBuilder =
+        GetAllConfigsRequest.newBuilder()
+            .setResourceName(this.resourceName)
+            .setResourceNamespace(this.resourceNamespace)
+            .addAllContexts(contexts);
+    filter.ifPresent(requestBuilder::setFilter);
+    return this.buildFetchedObjects(
+        this.read(
+            context,
+            ConfigServiceMethod.GET_ALL_CONFIGS,
+            false,
+            () ->
+                this.configServiceBlockingStub
+                    .withDeadline(getDeadline(ConfigServiceMethod.GET_ALL_CONFIGS))
+                    .getAllConfigs(requestBuilder.build())));
+  }
+
+  List<ContextualConfigObject<T>> buildFetchedObjects(GetAllConfigsResponse response) {
+    return this.resultProcessor.buildFetchedObjects(response);
+  }
+
+  public List<T> getAllConfigData(RequestContext context) {
+    return getAllObjects(context).stream()
+        .map(ConfigObject::getData)
+        .collect(Collectors.toUnmodifiableList());
+  }
+
+  /**
+   * Fetches all objects without decoding their data, for callers which only need the contexts or
+   * timestamps, or stop early. The objects are in the order the config service returns them, as
+   * {@link #orderFetchedObjects} works on decoded data. Unlike {@link #getAllObjects}, objects
+   * which fail to decode are not skipped; callers needing the same set should filter on {@link
+   * LazyContextualConfigObject#tryGetData()}. Reads are not served from the client side cache.
+   */
+  public List<LazyContextualConfigObject<T>> getAllLazyObjects(RequestContext context) {
+    return this.read(
+            context,
+            ConfigServiceMethod.GET_ALL_CONFIGS,
+            false,
             () ->
                 this.configServiceBlockingStub
-                    .withDeadline(getDeadline())
+                    .withDeadline(getDeadline(ConfigServiceMethod.GET_ALL_CONFIGS))
                     .getAllConfigs(
                         GetAllConfigsRequest.newBuilder()
                             .setResourceName(this.resourceName)
@@ -106,46 +249,36 @@ public abstract class IdentifiedObjectStore<T> {
         .stream()
         .map(
             contextSpecificConfig ->
-                ContextualConfigObjectImpl.tryBuild(
+                new LazyContextualConfigObjectImpl<>(
                     contextSpecificConfig, this::buildDataFromValue))
-        .flatMap(Optional::stream)
-        .collect(
-            Collectors.collectingAndThen(
-                Collectors.toUnmodifiableList(), this::orderFetchedObjects));
-  }
-
-  public List<T> getAllConfigData(RequestContext context) {
-    return getAllObjects(context).stream()
-        .map(ConfigObject::getData)
         .collect(Collectors.toUnmodifiableList());
   }
 
   public Optional<ContextualConfigObject<T>> getObject(RequestContext context, String id) {
+    return this.objectCache
+        .map(
+            cache ->
+                cache.get(context, id, requestContext -> this.fetchObject(requestContext, id)))
+        .orElseGet(() -> this.fetchObject(context, id));
+  }
+
+  private Optional<ContextualConfigObject<T>> fetchObject(RequestContext context, String id) {
     try {
       GetConfigResponse getConfigResponse =
-          context.call(
+          this.read(
+              context,
+              ConfigServiceMethod.GET_CONFIG,
+              true,
               () ->
                   this.configServiceBlockingStub
-                      .withDeadline(getDeadline())
+                      .withDeadline(getDeadline(ConfigServiceMethod.GET_CONFIG))
                       .getConfig(
                           GetConfigRequest.newBuilder()
                               .setResourceName(this.resourceName)
                               .setResourceNamespace(this.resourceNamespace)
                               .addContexts(id)
                               .build()));
-
-      ContextSpecificConfig contextSpecificConfig =
-          ContextSpecificConfig.newBuilder()
-              .setContext(id)
-              .setConfig(getConfigResponse.getConfig())
-              .setCreationTimestamp(getConfigResponse.getCreationTimestamp())
-              .setUpdateTimestamp(getConfigResponse.getUpdateTimestamp())
-              .setCreatedByEmail(getConfigResponse.getCreatedByEmail())
-              .setLastUserUpdateEmail(getConfigResponse.getLastUserUpdateEmail())
-              .setLastUserUpdateTimestamp(getConfigResponse.getLastUserUpdateTimestamp())
-              .setLastUpdateEmail(getConfigResponse.getLastUpdateEmail())
-              .build();
-      return ContextualConfigObjectImpl.tryBuild(contextSpecificConfig, this::buildDataFromValue);
+      return this.resultProcessor.buildFetchedObject(id, getConfigResponse);
     } catch (Exception exception) {
       if (Status.fromThrowable(exception).equals(Status.NOT_FOUND)) {
         return Optional.empty();
@@ -158,13 +291,64 @@ public abstract class IdentifiedObjectStore<T> {
     return getObject(context, id).map(ConfigObject::getData);
   }
 
+  /**
+   * Fetches the objects with the given ids with one filtered read per chunk of ids, rather than a
+   * read per id. Results are in the order of the ids; ids without an object are skipped. Reads are
+   * not served from the client side cache.
+   */
+  public List<ContextualConfigObject<T>> getObjects(
+      RequestContext context, Collection<String> ids) {
+    List<String> distinctIds = ids.stream().distinct().collect(Collectors.toUnmodifiableList());
+    Map<String, ContextualConfigObject<T>> objectsById = new HashMap<>();
+    for (List<String> chunk : Lists.partition(distinctIds, MAX_CONTEXTS_PER_GET_REQUEST)) {
+      this.read(
+              context,
+              ConfigServiceMethod.GET_ALL_CONFIGS,
+              false,
+              () ->
+                  this.configServiceBlockingStub
+                      .withDeadline(getDeadline(ConfigServiceMethod.GET_ALL_CONFIGS))
+                      .getAllConfigs(
+                          GetAllConfigsRequest.newBuilder()
+                              .setResourceName(this.resourceName)
+                              .setResourceNamespace(this.resourceNamespace)
+                              .addAllContexts(chunk)
+                              .build()))
+          .getContextSpecificConfigsList()
+          .forEach(
+              contextSpecificConfig ->
+                  ContextualConfigObjectImpl.tryBuild(
+                          contextSpecificConfig, this::buildDataFromValue)
+                      .ifPresent(object -> objectsById.put(object.getContext(), object)));
+    }
+    return distinctIds.stream()
+        .map(objectsById::get)
+        .filter(Objects::nonNull)
+        .collect(Collectors.toUnmodifiableList());
+  }
+
+  public List<T> getData(RequestContext context, Collection<String> ids) {
+    return getObjects(context, ids).stream()
+        .map(ConfigObject::getData)
+        .collect(Collectors.toUnmodifiableList());
+  }
+
   private ContextualConfigObject<T> upsertObject(
       RequestContext context, UpsertConfigRequest request) {
-    UpsertConfigResponse response =
-        context.call(
-            () -> this.configServiceBlockingStub.withDeadline(getDeadline()).upsertConfig(request));
+    UpsertConfigResponse response;
+    try {
+      response =
+          context.call(
+              () ->
+                  this.configServiceBlockingStub
+                      .withDeadline(getDeadline(ConfigServiceMethod.UPSERT_CONFIG))
+                      .upsertConfig(request));
+    } finally {
+      this.invalidateCache(context, List.of(request.getContext()));
+    }
 
-    return this.processUpsertResult(context, response)
+    return this.resultProcessor
+        .processUpsertResult(context, response, this::getContextFromData)
         .orElseThrow(Status.INTERNAL::asRuntimeException);
   }
 
@@ -199,7 +383,7 @@ public abstract class IdentifiedObjectStore<T> {
               .call(
                   () ->
                       this.configServiceBlockingStub
-                          .withDeadline(getDeadline())
+                          .withDeadline(getDeadline(ConfigServiceMethod.DELETE_CONFIG))
                           .deleteConfig(
                               DeleteConfigRequest.newBuilder()
                                   .setResourceName(this.resourceName)
@@ -207,12 +391,14 @@ public abstract class IdentifiedObjectStore<T> {
                                   .setContext(context)
                                   .build()))
               .getDeletedConfig();
-      return Optional.of(processDeleteResult(requestContext, deletedConfig));
+      return Optional.of(this.resultProcessor.processDeleteResult(requestContext, deletedConfig));
     } catch (Exception exception) {
       if (Status.fromThrowable(exception).equals(Status.NOT_FOUND)) {
         return Optional.empty();
       }
       throw exception;
+    } finally {
+      this.invalidateCache(requestContext, List.of(context));
     }
   }
 
@@ -229,18 +415,21 @@ public abstract class IdentifiedObjectStore<T> {
                         .build())
             .collect(Collectors.toUnmodifiableList());
 
-    return context
-        .call(
-            () ->
-                this.configServiceBlockingStub
-                    .withDeadline(getDeadline())
-                    .upsertAllConfigs(
-                        UpsertAllConfigsRequest.newBuilder().addAllConfigs(configs).build()))
-        .getUpsertedConfigsList()
-        .stream()
-        .map(upsertedConfig -> this.processUpsertResult(context, upsertedConfig))
-        .flatMap(Optional::stream)
-        .collect(Collectors.toUnmodifiableList());
+    UpsertAllConfigsResponse response;
+    try {
+      response =
+          context.call(
+              () ->
+                  this.configServiceBlockingStub
+                      .withDeadline(getDeadline(ConfigServiceMethod.UPSERT_ALL_CONFIGS))
+                      .upsertAllConfigs(
+                          UpsertAllConfigsRequest.newBuilder().addAllConfigs(configs).build()));
+    } finally {
+      this.invalidateCache(
+          context,
+          configs.stream().map(ConfigToUpsert::getContext).collect(Collectors.toList()));
+    }
+    return this.resultProcessor.processUpsertResults(context, response.getUpsertedConfigsList());
   }
 
   public List<DeletedContextualConfigObject<T>> deleteObjects(
@@ -255,111 +444,103 @@ public abstract class IdentifiedObjectStore<T> {
                         .setContext(context)
                         .build())
             .collect(Collectors.toUnmodifiableList());
-    return requestContext
-        .call(
-            () ->
-                this.configServiceBlockingStub
-                    .withDeadline(getDeadline())
-                    .deleteConfigs(
-                        DeleteConfigsRequest.newBuilder().addAllConfigs(configsToDelete).build()))
-        .getDeletedConfigsList()
-        .stream()
-        .map(deletedConfig -> processDeleteResult(requestContext, deletedConfig))
-        .collect(Collectors.toUnmodifiableList());
-  }
-
-  private Optional<ContextualConfigObject<T>> processUpsertResult(
-      RequestContext requestContext, UpsertConfigResponse response) {
-    Optional<ContextualConfigObject<T>> optionalResult =
-        ContextualConfigObjectImpl.tryBuild(
-            response, this::buildDataFromValue, this::getContextFromData);
-
-    optionalResult.ifPresent(
-        result -> {
-          if (response.hasPrevConfig()) {
-            tryReportUpdate(requestContext, result, response.getPrevConfig());
-          } else {
-            tryReportCreation(requestContext, result);
-          }
-        });
-    return optionalResult;
-  }
-
-  private Optional<ContextualConfigObject<T>> processUpsertResult(
-      RequestContext requestContext, UpsertedConfig upsertedConfig) {
-    Optional<ContextualConfigObject<T>> optionalResult =
-        ContextualConfigObjectImpl.tryBuild(upsertedConfig, this::buildDataFromValue);
-
-    optionalResult.ifPresent(
-        result -> {
-          if (upsertedConfig.hasPrevConfig()) {
-            tryReportUpdate(requestContext, result, upsertedConfig.getPrevConfig());
-          } else {
-            tryReportCreation(requestContext, result);
-          }
-        });
-    return optionalResult;
-  }
-
-  private DeletedContextualConfigObject<T> processDeleteResult(
-      RequestContext requestContext, ContextSpecificConfig deletedConfig) {
-    DeletedContextualConfigObject<T> deletedContextualConfigObject =
-        DeletedContextualConfigObjectImpl.tryBuild(deletedConfig, this::buildDataFromValue);
-
-    if (requestContext.isUserTrackingSuppressed()) {
-      return deletedContextualConfigObject;
+    DeleteConfigsResponse response;
+    try {
+      response =
+          requestContext.call(
+              () ->
+                  this.configServiceBlockingStub
+                      .withDeadline(getDeadline(ConfigServiceMethod.DELETE_CONFIGS))
+                      .deleteConfigs(
+                          DeleteConfigsRequest.newBuilder()
+                              .addAllConfigs(configsToDelete)
+                              .build()));
+    } finally {
+      this.invalidateCache(requestContext, contexts);
     }
+    return this.resultProcessor.processDeleteResults(
+        requestContext, response.getDeletedConfigsList());
+  }
 
-    if (deletedContextualConfigObject.getDeletedData().isPresent()) {
-      T data = deletedContextualConfigObject.getDeletedData().get();
-      configChangeEventGeneratorOptional.ifPresent(
-          configChangeEventGenerator ->
-              configChangeEventGenerator.sendDeleteNotification(
-                  requestContext,
-                  this.buildClassNameForChangeEvent(data),
-                  deletedConfig.getContext(),
-                  this.buildValueForChangeEvent(data)));
-    }
-    return deletedContextualConfigObject;
+  /**
+   * Drops the cached reads a change event makes stale, for callers consuming the change events of
+   * this store's config type. A no-op unless caching is enabled in the {@link ClientConfig}.
+   */
+  public void invalidateCache(ConfigChangeEventKey eventKey) {
+    this.objectCache.ifPresent(cache -> cache.invalidate(eventKey));
+    this.allObjectsCache.ifPresent(cache -> cache.invalidateTenant(eventKey.getTenantId()));
   }
 
-  private void tryReportCreation(RequestContext requestContext, ContextualConfigObject<T> result) {
-    if (requestContext.isUserTrackingSuppressed()) {
-      return;
-    }
-    configChangeEventGeneratorOptional.ifPresent(
-        configChangeEventGenerator ->
-            configChangeEventGenerator.sendCreateNotification(
-                requestContext,
-                this.buildClassNameForChangeEvent(result.getData()),
-                result.getContext(),
-                this.buildValueForChangeEvent(result.getData())));
-  }
-
-  private void tryReportUpdate(
-      RequestContext requestContext, ContextualConfigObject<T> result, Value previousValue) {
-    if (requestContext.isUserTrackingSuppressed()) {
+  private void invalidateCache(RequestContext requestContext, List<String> contexts) {
+    if (this.objectCache.isEmpty()) {
       return;
     }
-    configChangeEventGeneratorOptional.ifPresent(
-        configChangeEventGenerator ->
-            configChangeEventGenerator.sendUpdateNotification(
-                requestContext,
-                this.buildClassNameForChangeEvent(result.getData()),
-                result.getContext(),
-                this.buildDataFromValue(previousValue)
-                    .map(this::buildValueForChangeEvent)
-                    .orElseGet(
-                        () -> {
-                          log.error(
-                              "Unable to convert previousValue back to data for change event. Falling back to raw value {}",
-                              previousValue);
-                          return previousValue;
-                        }),
-                this.buildValueForChangeEvent(result.getData())));
+    requestContext
+        .getTenantId()
+        .ifPresent(
+            tenantId -> {
+              this.objectCache.ifPresent(
+                  cache -> contexts.forEach(context -> cache.invalidate(tenantId, context)));
+              this.allObjectsCache.ifPresent(
+                  cache -> cache.invalidate(tenantId, ALL_OBJECTS_CACHE_CONTEXT));
+            });
+  }
+
+  private <V> ConfigObjectCache<V> buildCache(
+      ObjectStoreCacheConfig cacheConfig, String query, UnaryOperator<V> staleMarker) {
+    return new ConfigObjectCache<>(
+        cacheConfig,
+        Map.of(
+            "resourceNamespace", this.resourceNamespace,
+            "resourceName", this.resourceName,
+            "query", query),
+        this.clientConfig
+            .getCircuitBreakerConfig()
+            .map(ObjectStoreCircuitBreakerConfig::getMaximumStaleness),
+        staleMarker);
+  }
+
+  private static <T> List<ContextualConfigObject<T>> markAllStale(
+      List<ContextualConfigObject<T>> objects) {
+    return objects.stream()
+        .<ContextualConfigObject<T>>map(StaleContextualConfigObject::new)
+        .collect(Collectors.toUnmodifiableList());
+  }
+
+  private static <T> Optional<ContextualConfigObject<T>> markStale(
+      Optional<ContextualConfigObject<T>> object) {
+    return object.map(StaleContextualConfigObject::new);
+  }
+
+  /**
+   * Makes a read of the config service, through the circuit breaker if one is configured. The
+   * read is retried and, if hedged, hedged as configured, so the call must set its own deadline.
+   */
+  <R> R read(
+      RequestContext context, ConfigServiceMethod method, boolean hedged, Callable<R> call) {
+    Function<RequestContext, R> read =
+        requestContext ->
+            this.readExecutor
+                .map(executor -> executor.read(requestContext, method, hedged, call))
+                .orElseGet(() -> requestContext.call(call));
+    return this.circuitBreaker
+        .map(breaker -> breaker.execute(context, read))
+        .orElseGet(() -> read.apply(context));
+  }
+
+  /**
+   * Whether this store overrides {@link #buildValueForChangeEvent}. If it doesn't, change events
+   * carry the stored config values as they are.
+   */
+  boolean isChangeEventValueOverridden() {
+    return CHANGE_EVENT_VALUE_OVERRIDES.isOverridden(this.getClass());
   }
 
   protected Deadline getDeadline() {
     return Deadline.after(this.clientConfig.getTimeout().toMillis(), TimeUnit.MILLISECONDS);
   }
+
+  protected Deadline getDeadline(ConfigServiceMethod method) {
+    return Deadline.after(this.clientConfig.getTimeout(method).toMillis(), TimeUnit.MILLISECONDS);
+  }
 }
@@ -5,11 +5,13 @@ import java.util.Optional;
 import java.util.stream.Collectors;
 import org.hypertrace.config.service.change.event.api.ConfigChangeEventGenerator;
 import org.hypertrace.config.service.v1.ConfigServiceGrpc;
+import org.hypertrace.config.service.v1.Filter;
 import org.hypertrace.core.grpcutils.context.RequestContext;
 
 /**
  * IdentifiedObjectStoreWithFilter is an abstraction over {@link IdentifiedObjectStore} to allow
- * filtering on fetched configs
+ * filtering on fetched configs. Parts of a filter can be pushed down to the config service to
+ * narrow the read, with the rest applied to the fetched configs.
  *
  * @param <T> Config Object
  * @param <F> Filter
@@ -38,7 +40,13 @@ public abstract class IdentifiedObjectStoreWithFilter<T, F> extends IdentifiedOb
   }
 
   public List<ContextualConfigObject<T>> getAllObjects(RequestContext context, F filter) {
-    return getAllObjects(context).stream()
+    Optional<Filter> pushedDownFilter = buildPushedDownFilter(filter);
+    List<String> pushedDownContexts = buildPushedDownContexts(filter);
+    List<ContextualConfigObject<T>> candidates =
+        pushedDownFilter.isEmpty() && pushedDownContexts.isEmpty()
+            ? getAllObjects(context)
+            : fetchMatchingObjects(context, pushedDownFilter, pushedDownContexts);
+    return candidates.stream()
         .flatMap(configObject -> filterObject(configObject, filter).stream())
         .collect(Collectors.toUnmodifiableList());
   }
@@ -69,6 +77,24 @@ public abstract class IdentifiedObjectStoreWithFilter<T, F> extends IdentifiedOb
    */
   protected abstract Optional<T> filterConfigData(T data, F filter);
 
+  /**
+   * Translates the parts of a filter the config service can evaluate into a {@link Filter} pushed
+   * down with the read. It must match every object {@link #filterConfigData} would keep - objects
+   * it lets through are still passed to {@link #filterConfigData}. Empty by default, which reads
+   * all objects.
+   */
+  protected Optional<Filter> buildPushedDownFilter(F filter) {
+    return Optional.empty();
+  }
+
+  /**
+   * The contexts a filter restricts the read to, pushed down with the read. Empty by default, which
+   * does not restrict the contexts.
+   */
+  protected List<String> buildPushedDownContexts(F filter) {
+    return List.of();
+  }
+
   private Optional<ContextualConfigObject<T>> filterObject(
       ContextualConfigObject<T> configObject, F filter) {
     return filterConfigData(configObject.getData(), filter)
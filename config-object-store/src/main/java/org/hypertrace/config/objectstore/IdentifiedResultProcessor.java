@@ -0,0 +1,256 @@
+package org.hypertrace.config.objectstore;
+
+import com.google.protobuf.Value;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.hypertrace.config.service.change.event.api.ConfigChangeEventGenerator;
+import org.hypertrace.config.service.change.event.api.ConfigChangeNotification;
+import org.hypertrace.config.service.v1.ContextSpecificConfig;
+import org.hypertrace.config.service.v1.GetAllConfigsResponse;
+import org.hypertrace.config.service.v1.GetConfigResponse;
+import org.hypertrace.config.service.v1.UpsertAllConfigsResponse.UpsertedConfig;
+import org.hypertrace.config.service.v1.UpsertConfigResponse;
+import org.hypertrace.core.grpcutils.context.RequestContext;
+
+/**
+ * Decodes the config service responses of identified object stores and reports the changes they
+ * carry to the change event generator. It makes no calls of its own, so the blocking and the
+ * non-blocking stores share it.
+ */
+final class IdentifiedResultProcessor<T> {
+  // Shared by all stores, so the threads are bounded by the distinct parallelisms configured.
+  // Idle workers of a fork join pool exit, so unused pools hold no threads.
+  private static final Map<Integer, ForkJoinPool> DECODE_POOLS = new ConcurrentHashMap<>();
+
+  private final ObjectConversions<T> conversions;
+  private final UnaryOperator<List<ContextualConfigObject<T>>> objectOrdering;
+  private final Optional<ConfigChangeEventGenerator> configChangeEventGeneratorOptional;
+  private final Optional<ForkJoinPool> decodePool;
+  private final int parallelDecodeThreshold;
+
+  IdentifiedResultProcessor(
+      ObjectConversions<T> conversions,
+      UnaryOperator<List<ContextualConfigObject<T>>> objectOrdering,
+      Optional<ConfigChangeEventGenerator> configChangeEventGeneratorOptional,
+      Optional<ParallelDecodeConfig> parallelDecodeConfig) {
+    this.conversions = conversions;
+    this.objectOrdering = objectOrdering;
+    this.configChangeEventGeneratorOptional = configChangeEventGeneratorOptional;
+    this.decodePool =
+        parallelDecodeConfig.map(
+            decodeConfig ->
+                DECODE_POOLS.computeIfAbsent(
+                    decodeConfig.getParallelism(), IdentifiedResultProcessor::buildDecodePool));
+    this.parallelDecodeThreshold =
+        parallelDecodeConfig.map(ParallelDecodeConfig::getThreshold).orElse(0);
+  }
+
+  private static ForkJoinPool buildDecodePool(int parallelism) {
+    return new ForkJoinPool(
+        parallelism,
+        pool -> {
+          // Default workers are daemon threads
+          ForkJoinWorkerThread thread =
+              ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+          thread.setName("config-object-decode-" + parallelism + "-" + thread.getPoolIndex());
+          return thread;
+        },
+        null,
+        false);
+  }
+
+  List<ContextualConfigObject<T>> buildFetchedObjects(GetAllConfigsResponse response) {
+    List<ContextSpecificConfig> contextSpecificConfigs = response.getContextSpecificConfigsList();
+    List<ContextualConfigObject<T>> objects =
+        this.decodePool
+            .filter(unused -> contextSpecificConfigs.size() >= this.parallelDecodeThreshold)
+            .map(
+                pool ->
+                    // A parallel stream started from within the pool runs on the pool's threads
+                    pool.submit(() -> this.decodeObjects(contextSpecificConfigs.parallelStream()))
+                        .join())
+            .orElseGet(() -> this.decodeObjects(contextSpecificConfigs.stream()));
+    return this.objectOrdering.apply(objects);
+  }
+
+  private List<ContextualConfigObject<T>> decodeObjects(
+      Stream<ContextSpecificConfig> contextSpecificConfigs) {
+    // Collecting keeps the encounter order, also for parallel streams
+    return contextSpecificConfigs
+        .map(
+            contextSpecificConfig ->
+                ContextualConfigObjectImpl.tryBuild(
+                    contextSpecificConfig, this.conversions::buildDataFromValue))
+        .flatMap(Optional::stream)
+        .collect(Collectors.toUnmodifiableList());
+  }
+
+  Optional<ContextualConfigObject<T>> buildFetchedObject(
+      String id, GetConfigResponse getConfigResponse) {
+    ContextSpecificConfig contextSpecificConfig =
+        ContextSpecificConfig.newBuilder()
+            .setContext(id)
+            .setConfig(getConfigResponse.getConfig())
+            .setCreationTimestamp(getConfigResponse.getCreationTimestamp())
+            .setUpdateTimestamp(getConfigResponse.getUpdateTimestamp())
+            .setCreatedByEmail(getConfigResponse.getCreatedByEmail())
+            .setLastUserUpdateEmail(getConfigResponse.getLastUserUpdateEmail())
+            .setLastUserUpdateTimestamp(getConfigResponse.getLastUserUpdateTimestamp())
+            .setLastUpdateEmail(getConfigResponse.getLastUpdateEmail())
+            .build();
+    return ContextualConfigObjectImpl.tryBuild(
+        contextSpecificConfig, this.conversions::buildDataFromValue);
+  }
+
+  /**
+   * Builds the upserted object, reporting its change to the generator. An upsert response carries
+   * no context, so it is taken from the upserted data.
+   */
+  Optional<ContextualConfigObject<T>> processUpsertResult(
+      RequestContext requestContext,
+      UpsertConfigResponse response,
+      Function<T, String> contextBuilder) {
+    Optional<ContextualConfigObject<T>> optionalResult =
+        ContextualConfigObjectImpl.tryBuild(
+            response, this.conversions::buildDataFromValue, contextBuilder);
+
+    optionalResult.ifPresent(
+        result -> {
+          if (response.hasPrevConfig()) {
+            tryReportUpdate(requestContext, result, response.getConfig(), response.getPrevConfig());
+          } else {
+            tryReportCreation(requestContext, result, response.getConfig());
+          }
+        });
+    return optionalResult;
+  }
+
+  DeletedContextualConfigObject<T> processDeleteResult(
+      RequestContext requestContext, ContextSpecificConfig deletedConfig) {
+    DeletedContextualConfigObject<T> deletedContextualConfigObject =
+        DeletedContextualConfigObjectImpl.tryBuild(
+            deletedConfig, this.conversions::buildDataFromValue);
+
+    if (requestContext.isUserTrackingSuppressed()) {
+      return deletedContextualConfigObject;
+    }
+
+    if (deletedContextualConfigObject.getDeletedData().isPresent()) {
+      T data = deletedContextualConfigObject.getDeletedData().get();
+      configChangeEventGeneratorOptional.ifPresent(
+          configChangeEventGenerator ->
+              configChangeEventGenerator.sendDeleteNotification(
+                  requestContext,
+                  this.conversions.buildClassNameForChangeEvent(data),
+                  deletedConfig.getContext(),
+                  this.conversions.buildChangeEventValue(data, deletedConfig.getConfig()).get()));
+    }
+    return deletedContextualConfigObject;
+  }
+
+  /** Builds the upserted objects, reporting their changes to the generator in a single batch. */
+  List<ContextualConfigObject<T>> processUpsertResults(
+      RequestContext requestContext, List<UpsertedConfig> upsertedConfigs) {
+    List<ContextualConfigObject<T>> results = new ArrayList<>();
+    List<ConfigChangeNotification> notifications = new ArrayList<>();
+    for (UpsertedConfig upsertedConfig : upsertedConfigs) {
+      ContextualConfigObjectImpl.tryBuild(upsertedConfig, this.conversions::buildDataFromValue)
+          .ifPresent(
+              result -> {
+                results.add(result);
+                Supplier<Value> latestValue =
+                    this.conversions.buildChangeEventValue(
+                        result.getData(), upsertedConfig.getConfig());
+                notifications.add(
+                    upsertedConfig.hasPrevConfig()
+                        ? ConfigChangeNotification.update(
+                            this.conversions.buildClassNameForChangeEvent(result.getData()),
+                            Optional.of(result.getContext()),
+                            this.conversions.buildPreviousChangeEventValue(
+                                upsertedConfig.getPrevConfig()),
+                            latestValue)
+                        : ConfigChangeNotification.create(
+                            this.conversions.buildClassNameForChangeEvent(result.getData()),
+                            Optional.of(result.getContext()),
+                            latestValue));
+              });
+    }
+    this.tryReportChanges(requestContext, notifications);
+    return Collections.unmodifiableList(results);
+  }
+
+  /** Builds the deleted objects, reporting their deletion to the generator in a single batch. */
+  List<DeletedContextualConfigObject<T>> processDeleteResults(
+      RequestContext requestContext, List<ContextSpecificConfig> deletedConfigs) {
+    List<DeletedContextualConfigObject<T>> results = new ArrayList<>();
+    List<ConfigChangeNotification> notifications = new ArrayList<>();
+    for (ContextSpecificConfig deletedConfig : deletedConfigs) {
+      DeletedContextualConfigObject<T> result =
+          DeletedContextualConfigObjectImpl.tryBuild(
+              deletedConfig, this.conversions::buildDataFromValue);
+      results.add(result);
+      result
+          .getDeletedData()
+          .ifPresent(
+              data ->
+                  notifications.add(
+                      ConfigChangeNotification.delete(
+                          this.conversions.buildClassNameForChangeEvent(data),
+                          Optional.of(deletedConfig.getContext()),
+                          this.conversions.buildChangeEventValue(
+                              data, deletedConfig.getConfig()))));
+    }
+    this.tryReportChanges(requestContext, notifications);
+    return Collections.unmodifiableList(results);
+  }
+
+  private void tryReportChanges(
+      RequestContext requestContext, List<ConfigChangeNotification> notifications) {
+    if (requestContext.isUserTrackingSuppressed() || notifications.isEmpty()) {
+      return;
+    }
+    configChangeEventGeneratorOptional.ifPresent(
+        configChangeEventGenerator ->
+            configChangeEventGenerator.sendNotifications(requestContext, notifications));
+  }
+
+  private void tryReportCreation(
+      RequestContext requestContext, ContextualConfigObject<T> result, Value storedValue) {
+    if (requestContext.isUserTrackingSuppressed()) {
+      return;
+    }
+    configChangeEventGeneratorOptional.ifPresent(
+        configChangeEventGenerator ->
+            configChangeEventGenerator.sendCreateNotification(
+                requestContext,
+                this.conversions.buildClassNameForChangeEvent(result.getData()),
+                result.getContext(),
+                this.conversions.buildChangeEventValue(result.getData(), storedValue).get()));
+  }
+
+  private void tryReportUpdate(
+      RequestContext requestContext,
+      ContextualConfigObject<T> result,
+      Value storedValue,
+      Value previousValue) {
+    this.tryReportChanges(
+        requestContext,
+        List.of(
+            ConfigChangeNotification.update(
+                this.conversions.buildClassNameForChangeEvent(result.getData()),
+                Optional.of(result.getContext()),
+                this.conversions.buildPreviousChangeEventValue(previousValue),
+                this.conversions.buildChangeEventValue(result.getData(), storedValue))));
+  }
+}
@@ -0,0 +1,19 @@
+package org.hypertrace.config.objectstore;
+
+import java.util.Optional;
+
+/**
+ * A {@link ContextualConfigObject} whose data is decoded on first access rather than when it is
+ * fetched. The context and timestamps are available without decoding.
+ */
+public interface LazyContextualConfigObject<T> extends ContextualConfigObject<T> {
+  /**
+   * Decodes the data on first call and memoizes the result. Empty if the config can't be decoded,
+   * in which case an eager read would have skipped the object.
+   */
+  Optional<T> tryGetData();
+
+  /** Like {@link #tryGetData()}, throwing an INTERNAL error if the config can't be decoded. */
+  @Override
+  T getData();
+}
@@ -0,0 +1,51 @@
+package org.hypertrace.config.objectstore;
+
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import com.google.protobuf.Value;
+import io.grpc.Status;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.function.Function;
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.hypertrace.config.service.v1.ContextSpecificConfig;
+
+@Getter
+class LazyContextualConfigObjectImpl<T> implements LazyContextualConfigObject<T> {
+  private final String context;
+  private final Instant creationTimestamp;
+  private final String createdByEmail;
+  private final Instant lastUserUpdateTimestamp;
+  private final String lastUserUpdateEmail;
+  private final Instant lastUpdatedTimestamp;
+  private final String lastUpdateEmail;
+
+  @Getter(AccessLevel.NONE)
+  private final Supplier<Optional<T>> memoizedData;
+
+  LazyContextualConfigObjectImpl(
+      ContextSpecificConfig contextSpecificConfig, Function<Value, Optional<T>> dataBuilder) {
+    this.context = contextSpecificConfig.getContext();
+    this.creationTimestamp = Instant.ofEpochMilli(contextSpecificConfig.getCreationTimestamp());
+    this.createdByEmail = contextSpecificConfig.getCreatedByEmail();
+    this.lastUserUpdateTimestamp =
+        Instant.ofEpochMilli(contextSpecificConfig.getLastUserUpdateTimestamp());
+    this.lastUserUpdateEmail = contextSpecificConfig.getLastUserUpdateEmail();
+    this.lastUpdatedTimestamp = Instant.ofEpochMilli(contextSpecificConfig.getUpdateTimestamp());
+    this.lastUpdateEmail = contextSpecificConfig.getLastUpdateEmail();
+    // Holds on to the raw config only until it has been decoded
+    Value config = contextSpecificConfig.getConfig();
+    this.memoizedData = Suppliers.memoize(() -> dataBuilder.apply(config));
+  }
+
+  @Override
+  public Optional<T> tryGetData() {
+    return this.memoizedData.get();
+  }
+
+  @Override
+  public T getData() {
+    return this.tryGetData().orElseThrow(Status.INTERNAL::asRuntimeException);
+  }
+}
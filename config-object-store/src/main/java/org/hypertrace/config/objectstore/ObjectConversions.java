@@ -0,0 +1,63 @@
+package org.hypertrace.config.objectstore;
+
+import com.google.protobuf.Value;
+import java.util.Optional;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The conversions of an object store which results are decoded and their change events are built
+ * with, taken from the store's overridable methods.
+ */
+@Slf4j
+final class ObjectConversions<T> {
+  private final Function<Value, Optional<T>> dataBuilder;
+  private final Function<T, Value> changeEventValueBuilder;
+  private final BooleanSupplier changeEventValueOverridden;
+  private final Function<T, String> changeEventClassNameBuilder;
+
+  ObjectConversions(
+      Function<Value, Optional<T>> dataBuilder,
+      Function<T, Value> changeEventValueBuilder,
+      BooleanSupplier changeEventValueOverridden,
+      Function<T, String> changeEventClassNameBuilder) {
+    this.dataBuilder = dataBuilder;
+    this.changeEventValueBuilder = changeEventValueBuilder;
+    this.changeEventValueOverridden = changeEventValueOverridden;
+    this.changeEventClassNameBuilder = changeEventClassNameBuilder;
+  }
+
+  Optional<T> buildDataFromValue(Value value) {
+    return this.dataBuilder.apply(value);
+  }
+
+  String buildClassNameForChangeEvent(T data) {
+    return this.changeEventClassNameBuilder.apply(data);
+  }
+
+  /** The change event value of stored data, converted only once the event needs it. */
+  Supplier<Value> buildChangeEventValue(T data, Value storedValue) {
+    if (!this.changeEventValueOverridden.getAsBoolean()) {
+      return () -> storedValue;
+    }
+    return () -> this.changeEventValueBuilder.apply(data);
+  }
+
+  Supplier<Value> buildPreviousChangeEventValue(Value previousValue) {
+    if (!this.changeEventValueOverridden.getAsBoolean()) {
+      return () -> previousValue;
+    }
+    return () ->
+        this.buildDataFromValue(previousValue)
+            .map(this.changeEventValueBuilder)
+            .orElseGet(
+                () -> {
+                  log.error(
+                      "Unable to convert previousValue back to data for change event. Falling back to raw value {}",
+                      previousValue);
+                  return previousValue;
+                });
+  }
+}
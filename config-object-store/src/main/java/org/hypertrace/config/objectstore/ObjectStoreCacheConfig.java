@@ -0,0 +1,16 @@
+package org.hypertrace.config.objectstore;
+
+import java.time.Duration;
+import lombok.Value;
+
+/**
+ * Bounds of the client side cache of an object store. Entries are cached per tenant, expire {@code
+ * expireAfterWrite} after being loaded, and are reloaded in the background by the first read after
+ * {@code refreshAfterWrite} so hot entries rarely expire under their readers.
+ */
+@Value
+public class ObjectStoreCacheConfig {
+  Duration expireAfterWrite;
+  Duration refreshAfterWrite;
+  long maximumSize;
+}
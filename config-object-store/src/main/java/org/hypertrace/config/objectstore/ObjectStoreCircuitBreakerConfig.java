@@ -0,0 +1,50 @@
+package org.hypertrace.config.objectstore;
+
+import java.time.Duration;
+import lombok.Value;
+
+/**
+ * Circuit breaker of the reads of an object store. The breaker opens once at least {@code
+ * failureRateThreshold} of the last {@code windowSize} reads failed with an outage status or took
+ * {@code slowCallThreshold} or longer. While open, reads fail fast and a client side cache serves
+ * its last known good values, up to {@code maximumStaleness} old, marked stale. Once {@code
+ * openDuration} has passed, the next read probes the config service in the background and the
+ * breaker closes if the probe succeeds.
+ */
+@Value
+public class ObjectStoreCircuitBreakerConfig {
+  int windowSize;
+  double failureRateThreshold;
+  Duration slowCallThreshold;
+  Duration openDuration;
+  Duration maximumStaleness;
+
+  public ObjectStoreCircuitBreakerConfig(
+      int windowSize,
+      double failureRateThreshold,
+      Duration slowCallThreshold,
+      Duration openDuration,
+      Duration maximumStaleness) {
+    if (windowSize < 1) {
+      throw new IllegalArgumentException("Circuit breaker window size must be at least 1");
+    }
+    if (!(failureRateThreshold > 0 && failureRateThreshold <= 1)) {
+      throw new IllegalArgumentException(
+          "Circuit breaker failure rate threshold must be greater than 0 and at most 1");
+    }
+    if (slowCallThreshold.isNegative() || slowCallThreshold.isZero()) {
+      throw new IllegalArgumentException("Circuit breaker slow call threshold must be positive");
+    }
+    if (openDuration.isNegative()) {
+      throw new IllegalArgumentException("Circuit breaker open duration must not be negative");
+    }
+    if (maximumStaleness.isNegative()) {
+      throw new IllegalArgumentException("Circuit breaker maximum staleness must not be negative");
+    }
+    this.windowSize = windowSize;
+    this.failureRateThreshold = failureRateThreshold;
+    this.slowCallThreshold = slowCallThreshold;
+    this.openDuration = openDuration;
+    this.maximumStaleness = maximumStaleness;
+  }
+}
@@ -0,0 +1,20 @@
+package org.hypertrace.config.objectstore;
+
+import java.time.Duration;
+import lombok.Value;
+
+/**
+ * Hedging of single object and all object reads. If a read has not completed after the {@code
+ * latencyPercentile} of the latencies of the same method over the last one to two {@code
+ * histogramWindow}s, but at least {@code minimumDelay}, a second read is sent and the first
+ * response wins. Both reads share the deadline of the read. Reads aren't hedged until a few
+ * latencies have been recorded. The hedged reads of a store run on up to {@code
+ * maxConcurrentAttempts} threads; reads beyond that run unhedged on the calling thread.
+ */
+@Value
+public class ObjectStoreHedgingConfig {
+  double latencyPercentile;
+  Duration minimumDelay;
+  Duration histogramWindow;
+  int maxConcurrentAttempts;
+}
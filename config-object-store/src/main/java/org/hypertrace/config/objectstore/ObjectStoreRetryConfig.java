@@ -0,0 +1,19 @@
+package org.hypertrace.config.objectstore;
+
+import java.time.Duration;
+import lombok.Value;
+
+/**
+ * Retries of reads failing with {@code UNAVAILABLE}. A read is retried up to {@code maxRetries}
+ * times, after a random backoff of up to {@code backoff}. Retries are limited by a token bucket:
+ * each retry takes a token, each successful read adds {@code budgetRatio} tokens, and the bucket
+ * holds at most {@code budgetTokens}. Retries can then add at most that ratio of load to a failing
+ * config service, rather than multiplying it.
+ */
+@Value
+public class ObjectStoreRetryConfig {
+  int maxRetries;
+  Duration backoff;
+  int budgetTokens;
+  double budgetRatio;
+}
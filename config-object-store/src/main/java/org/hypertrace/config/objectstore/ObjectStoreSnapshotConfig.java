@@ -0,0 +1,26 @@
+package org.hypertrace.config.objectstore;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import lombok.Value;
+
+/**
+ * Location of the local snapshots of an object store's reads. The last good read of each tenant is
+ * kept under {@code directory}, which should survive restarts of the process, and is served while
+ * the config service can't be reached and for the first read of a tenant after a restart.
+ * Snapshots written more than {@code maxServeAge} ago are never served, so an outage can't bring
+ * back arbitrarily old configs.
+ */
+@Value
+public class ObjectStoreSnapshotConfig {
+  Path directory;
+  Duration maxServeAge;
+
+  public ObjectStoreSnapshotConfig(Path directory, Duration maxServeAge) {
+    if (maxServeAge.isNegative() || maxServeAge.isZero()) {
+      throw new IllegalArgumentException("Snapshot max serve age must be positive");
+    }
+    this.directory = directory;
+    this.maxServeAge = maxServeAge;
+  }
+}
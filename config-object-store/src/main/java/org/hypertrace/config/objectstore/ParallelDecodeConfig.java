@@ -0,0 +1,31 @@
+package org.hypertrace.config.objectstore;
+
+import lombok.Value;
+
+/**
+ * Decoding of read results with at least {@code threshold} objects is split across a pool of
+ * {@code parallelism} threads, shared by the object stores of the same parallelism. The order of
+ * the results is unaffected.
+ *
+ * <p>There is no default, as the break-even point depends on the size of the configs and the
+ * cores available to the service. Measure it with the {@code IdentifiedObjectStoreDecodeBenchmark}
+ * of the benchmarks module: set the threshold to the smallest result size for which the parallel
+ * read is faster, and the parallelism to at most the cores the service can spare for reads, as
+ * concurrent large reads share the pool.
+ */
+@Value
+public class ParallelDecodeConfig {
+  int threshold;
+  int parallelism;
+
+  public ParallelDecodeConfig(int threshold, int parallelism) {
+    if (threshold < 0) {
+      throw new IllegalArgumentException("Parallel decode threshold must not be negative");
+    }
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("Parallel decode parallelism must be at least 1");
+    }
+    this.threshold = threshold;
+    this.parallelism = parallelism;
+  }
+}
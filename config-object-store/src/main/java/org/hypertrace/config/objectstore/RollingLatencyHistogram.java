@@ -0,0 +1,89 @@
+package org.hypertrace.config.objectstore;
+
+import com.google.common.base.Ticker;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latencies recorded over the current and the previous window, counted in exponentially growing
+ * buckets so that percentiles are read without keeping the samples. Percentiles are rounded up to
+ * the upper bound of their bucket, so they are at most a bucket's growth factor too high.
+ */
+class RollingLatencyHistogram {
+  private static final int BUCKET_COUNT = 64;
+  private static final double BUCKET_GROWTH = 1.2;
+  private static final long[] BUCKET_UPPER_BOUND_NANOS = buildBucketUpperBounds();
+
+  private final long windowNanos;
+  private final Ticker ticker;
+  private long[] currentCounts = new long[BUCKET_COUNT];
+  private long[] previousCounts = new long[BUCKET_COUNT];
+  private long currentWindowStartNanos;
+
+  RollingLatencyHistogram(Duration window, Ticker ticker) {
+    this.windowNanos = window.toNanos();
+    this.ticker = ticker;
+    this.currentWindowStartNanos = ticker.read();
+  }
+
+  synchronized void record(long latencyNanos) {
+    this.rotate();
+    int bucket = Arrays.binarySearch(BUCKET_UPPER_BOUND_NANOS, latencyNanos);
+    // A missed search returns the negated insertion point, the first bucket with a larger bound
+    int index = bucket >= 0 ? bucket : Math.min(-bucket - 1, BUCKET_COUNT - 1);
+    this.currentCounts[index]++;
+  }
+
+  /** The percentile, between 0 and 1, or empty if fewer than the minimum latencies are recorded. */
+  synchronized Optional<Duration> getPercentile(double percentile, long minimumCount) {
+    this.rotate();
+    long count = 0;
+    for (int index = 0; index < BUCKET_COUNT; index++) {
+      count += this.currentCounts[index] + this.previousCounts[index];
+    }
+    if (count == 0 || count < minimumCount) {
+      return Optional.empty();
+    }
+    long rank = (long) Math.ceil(percentile * count);
+    long seen = 0;
+    for (int index = 0; index < BUCKET_COUNT; index++) {
+      seen += this.currentCounts[index] + this.previousCounts[index];
+      if (seen >= rank) {
+        return Optional.of(Duration.ofNanos(BUCKET_UPPER_BOUND_NANOS[index]));
+      }
+    }
+    return Optional.of(Duration.ofNanos(BUCKET_UPPER_BOUND_NANOS[BUCKET_COUNT - 1]));
+  }
+
+  private void rotate() {
+    long elapsedNanos = this.ticker.read() - this.currentWindowStartNanos;
+    if (elapsedNanos < this.windowNanos) {
+      return;
+    }
+    if (elapsedNanos < 2 * this.windowNanos) {
+      long[] emptied = this.previousCounts;
+      Arrays.fill(emptied, 0);
+      this.previousCounts = this.currentCounts;
+      this.currentCounts = emptied;
+      this.currentWindowStartNanos += this.windowNanos;
+    } else {
+      // Both windows have passed without a read or record
+      Arrays.fill(this.previousCounts, 0);
+      Arrays.fill(this.currentCounts, 0);
+      this.currentWindowStartNanos = this.ticker.read();
+    }
+  }
+
+  private static long[] buildBucketUpperBounds() {
+    // From half a millisecond up to about 50 seconds
+    long[] upperBounds = new long[BUCKET_COUNT];
+    double upperBound = TimeUnit.MICROSECONDS.toNanos(500);
+    for (int index = 0; index < BUCKET_COUNT; index++) {
+      upperBounds[index] = (long) upperBound;
+      upperBound *= BUCKET_GROWTH;
+    }
+    return upperBounds;
+  }
+}
@@ -0,0 +1,50 @@
+package org.hypertrace.config.objectstore;
+
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+
+/** A cached config object served while the config service is unavailable. */
+@AllArgsConstructor
+class StaleConfigObject<T> implements ConfigObject<T> {
+  private final ConfigObject<T> object;
+
+  @Override
+  public T getData() {
+    return this.object.getData();
+  }
+
+  @Override
+  public Instant getCreationTimestamp() {
+    return this.object.getCreationTimestamp();
+  }
+
+  @Override
+  public String getCreatedByEmail() {
+    return this.object.getCreatedByEmail();
+  }
+
+  @Override
+  public Instant getLastUserUpdateTimestamp() {
+    return this.object.getLastUserUpdateTimestamp();
+  }
+
+  @Override
+  public String getLastUserUpdateEmail() {
+    return this.object.getLastUserUpdateEmail();
+  }
+
+  @Override
+  public Instant getLastUpdatedTimestamp() {
+    return this.object.getLastUpdatedTimestamp();
+  }
+
+  @Override
+  public String getLastUpdateEmail() {
+    return this.object.getLastUpdateEmail();
+  }
+
+  @Override
+  public boolean isStale() {
+    return true;
+  }
+}
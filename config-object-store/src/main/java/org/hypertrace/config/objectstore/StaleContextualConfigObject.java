@@ -0,0 +1,17 @@
+package org.hypertrace.config.objectstore;
+
+/** A cached contextual config object served while the config service is unavailable. */
+class StaleContextualConfigObject<T> extends StaleConfigObject<T>
+    implements ContextualConfigObject<T> {
+  private final String context;
+
+  StaleContextualConfigObject(ContextualConfigObject<T> object) {
+    super(object);
+    this.context = object.getContext();
+  }
+
+  @Override
+  public String getContext() {
+    return this.context;
+  }
+}
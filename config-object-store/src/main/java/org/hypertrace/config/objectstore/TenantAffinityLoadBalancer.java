@@ -0,0 +1,157 @@
+package org.hypertrace.config.objectstore;
+
+import static io.grpc.ConnectivityState.CONNECTING;
+import static io.grpc.ConnectivityState.IDLE;
+import static io.grpc.ConnectivityState.READY;
+import static io.grpc.ConnectivityState.TRANSIENT_FAILURE;
+
+import com.google.common.hash.Hashing;
+import io.grpc.ConnectivityState;
+import io.grpc.ConnectivityStateInfo;
+import io.grpc.EquivalentAddressGroup;
+import io.grpc.LoadBalancer;
+import io.grpc.Status;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps a subchannel per resolved address group, and picks among the ready ones with a {@link
+ * TenantAffinityPicker}. Subchannels which go idle are reconnected. Methods are called from the
+ * channel's synchronization context.
+ */
+@Slf4j
+class TenantAffinityLoadBalancer extends LoadBalancer {
+  private final Helper helper;
+  private final Map<EquivalentAddressGroup, Backend> backends = new HashMap<>();
+  private double loadFactor;
+  private Status lastFailure = Status.UNAVAILABLE.withDescription("No config service replicas");
+
+  TenantAffinityLoadBalancer(Helper helper, double loadFactor) {
+    this.helper = helper;
+    this.loadFactor = loadFactor;
+  }
+
+  @Override
+  public void handleResolvedAddresses(ResolvedAddresses resolvedAddresses) {
+    Object config = resolvedAddresses.getLoadBalancingPolicyConfig();
+    if (config instanceof Double) {
+      this.loadFactor = (Double) config;
+    }
+    // Address groups are matched without their attributes, which may change between resolutions
+    Map<EquivalentAddressGroup, EquivalentAddressGroup> resolved =
+        resolvedAddresses.getAddresses().stream()
+            .collect(
+                Collectors.toMap(
+                    group -> new EquivalentAddressGroup(group.getAddresses()),
+                    group -> group,
+                    (first, second) -> first));
+    for (EquivalentAddressGroup key : List.copyOf(this.backends.keySet())) {
+      if (!resolved.containsKey(key)) {
+        this.backends.remove(key).getSubchannel().shutdown();
+      }
+    }
+    resolved.forEach(
+        (key, group) -> {
+          if (!this.backends.containsKey(key)) {
+            this.backends.put(key, this.createBackend(key, group));
+          }
+        });
+    this.updateBalancingState();
+  }
+
+  @Override
+  public void handleNameResolutionError(Status error) {
+    log.warn("Failed to resolve config service replicas: {}", error);
+    this.lastFailure = error;
+    if (this.backends.isEmpty()) {
+      this.helper.updateBalancingState(TRANSIENT_FAILURE, new TenantAffinityPicker.Failing(error));
+    }
+  }
+
+  @Override
+  public void requestConnection() {
+    this.backends.values().forEach(backend -> backend.getSubchannel().requestConnection());
+  }
+
+  @Override
+  public void shutdown() {
+    this.backends.values().forEach(backend -> backend.getSubchannel().shutdown());
+    this.backends.clear();
+  }
+
+  private Backend createBackend(EquivalentAddressGroup key, EquivalentAddressGroup group) {
+    Subchannel subchannel =
+        this.helper.createSubchannel(CreateSubchannelArgs.newBuilder().setAddresses(group).build());
+    Backend backend = new Backend(key, subchannel);
+    subchannel.start(stateInfo -> this.handleStateChange(backend, stateInfo));
+    subchannel.requestConnection();
+    return backend;
+  }
+
+  private void handleStateChange(Backend backend, ConnectivityStateInfo stateInfo) {
+    if (this.backends.get(backend.key) != backend) {
+      // Shut down after its address was no longer resolved
+      return;
+    }
+    if (stateInfo.getState() == TRANSIENT_FAILURE) {
+      this.lastFailure = stateInfo.getStatus();
+    }
+    if (stateInfo.getState() == IDLE) {
+      backend.getSubchannel().requestConnection();
+    }
+    backend.state = stateInfo.getState();
+    this.updateBalancingState();
+  }
+
+  private void updateBalancingState() {
+    List<Backend> readyBackends =
+        this.backends.values().stream()
+            .filter(backend -> backend.state == READY)
+            .collect(Collectors.toUnmodifiableList());
+    if (!readyBackends.isEmpty()) {
+      this.helper.updateBalancingState(
+          READY, new TenantAffinityPicker(readyBackends, this.loadFactor));
+    } else if (this.backends.values().stream()
+        .anyMatch(backend -> backend.state == CONNECTING || backend.state == IDLE)) {
+      this.helper.updateBalancingState(CONNECTING, new TenantAffinityPicker.Buffering());
+    } else {
+      this.helper.updateBalancingState(
+          TRANSIENT_FAILURE, new TenantAffinityPicker.Failing(this.lastFailure));
+    }
+  }
+
+  /** A subchannel with the hash of its addresses and the count of its calls in flight. */
+  static class Backend {
+    private final EquivalentAddressGroup key;
+    private final Subchannel subchannel;
+    private final long addressHash;
+    private final AtomicInteger callsInFlight = new AtomicInteger();
+    private ConnectivityState state = IDLE;
+
+    Backend(EquivalentAddressGroup key, Subchannel subchannel) {
+      this.key = key;
+      this.subchannel = subchannel;
+      this.addressHash =
+          Hashing.murmur3_128()
+              .hashString(key.getAddresses().toString(), StandardCharsets.UTF_8)
+              .asLong();
+    }
+
+    Subchannel getSubchannel() {
+      return this.subchannel;
+    }
+
+    long getAddressHash() {
+      return this.addressHash;
+    }
+
+    AtomicInteger getCallsInFlight() {
+      return this.callsInFlight;
+    }
+  }
+}
@@ -0,0 +1,51 @@
+package org.hypertrace.config.objectstore;
+
+import io.grpc.LoadBalancer;
+import io.grpc.LoadBalancerProvider;
+import io.grpc.NameResolver.ConfigOrError;
+import io.grpc.Status;
+import java.util.Map;
+
+/**
+ * Provides the {@link TenantAffinityLoadBalancing} policy, registered through the service loader.
+ * The policy config of a service config may set the {@code loadFactor}: how many times the average
+ * load of the replicas a replica may take before calls move on to the next replica of a tenant.
+ */
+public class TenantAffinityLoadBalancerProvider extends LoadBalancerProvider {
+  static final double DEFAULT_LOAD_FACTOR = 1.25;
+  private static final String LOAD_FACTOR_KEY = "loadFactor";
+
+  @Override
+  public boolean isAvailable() {
+    return true;
+  }
+
+  @Override
+  public int getPriority() {
+    return 5;
+  }
+
+  @Override
+  public String getPolicyName() {
+    return TenantAffinityLoadBalancing.POLICY_NAME;
+  }
+
+  @Override
+  public LoadBalancer newLoadBalancer(LoadBalancer.Helper helper) {
+    return new TenantAffinityLoadBalancer(helper, DEFAULT_LOAD_FACTOR);
+  }
+
+  @Override
+  public ConfigOrError parseLoadBalancingPolicyConfig(Map<String, ?> rawConfig) {
+    Object loadFactor = rawConfig.get(LOAD_FACTOR_KEY);
+    if (loadFactor == null) {
+      return ConfigOrError.fromConfig(DEFAULT_LOAD_FACTOR);
+    }
+    if (!(loadFactor instanceof Number) || ((Number) loadFactor).doubleValue() < 1) {
+      return ConfigOrError.fromError(
+          Status.INVALID_ARGUMENT.withDescription(
+              "Tenant affinity load factor must be a number of at least 1: " + loadFactor));
+    }
+    return ConfigOrError.fromConfig(((Number) loadFactor).doubleValue());
+  }
+}
@@ -0,0 +1,54 @@
+package org.hypertrace.config.objectstore;
+
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ClientInterceptor;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.MethodDescriptor;
+import java.util.Optional;
+import org.hypertrace.core.grpcutils.context.RequestContext;
+
+/**
+ * Tenant affinity load balancing of config service channels. Calls of a tenant keep landing on the
+ * same config service replica, so that each replica's caches cover a share of the tenants rather
+ * than all of them. Replicas are picked by rendezvous hashing of the tenant id, bounded by load, so
+ * calls of a tenant only move if its replica goes down or is far busier than the others.
+ *
+ * <p>The channel target must resolve to the addresses of all replicas, such as the DNS name of a
+ * headless Kubernetes service.
+ */
+public final class TenantAffinityLoadBalancing {
+  public static final String POLICY_NAME = "hypertrace_tenant_affinity";
+
+  static final CallOptions.Key<String> TENANT_ID_CALL_OPTION =
+      CallOptions.Key.createWithDefault("hypertrace-tenant-affinity-tenant-id", null);
+
+  private TenantAffinityLoadBalancing() {}
+
+  /** Sets up a channel builder to balance its calls by the tenant of their request context. */
+  public static <T extends ManagedChannelBuilder<T>> T configure(T channelBuilder) {
+    return channelBuilder.defaultLoadBalancingPolicy(POLICY_NAME).intercept(clientInterceptor());
+  }
+
+  /**
+   * The interceptor passing the tenant id to the load balancer, for channels not set up by {@link
+   * #configure}. Tenant ids are read from the request context current when a call is started.
+   */
+  public static ClientInterceptor clientInterceptor() {
+    return new ClientInterceptor() {
+      @Override
+      public <ReqT, RespT> ClientCall<ReqT, RespT> interceptCall(
+          MethodDescriptor<ReqT, RespT> method, CallOptions callOptions, Channel next) {
+        Optional<String> tenantId =
+            Optional.ofNullable(RequestContext.CURRENT.get())
+                .flatMap(RequestContext::getTenantId);
+        return next.newCall(
+            method,
+            tenantId
+                .map(id -> callOptions.withOption(TENANT_ID_CALL_OPTION, id))
+                .orElse(callOptions));
+      }
+    };
+  }
+}
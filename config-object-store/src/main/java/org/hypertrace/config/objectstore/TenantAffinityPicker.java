@@ -0,0 +1,125 @@
+package org.hypertrace.config.objectstore;
+
+import com.google.common.hash.Hashing;
+import io.grpc.ClientStreamTracer;
+import io.grpc.LoadBalancer.PickResult;
+import io.grpc.LoadBalancer.PickSubchannelArgs;
+import io.grpc.LoadBalancer.SubchannelPicker;
+import io.grpc.Metadata;
+import io.grpc.Status;
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+import org.hypertrace.config.objectstore.TenantAffinityLoadBalancer.Backend;
+import org.hypertrace.core.grpcutils.context.RequestContext;
+
+/**
+ * Picks the ready backend of a call by bounded load rendezvous hashing. Backends are ranked by a
+ * hash of the tenant id and their addresses, and the call goes to the highest ranked backend with
+ * fewer calls in flight than the load factor times the average. Removing a backend only moves the
+ * tenants ranking it first, to their next ranked backend. Calls without a tenant go to a random
+ * backend.
+ */
+class TenantAffinityPicker extends SubchannelPicker {
+  private final List<Backend> backends;
+  private final double loadFactor;
+
+  TenantAffinityPicker(List<Backend> backends, double loadFactor) {
+    this.backends = backends;
+    this.loadFactor = loadFactor;
+  }
+
+  @Override
+  public PickResult pickSubchannel(PickSubchannelArgs args) {
+    Backend backend =
+        this.getTenantId(args)
+            .map(this::pickForTenant)
+            .orElseGet(
+                () ->
+                    this.backends.get(ThreadLocalRandom.current().nextInt(this.backends.size())));
+    return PickResult.withSubchannel(backend.getSubchannel(), new CallTracerFactory(backend));
+  }
+
+  private Optional<String> getTenantId(PickSubchannelArgs args) {
+    return Optional.ofNullable(
+            args.getCallOptions().getOption(TenantAffinityLoadBalancing.TENANT_ID_CALL_OPTION))
+        .or(
+            () ->
+                // Picks are usually made on the thread starting the call
+                Optional.ofNullable(RequestContext.CURRENT.get())
+                    .flatMap(RequestContext::getTenantId));
+  }
+
+  private Backend pickForTenant(String tenantId) {
+    long tenantHash = Hashing.murmur3_128().hashString(tenantId, StandardCharsets.UTF_8).asLong();
+    List<Backend> ranked =
+        this.backends.stream()
+            .sorted(
+                Comparator.comparingLong(
+                        (Backend backend) -> rank(tenantHash, backend.getAddressHash()))
+                    .reversed())
+            .collect(Collectors.toUnmodifiableList());
+    int callsInFlight =
+        this.backends.stream().mapToInt(backend -> backend.getCallsInFlight().get()).sum();
+    double capacity = Math.ceil(this.loadFactor * (callsInFlight + 1) / this.backends.size());
+    return ranked.stream()
+        .filter(backend -> backend.getCallsInFlight().get() < capacity)
+        .findFirst()
+        .orElse(ranked.get(0));
+  }
+
+  private static long rank(long tenantHash, long addressHash) {
+    return Hashing.murmur3_128()
+        .newHasher()
+        .putLong(tenantHash)
+        .putLong(addressHash)
+        .hash()
+        .asLong();
+  }
+
+  /** Counts the calls in flight of a backend, from the start of their stream to its close. */
+  private static class CallTracerFactory extends ClientStreamTracer.Factory {
+    private final Backend backend;
+
+    CallTracerFactory(Backend backend) {
+      this.backend = backend;
+    }
+
+    @Override
+    public ClientStreamTracer newClientStreamTracer(
+        ClientStreamTracer.StreamInfo info, Metadata headers) {
+      this.backend.getCallsInFlight().incrementAndGet();
+      return new ClientStreamTracer() {
+        @Override
+        public void streamClosed(Status status) {
+          backend.getCallsInFlight().decrementAndGet();
+        }
+      };
+    }
+  }
+
+  /** Buffers calls while no backend is ready yet. */
+  static class Buffering extends SubchannelPicker {
+    @Override
+    public PickResult pickSubchannel(PickSubchannelArgs args) {
+      return PickResult.withNoResult();
+    }
+  }
+
+  /** Fails calls while all backends are failing. */
+  static class Failing extends SubchannelPicker {
+    private final Status status;
+
+    Failing(Status status) {
+      this.status = status;
+    }
+
+    @Override
+    public PickResult pickSubchannel(PickSubchannelArgs args) {
+      return PickResult.withError(this.status);
+    }
+  }
+}
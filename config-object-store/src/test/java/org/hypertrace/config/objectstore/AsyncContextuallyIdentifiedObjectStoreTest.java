@@ -0,0 +1,153 @@
+package org.hypertrace.config.objectstore;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.util.concurrent.Futures;
+import com.google.protobuf.Value;
+import com.google.protobuf.util.Values;
+import io.grpc.Status;
+import java.util.Optional;
+import org.hypertrace.config.service.change.event.api.ConfigChangeEventGenerator;
+import org.hypertrace.config.service.v1.ConfigServiceGrpc.ConfigServiceFutureStub;
+import org.hypertrace.config.service.v1.ContextSpecificConfig;
+import org.hypertrace.config.service.v1.DeleteConfigRequest;
+import org.hypertrace.config.service.v1.DeleteConfigResponse;
+import org.hypertrace.config.service.v1.GetConfigRequest;
+import org.hypertrace.config.service.v1.GetConfigResponse;
+import org.hypertrace.config.service.v1.UpsertConfigRequest;
+import org.hypertrace.config.service.v1.UpsertConfigResponse;
+import org.hypertrace.core.grpcutils.context.RequestContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncContextuallyIdentifiedObjectStoreTest {
+  private static final String TEST_RESOURCE_NAMESPACE = "test-namespace";
+  private static final String TEST_RESOURCE_NAME = "test-resource";
+
+  @Mock(answer = Answers.RETURNS_SELF)
+  ConfigServiceFutureStub mockStub;
+
+  @Mock ConfigChangeEventGenerator configChangeEventGenerator;
+
+  AsyncContextuallyIdentifiedObjectStore<String> store;
+
+  @BeforeEach
+  void beforeEach() {
+    this.store = new TestObjectStore(this.mockStub, this.configChangeEventGenerator);
+  }
+
+  @Test
+  void readsConfigOfRequestContext() {
+    when(this.mockStub.getConfig(any()))
+        .thenReturn(
+            Futures.immediateFuture(
+                GetConfigResponse.newBuilder().setConfig(Values.of("test")).build()));
+
+    assertEquals(
+        Optional.of("test"),
+        this.store.getData(RequestContext.forTenantId("my-tenant")).toCompletableFuture().join());
+    verify(this.mockStub)
+        .getConfig(
+            GetConfigRequest.newBuilder()
+                .setResourceName(TEST_RESOURCE_NAME)
+                .setResourceNamespace(TEST_RESOURCE_NAMESPACE)
+                .addContexts("my-tenant")
+                .build());
+
+    when(this.mockStub.getConfig(any()))
+        .thenReturn(Futures.immediateFailedFuture(Status.NOT_FOUND.asRuntimeException()));
+
+    assertEquals(
+        Optional.empty(),
+        this.store
+            .getObject(RequestContext.forTenantId("my-other-tenant"))
+            .toCompletableFuture()
+            .join());
+  }
+
+  @Test
+  void upsertsAndReportsConfigOfRequestContext() {
+    RequestContext requestContext = RequestContext.forTenantId("upsert-tenant");
+    when(this.mockStub.upsertConfig(any()))
+        .thenReturn(
+            Futures.immediateFuture(
+                UpsertConfigResponse.newBuilder().setConfig(Values.of("updated")).build()));
+
+    assertEquals(
+        "updated",
+        this.store.upsertObject(requestContext, "updated").toCompletableFuture().join().getData());
+    verify(this.mockStub)
+        .upsertConfig(
+            UpsertConfigRequest.newBuilder()
+                .setResourceName(TEST_RESOURCE_NAME)
+                .setResourceNamespace(TEST_RESOURCE_NAMESPACE)
+                .setContext("upsert-tenant")
+                .setConfig(Values.of("updated"))
+                .build());
+    verify(this.configChangeEventGenerator)
+        .sendCreateNotification(
+            requestContext, String.class.getName(), "upsert-tenant", Values.of("updated"));
+  }
+
+  @Test
+  void deletesAndReportsConfigOfRequestContext() {
+    RequestContext requestContext = RequestContext.forTenantId("delete-tenant");
+    when(this.mockStub.deleteConfig(any()))
+        .thenReturn(
+            Futures.immediateFuture(
+                DeleteConfigResponse.newBuilder()
+                    .setDeletedConfig(
+                        ContextSpecificConfig.newBuilder()
+                            .setContext("delete-tenant")
+                            .setConfig(Values.of("test")))
+                    .build()));
+
+    assertEquals(
+        Optional.of("test"),
+        this.store
+            .deleteObject(requestContext)
+            .toCompletableFuture()
+            .join()
+            .flatMap(DeletedConfigObject::getDeletedData));
+    verify(this.mockStub)
+        .deleteConfig(
+            DeleteConfigRequest.newBuilder()
+                .setResourceName(TEST_RESOURCE_NAME)
+                .setResourceNamespace(TEST_RESOURCE_NAMESPACE)
+                .setContext("delete-tenant")
+                .build());
+    verify(this.configChangeEventGenerator)
+        .sendDeleteNotification(
+            requestContext, String.class.getName(), "delete-tenant", Values.of("test"));
+  }
+
+  private static class TestObjectStore extends AsyncContextuallyIdentifiedObjectStore<String> {
+    private TestObjectStore(
+        ConfigServiceFutureStub stub, ConfigChangeEventGenerator configChangeEventGenerator) {
+      super(stub, TEST_RESOURCE_NAMESPACE, TEST_RESOURCE_NAME, configChangeEventGenerator);
+    }
+
+    @Override
+    protected Optional<String> buildDataFromValue(Value value) {
+      return Optional.of(value.getStringValue());
+    }
+
+    @Override
+    protected Value buildValueFromData(String data) {
+      return Values.of(data);
+    }
+
+    @Override
+    protected String getConfigContextFromRequestContext(RequestContext requestContext) {
+      return requestContext.getTenantId().orElseThrow();
+    }
+  }
+}
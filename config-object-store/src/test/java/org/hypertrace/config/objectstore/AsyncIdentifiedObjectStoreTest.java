@@ -0,0 +1,296 @@
+package org.hypertrace.config.objectstore;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.google.common.util.concurrent.Futures;
+import com.google.protobuf.Value;
+import com.google.protobuf.util.Values;
+import io.grpc.Status;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.hypertrace.config.service.change.event.api.ConfigChangeEventGenerator;
+import org.hypertrace.config.service.change.event.api.ConfigChangeNotification;
+import org.hypertrace.config.service.v1.ConfigServiceGrpc.ConfigServiceFutureStub;
+import org.hypertrace.config.service.v1.ContextSpecificConfig;
+import org.hypertrace.config.service.v1.DeleteConfigResponse;
+import org.hypertrace.config.service.v1.DeleteConfigsResponse;
+import org.hypertrace.config.service.v1.GetAllConfigsResponse;
+import org.hypertrace.config.service.v1.UpsertAllConfigsResponse;
+import org.hypertrace.config.service.v1.UpsertAllConfigsResponse.UpsertedConfig;
+import org.hypertrace.config.service.v1.UpsertConfigRequest;
+import org.hypertrace.config.service.v1.UpsertConfigResponse;
+import org.hypertrace.core.grpcutils.context.RequestContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncIdentifiedObjectStoreTest {
+  private static final String TEST_RESOURCE_NAMESPACE = "test-namespace";
+  private static final String TEST_RESOURCE_NAME = "test-resource";
+
+  @Mock(answer = Answers.RETURNS_SELF)
+  ConfigServiceFutureStub mockStub;
+
+  @Mock ConfigChangeEventGenerator configChangeEventGenerator;
+
+  RequestContext requestContext = RequestContext.forTenantId("test-tenant");
+  AsyncIdentifiedObjectStore<String> store;
+
+  @BeforeEach
+  void beforeEach() {
+    this.store = new TestObjectStore(this.mockStub, this.configChangeEventGenerator);
+  }
+
+  @Test
+  void decodesAndOrdersFetchedObjects() {
+    when(this.mockStub.getAllConfigs(any()))
+        .thenReturn(
+            Futures.immediateFuture(
+                GetAllConfigsResponse.newBuilder()
+                    .addContextSpecificConfigs(buildConfig("b"))
+                    .addContextSpecificConfigs(buildConfig("a"))
+                    .build()));
+
+    assertEquals(
+        List.of("a", "b"),
+        this.store.getAllConfigData(this.requestContext).toCompletableFuture().join());
+  }
+
+  @Test
+  void mapsNotFoundToEmpty() {
+    when(this.mockStub.getConfig(any()))
+        .thenReturn(Futures.immediateFailedFuture(Status.NOT_FOUND.asRuntimeException()));
+
+    assertEquals(
+        Optional.empty(),
+        this.store.getData(this.requestContext, "missing").toCompletableFuture().join());
+  }
+
+  @Test
+  void reportsCreationOnUpsert() {
+    when(this.mockStub.upsertConfig(any()))
+        .thenReturn(
+            Futures.immediateFuture(
+                UpsertConfigResponse.newBuilder().setConfig(Values.of("a")).build()));
+
+    assertEquals(
+        "a",
+        this.store.upsertObject(this.requestContext, "a").toCompletableFuture().join().getData());
+    verify(this.mockStub)
+        .upsertConfig(
+            UpsertConfigRequest.newBuilder()
+                .setResourceName(TEST_RESOURCE_NAME)
+                .setResourceNamespace(TEST_RESOURCE_NAMESPACE)
+                .setContext("a")
+                .setConfig(Values.of("a"))
+                .build());
+    verify(this.configChangeEventGenerator)
+        .sendCreateNotification(
+            eq(this.requestContext), eq(String.class.getName()), eq("a"), eq(Values.of("a")));
+  }
+
+  @Test
+  void reportsStoredPreviousValueOnUpdate() {
+    // A number doesn't decode to the same value, so it only survives if it is passed through
+    Value previousValue = Values.of(1);
+    when(this.mockStub.upsertConfig(any()))
+        .thenReturn(
+            Futures.immediateFuture(
+                UpsertConfigResponse.newBuilder()
+                    .setConfig(Values.of("a"))
+                    .setPrevConfig(previousValue)
+                    .build()));
+
+    this.store.upsertObject(this.requestContext, "a").toCompletableFuture().join();
+
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<List<ConfigChangeNotification>> notificationsCaptor =
+        ArgumentCaptor.forClass(List.class);
+    verify(this.configChangeEventGenerator)
+        .sendNotifications(eq(this.requestContext), notificationsCaptor.capture());
+    assertEquals(
+        List.of(
+            ConfigChangeNotification.update(
+                String.class.getName(), "a", previousValue, Values.of("a"))),
+        notificationsCaptor.getValue());
+  }
+
+  @Test
+  void reportsBatchUpsertAsOneBatch() {
+    when(this.mockStub.upsertAllConfigs(any()))
+        .thenReturn(
+            Futures.immediateFuture(
+                UpsertAllConfigsResponse.newBuilder()
+                    .addUpsertedConfigs(
+                        UpsertedConfig.newBuilder().setContext("a").setConfig(Values.of("a")))
+                    .addUpsertedConfigs(
+                        UpsertedConfig.newBuilder()
+                            .setContext("b")
+                            .setConfig(Values.of("b"))
+                            .setPrevConfig(Values.of("previous-b")))
+                    .build()));
+
+    assertEquals(
+        List.of("a", "b"),
+        this.store
+            .upsertObjects(this.requestContext, List.of("a", "b"))
+            .toCompletableFuture()
+            .join()
+            .stream()
+            .map(ConfigObject::getData)
+            .collect(Collectors.toUnmodifiableList()));
+    verify(this.configChangeEventGenerator)
+        .sendNotifications(
+            this.requestContext,
+            List.of(
+                ConfigChangeNotification.create(String.class.getName(), "a", Values.of("a")),
+                ConfigChangeNotification.update(
+                    String.class.getName(), "b", Values.of("previous-b"), Values.of("b"))));
+  }
+
+  @Test
+  void reportsBatchDeleteAsOneBatch() {
+    when(this.mockStub.deleteConfigs(any()))
+        .thenReturn(
+            Futures.immediateFuture(
+                DeleteConfigsResponse.newBuilder()
+                    .addDeletedConfigs(buildConfig("a"))
+                    .addDeletedConfigs(buildConfig("b"))
+                    .build()));
+
+    assertEquals(
+        2,
+        this.store
+            .deleteObjects(this.requestContext, List.of("a", "b"))
+            .toCompletableFuture()
+            .join()
+            .size());
+    verify(this.configChangeEventGenerator)
+        .sendNotifications(
+            this.requestContext,
+            List.of(
+                ConfigChangeNotification.delete(String.class.getName(), "a", Values.of("a")),
+                ConfigChangeNotification.delete(String.class.getName(), "b", Values.of("b"))));
+  }
+
+  @Test
+  void reportsNothingWhileUserTrackingIsSuppressed() {
+    RequestContext suppressedContext = spy(this.requestContext);
+    doReturn(true).when(suppressedContext).isUserTrackingSuppressed();
+    when(this.mockStub.deleteConfig(any()))
+        .thenReturn(
+            Futures.immediateFuture(
+                DeleteConfigResponse.newBuilder().setDeletedConfig(buildConfig("a")).build()));
+
+    this.store.deleteObject(suppressedContext, "a").toCompletableFuture().join();
+
+    verifyNoInteractions(this.configChangeEventGenerator);
+  }
+
+  @Test
+  void decodesLargeResultsInParallelInOrder() {
+    AsyncIdentifiedObjectStore<String> parallelStore =
+        new TestObjectStore(
+            this.mockStub,
+            this.configChangeEventGenerator,
+            ClientConfig.builder().parallelDecodeConfig(new ParallelDecodeConfig(2, 2)).build());
+    GetAllConfigsResponse.Builder response = GetAllConfigsResponse.newBuilder();
+    List<String> ids =
+        IntStream.range(0, 100)
+            .mapToObj(index -> String.format("%03d", index))
+            .collect(Collectors.toUnmodifiableList());
+    ids.forEach(id -> response.addContextSpecificConfigs(buildConfig(id)));
+    when(this.mockStub.getAllConfigs(any())).thenReturn(Futures.immediateFuture(response.build()));
+
+    assertEquals(
+        ids, parallelStore.getAllConfigData(this.requestContext).toCompletableFuture().join());
+  }
+
+  @Test
+  void processesResultsOnTheResultExecutor() {
+    AtomicInteger processedResults = new AtomicInteger();
+    AsyncIdentifiedObjectStore<String> executorStore =
+        new TestObjectStore(
+            this.mockStub,
+            this.configChangeEventGenerator,
+            ClientConfig.builder()
+                .resultExecutor(
+                    task -> {
+                      processedResults.incrementAndGet();
+                      task.run();
+                    })
+                .build());
+    when(this.mockStub.getAllConfigs(any()))
+        .thenReturn(
+            Futures.immediateFuture(
+                GetAllConfigsResponse.newBuilder()
+                    .addContextSpecificConfigs(buildConfig("a"))
+                    .build()));
+
+    assertEquals(
+        List.of("a"),
+        executorStore.getAllConfigData(this.requestContext).toCompletableFuture().join());
+    assertEquals(1, processedResults.get());
+  }
+
+  private static ContextSpecificConfig buildConfig(String id) {
+    return ContextSpecificConfig.newBuilder().setContext(id).setConfig(Values.of(id)).build();
+  }
+
+  private static class TestObjectStore extends AsyncIdentifiedObjectStore<String> {
+    private TestObjectStore(
+        ConfigServiceFutureStub stub, ConfigChangeEventGenerator configChangeEventGenerator) {
+      this(stub, configChangeEventGenerator, ClientConfig.DEFAULT);
+    }
+
+    private TestObjectStore(
+        ConfigServiceFutureStub stub,
+        ConfigChangeEventGenerator configChangeEventGenerator,
+        ClientConfig clientConfig) {
+      super(
+          stub,
+          TEST_RESOURCE_NAMESPACE,
+          TEST_RESOURCE_NAME,
+          configChangeEventGenerator,
+          clientConfig);
+    }
+
+    @Override
+    protected Optional<String> buildDataFromValue(Value value) {
+      return Optional.of(value.getStringValue());
+    }
+
+    @Override
+    protected Value buildValueFromData(String data) {
+      return Values.of(data);
+    }
+
+    @Override
+    protected String getContextFromData(String data) {
+      return data;
+    }
+
+    @Override
+    protected List<ContextualConfigObject<String>> orderFetchedObjects(
+        List<ContextualConfigObject<String>> objects) {
+      return objects.stream()
+          .sorted((first, second) -> first.getData().compareTo(second.getData()))
+          .collect(Collectors.toUnmodifiableList());
+    }
+  }
+}
@@ -0,0 +1,121 @@
+package org.hypertrace.config.objectstore;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.google.common.base.Ticker;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import org.hypertrace.config.objectstore.ConfigCircuitBreaker.State;
+import org.hypertrace.core.grpcutils.context.RequestContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ConfigCircuitBreakerTest {
+  private final AtomicLong nanos = new AtomicLong();
+  private final AtomicInteger reads = new AtomicInteger();
+  private final Function<RequestContext, Integer> read = context -> reads.incrementAndGet();
+  private final Function<RequestContext, Integer> failingRead =
+      context -> {
+        throw Status.UNAVAILABLE.asRuntimeException();
+      };
+  private final RequestContext requestContext = RequestContext.forTenantId("test-tenant");
+  private ConfigCircuitBreaker circuitBreaker;
+
+  @BeforeEach
+  void beforeEach() {
+    Ticker ticker =
+        new Ticker() {
+          @Override
+          public long read() {
+            return nanos.get();
+          }
+        };
+    this.circuitBreaker =
+        new ConfigCircuitBreaker(
+            new ObjectStoreCircuitBreakerConfig(
+                2, 0.5, Duration.ofSeconds(1), Duration.ofSeconds(5), Duration.ofMinutes(1)),
+            "test-namespace/test-resource",
+            Map.of("resourceName", "test-resource"),
+            ticker,
+            Runnable::run);
+  }
+
+  @Test
+  void opensOnFailuresAndProbesRecoveryInBackground() {
+    assertEquals(1, this.circuitBreaker.execute(this.requestContext, this.read));
+    assertThrows(
+        StatusRuntimeException.class,
+        () -> this.circuitBreaker.execute(this.requestContext, this.failingRead));
+    assertEquals(State.OPEN, this.circuitBreaker.getState());
+
+    // Open breakers fail fast, without reading
+    StatusRuntimeException exception =
+        assertThrows(
+            StatusRuntimeException.class,
+            () -> this.circuitBreaker.execute(this.requestContext, this.read));
+    assertEquals(Status.Code.UNAVAILABLE, exception.getStatus().getCode());
+    assertEquals(1, this.reads.get());
+
+    // The probe runs inline here, the read which started it is still rejected
+    this.nanos.addAndGet(Duration.ofSeconds(6).toNanos());
+    assertThrows(
+        StatusRuntimeException.class,
+        () -> this.circuitBreaker.execute(this.requestContext, this.read));
+    assertEquals(2, this.reads.get());
+    assertEquals(State.CLOSED, this.circuitBreaker.getState());
+    assertEquals(3, this.circuitBreaker.execute(this.requestContext, this.read));
+  }
+
+  @Test
+  void opensOnSlowReads() {
+    Function<RequestContext, Integer> slowRead =
+        context -> {
+          this.nanos.addAndGet(Duration.ofSeconds(2).toNanos());
+          return this.reads.incrementAndGet();
+        };
+    assertEquals(1, this.circuitBreaker.execute(this.requestContext, slowRead));
+    assertEquals(2, this.circuitBreaker.execute(this.requestContext, slowRead));
+    assertEquals(State.OPEN, this.circuitBreaker.getState());
+  }
+
+  @Test
+  void ignoresFailuresOfBadRequests() {
+    Function<RequestContext, Integer> invalidRead =
+        context -> {
+          throw Status.INVALID_ARGUMENT.asRuntimeException();
+        };
+    assertThrows(
+        StatusRuntimeException.class,
+        () -> this.circuitBreaker.execute(this.requestContext, invalidRead));
+    assertThrows(
+        StatusRuntimeException.class,
+        () -> this.circuitBreaker.execute(this.requestContext, invalidRead));
+    assertEquals(State.CLOSED, this.circuitBreaker.getState());
+  }
+
+  @Test
+  void rejectsInvalidConfig() {
+    Duration second = Duration.ofSeconds(1);
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new ObjectStoreCircuitBreakerConfig(0, 0.5, second, second, second));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new ObjectStoreCircuitBreakerConfig(2, 0, second, second, second));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new ObjectStoreCircuitBreakerConfig(2, 1.5, second, second, second));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new ObjectStoreCircuitBreakerConfig(2, 0.5, Duration.ZERO, second, second));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new ObjectStoreCircuitBreakerConfig(2, 0.5, second, second, second.negated()));
+  }
+}
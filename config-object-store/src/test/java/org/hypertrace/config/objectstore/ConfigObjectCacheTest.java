@@ -0,0 +1,158 @@
+package org.hypertrace.config.objectstore;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.google.common.base.Ticker;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import org.hypertrace.config.service.change.event.util.KeyUtil;
+import org.hypertrace.core.grpcutils.context.RequestContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ConfigObjectCacheTest {
+  private static final String TEST_TENANT_ID = "test-tenant";
+  private static final String TEST_CONFIG_TYPE = "test-config-type";
+
+  private final AtomicLong nanos = new AtomicLong();
+  private final AtomicInteger loads = new AtomicInteger();
+  private final Function<RequestContext, Integer> loader = context -> loads.incrementAndGet();
+  private final RequestContext requestContext = RequestContext.forTenantId(TEST_TENANT_ID);
+  private final Ticker ticker =
+      new Ticker() {
+        @Override
+        public long read() {
+          return nanos.get();
+        }
+      };
+  private ConfigObjectCache<Integer> cache;
+
+  @BeforeEach
+  void beforeEach() {
+    this.cache =
+        new ConfigObjectCache<>(
+            new ObjectStoreCacheConfig(Duration.ofSeconds(10), Duration.ofSeconds(5), 100),
+            Map.of("resourceName", "test-resource"),
+            this.ticker,
+            Runnable::run);
+  }
+
+  @Test
+  void servesRepeatedReadsFromCache() {
+    assertEquals(1, this.cache.get(this.requestContext, "a", this.loader));
+    assertEquals(1, this.cache.get(this.requestContext, "a", this.loader));
+    assertEquals(2, this.cache.get(this.requestContext, "b", this.loader));
+    assertEquals(3, this.cache.get(RequestContext.forTenantId("other"), "a", this.loader));
+  }
+
+  @Test
+  void refreshesAheadOfExpiry() {
+    assertEquals(1, this.cache.get(this.requestContext, "a", this.loader));
+    this.nanos.addAndGet(Duration.ofSeconds(6).toNanos());
+
+    // The read which finds the entry due for a refresh is still served the cached value
+    assertEquals(1, this.cache.get(this.requestContext, "a", this.loader));
+    assertEquals(2, this.cache.get(this.requestContext, "a", this.loader));
+
+    this.nanos.addAndGet(Duration.ofSeconds(11).toNanos());
+    assertEquals(3, this.cache.get(this.requestContext, "a", this.loader));
+  }
+
+  @Test
+  void invalidatesByContextAndByChangeEvent() {
+    this.cache.get(this.requestContext, "a", this.loader);
+    this.cache.get(this.requestContext, "b", this.loader);
+
+    this.cache.invalidate(TEST_TENANT_ID, "a");
+    assertEquals(3, this.cache.get(this.requestContext, "a", this.loader));
+    assertEquals(2, this.cache.get(this.requestContext, "b", this.loader));
+
+    this.cache.invalidate(KeyUtil.getKey(TEST_TENANT_ID, TEST_CONFIG_TYPE, Optional.of("b")));
+    assertEquals(3, this.cache.get(this.requestContext, "a", this.loader));
+    assertEquals(4, this.cache.get(this.requestContext, "b", this.loader));
+
+    this.cache.invalidate(KeyUtil.getKey(TEST_TENANT_ID, TEST_CONFIG_TYPE, Optional.empty()));
+    assertEquals(5, this.cache.get(this.requestContext, "a", this.loader));
+    assertEquals(6, this.cache.get(this.requestContext, "b", this.loader));
+  }
+
+  @Test
+  void doesNotKeepValuesLoadedAcrossAnInvalidation() {
+    Function<RequestContext, Integer> loaderRacingWrite =
+        context -> {
+          int value = this.loads.incrementAndGet();
+          // A write of the config lands while its read is in flight
+          this.cache.invalidate(TEST_TENANT_ID, "a");
+          return value;
+        };
+
+    // The read racing the write is still answered, but its value isn't served again
+    assertEquals(1, this.cache.get(this.requestContext, "a", loaderRacingWrite));
+    assertEquals(2, this.cache.get(this.requestContext, "a", this.loader));
+    assertEquals(2, this.cache.get(this.requestContext, "a", this.loader));
+  }
+
+  @Test
+  void keepsValuesLoadedAcrossAnInvalidationOfAnotherTenant() {
+    Function<RequestContext, Integer> loaderRacingWrite =
+        context -> {
+          int value = this.loads.incrementAndGet();
+          // Another tenant writes while the read is in flight
+          this.cache.invalidateTenant("other-tenant");
+          this.cache.invalidate("other-tenant", "a");
+          return value;
+        };
+
+    assertEquals(1, this.cache.get(this.requestContext, "a", loaderRacingWrite));
+    assertEquals(1, this.cache.get(this.requestContext, "a", this.loader));
+  }
+
+  @Test
+  void propagatesLoadFailuresWithoutCaching() {
+    StatusRuntimeException exception =
+        assertThrows(
+            StatusRuntimeException.class,
+            () ->
+                this.cache.get(
+                    this.requestContext,
+                    "a",
+                    context -> {
+                      throw Status.UNAVAILABLE.asRuntimeException();
+                    }));
+    assertEquals(Status.Code.UNAVAILABLE, exception.getStatus().getCode());
+    assertEquals(1, this.cache.get(this.requestContext, "a", this.loader));
+  }
+
+  @Test
+  void servesLastKnownGoodValuesMarkedStaleDuringOutages() {
+    ConfigObjectCache<Integer> staleServingCache =
+        new ConfigObjectCache<>(
+            new ObjectStoreCacheConfig(Duration.ofSeconds(10), Duration.ofSeconds(5), 100),
+            Map.of("resourceName", "test-resource"),
+            Optional.of(Duration.ofMinutes(1)),
+            value -> -value,
+            this.ticker,
+            Runnable::run);
+    Function<RequestContext, Integer> failingLoader =
+        context -> {
+          throw Status.UNAVAILABLE.asRuntimeException();
+        };
+
+    assertEquals(1, staleServingCache.get(this.requestContext, "a", this.loader));
+    this.nanos.addAndGet(Duration.ofSeconds(11).toNanos());
+    assertEquals(-1, staleServingCache.get(this.requestContext, "a", failingLoader));
+
+    // Values are no longer served once invalidated by a write
+    staleServingCache.invalidate(TEST_TENANT_ID, "a");
+    assertThrows(
+        StatusRuntimeException.class,
+        () -> staleServingCache.get(this.requestContext, "a", failingLoader));
+  }
+}
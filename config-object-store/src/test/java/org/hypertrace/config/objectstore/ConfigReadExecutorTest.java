@@ -0,0 +1,219 @@
+package org.hypertrace.config.objectstore;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.google.common.base.Ticker;
+import io.grpc.Context;
+import io.grpc.Deadline;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.hypertrace.core.grpcutils.context.RequestContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class ConfigReadExecutorTest {
+  private final AtomicLong nanos = new AtomicLong();
+  private final AtomicInteger reads = new AtomicInteger();
+  private final RequestContext requestContext = RequestContext.forTenantId("test-tenant");
+  private final ExecutorService hedgingExecutor = Executors.newCachedThreadPool();
+  private final Ticker ticker =
+      new Ticker() {
+        @Override
+        public long read() {
+          return nanos.get();
+        }
+      };
+
+  @AfterEach
+  void afterEach() {
+    this.hedgingExecutor.shutdownNow();
+  }
+
+  @Test
+  void retriesUnavailableReadsWithinBudget() {
+    ConfigReadExecutor readExecutor =
+        this.buildReadExecutor(
+            ClientConfig.builder()
+                .retryConfig(new ObjectStoreRetryConfig(2, Duration.ZERO, 1, 0.1))
+                .build());
+
+    assertEquals(
+        2,
+        readExecutor.read(
+            this.requestContext, ConfigServiceMethod.GET_CONFIG, false, this.failingOnce()));
+
+    // The only token was spent on the retry above
+    this.reads.set(0);
+    StatusRuntimeException exception =
+        assertThrows(
+            StatusRuntimeException.class,
+            () ->
+                readExecutor.read(
+                    this.requestContext,
+                    ConfigServiceMethod.GET_CONFIG,
+                    false,
+                    this.failingOnce()));
+    assertEquals(Status.Code.UNAVAILABLE, exception.getStatus().getCode());
+    assertEquals(1, this.reads.get());
+  }
+
+  @Test
+  void doesNotRetryOtherFailures() {
+    ConfigReadExecutor readExecutor =
+        this.buildReadExecutor(
+            ClientConfig.builder()
+                .retryConfig(new ObjectStoreRetryConfig(2, Duration.ZERO, 10, 0.1))
+                .build());
+
+    assertThrows(
+        StatusRuntimeException.class,
+        () ->
+            readExecutor.read(
+                this.requestContext,
+                ConfigServiceMethod.GET_CONFIG,
+                false,
+                () -> {
+                  this.reads.incrementAndGet();
+                  throw Status.INVALID_ARGUMENT.asRuntimeException();
+                }));
+    assertEquals(1, this.reads.get());
+  }
+
+  @Test
+  void hedgesReadsSlowerThanThePercentile() throws InterruptedException {
+    ConfigReadExecutor readExecutor =
+        this.buildReadExecutor(
+            ClientConfig.builder()
+                .hedgingConfig(
+                    new ObjectStoreHedgingConfig(0.5, Duration.ZERO, Duration.ofMinutes(1), 4))
+                .build());
+    this.recordLatencies(readExecutor);
+
+    CountDownLatch primaryRelease = new CountDownLatch(1);
+    AtomicInteger attempts = new AtomicInteger();
+    String result =
+        readExecutor.read(
+            this.requestContext,
+            ConfigServiceMethod.GET_ALL_CONFIGS,
+            true,
+            () -> {
+              if (attempts.incrementAndGet() == 1) {
+                primaryRelease.await(10, TimeUnit.SECONDS);
+                return "primary";
+              }
+              return "hedge";
+            });
+    primaryRelease.countDown();
+
+    assertEquals("hedge", result);
+    assertEquals(2, attempts.get());
+  }
+
+  @Test
+  void hedgedAttemptsShareTheDeadlineOfTheRead() throws InterruptedException {
+    ConfigReadExecutor readExecutor =
+        this.buildReadExecutor(
+            ClientConfig.builder()
+                .methodTimeout(ConfigServiceMethod.GET_ALL_CONFIGS, Duration.ofSeconds(30))
+                .hedgingConfig(
+                    new ObjectStoreHedgingConfig(0.5, Duration.ZERO, Duration.ofMinutes(1), 4))
+                .build());
+    this.recordLatencies(readExecutor);
+
+    CountDownLatch primaryRelease = new CountDownLatch(1);
+    List<Deadline> deadlines = new CopyOnWriteArrayList<>();
+    readExecutor.read(
+        this.requestContext,
+        ConfigServiceMethod.GET_ALL_CONFIGS,
+        true,
+        () -> {
+          deadlines.add(Context.current().getDeadline());
+          if (deadlines.size() == 1) {
+            primaryRelease.await(10, TimeUnit.SECONDS);
+          }
+          return deadlines.size();
+        });
+    primaryRelease.countDown();
+
+    assertEquals(2, deadlines.size());
+    assertSame(deadlines.get(0), deadlines.get(1));
+    assertTrue(deadlines.get(0).timeRemaining(TimeUnit.SECONDS) <= 30);
+  }
+
+  @Test
+  void readsUnhedgedOnceAllAttemptThreadsAreTaken() {
+    ExecutorService singleThreadExecutor =
+        new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS, new SynchronousQueue<>());
+    ConfigReadExecutor readExecutor =
+        new ConfigReadExecutor(
+            ClientConfig.builder()
+                .hedgingConfig(
+                    new ObjectStoreHedgingConfig(0.5, Duration.ZERO, Duration.ofMinutes(1), 1))
+                .build(),
+            Map.of("resourceName", "test-resource"),
+            this.ticker,
+            singleThreadExecutor);
+    this.recordLatencies(readExecutor);
+
+    AtomicInteger attempts = new AtomicInteger();
+    try {
+      // The primary outlasts the hedging delay, but the hedge finds no thread to run on
+      String result =
+          readExecutor.read(
+              this.requestContext,
+              ConfigServiceMethod.GET_ALL_CONFIGS,
+              true,
+              () -> {
+                attempts.incrementAndGet();
+                TimeUnit.MILLISECONDS.sleep(200);
+                return "primary";
+              });
+
+      assertEquals("primary", result);
+      assertEquals(1, attempts.get());
+    } finally {
+      singleThreadExecutor.shutdownNow();
+    }
+  }
+
+  /** Reads are made without hedging until enough latencies of 10ms are recorded. */
+  private void recordLatencies(ConfigReadExecutor readExecutor) {
+    for (int read = 0; read < 20; read++) {
+      readExecutor.read(
+          this.requestContext,
+          ConfigServiceMethod.GET_ALL_CONFIGS,
+          true,
+          () -> this.nanos.addAndGet(Duration.ofMillis(10).toNanos()));
+    }
+  }
+
+  private ConfigReadExecutor buildReadExecutor(ClientConfig clientConfig) {
+    return new ConfigReadExecutor(
+        clientConfig, Map.of("resourceName", "test-resource"), this.ticker, this.hedgingExecutor);
+  }
+
+  private Callable<Integer> failingOnce() {
+    return () -> {
+      if (this.reads.incrementAndGet() == 1) {
+        throw Status.UNAVAILABLE.asRuntimeException();
+      }
+      return this.reads.get();
+    };
+  }
+}
@@ -0,0 +1,171 @@
+package org.hypertrace.config.objectstore;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.google.protobuf.util.Values;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.hypertrace.config.service.v1.GetConfigResponse;
+import org.hypertrace.core.grpcutils.context.RequestContext;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ConfigSnapshotStoreTest {
+  private final AtomicInteger loads = new AtomicInteger();
+  private final Function<RequestContext, GetConfigResponse> loader =
+      context ->
+          GetConfigResponse.newBuilder()
+              .setConfig(Values.of(String.valueOf(loads.incrementAndGet())))
+              .build();
+  private final Function<RequestContext, GetConfigResponse> failingLoader =
+      context -> {
+        throw Status.UNAVAILABLE.asRuntimeException();
+      };
+  private final RequestContext requestContext = RequestContext.forTenantId("test-tenant");
+
+  @TempDir Path directory;
+
+  @Test
+  void servesLastGoodReadDuringOutages() {
+    ConfigSnapshotStore<GetConfigResponse> snapshotStore = this.buildSnapshotStore();
+
+    assertEquals(buildResponse("1"), snapshotStore.read(this.requestContext, this.loader));
+    assertEquals(buildResponse("2"), snapshotStore.read(this.requestContext, this.loader));
+    assertEquals(buildResponse("2"), snapshotStore.read(this.requestContext, this.failingLoader));
+  }
+
+  @Test
+  void servesSnapshotForFirstReadAfterRestart() {
+    this.buildSnapshotStore().read(this.requestContext, this.loader);
+
+    ConfigSnapshotStore<GetConfigResponse> restartedSnapshotStore = this.buildSnapshotStore();
+    // The background refresh runs inline, so the second read sees its result
+    assertEquals(buildResponse("1"), restartedSnapshotStore.read(this.requestContext, this.loader));
+    assertEquals(2, this.loads.get());
+    assertEquals(buildResponse("3"), restartedSnapshotStore.read(this.requestContext, this.loader));
+  }
+
+  @Test
+  void propagatesFailuresWithoutSnapshot() {
+    StatusRuntimeException exception =
+        assertThrows(
+            StatusRuntimeException.class,
+            () -> this.buildSnapshotStore().read(this.requestContext, this.failingLoader));
+    assertEquals(Status.Code.UNAVAILABLE, exception.getStatus().getCode());
+  }
+
+  @Test
+  void dropsSnapshotOnceConfigIsGone() {
+    ConfigSnapshotStore<GetConfigResponse> snapshotStore = this.buildSnapshotStore();
+    snapshotStore.read(this.requestContext, this.loader);
+
+    assertThrows(
+        StatusRuntimeException.class,
+        () ->
+            snapshotStore.read(
+                this.requestContext,
+                context -> {
+                  throw Status.NOT_FOUND.asRuntimeException();
+                }));
+    assertThrows(
+        StatusRuntimeException.class,
+        () -> snapshotStore.read(this.requestContext, this.failingLoader));
+  }
+
+  @Test
+  void doesNotServeSnapshotsOlderThanMaxServeAge() {
+    this.buildSnapshotStore().read(this.requestContext, this.loader);
+
+    ConfigSnapshotStore<GetConfigResponse> restartedSnapshotStore =
+        this.buildSnapshotStore(
+            Instant.ofEpochMilli(1000).plus(Duration.ofHours(2)), Runnable::run);
+    StatusRuntimeException exception =
+        assertThrows(
+            StatusRuntimeException.class,
+            () -> restartedSnapshotStore.read(this.requestContext, this.failingLoader));
+    assertEquals(Status.Code.UNAVAILABLE, exception.getStatus().getCode());
+    // Not served for the first read either, so the live read answers it
+    assertEquals(buildResponse("2"), restartedSnapshotStore.read(this.requestContext, this.loader));
+  }
+
+  @Test
+  void writesSnapshotOnlyWhenReadChanges() {
+    AtomicInteger writes = new AtomicInteger();
+    ConfigSnapshotStore<GetConfigResponse> snapshotStore =
+        this.buildSnapshotStore(
+            Instant.ofEpochMilli(1000),
+            task -> {
+              writes.incrementAndGet();
+              task.run();
+            });
+    GetConfigResponse response = buildResponse("unchanged");
+
+    snapshotStore.read(this.requestContext, context -> response);
+    snapshotStore.read(this.requestContext, context -> buildResponse("unchanged"));
+    assertEquals(1, writes.get());
+    snapshotStore.read(this.requestContext, context -> buildResponse("changed"));
+    assertEquals(2, writes.get());
+  }
+
+  @Test
+  void appliesOnlyTheLatestPendingUpdate() {
+    List<Runnable> tasks = new ArrayList<>();
+    ConfigSnapshotStore<GetConfigResponse> snapshotStore =
+        this.buildSnapshotStore(Instant.ofEpochMilli(1000), tasks::add);
+    snapshotStore.read(this.requestContext, this.loader);
+    assertThrows(
+        StatusRuntimeException.class,
+        () ->
+            snapshotStore.read(
+                this.requestContext,
+                context -> {
+                  throw Status.NOT_FOUND.asRuntimeException();
+                }));
+
+    // The delete superseded the pending write, which is never applied after it
+    assertEquals(1, tasks.size());
+    tasks.forEach(Runnable::run);
+    assertThrows(
+        StatusRuntimeException.class,
+        () -> snapshotStore.read(this.requestContext, this.failingLoader));
+  }
+
+  @Test
+  void rejectsNonPositiveMaxServeAge() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new ObjectStoreSnapshotConfig(this.directory, Duration.ZERO));
+  }
+
+  private ConfigSnapshotStore<GetConfigResponse> buildSnapshotStore() {
+    return this.buildSnapshotStore(Instant.ofEpochMilli(1000), Runnable::run);
+  }
+
+  private ConfigSnapshotStore<GetConfigResponse> buildSnapshotStore(
+      Instant now, Executor backgroundExecutor) {
+    return new ConfigSnapshotStore<>(
+        new ObjectStoreSnapshotConfig(this.directory, Duration.ofHours(1)),
+        "test-namespace",
+        "test-resource",
+        GetConfigResponse.parser(),
+        Map.of("resourceName", "test-resource"),
+        Clock.fixed(now, ZoneOffset.UTC),
+        backgroundExecutor);
+  }
+
+  private static GetConfigResponse buildResponse(String value) {
+    return GetConfigResponse.newBuilder().setConfig(Values.of(value)).build();
+  }
+}
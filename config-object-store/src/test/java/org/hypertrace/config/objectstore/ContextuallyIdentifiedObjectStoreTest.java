@@ -9,8 +9,10 @@ import static org.mockito.Mockito.when;
 import com.google.protobuf.Value;
 import com.google.protobuf.util.Values;
 import io.grpc.Status;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Optional;
+import org.hypertrace.config.service.change.event.util.KeyUtil;
 import org.hypertrace.config.service.v1.ConfigServiceGrpc.ConfigServiceBlockingStub;
 import org.hypertrace.config.service.v1.ContextSpecificConfig;
 import org.hypertrace.config.service.v1.DeleteConfigRequest;
@@ -194,6 +196,36 @@ class ContextuallyIdentifiedObjectStoreTest {
                 .build());
   }
 
+  @Test
+  void cachesReadsUntilWrittenOrInvalidated() {
+    ContextuallyIdentifiedObjectStore<TestObject> cachingStore =
+        new TestObjectStore(
+            this.mockStub,
+            ClientConfig.builder()
+                .cacheConfig(
+                    new ObjectStoreCacheConfig(Duration.ofMinutes(1), Duration.ofMinutes(1), 100))
+                .build());
+    RequestContext requestContext = RequestContext.forTenantId("my-tenant");
+    when(this.mockStub.getConfig(any()))
+        .thenReturn(
+            GetConfigResponse.newBuilder().setConfig(Values.of("first")).build(),
+            GetConfigResponse.newBuilder().setConfig(Values.of("second")).build(),
+            GetConfigResponse.newBuilder().setConfig(Values.of("third")).build());
+    when(this.mockStub.upsertConfig(any()))
+        .thenReturn(UpsertConfigResponse.newBuilder().setConfig(Values.of("second")).build());
+
+    assertEquals(Optional.of(new TestObject("first")), cachingStore.getData(requestContext));
+    assertEquals(Optional.of(new TestObject("first")), cachingStore.getData(requestContext));
+
+    cachingStore.upsertObject(requestContext, new TestObject("second"));
+    assertEquals(Optional.of(new TestObject("second")), cachingStore.getData(requestContext));
+
+    cachingStore.invalidateCache(
+        KeyUtil.getKey("my-tenant", TestObject.class.getName(), Optional.of("my-tenant")));
+    assertEquals(Optional.of(new TestObject("third")), cachingStore.getData(requestContext));
+    verify(this.mockStub, times(3)).getConfig(any());
+  }
+
   @lombok.Value
   private static class TestObject {
     String name;
@@ -204,6 +236,10 @@ class ContextuallyIdentifiedObjectStoreTest {
       super(stub, TEST_RESOURCE_NAMESPACE, TEST_RESOURCE_NAME);
     }
 
+    private TestObjectStore(ConfigServiceBlockingStub stub, ClientConfig clientConfig) {
+      super(stub, TEST_RESOURCE_NAMESPACE, TEST_RESOURCE_NAME, null, clientConfig);
+    }
+
     @Override
     protected Optional<TestObject> buildDataFromValue(Value value) {
       return Optional.of(new TestObject(value.getStringValue()));
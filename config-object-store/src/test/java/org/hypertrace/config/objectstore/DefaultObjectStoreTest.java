@@ -236,6 +236,7 @@ class DefaultObjectStoreTest {
     verify(this.configChangeEventGenerator, never()).sendCreateNotification(any(), any(), any());
     verify(this.configChangeEventGenerator, never())
         .sendUpdateNotification(any(), any(), any(), any());
+    verify(this.configChangeEventGenerator, never()).sendNotifications(any(), any());
   }
 
   @Test
@@ -255,6 +256,7 @@ class DefaultObjectStoreTest {
     verify(this.configChangeEventGenerator, never()).sendCreateNotification(any(), any(), any());
     verify(this.configChangeEventGenerator, never())
         .sendUpdateNotification(any(), any(), any(), any());
+    verify(this.configChangeEventGenerator, never()).sendNotifications(any(), any());
   }
 
   @Test
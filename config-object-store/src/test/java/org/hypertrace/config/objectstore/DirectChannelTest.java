@@ -0,0 +1,63 @@
+package org.hypertrace.config.objectstore;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+import io.grpc.Channel;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.StreamObserver;
+import org.hypertrace.config.service.v1.ConfigServiceGrpc;
+import org.hypertrace.config.service.v1.ConfigServiceGrpc.ConfigServiceBlockingStub;
+import org.hypertrace.config.service.v1.ConfigServiceGrpc.ConfigServiceImplBase;
+import org.hypertrace.config.service.v1.GetConfigRequest;
+import org.hypertrace.config.service.v1.GetConfigResponse;
+import org.junit.jupiter.api.Test;
+
+class DirectChannelTest {
+
+  @Test
+  void reportsStatusesTheServiceRespondsWith() {
+    ConfigServiceBlockingStub stub =
+        buildStub(
+            new ConfigServiceImplBase() {
+              @Override
+              public void getConfig(
+                  GetConfigRequest request, StreamObserver<GetConfigResponse> responseObserver) {
+                responseObserver.onError(
+                    Status.NOT_FOUND.withDescription("missing").asRuntimeException());
+              }
+            });
+
+    StatusRuntimeException exception =
+        assertThrows(
+            StatusRuntimeException.class,
+            () -> stub.getConfig(GetConfigRequest.getDefaultInstance()));
+    assertEquals(Status.Code.NOT_FOUND, exception.getStatus().getCode());
+    assertEquals("missing", exception.getStatus().getDescription());
+  }
+
+  @Test
+  void reportsExceptionsThrownByTheServiceAsUnknown() {
+    ConfigServiceBlockingStub stub =
+        buildStub(
+            new ConfigServiceImplBase() {
+              @Override
+              public void getConfig(
+                  GetConfigRequest request, StreamObserver<GetConfigResponse> responseObserver) {
+                throw Status.NOT_FOUND.asRuntimeException();
+              }
+            });
+
+    StatusRuntimeException exception =
+        assertThrows(
+            StatusRuntimeException.class,
+            () -> stub.getConfig(GetConfigRequest.getDefaultInstance()));
+    assertEquals(Status.Code.UNKNOWN, exception.getStatus().getCode());
+  }
+
+  private static ConfigServiceBlockingStub buildStub(ConfigServiceImplBase service) {
+    return ConfigServiceGrpc.newBlockingStub(new DirectChannel(mock(Channel.class), service));
+  }
+}
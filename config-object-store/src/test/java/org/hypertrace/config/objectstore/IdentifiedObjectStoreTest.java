@@ -1,6 +1,9 @@
 package org.hypertrace.config.objectstore;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
@@ -15,13 +18,18 @@ import com.google.protobuf.Struct;
 import com.google.protobuf.Value;
 import com.google.protobuf.util.Values;
 import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import lombok.Builder;
 import org.hypertrace.config.service.change.event.api.ConfigChangeEventGenerator;
+import org.hypertrace.config.service.change.event.api.ConfigChangeNotification;
+import org.hypertrace.config.service.change.event.util.KeyUtil;
 import org.hypertrace.config.service.v1.ConfigServiceGrpc.ConfigServiceBlockingStub;
 import org.hypertrace.config.service.v1.ContextSpecificConfig;
 import org.hypertrace.config.service.v1.DeleteConfigRequest;
@@ -227,6 +235,175 @@ class IdentifiedObjectStoreTest {
                 .build());
   }
 
+  @Test
+  void generatesSingleReadRequestForGetObjects() {
+    when(this.mockStub.getAllConfigs(any()))
+        .thenReturn(
+            GetAllConfigsResponse.newBuilder()
+                .addContextSpecificConfigs(
+                    ContextSpecificConfig.newBuilder()
+                        .setConfig(OBJECT_1_AS_VALUE)
+                        .setContext(OBJECT_1.getId()))
+                .addContextSpecificConfigs(
+                    ContextSpecificConfig.newBuilder()
+                        .setConfig(OBJECT_2_AS_VALUE)
+                        .setContext(OBJECT_2.getId()))
+                .build());
+
+    assertEquals(
+        List.of(OBJECT_2, OBJECT_1),
+        this.store.getData(
+            this.mockRequestContext, List.of(OBJECT_2.getId(), "missing-id", OBJECT_1.getId())));
+
+    verify(this.mockStub, times(1))
+        .getAllConfigs(
+            GetAllConfigsRequest.newBuilder()
+                .setResourceName(TEST_RESOURCE_NAME)
+                .setResourceNamespace(TEST_RESOURCE_NAMESPACE)
+                .addAllContexts(List.of(OBJECT_2.getId(), "missing-id", OBJECT_1.getId()))
+                .build());
+  }
+
+  @Test
+  void decodesLazyObjectsOnlyOnAccess() {
+    when(this.mockStub.getAllConfigs(any()))
+        .thenReturn(
+            GetAllConfigsResponse.newBuilder()
+                .addContextSpecificConfigs(
+                    ContextSpecificConfig.newBuilder()
+                        .setConfig(Values.of("undecodable"))
+                        .setContext("undecodable-id"))
+                .addContextSpecificConfigs(
+                    ContextSpecificConfig.newBuilder()
+                        .setConfig(OBJECT_1_AS_VALUE)
+                        .setContext(OBJECT_1.getId())
+                        .setCreationTimestamp(TEST_CREATE_TIMESTAMP_1.toEpochMilli()))
+                .build());
+
+    List<LazyContextualConfigObject<TestInternalObject>> objects =
+        this.store.getAllLazyObjects(this.mockRequestContext);
+
+    assertEquals(
+        List.of("undecodable-id", OBJECT_1.getId()),
+        objects.stream()
+            .map(ContextualConfigObject::getContext)
+            .collect(Collectors.toUnmodifiableList()));
+    assertEquals(TEST_CREATE_TIMESTAMP_1, objects.get(1).getCreationTimestamp());
+    assertEquals(Optional.of(OBJECT_1), objects.get(1).tryGetData());
+    assertEquals(OBJECT_1, objects.get(1).getData());
+  }
+
+  @Test
+  void decodesLargeResultsInParallelInOrder() {
+    // Objects of equal rank keep their order through the stable sort of orderFetchedObjects
+    List<TestInternalObject> objects =
+        IntStream.range(0, 100)
+            .mapToObj(index -> TestInternalObject.builder().id("id-" + index).rank(1).build())
+            .collect(Collectors.toUnmodifiableList());
+    when(this.mockStub.getAllConfigs(any()))
+        .thenReturn(
+            GetAllConfigsResponse.newBuilder()
+                .addAllContextSpecificConfigs(
+                    objects.stream()
+                        .map(
+                            object ->
+                                ContextSpecificConfig.newBuilder()
+                                    .setContext(object.getId())
+                                    .setConfig(this.store.buildValueFromData(object))
+                                    .build())
+                        .collect(Collectors.toUnmodifiableList()))
+                .build());
+    IdentifiedObjectStore<TestInternalObject> parallelDecodingStore =
+        new TestObjectStore(
+            this.mockStub,
+            this.configChangeEventGenerator,
+            ClientConfig.builder().parallelDecodeConfig(new ParallelDecodeConfig(10, 4)).build());
+
+    assertEquals(objects, parallelDecodingStore.getAllConfigData(this.mockRequestContext));
+  }
+
+  @Test
+  void dropsCachedReadsOnWritesAndChangeEvents() {
+    IdentifiedObjectStore<TestInternalObject> cachingStore =
+        new TestObjectStore(
+            this.mockStub,
+            this.configChangeEventGenerator,
+            ClientConfig.builder()
+                .cacheConfig(
+                    new ObjectStoreCacheConfig(Duration.ofMinutes(1), Duration.ofMinutes(1), 100))
+                .build());
+    RequestContext requestContext = RequestContext.forTenantId("test-tenant");
+    when(this.mockStub.getConfig(any()))
+        .thenReturn(
+            GetConfigResponse.newBuilder().setConfig(OBJECT_1_AS_VALUE).build(),
+            GetConfigResponse.newBuilder().setConfig(OBJECT_2_AS_VALUE).build(),
+            GetConfigResponse.newBuilder().setConfig(OBJECT_1_AS_VALUE).build());
+    when(this.mockStub.getAllConfigs(any()))
+        .thenReturn(GetAllConfigsResponse.getDefaultInstance());
+    when(this.mockStub.deleteConfig(any())).thenThrow(Status.NOT_FOUND.asRuntimeException());
+
+    assertEquals(Optional.of(OBJECT_1), cachingStore.getData(requestContext, "id"));
+    assertEquals(Optional.of(OBJECT_1), cachingStore.getData(requestContext, "id"));
+    cachingStore.getAllConfigData(requestContext);
+    cachingStore.getAllConfigData(requestContext);
+    verify(this.mockStub, times(1)).getConfig(any());
+    verify(this.mockStub, times(1)).getAllConfigs(any());
+
+    // Even a failed write may have landed, so its reads are dropped
+    cachingStore.deleteObject(requestContext, "id");
+    assertEquals(Optional.of(OBJECT_2), cachingStore.getData(requestContext, "id"));
+    cachingStore.getAllConfigData(requestContext);
+    verify(this.mockStub, times(2)).getAllConfigs(any());
+
+    cachingStore.invalidateCache(
+        KeyUtil.getKey("test-tenant", TestApiObject.class.getName(), Optional.of("id")));
+    assertEquals(Optional.of(OBJECT_1), cachingStore.getData(requestContext, "id"));
+    verify(this.mockStub, times(3)).getConfig(any());
+  }
+
+  @Test
+  void servesCachedReadsMarkedStaleWhileCircuitBreakerIsOpen() {
+    IdentifiedObjectStore<TestInternalObject> breakingStore =
+        new TestObjectStore(
+            this.mockStub,
+            this.configChangeEventGenerator,
+            ClientConfig.builder()
+                // Nothing is cached beyond the last known good values
+                .cacheConfig(new ObjectStoreCacheConfig(Duration.ZERO, Duration.ofMinutes(1), 100))
+                .circuitBreakerConfig(
+                    new ObjectStoreCircuitBreakerConfig(
+                        1,
+                        1,
+                        Duration.ofMinutes(1),
+                        Duration.ofHours(1),
+                        Duration.ofMinutes(1)))
+                .build());
+    RequestContext requestContext = RequestContext.forTenantId("test-tenant");
+    when(this.mockStub.getConfig(any()))
+        .thenReturn(GetConfigResponse.newBuilder().setConfig(OBJECT_1_AS_VALUE).build())
+        .thenThrow(Status.UNAVAILABLE.asRuntimeException());
+
+    assertFalse(breakingStore.getObject(requestContext, "id").orElseThrow().isStale());
+    // The failed read opens the breaker, the next one fails fast without reading
+    for (int read = 0; read < 2; read++) {
+      ContextualConfigObject<TestInternalObject> staleObject =
+          breakingStore.getObject(requestContext, "id").orElseThrow();
+      assertTrue(staleObject.isStale());
+      assertEquals(OBJECT_1, staleObject.getData());
+    }
+    verify(this.mockStub, times(2)).getConfig(any());
+    // Without a last known good value, the read fails fast
+    assertThrows(
+        StatusRuntimeException.class, () -> breakingStore.getObject(requestContext, "other-id"));
+    verify(this.mockStub, times(2)).getConfig(any());
+  }
+
+  @Test
+  void rejectsInvalidParallelDecodeConfig() {
+    assertThrows(IllegalArgumentException.class, () -> new ParallelDecodeConfig(-1, 4));
+    assertThrows(IllegalArgumentException.class, () -> new ParallelDecodeConfig(10, 0));
+  }
+
   @Test
   void generatesConfigDeleteRequest() {
     when(this.mockStub.deleteConfig(any()))
@@ -421,6 +598,18 @@ class IdentifiedObjectStoreTest {
                         .setResourceNamespace(TEST_RESOURCE_NAMESPACE)
                         .setContext("second-id"))
                 .build());
+    verify(this.configChangeEventGenerator, times(1))
+        .sendNotifications(
+            this.mockRequestContext,
+            List.of(
+                ConfigChangeNotification.delete(
+                    TestApiObject.class.getName(),
+                    OBJECT_1.getId(),
+                    this.store.buildValueForChangeEvent(OBJECT_1)),
+                ConfigChangeNotification.delete(
+                    TestApiObject.class.getName(),
+                    OBJECT_2.getId(),
+                    this.store.buildValueForChangeEvent(OBJECT_2))));
   }
 
   @Test
@@ -445,6 +634,7 @@ class IdentifiedObjectStoreTest {
         .sendCreateNotification(any(), any(), any(), any());
     verify(this.configChangeEventGenerator, never())
         .sendUpdateNotification(any(), any(), any(), any(), any());
+    verify(this.configChangeEventGenerator, never()).sendNotifications(any(), any());
   }
 
   @Test
@@ -465,6 +655,7 @@ class IdentifiedObjectStoreTest {
         .sendCreateNotification(any(), any(), any(), any());
     verify(this.configChangeEventGenerator, never())
         .sendUpdateNotification(any(), any(), any(), any(), any());
+    verify(this.configChangeEventGenerator, never()).sendNotifications(any(), any());
   }
 
   @Test
@@ -487,6 +678,47 @@ class IdentifiedObjectStoreTest {
         .sendDeleteNotification(any(), any(), any(), any());
   }
 
+  @Test
+  void upsertAll_sendsChangeEventsAsOneBatch() {
+    when(this.mockStub.upsertAllConfigs(any()))
+        .thenReturn(
+            UpsertAllConfigsResponse.newBuilder()
+                .addUpsertedConfigs(
+                    UpsertedConfig.newBuilder()
+                        .setConfig(OBJECT_1_AS_VALUE)
+                        .setContext(OBJECT_1.getId())
+                        .setCreationTimestamp(TEST_CREATE_TIMESTAMP_1.toEpochMilli())
+                        .setUpdateTimestamp(TEST_UPDATE_TIMESTAMP.toEpochMilli()))
+                .addUpsertedConfigs(
+                    UpsertedConfig.newBuilder()
+                        .setConfig(OBJECT_2_AS_VALUE)
+                        .setContext(OBJECT_2.getId())
+                        .setPrevConfig(OBJECT_1_AS_VALUE)
+                        .setCreationTimestamp(TEST_CREATE_TIMESTAMP_2.toEpochMilli())
+                        .setUpdateTimestamp(TEST_UPDATE_TIMESTAMP.toEpochMilli()))
+                .build());
+
+    this.store.upsertObjects(this.mockRequestContext, List.of(OBJECT_1, OBJECT_2));
+
+    verify(this.configChangeEventGenerator, times(1))
+        .sendNotifications(
+            this.mockRequestContext,
+            List.of(
+                ConfigChangeNotification.create(
+                    TestApiObject.class.getName(),
+                    OBJECT_1.getId(),
+                    this.store.buildValueForChangeEvent(OBJECT_1)),
+                ConfigChangeNotification.update(
+                    TestApiObject.class.getName(),
+                    OBJECT_2.getId(),
+                    this.store.buildValueForChangeEvent(OBJECT_1),
+                    this.store.buildValueForChangeEvent(OBJECT_2))));
+    verify(this.configChangeEventGenerator, never())
+        .sendCreateNotification(any(), any(), any(), any());
+    verify(this.configChangeEventGenerator, never())
+        .sendUpdateNotification(any(), any(), any(), any(), any());
+  }
+
   @Test
   void upsertAll_suppressesChangeEvents_whenUserTrackingSuppressed() {
     doReturn(true).when(this.mockRequestContext).isUserTrackingSuppressed();
@@ -533,6 +765,18 @@ class IdentifiedObjectStoreTest {
       super(stub, TEST_RESOURCE_NAMESPACE, TEST_RESOURCE_NAME, configChangeEventGenerator);
     }
 
+    private TestObjectStore(
+        ConfigServiceBlockingStub stub,
+        ConfigChangeEventGenerator configChangeEventGenerator,
+        ClientConfig clientConfig) {
+      super(
+          stub,
+          TEST_RESOURCE_NAMESPACE,
+          TEST_RESOURCE_NAME,
+          configChangeEventGenerator,
+          clientConfig);
+    }
+
     @Override
     protected Optional<TestInternalObject> buildDataFromValue(Value value) {
       return Optional.of(
@@ -20,10 +20,13 @@ import lombok.Builder;
 import org.hypertrace.config.service.change.event.api.ConfigChangeEventGenerator;
 import org.hypertrace.config.service.v1.ConfigServiceGrpc.ConfigServiceBlockingStub;
 import org.hypertrace.config.service.v1.ContextSpecificConfig;
+import org.hypertrace.config.service.v1.Filter;
 import org.hypertrace.config.service.v1.GetAllConfigsRequest;
 import org.hypertrace.config.service.v1.GetAllConfigsResponse;
 import org.hypertrace.config.service.v1.GetConfigRequest;
 import org.hypertrace.config.service.v1.GetConfigResponse;
+import org.hypertrace.config.service.v1.RelationalFilter;
+import org.hypertrace.config.service.v1.RelationalOperator;
 import org.hypertrace.core.grpcutils.context.RequestContext;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -305,6 +308,40 @@ class IdentifiedObjectStoreWithFilterTest {
                 .build());
   }
 
+  @Test
+  void pushesDownTranslatableFilterAndAppliesTheRest() {
+    when(this.mockStub.getAllConfigs(any()))
+        .thenReturn(
+            GetAllConfigsResponse.newBuilder()
+                .addContextSpecificConfigs(
+                    ContextSpecificConfig.newBuilder()
+                        .setConfig(OBJECT_2_AS_VALUE)
+                        .setContext(OBJECT_2.getId()))
+                .build());
+
+    assertEquals(
+        List.of(OBJECT_2_FILTERED_BY_3),
+        this.store.getAllConfigData(this.mockRequestContext, FILTER_3));
+
+    verify(this.mockStub)
+        .getAllConfigs(
+            GetAllConfigsRequest.newBuilder()
+                .setResourceName(TEST_RESOURCE_NAME)
+                .setResourceNamespace(TEST_RESOURCE_NAMESPACE)
+                .setFilter(buildMinRankFilter(2))
+                .build());
+  }
+
+  private static Filter buildMinRankFilter(int minRank) {
+    return Filter.newBuilder()
+        .setRelationalFilter(
+            RelationalFilter.newBuilder()
+                .setConfigJsonPath("rank")
+                .setOperator(RelationalOperator.RELATIONAL_OPERATOR_GTE)
+                .setValue(Values.of(minRank)))
+        .build();
+  }
+
   @lombok.Value
   @Builder
   private static class TestInternalFilter {
@@ -401,6 +438,11 @@ class IdentifiedObjectStoreWithFilterTest {
           .collect(Collectors.toUnmodifiableList());
     }
 
+    @Override
+    protected Optional<Filter> buildPushedDownFilter(TestInternalFilter filter) {
+      return filter.getMinRank().map(IdentifiedObjectStoreWithFilterTest::buildMinRankFilter);
+    }
+
     @Override
     protected Optional<TestInternalObject> filterConfigData(
         TestInternalObject data, TestInternalFilter filter) {
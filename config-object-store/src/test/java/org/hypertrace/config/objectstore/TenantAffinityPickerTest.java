@@ -0,0 +1,83 @@
+package org.hypertrace.config.objectstore;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.grpc.CallOptions;
+import io.grpc.EquivalentAddressGroup;
+import io.grpc.LoadBalancer.PickSubchannelArgs;
+import io.grpc.LoadBalancer.Subchannel;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.hypertrace.config.objectstore.TenantAffinityLoadBalancer.Backend;
+import org.junit.jupiter.api.Test;
+
+class TenantAffinityPickerTest {
+  private final List<Backend> backends =
+      IntStream.range(0, 3)
+          .mapToObj(
+              index ->
+                  new Backend(
+                      new EquivalentAddressGroup(new InetSocketAddress("10.0.0." + index, 50101)),
+                      mock(Subchannel.class)))
+          .collect(Collectors.toUnmodifiableList());
+
+  @Test
+  void picksTheSameBackendForATenant() {
+    TenantAffinityPicker picker = new TenantAffinityPicker(this.backends, 1.25);
+    Subchannel first = this.pick(picker, "tenant-1");
+
+    for (int pick = 0; pick < 10; pick++) {
+      assertEquals(first, this.pick(picker, "tenant-1"));
+    }
+  }
+
+  @Test
+  void movesOnlyTheTenantsOfARemovedBackend() {
+    List<String> tenantIds =
+        IntStream.range(0, 50).mapToObj(index -> "tenant-" + index).collect(Collectors.toList());
+    TenantAffinityPicker picker = new TenantAffinityPicker(this.backends, 1.25);
+    Map<String, Subchannel> picks =
+        tenantIds.stream()
+            .collect(
+                Collectors.toMap(Function.identity(), tenantId -> this.pick(picker, tenantId)));
+
+    Backend removed = this.backends.get(0);
+    TenantAffinityPicker pickerAfterRemoval =
+        new TenantAffinityPicker(this.backends.subList(1, 3), 1.25);
+    for (String tenantId : tenantIds) {
+      Subchannel pick = this.pick(pickerAfterRemoval, tenantId);
+      if (picks.get(tenantId) != removed.getSubchannel()) {
+        assertEquals(picks.get(tenantId), pick);
+      } else {
+        assertNotEquals(removed.getSubchannel(), pick);
+      }
+    }
+  }
+
+  @Test
+  void movesCallsOffABusyBackend() {
+    TenantAffinityPicker picker = new TenantAffinityPicker(this.backends, 1.25);
+    Subchannel first = this.pick(picker, "tenant-1");
+    this.backends.stream()
+        .filter(backend -> backend.getSubchannel() == first)
+        .forEach(backend -> backend.getCallsInFlight().set(10));
+
+    assertNotEquals(first, this.pick(picker, "tenant-1"));
+  }
+
+  private Subchannel pick(TenantAffinityPicker picker, String tenantId) {
+    PickSubchannelArgs args = mock(PickSubchannelArgs.class);
+    when(args.getCallOptions())
+        .thenReturn(
+            CallOptions.DEFAULT.withOption(
+                TenantAffinityLoadBalancing.TENANT_ID_CALL_OPTION, tenantId));
+    return picker.pickSubchannel(args).getSubchannel();
+  }
+}
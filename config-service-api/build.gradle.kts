@@ -61,6 +61,7 @@ dependencies {
 
   testFixturesApi(commonLibs.grpc.api)
   testFixturesApi(projects.configServiceApi)
+  testFixturesImplementation(projects.configObjectStore)
   testFixturesImplementation(commonLibs.grpc.inprocess)
   testFixturesImplementation(commonLibs.grpc.stub)
   testFixturesImplementation(commonLibs.grpc.core)
@@ -31,6 +31,7 @@ import java.util.Optional;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import org.hypertrace.config.objectstore.DirectChannel;
 import org.hypertrace.config.service.v1.ConfigServiceGrpc.ConfigServiceImplBase;
 import org.hypertrace.config.service.v1.ContextSpecificConfig;
 import org.hypertrace.config.service.v1.DeleteConfigRequest;
@@ -104,6 +105,11 @@ public class MockGenericConfigService {
     return this.configChannel;
   }
 
+  /** A channel calling the mocked config service directly, and added services in process. */
+  public Channel directChannel() {
+    return new DirectChannel(this.configChannel, this.mockConfigService);
+  }
+
   public void shutdown() {
     this.currentValues.clear();
     this.grpcServer.shutdownNow();
@@ -0,0 +1,30 @@
+plugins {
+  java
+  alias(localLibs.plugins.jmh)
+}
+
+dependencies {
+  jmh(projects.configServiceImpl)
+  jmh(projects.configProtoConverter)
+  jmh(projects.configObjectStore)
+  jmh(projects.spanProcessingUtils)
+  jmh(commonLibs.hypertrace.documentstore)
+  jmh(commonLibs.protobuf.javautil)
+  jmh(commonLibs.grpc.inprocess)
+}
+
+jmh {
+  jmhVersion.set(localLibs.versions.jmh)
+  // Allocation rates are reported next to the timings, as with -prof gc
+  profilers.add("gc")
+  fork.set(1)
+  warmupIterations.set(3)
+  iterations.set(5)
+  resultFormat.set("JSON")
+  // Passed as a comma separated list, e.g. -Pjmh.includes=ConfigMergeBenchmark
+  providers.gradleProperty("jmh.includes").orNull?.let { includes.set(it.split(",")) }
+  // With -Pjmh.baseline, the results replace the committed baseline
+  if (providers.gradleProperty("jmh.baseline").isPresent) {
+    resultsFile.set(layout.projectDirectory.file("baseline/results.json"))
+  }
+}
@@ -0,0 +1,137 @@
+package org.hypertrace.config.service.benchmarks;
+
+import com.google.protobuf.ListValue;
+import com.google.protobuf.Struct;
+import com.google.protobuf.Value;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.hypertrace.config.service.v1.Filter;
+import org.hypertrace.config.service.v1.LogicalFilter;
+import org.hypertrace.config.service.v1.LogicalOperator;
+import org.hypertrace.config.service.v1.RelationalFilter;
+import org.hypertrace.config.service.v1.RelationalOperator;
+
+/**
+ * Generates the datasets of the benchmarks. The data is derived from a seed, so every run measures
+ * the same configs.
+ */
+final class ConfigDatasets {
+  /** The shapes of configs stored by the domain services. */
+  enum ConfigShape {
+    /** A handful of scalar fields, as in a label or a space. */
+    SMALL,
+    /** Sections of scalar and list fields, about 2000 values in all. */
+    LARGE,
+    /** Nested objects 32 levels deep, with a few fields on each level. */
+    DEEPLY_NESTED
+  }
+
+  private ConfigDatasets() {}
+
+  static Value config(ConfigShape shape, long seed) {
+    Random random = new Random(seed);
+    switch (shape) {
+      case SMALL:
+        return structValue(fields(random, 10));
+      case LARGE:
+        Struct.Builder sections = Struct.newBuilder();
+        for (int section = 0; section < 50; section++) {
+          Struct.Builder fields = fields(random, 35);
+          fields.putFields("tags", listValue(random, 5));
+          sections.putFields("section-" + section, structValue(fields));
+        }
+        return structValue(sections);
+      case DEEPLY_NESTED:
+        Value nested = structValue(fields(random, 4));
+        for (int level = 31; level > 0; level--) {
+          nested = structValue(fields(random, 4).putFields("child", nested));
+        }
+        return nested;
+      default:
+        throw new IllegalArgumentException("Unknown config shape: " + shape);
+    }
+  }
+
+  /** Filters on config fields, as sent by domain services to match their objects. */
+  static Filter configFilter(int relationalFilters, long seed) {
+    Random random = new Random(seed);
+    List<Filter> operands =
+        IntStream.range(0, relationalFilters)
+            .mapToObj(index -> relationalFilter(random, index))
+            .collect(Collectors.toUnmodifiableList());
+    // Pairs of conditions are or-ed, and the pairs and-ed, nesting the filter
+    List<Filter> pairs =
+        IntStream.range(0, (operands.size() + 1) / 2)
+            .mapToObj(
+                pair ->
+                    logicalFilter(
+                        LogicalOperator.LOGICAL_OPERATOR_OR,
+                        operands.subList(2 * pair, Math.min(2 * pair + 2, operands.size()))))
+            .collect(Collectors.toUnmodifiableList());
+    return logicalFilter(LogicalOperator.LOGICAL_OPERATOR_AND, pairs);
+  }
+
+  private static Struct.Builder fields(Random random, int count) {
+    Struct.Builder fields = Struct.newBuilder();
+    for (int field = 0; field < count; field++) {
+      fields.putFields("field-" + field, scalarValue(random, field));
+    }
+    return fields;
+  }
+
+  private static Value scalarValue(Random random, int field) {
+    switch (field % 4) {
+      case 0:
+        return Value.newBuilder().setStringValue("value-" + random.nextInt(10_000)).build();
+      case 1:
+        return Value.newBuilder().setNumberValue(random.nextInt(1_000_000)).build();
+      case 2:
+        return Value.newBuilder().setBoolValue(random.nextBoolean()).build();
+      default:
+        String id = Long.toHexString(random.nextLong()) + Long.toHexString(random.nextLong());
+        return Value.newBuilder().setStringValue(id).build();
+    }
+  }
+
+  private static Value listValue(Random random, int size) {
+    ListValue.Builder list = ListValue.newBuilder();
+    for (int index = 0; index < size; index++) {
+      list.addValues(scalarValue(random, 0));
+    }
+    return Value.newBuilder().setListValue(list).build();
+  }
+
+  private static Value structValue(Struct.Builder struct) {
+    return Value.newBuilder().setStructValue(struct).build();
+  }
+
+  private static Filter relationalFilter(Random random, int index) {
+    RelationalFilter.Builder filter =
+        RelationalFilter.newBuilder()
+            .setConfigJsonPath("section-" + index % 50 + ".field-" + index % 35);
+    switch (index % 3) {
+      case 0:
+        filter
+            .setOperator(RelationalOperator.RELATIONAL_OPERATOR_EQ)
+            .setValue(scalarValue(random, 0));
+        break;
+      case 1:
+        filter
+            .setOperator(RelationalOperator.RELATIONAL_OPERATOR_IN)
+            .setValue(listValue(random, 10));
+        break;
+      default:
+        filter.setOperator(RelationalOperator.RELATIONAL_OPERATOR_EXISTS);
+    }
+    return Filter.newBuilder().setRelationalFilter(filter).build();
+  }
+
+  private static Filter logicalFilter(LogicalOperator operator, List<Filter> operands) {
+    return Filter.newBuilder()
+        .setLogicalFilter(
+            LogicalFilter.newBuilder().setOperator(operator).addAllOperands(operands))
+        .build();
+  }
+}
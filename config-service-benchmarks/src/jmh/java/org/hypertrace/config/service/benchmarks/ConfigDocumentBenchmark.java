@@ -0,0 +1,57 @@
+package org.hypertrace.config.service.benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.hypertrace.config.service.benchmarks.ConfigDatasets.ConfigShape;
+import org.hypertrace.config.service.store.ConfigDocument;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/** Converts config documents from and to the json stored in the document store. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ConfigDocumentBenchmark {
+  @Param({"SMALL", "LARGE", "DEEPLY_NESTED"})
+  public ConfigShape shape;
+
+  private ConfigDocument document;
+  private String json;
+
+  @Setup
+  public void setUp() {
+    long now = System.currentTimeMillis();
+    this.document =
+        new ConfigDocument(
+            "benchmark-resource",
+            "benchmark-namespace",
+            "tenant-1",
+            "service-1",
+            3,
+            "user-1",
+            "user-1@example.com",
+            "user-1@example.com",
+            "user-1@example.com",
+            now,
+            ConfigDatasets.config(this.shape, 1),
+            now,
+            now);
+    this.json = this.document.toJson();
+  }
+
+  @Benchmark
+  public ConfigDocument fromJson() throws IOException {
+    return ConfigDocument.fromJson(this.json);
+  }
+
+  @Benchmark
+  public String toJson() {
+    return this.document.toJson();
+  }
+}
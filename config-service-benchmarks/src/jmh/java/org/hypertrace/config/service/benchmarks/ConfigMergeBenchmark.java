@@ -0,0 +1,45 @@
+package org.hypertrace.config.service.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.hypertrace.config.service.ConfigServiceUtils;
+import org.hypertrace.config.service.benchmarks.ConfigDatasets.ConfigShape;
+import org.hypertrace.config.service.v1.ContextSpecificConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/** Merges the config of a context over the default config, as done for every read. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ConfigMergeBenchmark {
+  @Param({"SMALL", "LARGE", "DEEPLY_NESTED"})
+  public ConfigShape shape;
+
+  private ContextSpecificConfig defaultConfig;
+  private ContextSpecificConfig overridingConfig;
+
+  @Setup
+  public void setUp() {
+    this.defaultConfig =
+        ContextSpecificConfig.newBuilder()
+            .setContext("DEFAULT-CONTEXT")
+            .setConfig(ConfigDatasets.config(this.shape, 1))
+            .build();
+    this.overridingConfig =
+        ContextSpecificConfig.newBuilder()
+            .setContext("service-1")
+            .setConfig(ConfigDatasets.config(this.shape, 2))
+            .build();
+  }
+
+  @Benchmark
+  public ContextSpecificConfig merge() {
+    return ConfigServiceUtils.merge(this.defaultConfig, this.overridingConfig);
+  }
+}
@@ -0,0 +1,91 @@
+package org.hypertrace.config.service.benchmarks;
+
+import com.google.protobuf.Value;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.hypertrace.config.objectstore.ConfigObjectScopeResolver;
+import org.hypertrace.config.service.benchmarks.ConfigDatasets.ConfigShape;
+import org.hypertrace.config.service.v1.ContextSpecificConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Resolves the configs of a tenant scoped to its services and their apis, each api config merged
+ * over the config of its service and the tenant config.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ConfigObjectScopeResolverBenchmark {
+  private static final int SERVICES = 100;
+  private static final String TENANT_SCOPE = "";
+
+  @Param({"10", "100"})
+  public int apisPerService;
+
+  private final ApiScopeResolver resolver = new ApiScopeResolver();
+  private List<ContextSpecificConfig> configs;
+
+  @Setup
+  public void setUp() {
+    this.configs = new ArrayList<>();
+    this.configs.add(config(TENANT_SCOPE, ConfigShape.LARGE, 0));
+    for (int service = 0; service < SERVICES; service++) {
+      String serviceScope = "service-" + service;
+      this.configs.add(config(serviceScope, ConfigShape.SMALL, service));
+      for (int api = 0; api < this.apisPerService; api++) {
+        this.configs.add(config(serviceScope + "/api-" + api, ConfigShape.SMALL, api));
+      }
+    }
+  }
+
+  @Benchmark
+  public List<Value> getAllResolvedConfigData() {
+    return this.resolver.getAllResolvedConfigData(this.configs);
+  }
+
+  @Benchmark
+  public Optional<Value> getResolvedData() {
+    return this.resolver.getResolvedData(this.configs, "service-1/api-1");
+  }
+
+  private static ContextSpecificConfig config(String scope, ConfigShape shape, long seed) {
+    return ContextSpecificConfig.newBuilder()
+        .setContext(scope)
+        .setConfig(ConfigDatasets.config(shape, seed))
+        .build();
+  }
+
+  private static class ApiScopeResolver
+      extends ConfigObjectScopeResolver<ContextSpecificConfig, String, Value> {
+    @Override
+    protected String extractScope(ContextSpecificConfig configData) {
+      return configData.getContext();
+    }
+
+    @Override
+    protected List<String> getResolutionScopesWithIncreasingPriority(String scope) {
+      if (scope.equals(TENANT_SCOPE)) {
+        return List.of(TENANT_SCOPE);
+      }
+      int apiSeparator = scope.indexOf('/');
+      if (apiSeparator < 0) {
+        return List.of(TENANT_SCOPE, scope);
+      }
+      return List.of(TENANT_SCOPE, scope.substring(0, apiSeparator), scope);
+    }
+
+    @Override
+    protected Value convertConfig(ContextSpecificConfig configStoreData) {
+      return configStoreData.getConfig();
+    }
+  }
+}
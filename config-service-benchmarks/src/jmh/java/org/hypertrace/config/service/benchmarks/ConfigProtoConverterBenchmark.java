@@ -0,0 +1,63 @@
+package org.hypertrace.config.service.benchmarks;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.Struct;
+import com.google.protobuf.Value;
+import java.util.concurrent.TimeUnit;
+import org.hypertrace.config.proto.converter.ConfigProtoConverter;
+import org.hypertrace.config.service.benchmarks.ConfigDatasets.ConfigShape;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Converts configs between their messages and values, as the object stores do for every object
+ * read or written.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ConfigProtoConverterBenchmark {
+  @Param({"SMALL", "LARGE", "DEEPLY_NESTED"})
+  public ConfigShape shape;
+
+  private Value value;
+  private Struct message;
+  private String json;
+
+  @Setup
+  public void setUp() throws InvalidProtocolBufferException {
+    this.value = ConfigDatasets.config(this.shape, 1);
+    this.message = this.value.getStructValue();
+    this.json = ConfigProtoConverter.convertToJsonString(this.value);
+  }
+
+  @Benchmark
+  public Struct mergeFromValue() throws InvalidProtocolBufferException {
+    Struct.Builder builder = Struct.newBuilder();
+    ConfigProtoConverter.mergeFromValue(this.value, builder);
+    return builder.build();
+  }
+
+  @Benchmark
+  public Value convertToValue() throws InvalidProtocolBufferException {
+    return ConfigProtoConverter.convertToValue(this.message);
+  }
+
+  @Benchmark
+  public String convertToJsonString() throws InvalidProtocolBufferException {
+    return ConfigProtoConverter.convertToJsonString(this.value);
+  }
+
+  @Benchmark
+  public Struct mergeFromJsonString() throws InvalidProtocolBufferException {
+    Struct.Builder builder = Struct.newBuilder();
+    ConfigProtoConverter.mergeFromJsonString(this.json, builder);
+    return builder.build();
+  }
+}
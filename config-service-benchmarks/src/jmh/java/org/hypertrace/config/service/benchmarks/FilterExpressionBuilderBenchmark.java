@@ -0,0 +1,36 @@
+package org.hypertrace.config.service.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.hypertrace.config.service.store.FilterExpressionBuilder;
+import org.hypertrace.config.service.v1.Filter;
+import org.hypertrace.core.documentstore.expression.type.FilterTypeExpression;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/** Builds the document store filters of config filters sent by the domain services. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FilterExpressionBuilderBenchmark {
+  @Param({"2", "20", "200"})
+  public int relationalFilters;
+
+  private final FilterExpressionBuilder filterExpressionBuilder = new FilterExpressionBuilder();
+  private Filter filter;
+
+  @Setup
+  public void setUp() {
+    this.filter = ConfigDatasets.configFilter(this.relationalFilters, 1);
+  }
+
+  @Benchmark
+  public FilterTypeExpression buildFilterTypeExpression() {
+    return this.filterExpressionBuilder.buildFilterTypeExpression(this.filter);
+  }
+}
@@ -0,0 +1,144 @@
+package org.hypertrace.config.service.benchmarks;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.Struct;
+import com.google.protobuf.Value;
+import io.grpc.ManagedChannel;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.stub.StreamObserver;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.hypertrace.config.objectstore.ClientConfig;
+import org.hypertrace.config.objectstore.ContextualConfigObject;
+import org.hypertrace.config.objectstore.DirectChannel;
+import org.hypertrace.config.objectstore.IdentifiedObjectStore;
+import org.hypertrace.config.objectstore.ParallelDecodeConfig;
+import org.hypertrace.config.proto.converter.ConfigProtoConverter;
+import org.hypertrace.config.service.benchmarks.ConfigDatasets.ConfigShape;
+import org.hypertrace.config.service.v1.ConfigServiceGrpc;
+import org.hypertrace.config.service.v1.ConfigServiceGrpc.ConfigServiceBlockingStub;
+import org.hypertrace.config.service.v1.ConfigServiceGrpc.ConfigServiceImplBase;
+import org.hypertrace.config.service.v1.ContextSpecificConfig;
+import org.hypertrace.config.service.v1.GetAllConfigsRequest;
+import org.hypertrace.config.service.v1.GetAllConfigsResponse;
+import org.hypertrace.core.grpcutils.context.RequestContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Reads all the objects of an identified object store, decoding them sequentially or in parallel.
+ * The config service is bound directly and answers with a prebuilt response, so the time is mostly
+ * spent decoding. The threshold of {@link ParallelDecodeConfig} is the smallest number of objects
+ * of the shape of the store's configs for which the parallel read is faster than the sequential
+ * one here.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class IdentifiedObjectStoreDecodeBenchmark {
+  @Param({"100", "1000", "10000"})
+  public int objects;
+
+  @Param({"SMALL", "LARGE"})
+  public ConfigShape shape;
+
+  // 0 decodes sequentially
+  @Param({"0", "4"})
+  public int parallelism;
+
+  private final RequestContext requestContext = RequestContext.forTenantId("tenant");
+  private ManagedChannel fallbackChannel;
+  private StructObjectStore store;
+
+  @Setup
+  public void setUp() {
+    GetAllConfigsResponse response =
+        GetAllConfigsResponse.newBuilder()
+            .addAllContextSpecificConfigs(
+                IntStream.range(0, this.objects)
+                    .mapToObj(
+                        object ->
+                            ContextSpecificConfig.newBuilder()
+                                .setContext("object-" + object)
+                                .setConfig(ConfigDatasets.config(this.shape, object))
+                                .build())
+                    .collect(Collectors.toUnmodifiableList()))
+            .build();
+    // Never connected, the config service methods are bound directly
+    this.fallbackChannel = InProcessChannelBuilder.forName("unused").build();
+    ConfigServiceBlockingStub stub =
+        ConfigServiceGrpc.newBlockingStub(
+            new DirectChannel(this.fallbackChannel, new FixedConfigService(response)));
+    this.store =
+        new StructObjectStore(
+            stub,
+            this.parallelism == 0
+                ? ClientConfig.DEFAULT
+                : ClientConfig.builder()
+                    .parallelDecodeConfig(new ParallelDecodeConfig(0, this.parallelism))
+                    .build());
+  }
+
+  @TearDown
+  public void tearDown() {
+    this.fallbackChannel.shutdownNow();
+  }
+
+  @Benchmark
+  public List<ContextualConfigObject<Struct>> getAllObjects() {
+    return this.store.getAllObjects(this.requestContext);
+  }
+
+  private static class FixedConfigService extends ConfigServiceImplBase {
+    private final GetAllConfigsResponse response;
+
+    private FixedConfigService(GetAllConfigsResponse response) {
+      this.response = response;
+    }
+
+    @Override
+    public void getAllConfigs(
+        GetAllConfigsRequest request, StreamObserver<GetAllConfigsResponse> responseObserver) {
+      responseObserver.onNext(this.response);
+      responseObserver.onCompleted();
+    }
+  }
+
+  /** Decodes each config into a message, as the domain services do. */
+  private static class StructObjectStore extends IdentifiedObjectStore<Struct> {
+    private StructObjectStore(ConfigServiceBlockingStub stub, ClientConfig clientConfig) {
+      super(stub, "benchmark", "objects", null, clientConfig);
+    }
+
+    @Override
+    protected Optional<Struct> buildDataFromValue(Value value) {
+      Struct.Builder builder = Struct.newBuilder();
+      try {
+        ConfigProtoConverter.mergeFromValue(value, builder);
+      } catch (InvalidProtocolBufferException e) {
+        return Optional.empty();
+      }
+      return Optional.of(builder.build());
+    }
+
+    @Override
+    protected Value buildValueFromData(Struct data) {
+      return Value.newBuilder().setStructValue(data).build();
+    }
+
+    @Override
+    protected String getContextFromData(Struct data) {
+      return "";
+    }
+  }
+}
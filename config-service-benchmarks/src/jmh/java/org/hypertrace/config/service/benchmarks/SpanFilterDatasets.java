@@ -0,0 +1,75 @@
+package org.hypertrace.config.service.benchmarks;
+
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.hypertrace.span.processing.config.service.v1.Field;
+import org.hypertrace.span.processing.config.service.v1.LogicalOperator;
+import org.hypertrace.span.processing.config.service.v1.LogicalSpanFilterExpression;
+import org.hypertrace.span.processing.config.service.v1.RelationalOperator;
+import org.hypertrace.span.processing.config.service.v1.RelationalSpanFilterExpression;
+import org.hypertrace.span.processing.config.service.v1.SpanFilter;
+import org.hypertrace.span.processing.config.service.v1.SpanFilterValue;
+
+/** Generates the span filters of the rules of a tenant, derived from a seed. */
+final class SpanFilterDatasets {
+  static final int RULES_PER_TENANT = 10_000;
+  static final int SERVICES_PER_TENANT = 500;
+  static final int ENVIRONMENTS_PER_TENANT = 8;
+
+  private SpanFilterDatasets() {}
+
+  /**
+   * Each rule applies to a service of an environment, and to the urls under a path. One in ten
+   * rules matches its service by a regex.
+   */
+  static List<SpanFilter> tenantSpanFilters(int rules, long seed) {
+    Random random = new Random(seed);
+    return IntStream.range(0, rules)
+        .mapToObj(
+            rule ->
+                SpanFilter.newBuilder()
+                    .setLogicalSpanFilter(
+                        LogicalSpanFilterExpression.newBuilder()
+                            .setOperator(LogicalOperator.LOGICAL_OPERATOR_AND)
+                            .addOperands(
+                                relationalFilter(
+                                    Field.FIELD_SERVICE_NAME,
+                                    random.nextInt(10) == 0
+                                        ? RelationalOperator.RELATIONAL_OPERATOR_REGEX_MATCH
+                                        : RelationalOperator.RELATIONAL_OPERATOR_EQUALS,
+                                    serviceName(random.nextInt(SERVICES_PER_TENANT))))
+                            .addOperands(
+                                relationalFilter(
+                                    Field.FIELD_ENVIRONMENT_NAME,
+                                    RelationalOperator.RELATIONAL_OPERATOR_EQUALS,
+                                    environmentName(random.nextInt(ENVIRONMENTS_PER_TENANT))))
+                            .addOperands(
+                                relationalFilter(
+                                    Field.FIELD_URL_PATH,
+                                    RelationalOperator.RELATIONAL_OPERATOR_STARTS_WITH,
+                                    "/api/v1/resource-" + random.nextInt(100))))
+                    .build())
+        .collect(Collectors.toUnmodifiableList());
+  }
+
+  static String serviceName(int index) {
+    return "service-" + index;
+  }
+
+  static String environmentName(int index) {
+    return "environment-" + index;
+  }
+
+  private static SpanFilter relationalFilter(
+      Field field, RelationalOperator operator, String value) {
+    return SpanFilter.newBuilder()
+        .setRelationalSpanFilter(
+            RelationalSpanFilterExpression.newBuilder()
+                .setField(field)
+                .setOperator(operator)
+                .setRightOperand(SpanFilterValue.newBuilder().setStringValue(value)))
+        .build();
+  }
+}
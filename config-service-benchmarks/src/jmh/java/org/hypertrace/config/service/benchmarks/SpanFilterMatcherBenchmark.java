@@ -0,0 +1,51 @@
+package org.hypertrace.config.service.benchmarks;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.hypertrace.config.span.processing.utils.SpanFilterMatcher;
+import org.hypertrace.span.processing.config.service.v1.SpanFilter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Finds the rules of a tenant with 10k span processing rules applying to a service of an
+ * environment, as done when the rules of a service are listed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SpanFilterMatcherBenchmark {
+  private final SpanFilterMatcher spanFilterMatcher = new SpanFilterMatcher();
+  private final String serviceName = SpanFilterDatasets.serviceName(1);
+  private final Optional<String> environment = Optional.of(SpanFilterDatasets.environmentName(1));
+  private List<SpanFilter> spanFilters;
+
+  @Setup
+  public void setUp() {
+    this.spanFilters = SpanFilterDatasets.tenantSpanFilters(SpanFilterDatasets.RULES_PER_TENANT, 1);
+  }
+
+  @Benchmark
+  public long matchesServiceName() {
+    return this.spanFilters.stream()
+        .filter(
+            spanFilter -> this.spanFilterMatcher.matchesServiceName(spanFilter, this.serviceName))
+        .count();
+  }
+
+  @Benchmark
+  public long matchesServiceNameAndEnvironment() {
+    return this.spanFilters.stream()
+        .filter(
+            spanFilter ->
+                this.spanFilterMatcher.matchesEnvironment(spanFilter, this.environment)
+                    && this.spanFilterMatcher.matchesServiceName(spanFilter, this.serviceName))
+        .count();
+  }
+}
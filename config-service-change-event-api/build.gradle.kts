@@ -22,4 +22,11 @@ dependencies {
   api(commonLibs.protobuf.java)
   api(platform(commonLibs.hypertrace.kafka.bom))
   api(commonLibs.kafka.clients)
+
+  testImplementation(commonLibs.junit.jupiter)
+  testImplementation(commonLibs.protobuf.javautil)
+}
+
+tasks.test {
+  useJUnitPlatform()
 }
@@ -0,0 +1,237 @@
+package org.hypertrace.config.change.event.v1;
+
+import com.google.protobuf.ListValue;
+import com.google.protobuf.NullValue;
+import com.google.protobuf.Struct;
+import com.google.protobuf.Value;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Computes and applies the RFC 6902 patches carried by {@link ConfigUpdateEvent}, operating on the
+ * {@link Value} form of the configs.
+ */
+public class JsonPatchUtil {
+  private static final String APPEND_TOKEN = "-";
+
+  private JsonPatchUtil() {}
+
+  /** Returns the operations turning {@code previous} into {@code latest}. */
+  public static List<JsonPatchOperation> diff(Value previous, Value latest) {
+    List<JsonPatchOperation> operations = new ArrayList<>();
+    diff("", previous, latest, operations);
+    return Collections.unmodifiableList(operations);
+  }
+
+  /**
+   * Applies the operations in order to {@code previous}.
+   *
+   * @throws IllegalArgumentException if an operation does not fit the config it is applied to
+   */
+  public static Value apply(Value previous, List<JsonPatchOperation> patch) {
+    Value result = previous;
+    for (JsonPatchOperation operation : patch) {
+      result = apply(result, operation, parsePointer(operation.getPath()), 0);
+    }
+    return result;
+  }
+
+  private static void diff(
+      String path, Value previous, Value latest, List<JsonPatchOperation> operations) {
+    if (previous.equals(latest)) {
+      return;
+    }
+    if (previous.hasStructValue() && latest.hasStructValue()) {
+      Struct previousStruct = previous.getStructValue();
+      Struct latestStruct = latest.getStructValue();
+      previousStruct.getFieldsMap().keySet().stream()
+          .filter(key -> !latestStruct.containsFields(key))
+          .sorted()
+          .forEach(key -> operations.add(remove(childPath(path, key))));
+      latestStruct.getFieldsMap().keySet().stream()
+          .sorted()
+          .forEach(
+              key -> {
+                String childPath = childPath(path, key);
+                if (previousStruct.containsFields(key)) {
+                  diff(
+                      childPath,
+                      previousStruct.getFieldsOrThrow(key),
+                      latestStruct.getFieldsOrThrow(key),
+                      operations);
+                } else {
+                  operations.add(add(childPath, latestStruct.getFieldsOrThrow(key)));
+                }
+              });
+      return;
+    }
+    if (previous.hasListValue() && latest.hasListValue()) {
+      List<Value> previousList = previous.getListValue().getValuesList();
+      List<Value> latestList = latest.getListValue().getValuesList();
+      int commonSize = Math.min(previousList.size(), latestList.size());
+      for (int index = 0; index < commonSize; index++) {
+        diff(
+            childPath(path, String.valueOf(index)),
+            previousList.get(index),
+            latestList.get(index),
+            operations);
+      }
+      // Remove from the end so the remaining indices stay valid
+      for (int index = previousList.size() - 1; index >= commonSize; index--) {
+        operations.add(remove(childPath(path, String.valueOf(index))));
+      }
+      for (int index = commonSize; index < latestList.size(); index++) {
+        operations.add(add(childPath(path, APPEND_TOKEN), latestList.get(index)));
+      }
+      return;
+    }
+    operations.add(replace(path, latest));
+  }
+
+  private static Value apply(
+      Value node, JsonPatchOperation operation, List<String> tokens, int depth) {
+    if (tokens.isEmpty()) {
+      return applyToRoot(operation);
+    }
+    String token = tokens.get(depth);
+    boolean isTarget = depth == tokens.size() - 1;
+    if (node.hasStructValue()) {
+      Struct.Builder struct = node.getStructValue().toBuilder();
+      if (isTarget) {
+        applyToStruct(struct, token, operation);
+      } else {
+        struct.putFields(
+            token, apply(getStructField(struct, token), operation, tokens, depth + 1));
+      }
+      return Value.newBuilder().setStructValue(struct).build();
+    }
+    if (node.hasListValue()) {
+      List<Value> list = new ArrayList<>(node.getListValue().getValuesList());
+      if (isTarget) {
+        applyToList(list, token, operation);
+      } else {
+        int index = parseIndex(token, list.size() - 1);
+        list.set(index, apply(list.get(index), operation, tokens, depth + 1));
+      }
+      return Value.newBuilder().setListValue(ListValue.newBuilder().addAllValues(list)).build();
+    }
+    throw new IllegalArgumentException(
+        "Path " + operation.getPath() + " traverses a value which is not an object or array");
+  }
+
+  private static Value applyToRoot(JsonPatchOperation operation) {
+    switch (operation.getOp()) {
+      case JSON_PATCH_OPERATION_TYPE_ADD:
+      case JSON_PATCH_OPERATION_TYPE_REPLACE:
+        return operation.getValue();
+      case JSON_PATCH_OPERATION_TYPE_REMOVE:
+        return Value.newBuilder().setNullValue(NullValue.NULL_VALUE).build();
+      default:
+        throw unsupportedOperation(operation);
+    }
+  }
+
+  private static void applyToStruct(
+      Struct.Builder struct, String key, JsonPatchOperation operation) {
+    switch (operation.getOp()) {
+      case JSON_PATCH_OPERATION_TYPE_ADD:
+        struct.putFields(key, operation.getValue());
+        return;
+      case JSON_PATCH_OPERATION_TYPE_REPLACE:
+        getStructField(struct, key);
+        struct.putFields(key, operation.getValue());
+        return;
+      case JSON_PATCH_OPERATION_TYPE_REMOVE:
+        getStructField(struct, key);
+        struct.removeFields(key);
+        return;
+      default:
+        throw unsupportedOperation(operation);
+    }
+  }
+
+  private static void applyToList(List<Value> list, String token, JsonPatchOperation operation) {
+    switch (operation.getOp()) {
+      case JSON_PATCH_OPERATION_TYPE_ADD:
+        if (APPEND_TOKEN.equals(token)) {
+          list.add(operation.getValue());
+        } else {
+          list.add(parseIndex(token, list.size()), operation.getValue());
+        }
+        return;
+      case JSON_PATCH_OPERATION_TYPE_REPLACE:
+        list.set(parseIndex(token, list.size() - 1), operation.getValue());
+        return;
+      case JSON_PATCH_OPERATION_TYPE_REMOVE:
+        list.remove(parseIndex(token, list.size() - 1));
+        return;
+      default:
+        throw unsupportedOperation(operation);
+    }
+  }
+
+  private static Value getStructField(Struct.Builder struct, String key) {
+    if (!struct.containsFields(key)) {
+      throw new IllegalArgumentException("No member " + key + " to patch");
+    }
+    return struct.getFieldsOrThrow(key);
+  }
+
+  private static int parseIndex(String token, int maxIndex) {
+    try {
+      int index = Integer.parseInt(token);
+      if (index >= 0 && index <= maxIndex) {
+        return index;
+      }
+    } catch (NumberFormatException e) {
+      // fall through to the error below
+    }
+    throw new IllegalArgumentException("Invalid array index " + token);
+  }
+
+  private static IllegalArgumentException unsupportedOperation(JsonPatchOperation operation) {
+    return new IllegalArgumentException("Unsupported patch operation " + operation.getOp());
+  }
+
+  private static JsonPatchOperation add(String path, Value value) {
+    return JsonPatchOperation.newBuilder()
+        .setOp(JsonPatchOperationType.JSON_PATCH_OPERATION_TYPE_ADD)
+        .setPath(path)
+        .setValue(value)
+        .build();
+  }
+
+  private static JsonPatchOperation remove(String path) {
+    return JsonPatchOperation.newBuilder()
+        .setOp(JsonPatchOperationType.JSON_PATCH_OPERATION_TYPE_REMOVE)
+        .setPath(path)
+        .build();
+  }
+
+  private static JsonPatchOperation replace(String path, Value value) {
+    return JsonPatchOperation.newBuilder()
+        .setOp(JsonPatchOperationType.JSON_PATCH_OPERATION_TYPE_REPLACE)
+        .setPath(path)
+        .setValue(value)
+        .build();
+  }
+
+  private static String childPath(String path, String token) {
+    return path + "/" + token.replace("~", "~0").replace("/", "~1");
+  }
+
+  private static List<String> parsePointer(String path) {
+    if (path.isEmpty()) {
+      return Collections.emptyList();
+    }
+    if (!path.startsWith("/")) {
+      throw new IllegalArgumentException("Invalid json pointer " + path);
+    }
+    return Arrays.stream(path.substring(1).split("/", -1))
+        .map(token -> token.replace("~1", "/").replace("~0", "~"))
+        .collect(Collectors.toUnmodifiableList());
+  }
+}
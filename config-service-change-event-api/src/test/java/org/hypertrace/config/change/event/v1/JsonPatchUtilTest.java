@@ -0,0 +1,162 @@
+package org.hypertrace.config.change.event.v1;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.google.protobuf.NullValue;
+import com.google.protobuf.Value;
+import com.google.protobuf.util.Structs;
+import com.google.protobuf.util.Values;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class JsonPatchUtilTest {
+
+  @Test
+  void appendsToGrowingArrays() {
+    Value previous = Values.of(List.of(Values.of(1), Values.of(2)));
+    Value latest = Values.of(List.of(Values.of(1), Values.of(3), Values.of(4), Values.of(5)));
+
+    List<JsonPatchOperation> patch = JsonPatchUtil.diff(previous, latest);
+
+    assertEquals(
+        List.of(replace("/1", Values.of(3)), add("/-", Values.of(4)), add("/-", Values.of(5))),
+        patch);
+    assertEquals(latest, JsonPatchUtil.apply(previous, patch));
+  }
+
+  @Test
+  void removesFromTheEndOfShrinkingArrays() {
+    Value previous = Values.of(List.of(Values.of(1), Values.of(2), Values.of(3), Values.of(4)));
+    Value latest = Values.of(List.of(Values.of(0)));
+
+    List<JsonPatchOperation> patch = JsonPatchUtil.diff(previous, latest);
+
+    assertEquals(
+        List.of(replace("/0", Values.of(0)), remove("/3"), remove("/2"), remove("/1")), patch);
+    assertEquals(latest, JsonPatchUtil.apply(previous, patch));
+  }
+
+  @Test
+  void insertsIntoArraysAtAnIndex() {
+    Value previous = Values.of(List.of(Values.of(1), Values.of(3)));
+
+    assertEquals(
+        Values.of(List.of(Values.of(1), Values.of(2), Values.of(3))),
+        JsonPatchUtil.apply(previous, List.of(add("/1", Values.of(2)))));
+    assertEquals(
+        Values.of(List.of(Values.of(1), Values.of(3), Values.of(4))),
+        JsonPatchUtil.apply(previous, List.of(add("/2", Values.of(4)))));
+  }
+
+  @Test
+  void escapesTildesAndSlashesInKeys() {
+    Value previous = Values.of(Structs.of("a/b", Values.of(1), "m~n", Values.of(2)));
+    Value latest =
+        Values.of(Structs.of("a/b", Values.of(3), "~1", Values.of(4), "m~n", Values.of(2)));
+
+    List<JsonPatchOperation> patch = JsonPatchUtil.diff(previous, latest);
+
+    assertEquals(List.of(replace("/a~1b", Values.of(3)), add("/~01", Values.of(4))), patch);
+    assertEquals(latest, JsonPatchUtil.apply(previous, patch));
+    assertEquals(
+        Values.of(Structs.of("a/b", Values.of(1))),
+        JsonPatchUtil.apply(previous, List.of(remove("/m~0n"))));
+  }
+
+  @Test
+  void replacesAndRemovesTheRoot() {
+    Value previous = Values.of(Structs.of("a", Values.of(1)));
+    Value latest = Values.of(List.of(Values.of("a")));
+
+    List<JsonPatchOperation> patch = JsonPatchUtil.diff(previous, latest);
+
+    assertEquals(List.of(replace("", latest)), patch);
+    assertEquals(latest, JsonPatchUtil.apply(previous, patch));
+    assertEquals(
+        Value.newBuilder().setNullValue(NullValue.NULL_VALUE).build(),
+        JsonPatchUtil.apply(previous, List.of(remove(""))));
+  }
+
+  @Test
+  void replacesValuesChangingType() {
+    Value previous =
+        Values.of(
+            Structs.of(
+                "number", Values.of(1),
+                "list", Values.of(List.of(Values.of(true))),
+                "struct", Values.of(Structs.of("b", Values.of("c")))));
+    Value latest =
+        Values.of(
+            Structs.of(
+                "number", Values.of("1"),
+                "list", Values.of(Structs.of("b", Values.of(true))),
+                "struct", Values.of(List.of(Values.of("c")))));
+
+    List<JsonPatchOperation> patch = JsonPatchUtil.diff(previous, latest);
+
+    assertEquals(
+        List.of(
+            replace("/list", Values.of(Structs.of("b", Values.of(true)))),
+            replace("/number", Values.of("1")),
+            replace("/struct", Values.of(List.of(Values.of("c"))))),
+        patch);
+    assertEquals(latest, JsonPatchUtil.apply(previous, patch));
+  }
+
+  @Test
+  void rejectsOperationsWhichDoNotFitTheConfig() {
+    Value config =
+        Values.of(Structs.of("a", Values.of(1), "list", Values.of(List.of(Values.of(1)))));
+
+    List.of(
+            // Not a json pointer
+            add("a", Values.of(2)),
+            // Missing members
+            replace("/b", Values.of(2)),
+            remove("/b"),
+            add("/b/c", Values.of(2)),
+            // Traversing a scalar
+            add("/a/b", Values.of(2)),
+            // Array indices out of range or malformed
+            remove("/list/1"),
+            replace("/list/-1", Values.of(2)),
+            add("/list/2", Values.of(2)),
+            replace("/list/-", Values.of(2)),
+            remove("/list/x"),
+            add("/list/1/a", Values.of(2)),
+            JsonPatchOperation.newBuilder()
+                .setOp(JsonPatchOperationType.JSON_PATCH_OPERATION_TYPE_UNSPECIFIED)
+                .setPath("/a")
+                .build())
+        .forEach(
+            operation ->
+                assertThrows(
+                    IllegalArgumentException.class,
+                    () -> JsonPatchUtil.apply(config, List.of(operation)),
+                    operation::toString));
+  }
+
+  private static JsonPatchOperation add(String path, Value value) {
+    return JsonPatchOperation.newBuilder()
+        .setOp(JsonPatchOperationType.JSON_PATCH_OPERATION_TYPE_ADD)
+        .setPath(path)
+        .setValue(value)
+        .build();
+  }
+
+  private static JsonPatchOperation remove(String path) {
+    return JsonPatchOperation.newBuilder()
+        .setOp(JsonPatchOperationType.JSON_PATCH_OPERATION_TYPE_REMOVE)
+        .setPath(path)
+        .build();
+  }
+
+  private static JsonPatchOperation replace(String path, Value value) {
+    return JsonPatchOperation.newBuilder()
+        .setOp(JsonPatchOperationType.JSON_PATCH_OPERATION_TYPE_REPLACE)
+        .setPath(path)
+        .setValue(value)
+        .build();
+  }
+}
@@ -13,6 +13,7 @@ dependencies {
   implementation(projects.configProtoConverter)
   implementation(commonLibs.hypertrace.eventstore)
   implementation(commonLibs.guava)
+  implementation(commonLibs.hypertrace.framework.metrics.jakarta)
   implementation(commonLibs.slf4j2.api)
 
   annotationProcessor(commonLibs.lombok)
@@ -1,6 +1,8 @@
 package org.hypertrace.config.service.change.event.api;
 
 import com.google.protobuf.Value;
+import java.util.List;
+import java.util.Optional;
 import org.hypertrace.core.grpcutils.context.RequestContext;
 
 /** The interface config change event generator. */
@@ -72,4 +74,47 @@ public interface ConfigChangeEventGenerator {
       String context,
       Value prevConfig,
       Value latestConfig);
+
+  /**
+   * Send notifications for a batch of changes made by one request. Implementations may convert and
+   * publish the batch together; by default each change is sent on its own.
+   *
+   * @param requestContext requestContext
+   * @param notifications changes in the order they were made
+   */
+  default void sendNotifications(
+      RequestContext requestContext, List<ConfigChangeNotification> notifications) {
+    for (ConfigChangeNotification notification : notifications) {
+      String configType = notification.getConfigType();
+      Optional<String> context = notification.getContext();
+      switch (notification.getChangeType()) {
+        case CREATE:
+          Value createdConfig = notification.getLatestConfig().orElseThrow();
+          if (context.isPresent()) {
+            this.sendCreateNotification(requestContext, configType, context.get(), createdConfig);
+          } else {
+            this.sendCreateNotification(requestContext, configType, createdConfig);
+          }
+          break;
+        case UPDATE:
+          Value prevConfig = notification.getPreviousConfig().orElseThrow();
+          Value latestConfig = notification.getLatestConfig().orElseThrow();
+          if (context.isPresent()) {
+            this.sendUpdateNotification(
+                requestContext, configType, context.get(), prevConfig, latestConfig);
+          } else {
+            this.sendUpdateNotification(requestContext, configType, prevConfig, latestConfig);
+          }
+          break;
+        case DELETE:
+          Value deletedConfig = notification.getPreviousConfig().orElseThrow();
+          if (context.isPresent()) {
+            this.sendDeleteNotification(requestContext, configType, context.get(), deletedConfig);
+          } else {
+            this.sendDeleteNotification(requestContext, configType, deletedConfig);
+          }
+          break;
+      }
+    }
+  }
 }
@@ -0,0 +1,54 @@
+package org.hypertrace.config.service.change.event.api;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Durable log of change events, written by the config store alongside the config changes and
+ * drained by a relay which publishes them.
+ */
+public interface ConfigChangeEventOutbox {
+
+  /**
+   * Records change events to be published
+   *
+   * @param entries entries to record
+   */
+  void append(List<ConfigChangeEventOutboxEntry> entries) throws IOException;
+
+  /**
+   * Acquires or renews the lease of the single relay allowed to publish the entries, so that relays
+   * running in several instances do not publish the same entries
+   *
+   * @param relayId id of the relay asking for the lease
+   * @param currentTimeMillis current time
+   * @param leaseDurationMillis how long the lease is held unless renewed
+   * @return true if the relay holds the lease
+   */
+  boolean tryAcquireRelayLease(String relayId, long currentTimeMillis, long leaseDurationMillis)
+      throws IOException;
+
+  /**
+   * Fetches the oldest entries which have not been delivered yet
+   *
+   * @param limit max number of entries to fetch
+   * @return undelivered entries in the order they were appended
+   */
+  List<ConfigChangeEventOutboxEntry> fetchUndelivered(int limit) throws IOException;
+
+  /**
+   * Marks entries as delivered so they are not fetched again
+   *
+   * @param entries delivered entries
+   * @param deliveredTimeMillis time of delivery
+   */
+  void markDelivered(List<ConfigChangeEventOutboxEntry> entries, long deliveredTimeMillis)
+      throws IOException;
+
+  /**
+   * Removes entries delivered before the given time
+   *
+   * @param deliveredBeforeMillis cut off for the delivery time
+   */
+  void pruneDelivered(long deliveredBeforeMillis) throws IOException;
+}
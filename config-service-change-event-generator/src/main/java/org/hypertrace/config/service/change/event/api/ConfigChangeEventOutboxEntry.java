@@ -0,0 +1,14 @@
+package org.hypertrace.config.service.change.event.api;
+
+import lombok.Value;
+import org.hypertrace.config.change.event.v1.ConfigChangeEventKey;
+import org.hypertrace.config.change.event.v1.ConfigChangeEventValue;
+
+/** A change event recorded in the {@link ConfigChangeEventOutbox}. */
+@Value
+public class ConfigChangeEventOutboxEntry {
+  String id;
+  ConfigChangeEventKey key;
+  ConfigChangeEventValue value;
+  long createdTimeMillis;
+}
@@ -0,0 +1,136 @@
+package org.hypertrace.config.service.change.event.api;
+
+import com.google.common.base.Suppliers;
+import com.google.protobuf.Value;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Supplier;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A change of a single config. The configs may be given as suppliers, which generators only call
+ * once the event is serialized, so that conversions for the event are skipped for events that are
+ * never sent and kept off the request thread by asynchronous generators.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class ConfigChangeNotification {
+  public enum ChangeType {
+    CREATE,
+    UPDATE,
+    DELETE
+  }
+
+  private final ChangeType changeType;
+  private final String configType;
+  private final Optional<String> context;
+
+  @Getter(AccessLevel.NONE)
+  private final Optional<Supplier<Value>> previousConfigSupplier;
+
+  @Getter(AccessLevel.NONE)
+  private final Optional<Supplier<Value>> latestConfigSupplier;
+
+  public static ConfigChangeNotification create(String configType, String context, Value config) {
+    return create(configType, Optional.of(context), () -> config);
+  }
+
+  public static ConfigChangeNotification update(
+      String configType, String context, Value prevConfig, Value latestConfig) {
+    return update(configType, Optional.of(context), () -> prevConfig, () -> latestConfig);
+  }
+
+  public static ConfigChangeNotification delete(String configType, String context, Value config) {
+    return delete(configType, Optional.of(context), () -> config);
+  }
+
+  public static ConfigChangeNotification create(
+      String configType, Optional<String> context, Supplier<Value> config) {
+    return new ConfigChangeNotification(
+        ChangeType.CREATE, configType, context, Optional.empty(), Optional.of(memoize(config)));
+  }
+
+  public static ConfigChangeNotification update(
+      String configType,
+      Optional<String> context,
+      Supplier<Value> prevConfig,
+      Supplier<Value> latestConfig) {
+    return new ConfigChangeNotification(
+        ChangeType.UPDATE,
+        configType,
+        context,
+        Optional.of(memoize(prevConfig)),
+        Optional.of(memoize(latestConfig)));
+  }
+
+  public static ConfigChangeNotification delete(
+      String configType, Optional<String> context, Supplier<Value> config) {
+    return new ConfigChangeNotification(
+        ChangeType.DELETE, configType, context, Optional.of(memoize(config)), Optional.empty());
+  }
+
+  /** The config before the change, converting it on first access. */
+  public Optional<Value> getPreviousConfig() {
+    return this.previousConfigSupplier.map(Supplier::get);
+  }
+
+  /** The config after the change, converting it on first access. */
+  public Optional<Value> getLatestConfig() {
+    return this.latestConfigSupplier.map(Supplier::get);
+  }
+
+  /**
+   * The config before the change, left unconverted for generators which defer it. The supplier is
+   * memoized.
+   */
+  public Optional<Supplier<Value>> getPreviousConfigSupplier() {
+    return this.previousConfigSupplier;
+  }
+
+  /**
+   * The config after the change, left unconverted for generators which defer it. The supplier is
+   * memoized.
+   */
+  public Optional<Supplier<Value>> getLatestConfigSupplier() {
+    return this.latestConfigSupplier;
+  }
+
+  private static Supplier<Value> memoize(Supplier<Value> supplier) {
+    return Suppliers.memoize(supplier::get)::get;
+  }
+
+  /** Compares the converted configs, so it converts both notifications. */
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof ConfigChangeNotification)) {
+      return false;
+    }
+    ConfigChangeNotification that = (ConfigChangeNotification) o;
+    return changeType == that.changeType
+        && Objects.equals(configType, that.configType)
+        && Objects.equals(context, that.context)
+        && Objects.equals(getPreviousConfig(), that.getPreviousConfig())
+        && Objects.equals(getLatestConfig(), that.getLatestConfig());
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(changeType, configType, context, getPreviousConfig(), getLatestConfig());
+  }
+
+  @Override
+  public String toString() {
+    return "ConfigChangeNotification{changeType="
+        + changeType
+        + ", configType="
+        + configType
+        + ", context="
+        + context
+        + "}";
+  }
+}
@@ -0,0 +1,223 @@
+package org.hypertrace.config.service.change.event.impl;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.micrometer.core.instrument.Counter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import lombok.extern.slf4j.Slf4j;
+import org.hypertrace.config.change.event.v1.ConfigChangeEventKey;
+import org.hypertrace.config.change.event.v1.ConfigChangeEventValue;
+import org.hypertrace.config.service.change.event.impl.ConfigChangeEventDispatcherConfig.OverflowPolicy;
+import org.hypertrace.core.eventstore.EventProducer;
+import org.hypertrace.core.serviceframework.metrics.PlatformMetricsRegistry;
+
+/**
+ * Publishes change events off the request thread. Events are partitioned by tenant into a fixed
+ * number of lanes, each a bounded buffer drained in batches by a single thread, so the events of a
+ * tenant are published in the order they were dispatched. Request threads only enqueue; the json
+ * conversion and the producer send happen on the lane threads. The events of a batch are enqueued
+ * together on each lane, so a lane publishes them in the same or consecutive batches.
+ */
+@Slf4j
+class AsyncConfigChangeEventDispatcher implements ConfigChangeEventDispatcher {
+  private static final String DROPPED_EVENTS_METRIC = "hypertrace.config.change.events.dropped";
+  private static final String SPILLED_EVENTS_METRIC = "hypertrace.config.change.events.spilled";
+  private static final long IDLE_POLL_MILLIS = 100;
+
+  private final EventProducer<ConfigChangeEventKey, ConfigChangeEventValue> producer;
+  private final ConfigChangeEventDispatcherConfig config;
+  private final List<Lane> lanes;
+  private final Counter droppedEvents;
+  private final Counter spilledEvents;
+  private volatile boolean running = true;
+
+  AsyncConfigChangeEventDispatcher(
+      EventProducer<ConfigChangeEventKey, ConfigChangeEventValue> producer,
+      ConfigChangeEventDispatcherConfig config) {
+    this.producer = producer;
+    this.config = config;
+    this.droppedEvents = PlatformMetricsRegistry.registerCounter(DROPPED_EVENTS_METRIC, Map.of());
+    this.spilledEvents = PlatformMetricsRegistry.registerCounter(SPILLED_EVENTS_METRIC, Map.of());
+    ThreadFactory threadFactory =
+        new ThreadFactoryBuilder()
+            .setNameFormat("config-change-event-dispatcher-%d")
+            .setDaemon(true)
+            .build();
+    this.lanes =
+        IntStream.range(0, config.getLaneCount())
+            .mapToObj(unused -> new Lane(config.getLaneBufferSize(), config.getLaneSpillSize()))
+            .collect(Collectors.toUnmodifiableList());
+    this.lanes.forEach(lane -> threadFactory.newThread(lane).start());
+  }
+
+  @Override
+  public void dispatch(PendingConfigChangeEvent event) {
+    if (!running) {
+      log.warn("Dispatcher is closed, publishing change event on the calling thread");
+      event.publish(producer);
+      return;
+    }
+    laneFor(event.getTenantId()).enqueueAll(List.of(event));
+  }
+
+  @Override
+  public void dispatchAll(List<PendingConfigChangeEvent> events) {
+    if (!running) {
+      log.warn("Dispatcher is closed, publishing change events on the calling thread");
+      events.forEach(event -> event.publish(producer));
+      return;
+    }
+    // Grouping keeps the order of the events of each lane, hence of each tenant
+    events.stream()
+        .collect(
+            Collectors.groupingBy(
+                event -> laneFor(event.getTenantId()), LinkedHashMap::new, Collectors.toList()))
+        .forEach(Lane::enqueueAll);
+  }
+
+  /** Stops accepting events and waits up to the configured timeout for the lanes to drain. */
+  @Override
+  public void close() {
+    if (!running) {
+      return;
+    }
+    running = false;
+    long deadline = System.nanoTime() + config.getShutdownTimeout().toNanos();
+    for (Lane lane : lanes) {
+      try {
+        long remainingNanos = deadline - System.nanoTime();
+        if (remainingNanos <= 0 || !lane.awaitDrained(remainingNanos)) {
+          log.warn("Timed out draining config change events, {} left unsent", lane.size());
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+  }
+
+  private Lane laneFor(String tenantId) {
+    return lanes.get(Math.floorMod(tenantId.hashCode(), lanes.size()));
+  }
+
+  private class Lane implements Runnable {
+    private final BlockingQueue<PendingConfigChangeEvent> buffer;
+    private final BlockingQueue<PendingConfigChangeEvent> overflow;
+    private final Object drainedMonitor = new Object();
+    private volatile boolean drained = false;
+
+    Lane(int bufferSize, int spillSize) {
+      this.buffer = new ArrayBlockingQueue<>(bufferSize);
+      this.overflow = new LinkedBlockingQueue<>(spillSize);
+    }
+
+    /** Enqueues the events without interleaving the events enqueued by other threads. */
+    synchronized void enqueueAll(List<PendingConfigChangeEvent> events) {
+      events.forEach(this::enqueue);
+    }
+
+    private void enqueue(PendingConfigChangeEvent event) {
+      // Once anything has spilled, keep spilling until the lane catches up to preserve ordering
+      if (overflow.isEmpty() && buffer.offer(event)) {
+        return;
+      }
+      OverflowPolicy policy = config.getOverflowPolicy();
+      switch (policy) {
+        case SPILL:
+          if (overflow.offer(event)) {
+            spilledEvents.increment();
+            return;
+          }
+          // The overflow queue is full as well, so the event is dropped
+          drop(event);
+          return;
+        case DROP:
+          drop(event);
+          return;
+        case BLOCK:
+        default:
+          try {
+            buffer.put(event);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Interrupted while waiting for buffer space, publishing inline");
+            event.publish(producer);
+          }
+      }
+    }
+
+    private void drop(PendingConfigChangeEvent event) {
+      droppedEvents.increment();
+      log.debug(
+          "Dropping change event for tenant {} config type {}, dispatcher buffer is full",
+          event.getTenantId(),
+          event.getKey().getConfigType());
+    }
+
+    int size() {
+      return buffer.size() + overflow.size();
+    }
+
+    @Override
+    public void run() {
+      List<PendingConfigChangeEvent> batch = new ArrayList<>(config.getBatchSize());
+      try {
+        while (running || size() > 0) {
+          if (!nextBatch(batch)) {
+            continue;
+          }
+          batch.forEach(event -> event.publish(producer));
+          batch.clear();
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } finally {
+        synchronized (drainedMonitor) {
+          drained = true;
+          drainedMonitor.notifyAll();
+        }
+      }
+    }
+
+    private boolean nextBatch(List<PendingConfigChangeEvent> batch) throws InterruptedException {
+      // The buffer always holds older events than the overflow queue, so it is drained first
+      buffer.drainTo(batch, config.getBatchSize());
+      while (batch.size() < config.getBatchSize() && !overflow.isEmpty()) {
+        batch.add(overflow.poll());
+      }
+      if (!batch.isEmpty()) {
+        return true;
+      }
+      PendingConfigChangeEvent next = buffer.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+      if (next == null) {
+        return false;
+      }
+      batch.add(next);
+      buffer.drainTo(batch, config.getBatchSize() - 1);
+      return true;
+    }
+
+    boolean awaitDrained(long timeoutNanos) throws InterruptedException {
+      long deadline = System.nanoTime() + timeoutNanos;
+      synchronized (drainedMonitor) {
+        while (!drained) {
+          long remainingNanos = deadline - System.nanoTime();
+          if (remainingNanos <= 0) {
+            return false;
+          }
+          TimeUnit.NANOSECONDS.timedWait(drainedMonitor, remainingNanos);
+        }
+      }
+      return true;
+    }
+  }
+}
@@ -0,0 +1,210 @@
+package org.hypertrace.config.service.change.event.impl;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.micrometer.core.instrument.Counter;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.hypertrace.config.change.event.v1.ConfigChangeEventKey;
+import org.hypertrace.core.serviceframework.metrics.PlatformMetricsRegistry;
+
+/**
+ * Holds change events for a per config type window and folds all events for the same key that
+ * arrive within it into one, so a burst of writes to a config reaches consumers as a single event.
+ * The events of a tenant are published in the order their windows opened: a window that ends, or
+ * an event of a type without window, waits for the earlier windows of its tenant to end. Once
+ * closed, events are forwarded as they arrive.
+ */
+@Slf4j
+class CoalescingConfigChangeEventDispatcher implements ConfigChangeEventDispatcher {
+  // The reduction ratio for a config type is 1 - output / input
+  private static final String INPUT_EVENTS_METRIC =
+      "hypertrace.config.change.events.coalescing.input";
+  private static final String OUTPUT_EVENTS_METRIC =
+      "hypertrace.config.change.events.coalescing.output";
+  private static final String CONFIG_TYPE_TAG = "configType";
+
+  private final ConfigChangeEventDispatcher delegate;
+  private final ConfigChangeEventCoalescingConfig config;
+  private final Map<String, TenantWindows> tenantWindows = new ConcurrentHashMap<>();
+  private final Map<String, Counter> inputCounters = new ConcurrentHashMap<>();
+  private final Map<String, Counter> outputCounters = new ConcurrentHashMap<>();
+  private final ScheduledExecutorService scheduler =
+      Executors.newSingleThreadScheduledExecutor(
+          new ThreadFactoryBuilder()
+              .setNameFormat("config-change-event-coalescer-%d")
+              .setDaemon(true)
+              .build());
+  private volatile boolean closed = false;
+
+  CoalescingConfigChangeEventDispatcher(
+      ConfigChangeEventDispatcher delegate, ConfigChangeEventCoalescingConfig config) {
+    this.delegate = delegate;
+    this.config = config;
+  }
+
+  @Override
+  public void dispatch(PendingConfigChangeEvent event) {
+    this.dispatchAll(List.of(event));
+  }
+
+  @Override
+  public void dispatchAll(List<PendingConfigChangeEvent> events) {
+    events.stream()
+        .collect(
+            Collectors.groupingBy(
+                PendingConfigChangeEvent::getTenantId, LinkedHashMap::new, Collectors.toList()))
+        .forEach(
+            (tenantId, tenantEvents) ->
+                this.updateTenantWindows(tenantId, tenant -> tenantEvents.forEach(tenant::add)));
+  }
+
+  /** Publishes every open window immediately and closes the delegate. */
+  @Override
+  public void close() {
+    closed = true;
+    scheduler.shutdownNow();
+    tenantWindows
+        .keySet()
+        .forEach(tenantId -> this.updateTenantWindows(tenantId, TenantWindows::endAll));
+    delegate.close();
+  }
+
+  /**
+   * Applies the update to the windows of the tenant, then forwards the events of the windows that
+   * ended, in order, while holding the tenant's lock so the events can't overtake each other.
+   */
+  private void updateTenantWindows(String tenantId, Consumer<TenantWindows> update) {
+    while (true) {
+      TenantWindows tenant = tenantWindows.computeIfAbsent(tenantId, TenantWindows::new);
+      synchronized (tenant) {
+        if (tenant.retired) {
+          // Emptied and removed concurrently, use its replacement
+          continue;
+        }
+        update.accept(tenant);
+        tenant.forwardEnded();
+        return;
+      }
+    }
+  }
+
+  private void forward(PendingConfigChangeEvent event) {
+    countEvent(outputCounters, OUTPUT_EVENTS_METRIC, event.getKey().getConfigType());
+    try {
+      delegate.dispatch(event);
+    } catch (Exception e) {
+      log.error(
+          "Error dispatching coalesced change event for tenant {} config type {}",
+          event.getTenantId(),
+          event.getKey().getConfigType(),
+          e);
+    }
+  }
+
+  private void countEvent(Map<String, Counter> counters, String metricName, String configType) {
+    counters
+        .computeIfAbsent(
+            configType,
+            unused ->
+                PlatformMetricsRegistry.registerCounter(
+                    metricName, Map.of(CONFIG_TYPE_TAG, configType)))
+        .increment();
+  }
+
+  /** The windows of one tenant. Only accessed while holding its lock. */
+  private class TenantWindows {
+    private final String tenantId;
+    // In the order they opened, which is the order their events are forwarded in
+    private final Deque<Window> windows = new ArrayDeque<>();
+    private final Map<ConfigChangeEventKey, Window> openWindows = new HashMap<>();
+    private boolean retired = false;
+
+    TenantWindows(String tenantId) {
+      this.tenantId = tenantId;
+    }
+
+    void add(PendingConfigChangeEvent event) {
+      String configType = event.getKey().getConfigType();
+      countEvent(inputCounters, INPUT_EVENTS_METRIC, configType);
+      Window openWindow = openWindows.get(event.getKey());
+      if (openWindow != null) {
+        if (!openWindow.fold(event)) {
+          // The events cancelled out, the scheduled end will find the window gone
+          openWindows.remove(event.getKey());
+          windows.remove(openWindow);
+        }
+        return;
+      }
+      Window window = new Window(event);
+      windows.add(window);
+      Duration duration = closed ? Duration.ZERO : config.getWindow(configType);
+      if (duration.isZero()) {
+        window.ended = true;
+        return;
+      }
+      openWindows.put(event.getKey(), window);
+      try {
+        scheduler.schedule(
+            () -> updateTenantWindows(tenantId, tenant -> tenant.end(window)),
+            duration.toMillis(),
+            TimeUnit.MILLISECONDS);
+      } catch (RejectedExecutionException e) {
+        // Closed concurrently, so nothing is held any longer
+        this.end(window);
+      }
+    }
+
+    void end(Window window) {
+      window.ended = true;
+      openWindows.remove(window.event.getKey(), window);
+    }
+
+    void endAll() {
+      windows.forEach(this::end);
+    }
+
+    void forwardEnded() {
+      while (!windows.isEmpty() && windows.peekFirst().ended) {
+        forward(windows.pollFirst().event);
+      }
+      if (windows.isEmpty()) {
+        retired = true;
+        tenantWindows.remove(tenantId, this);
+      }
+    }
+  }
+
+  private static class Window {
+    private PendingConfigChangeEvent event;
+    private boolean ended = false;
+
+    Window(PendingConfigChangeEvent event) {
+      this.event = event;
+    }
+
+    /** Returns false if the folded events cancel out. */
+    boolean fold(PendingConfigChangeEvent next) {
+      return event
+          .coalesce(next)
+          .map(
+              coalesced -> {
+                this.event = coalesced;
+                return true;
+              })
+          .orElse(false);
+    }
+  }
+}
@@ -0,0 +1,50 @@
+package org.hypertrace.config.service.change.event.impl;
+
+import com.typesafe.config.Config;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.stream.Collectors;
+import lombok.Value;
+
+@Value
+class ConfigChangeEventCoalescingConfig {
+  static final String CHANGE_EVENTS_COALESCING_CONFIG =
+      "generic.config.service.change.events.coalescing";
+  private static final String DEFAULT_WINDOW = "default.window";
+  private static final String WINDOWS = "windows";
+  private static final String CONFIG_TYPE = "config.type";
+  private static final String WINDOW = "window";
+
+  static final ConfigChangeEventCoalescingConfig DEFAULT =
+      new ConfigChangeEventCoalescingConfig(Duration.ZERO, Collections.emptyMap());
+
+  Duration defaultWindow;
+  Map<String, Duration> windowsByConfigType;
+
+  static ConfigChangeEventCoalescingConfig from(Config appConfig) {
+    if (appConfig == null || !appConfig.hasPath(CHANGE_EVENTS_COALESCING_CONFIG)) {
+      return DEFAULT;
+    }
+    Config config = appConfig.getConfig(CHANGE_EVENTS_COALESCING_CONFIG);
+    return new ConfigChangeEventCoalescingConfig(
+        config.hasPath(DEFAULT_WINDOW) ? config.getDuration(DEFAULT_WINDOW) : DEFAULT.defaultWindow,
+        config.hasPath(WINDOWS)
+            ? config.getConfigList(WINDOWS).stream()
+                .collect(
+                    Collectors.toUnmodifiableMap(
+                        windowConfig -> windowConfig.getString(CONFIG_TYPE),
+                        windowConfig -> windowConfig.getDuration(WINDOW)))
+            : DEFAULT.windowsByConfigType);
+  }
+
+  /** A zero window means events of that type are dispatched without coalescing. */
+  Duration getWindow(String configType) {
+    return windowsByConfigType.getOrDefault(configType, defaultWindow);
+  }
+
+  boolean isEnabled() {
+    return !defaultWindow.isZero()
+        || windowsByConfigType.values().stream().anyMatch(window -> !window.isZero());
+  }
+}
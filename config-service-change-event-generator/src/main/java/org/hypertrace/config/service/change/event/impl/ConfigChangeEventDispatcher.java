@@ -0,0 +1,28 @@
+package org.hypertrace.config.service.change.event.impl;
+
+import java.util.List;
+
+/** Hands captured change events over to the event producer. */
+interface ConfigChangeEventDispatcher extends AutoCloseable {
+
+  /**
+   * Dispatch the event for publishing. Events for the same tenant are published in the order in
+   * which they were dispatched.
+   *
+   * @param event change event captured on the request thread
+   */
+  void dispatch(PendingConfigChangeEvent event);
+
+  /**
+   * Dispatch a batch of events captured by one request, in order.
+   *
+   * @param events change events captured on the request thread
+   */
+  default void dispatchAll(List<PendingConfigChangeEvent> events) {
+    events.forEach(this::dispatch);
+  }
+
+  /** Publishes whatever is still held by the dispatcher. */
+  @Override
+  default void close() {}
+}
@@ -0,0 +1,66 @@
+package org.hypertrace.config.service.change.event.impl;
+
+import com.typesafe.config.Config;
+import java.time.Duration;
+import lombok.Value;
+
+@Value
+class ConfigChangeEventDispatcherConfig {
+  static final String CHANGE_EVENTS_DISPATCHER_CONFIG =
+      "generic.config.service.change.events.dispatcher";
+  private static final String ASYNC_ENABLED = "async.enabled";
+  private static final String LANE_COUNT = "lanes";
+  private static final String LANE_BUFFER_SIZE = "buffer.size";
+  private static final String BATCH_SIZE = "batch.size";
+  private static final String OVERFLOW_POLICY = "overflow.policy";
+  private static final String SPILL_SIZE = "spill.size";
+  private static final String SHUTDOWN_TIMEOUT = "shutdown.timeout";
+
+  static final ConfigChangeEventDispatcherConfig DEFAULT =
+      new ConfigChangeEventDispatcherConfig(
+          false, 4, 1024, 100, OverflowPolicy.BLOCK, 10000, Duration.ofSeconds(5));
+
+  /**
+   * What an enqueueing request thread does when the buffer of the lane owning its tenant is full.
+   */
+  enum OverflowPolicy {
+    /** Wait for the lane to make room. Applies backpressure to the request. */
+    BLOCK,
+    /** Discard the event and count it as dropped. */
+    DROP,
+    /**
+     * Park the event in a bounded overflow queue which the lane drains after its buffer. Events
+     * that find the overflow queue full as well are dropped.
+     */
+    SPILL
+  }
+
+  boolean asyncEnabled;
+  int laneCount;
+  int laneBufferSize;
+  int batchSize;
+  OverflowPolicy overflowPolicy;
+  int laneSpillSize;
+  Duration shutdownTimeout;
+
+  static ConfigChangeEventDispatcherConfig from(Config appConfig) {
+    if (appConfig == null || !appConfig.hasPath(CHANGE_EVENTS_DISPATCHER_CONFIG)) {
+      return DEFAULT;
+    }
+    Config config = appConfig.getConfig(CHANGE_EVENTS_DISPATCHER_CONFIG);
+    return new ConfigChangeEventDispatcherConfig(
+        config.hasPath(ASYNC_ENABLED) ? config.getBoolean(ASYNC_ENABLED) : DEFAULT.asyncEnabled,
+        config.hasPath(LANE_COUNT) ? config.getInt(LANE_COUNT) : DEFAULT.laneCount,
+        config.hasPath(LANE_BUFFER_SIZE)
+            ? config.getInt(LANE_BUFFER_SIZE)
+            : DEFAULT.laneBufferSize,
+        config.hasPath(BATCH_SIZE) ? config.getInt(BATCH_SIZE) : DEFAULT.batchSize,
+        config.hasPath(OVERFLOW_POLICY)
+            ? config.getEnum(OverflowPolicy.class, OVERFLOW_POLICY)
+            : DEFAULT.overflowPolicy,
+        config.hasPath(SPILL_SIZE) ? config.getInt(SPILL_SIZE) : DEFAULT.laneSpillSize,
+        config.hasPath(SHUTDOWN_TIMEOUT)
+            ? config.getDuration(SHUTDOWN_TIMEOUT)
+            : DEFAULT.shutdownTimeout);
+  }
+}
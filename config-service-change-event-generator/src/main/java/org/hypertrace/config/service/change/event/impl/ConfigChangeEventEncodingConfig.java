@@ -0,0 +1,55 @@
+package org.hypertrace.config.service.change.event.impl;
+
+import com.typesafe.config.Config;
+import java.util.Collections;
+import java.util.Map;
+import java.util.stream.Collectors;
+import lombok.Value;
+
+@Value
+class ConfigChangeEventEncodingConfig {
+  static final String CHANGE_EVENTS_ENCODING_CONFIG =
+      "generic.config.service.change.events.update.encoding";
+  private static final String DEFAULT_ENCODING = "default";
+  private static final String ENCODINGS = "config.types";
+  private static final String CONFIG_TYPE = "config.type";
+  private static final String ENCODING = "encoding";
+
+  static final ConfigChangeEventEncodingConfig DEFAULT =
+      new ConfigChangeEventEncodingConfig(UpdateEncoding.FULL, Collections.emptyMap());
+
+  /** How the configs of an update event are represented. */
+  enum UpdateEncoding {
+    /** Full previous and latest config json. */
+    FULL,
+    /** Only the json patch from the previous to the latest config. */
+    PATCH,
+    /** Both the full configs and the patch. */
+    FULL_AND_PATCH
+  }
+
+  UpdateEncoding defaultEncoding;
+  Map<String, UpdateEncoding> encodingsByConfigType;
+
+  static ConfigChangeEventEncodingConfig from(Config appConfig) {
+    if (appConfig == null || !appConfig.hasPath(CHANGE_EVENTS_ENCODING_CONFIG)) {
+      return DEFAULT;
+    }
+    Config config = appConfig.getConfig(CHANGE_EVENTS_ENCODING_CONFIG);
+    return new ConfigChangeEventEncodingConfig(
+        config.hasPath(DEFAULT_ENCODING)
+            ? config.getEnum(UpdateEncoding.class, DEFAULT_ENCODING)
+            : DEFAULT.defaultEncoding,
+        config.hasPath(ENCODINGS)
+            ? config.getConfigList(ENCODINGS).stream()
+                .collect(
+                    Collectors.toUnmodifiableMap(
+                        typeConfig -> typeConfig.getString(CONFIG_TYPE),
+                        typeConfig -> typeConfig.getEnum(UpdateEncoding.class, ENCODING)))
+            : DEFAULT.encodingsByConfigType);
+  }
+
+  UpdateEncoding getEncoding(String configType) {
+    return encodingsByConfigType.getOrDefault(configType, defaultEncoding);
+  }
+}
@@ -2,7 +2,9 @@ package org.hypertrace.config.service.change.event.impl;
 
 import com.typesafe.config.Config;
 import java.time.Clock;
+import java.util.Optional;
 import org.hypertrace.config.service.change.event.api.ConfigChangeEventGenerator;
+import org.hypertrace.config.service.change.event.api.ConfigChangeEventOutbox;
 
 public class ConfigChangeEventGeneratorFactory {
 
@@ -26,4 +28,28 @@ public class ConfigChangeEventGeneratorFactory {
       return new NoopConfigChangeEventGenerator();
     }
   }
+
+  /**
+   * Whether change events are also published from the outbox written by the config store. The
+   * generators handed to the domain services still publish every change, so consumers of the
+   * recorded config types receive their events at least once.
+   */
+  public boolean isOutboxEnabled(Config appConfig) {
+    return appConfig.hasPath(GENERIC_CONFIG_SERVICE_PUBLISH_CHANGE_EVENTS)
+        && appConfig.getBoolean(GENERIC_CONFIG_SERVICE_PUBLISH_CHANGE_EVENTS)
+        && ConfigChangeEventOutboxRelayConfig.from(appConfig).isEnabled();
+  }
+
+  public Optional<ConfigChangeEventOutboxRelay> createOutboxRelay(
+      Config appConfig, ConfigChangeEventOutbox outbox, Clock clock) {
+    if (!isOutboxEnabled(appConfig)) {
+      return Optional.empty();
+    }
+    return Optional.of(
+        new ConfigChangeEventOutboxRelay(
+            ConfigChangeEventGeneratorImpl.createProducer(appConfig),
+            outbox,
+            ConfigChangeEventOutboxRelayConfig.from(appConfig),
+            clock));
+  }
 }
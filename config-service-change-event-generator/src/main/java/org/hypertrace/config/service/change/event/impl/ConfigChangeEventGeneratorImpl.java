@@ -4,16 +4,15 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.protobuf.Value;
 import com.typesafe.config.Config;
 import java.time.Clock;
+import java.util.List;
 import java.util.Optional;
-import lombok.extern.slf4j.Slf4j;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 import org.hypertrace.config.change.event.v1.ConfigChangeEventKey;
 import org.hypertrace.config.change.event.v1.ConfigChangeEventValue;
-import org.hypertrace.config.change.event.v1.ConfigChangeEventValue.Builder;
-import org.hypertrace.config.change.event.v1.ConfigCreateEvent;
-import org.hypertrace.config.change.event.v1.ConfigDeleteEvent;
-import org.hypertrace.config.change.event.v1.ConfigUpdateEvent;
-import org.hypertrace.config.proto.converter.ConfigProtoConverter;
 import org.hypertrace.config.service.change.event.api.ConfigChangeEventGenerator;
+import org.hypertrace.config.service.change.event.api.ConfigChangeNotification;
 import org.hypertrace.config.service.change.event.util.KeyUtil;
 import org.hypertrace.core.eventstore.EventProducer;
 import org.hypertrace.core.eventstore.EventProducerConfig;
@@ -22,7 +21,6 @@ import org.hypertrace.core.eventstore.EventStoreProvider;
 import org.hypertrace.core.grpcutils.context.RequestContext;
 
 /** Implementation of Config change event generator interface. */
-@Slf4j
 public class ConfigChangeEventGeneratorImpl implements ConfigChangeEventGenerator {
   private static final String EVENT_STORE = "event.store";
   private static final String EVENT_STORE_TYPE_CONFIG = "type";
@@ -30,28 +28,58 @@ public class ConfigChangeEventGeneratorImpl implements ConfigChangeEventGenerato
   private static final String CONFIG_CHANGE_EVENTS_PRODUCER_CONFIG =
       "config.change.events.producer";
 
-  private final EventProducer<ConfigChangeEventKey, ConfigChangeEventValue>
-      configChangeEventProducer;
-  private Clock clock;
+  private final ConfigChangeEventDispatcher dispatcher;
+  private final ConfigChangeEventEncodingConfig encodingConfig;
+  private final Clock clock;
 
   ConfigChangeEventGeneratorImpl(Config appConfig, Clock clock) {
-    Config config = appConfig.getConfig(EVENT_STORE);
     this.clock = clock;
-    String storeType = config.getString(EVENT_STORE_TYPE_CONFIG);
-    EventStore eventStore = EventStoreProvider.getEventStore(storeType, config);
-    configChangeEventProducer =
-        eventStore.createProducer(
-            CONFIG_CHANGE_EVENTS_TOPIC,
-            new EventProducerConfig(
-                storeType, config.getConfig(CONFIG_CHANGE_EVENTS_PRODUCER_CONFIG)));
+    this.encodingConfig = ConfigChangeEventEncodingConfig.from(appConfig);
+    EventProducer<ConfigChangeEventKey, ConfigChangeEventValue> configChangeEventProducer =
+        createProducer(appConfig);
+    ConfigChangeEventDispatcherConfig dispatcherConfig =
+        ConfigChangeEventDispatcherConfig.from(appConfig);
+    ConfigChangeEventDispatcher publishingDispatcher =
+        dispatcherConfig.isAsyncEnabled()
+            ? new AsyncConfigChangeEventDispatcher(configChangeEventProducer, dispatcherConfig)
+            : new SynchronousConfigChangeEventDispatcher(configChangeEventProducer);
+    ConfigChangeEventCoalescingConfig coalescingConfig =
+        ConfigChangeEventCoalescingConfig.from(appConfig);
+    this.dispatcher =
+        coalescingConfig.isEnabled()
+            ? new CoalescingConfigChangeEventDispatcher(publishingDispatcher, coalescingConfig)
+            : publishingDispatcher;
+    DispatcherShutdownHook.register(this.dispatcher);
   }
 
   @VisibleForTesting
   ConfigChangeEventGeneratorImpl(
       EventProducer<ConfigChangeEventKey, ConfigChangeEventValue> configChangeEventProducer,
       Clock clock) {
+    this(
+        new SynchronousConfigChangeEventDispatcher(configChangeEventProducer),
+        ConfigChangeEventEncodingConfig.DEFAULT,
+        clock);
+  }
+
+  @VisibleForTesting
+  ConfigChangeEventGeneratorImpl(
+      ConfigChangeEventDispatcher dispatcher,
+      ConfigChangeEventEncodingConfig encodingConfig,
+      Clock clock) {
     this.clock = clock;
-    this.configChangeEventProducer = configChangeEventProducer;
+    this.dispatcher = dispatcher;
+    this.encodingConfig = encodingConfig;
+  }
+
+  static EventProducer<ConfigChangeEventKey, ConfigChangeEventValue> createProducer(
+      Config appConfig) {
+    Config config = appConfig.getConfig(EVENT_STORE);
+    String storeType = config.getString(EVENT_STORE_TYPE_CONFIG);
+    EventStore eventStore = EventStoreProvider.getEventStore(storeType, config);
+    return eventStore.createProducer(
+        CONFIG_CHANGE_EVENTS_TOPIC,
+        new EventProducerConfig(storeType, config.getConfig(CONFIG_CHANGE_EVENTS_PRODUCER_CONFIG)));
   }
 
   @Override
@@ -96,30 +124,37 @@ public class ConfigChangeEventGeneratorImpl implements ConfigChangeEventGenerato
         requestContext, configType, Optional.of(context), prevConfig, latestConfig);
   }
 
+  /** Captures the whole batch with one event time and hands it to the dispatcher at once. */
+  @Override
+  public void sendNotifications(
+      RequestContext requestContext, List<ConfigChangeNotification> notifications) {
+    long eventTimeMillis = clock.millis();
+    dispatcher.dispatchAll(
+        notifications.stream()
+            .map(
+                notification ->
+                    buildPendingEvent(requestContext, notification, eventTimeMillis)
+                        .withUpdateEncoding(
+                            encodingConfig.getEncoding(notification.getConfigType())))
+            .collect(Collectors.toUnmodifiableList()));
+  }
+
+  private PendingConfigChangeEvent buildPendingEvent(
+      RequestContext requestContext, ConfigChangeNotification notification, long eventTimeMillis) {
+    ConfigChangeEventKey key =
+        buildKey(requestContext, notification.getConfigType(), notification.getContext());
+    // The suppliers are resolved when the event is published, off the request thread if async
+    return PendingConfigChangeEvent.fromNotification(
+        key, requestContext, eventTimeMillis, notification);
+  }
+
   private void produceCreateNotification(
       RequestContext requestContext,
       String configType,
       Optional<String> contextOptional,
       Value config) {
-    String tenantId = requestContext.getTenantId().get();
-    try {
-      Builder builder = ConfigChangeEventValue.newBuilder();
-      builder.setCreateEvent(
-          ConfigCreateEvent.newBuilder()
-              .setCreatedConfigJson(ConfigProtoConverter.convertToJsonString(config))
-              .build());
-      builder.setEventTimeMillis(clock.millis());
-      populateUserDetails(requestContext, builder);
-      configChangeEventProducer.send(
-          KeyUtil.getKey(tenantId, configType, contextOptional), builder.build());
-    } catch (Exception ex) {
-      log.warn(
-          "Unable to send create event for config with tenantId {} configType {} context {}",
-          tenantId,
-          configType,
-          contextOptional,
-          ex);
-    }
+    ConfigChangeEventKey key = buildKey(requestContext, configType, contextOptional);
+    dispatch(PendingConfigChangeEvent.create(key, requestContext, clock.millis(), config));
   }
 
   private void produceUpdateNotification(
@@ -128,26 +163,10 @@ public class ConfigChangeEventGeneratorImpl implements ConfigChangeEventGenerato
       Optional<String> contextOptional,
       Value prevConfig,
       Value latestConfig) {
-    String tenantId = requestContext.getTenantId().get();
-    try {
-      Builder builder = ConfigChangeEventValue.newBuilder();
-      builder.setUpdateEvent(
-          ConfigUpdateEvent.newBuilder()
-              .setPreviousConfigJson(ConfigProtoConverter.convertToJsonString(prevConfig))
-              .setLatestConfigJson(ConfigProtoConverter.convertToJsonString(latestConfig))
-              .build());
-      builder.setEventTimeMillis(clock.millis());
-      populateUserDetails(requestContext, builder);
-      configChangeEventProducer.send(
-          KeyUtil.getKey(tenantId, configType, contextOptional), builder.build());
-    } catch (Exception ex) {
-      log.warn(
-          "Unable to send update event for config with tenantId {} configType {} context {}",
-          tenantId,
-          configType,
-          contextOptional,
-          ex);
-    }
+    ConfigChangeEventKey key = buildKey(requestContext, configType, contextOptional);
+    dispatch(
+        PendingConfigChangeEvent.update(
+            key, requestContext, clock.millis(), prevConfig, latestConfig));
   }
 
   private void produceDeleteNotification(
@@ -155,30 +174,35 @@ public class ConfigChangeEventGeneratorImpl implements ConfigChangeEventGenerato
       String configType,
       Optional<String> contextOptional,
       Value config) {
-    String tenantId = requestContext.getTenantId().get();
-    try {
-      Builder builder = ConfigChangeEventValue.newBuilder();
-      builder.setDeleteEvent(
-          ConfigDeleteEvent.newBuilder()
-              .setDeletedConfigJson(ConfigProtoConverter.convertToJsonString(config))
-              .build());
-      builder.setEventTimeMillis(clock.millis());
-      populateUserDetails(requestContext, builder);
-      configChangeEventProducer.send(
-          KeyUtil.getKey(tenantId, configType, contextOptional), builder.build());
-    } catch (Exception ex) {
-      log.warn(
-          "Unable to send delete event for config with tenantId {} configType {} context {}",
-          tenantId,
-          configType,
-          contextOptional,
-          ex);
-    }
+    ConfigChangeEventKey key = buildKey(requestContext, configType, contextOptional);
+    dispatch(PendingConfigChangeEvent.delete(key, requestContext, clock.millis(), config));
+  }
+
+  private void dispatch(PendingConfigChangeEvent event) {
+    dispatcher.dispatch(
+        event.withUpdateEncoding(encodingConfig.getEncoding(event.getKey().getConfigType())));
+  }
+
+  private ConfigChangeEventKey buildKey(
+      RequestContext requestContext, String configType, Optional<String> contextOptional) {
+    return KeyUtil.getKey(requestContext.getTenantId().get(), configType, contextOptional);
   }
 
-  private void populateUserDetails(RequestContext requestContext, Builder builder) {
-    requestContext.getUserId().ifPresent(builder::setUserId);
-    requestContext.getName().ifPresent(builder::setUserName);
-    requestContext.getEmail().ifPresent(builder::setUserEmail);
+  /** Closes the dispatchers of all generators from a single shutdown hook. */
+  private static final class DispatcherShutdownHook {
+    private static final Set<ConfigChangeEventDispatcher> DISPATCHERS =
+        ConcurrentHashMap.newKeySet();
+
+    static {
+      Runtime.getRuntime()
+          .addShutdownHook(
+              new Thread(
+                  () -> DISPATCHERS.forEach(ConfigChangeEventDispatcher::close),
+                  "config-change-event-dispatcher-shutdown"));
+    }
+
+    static void register(ConfigChangeEventDispatcher dispatcher) {
+      DISPATCHERS.add(dispatcher);
+    }
   }
 }
@@ -0,0 +1,52 @@
+package org.hypertrace.config.service.change.event.impl;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.typesafe.config.Config;
+import java.util.UUID;
+import org.hypertrace.config.service.change.event.api.ConfigChangeEventOutbox;
+import org.hypertrace.config.service.change.event.api.ConfigChangeEventOutboxEntry;
+import org.hypertrace.config.service.change.event.api.ConfigChangeNotification;
+import org.hypertrace.config.service.change.event.util.KeyUtil;
+import org.hypertrace.core.grpcutils.context.RequestContext;
+
+/**
+ * Builds the {@link ConfigChangeEventOutbox} entries of config changes, encoding their events
+ * exactly as {@link ConfigChangeEventGeneratorImpl} publishes them.
+ */
+public class ConfigChangeEventOutboxEntryBuilder {
+  private final ConfigChangeEventEncodingConfig encodingConfig;
+
+  public ConfigChangeEventOutboxEntryBuilder(Config appConfig) {
+    this(ConfigChangeEventEncodingConfig.from(appConfig));
+  }
+
+  @VisibleForTesting
+  ConfigChangeEventOutboxEntryBuilder(ConfigChangeEventEncodingConfig encodingConfig) {
+    this.encodingConfig = encodingConfig;
+  }
+
+  /**
+   * @param tenantId tenant of the changed config
+   * @param requestContext context of the request making the change, for the user details
+   * @param notification the change
+   * @param eventTimeMillis time of the change
+   */
+  public ConfigChangeEventOutboxEntry build(
+      String tenantId,
+      RequestContext requestContext,
+      ConfigChangeNotification notification,
+      long eventTimeMillis)
+      throws InvalidProtocolBufferException {
+    PendingConfigChangeEvent event =
+        PendingConfigChangeEvent.fromNotification(
+                KeyUtil.getKey(
+                    tenantId, notification.getConfigType(), notification.getContext()),
+                requestContext,
+                eventTimeMillis,
+                notification)
+            .withUpdateEncoding(encodingConfig.getEncoding(notification.getConfigType()));
+    return new ConfigChangeEventOutboxEntry(
+        UUID.randomUUID().toString(), event.getKey(), event.toEventValue(), eventTimeMillis);
+  }
+}
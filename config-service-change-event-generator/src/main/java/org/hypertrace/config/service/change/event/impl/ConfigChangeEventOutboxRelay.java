@@ -0,0 +1,123 @@
+package org.hypertrace.config.service.change.event.impl;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.micrometer.core.instrument.Counter;
+import java.io.IOException;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.hypertrace.config.change.event.v1.ConfigChangeEventKey;
+import org.hypertrace.config.change.event.v1.ConfigChangeEventValue;
+import org.hypertrace.config.service.change.event.api.ConfigChangeEventOutbox;
+import org.hypertrace.config.service.change.event.api.ConfigChangeEventOutboxEntry;
+import org.hypertrace.core.eventstore.EventProducer;
+import org.hypertrace.core.serviceframework.metrics.PlatformMetricsRegistry;
+
+/**
+ * Periodically publishes the undelivered entries of a {@link ConfigChangeEventOutbox} in batches
+ * and marks them delivered. An entry is only marked once its send has returned, so delivery is at
+ * least once: entries of a batch interrupted by a crash are published again on restart.
+ *
+ * <p>Every instance of the service runs a relay, but only the one holding the outbox's relay lease
+ * publishes. The lease is renewed on each poll and taken over by another relay once it expires.
+ */
+@Slf4j
+public class ConfigChangeEventOutboxRelay implements AutoCloseable {
+  private static final String RELAYED_EVENTS_METRIC = "hypertrace.config.change.events.relayed";
+
+  private final EventProducer<ConfigChangeEventKey, ConfigChangeEventValue> producer;
+  private final ConfigChangeEventOutbox outbox;
+  private final ConfigChangeEventOutboxRelayConfig config;
+  private final Clock clock;
+  private final Counter relayedEvents;
+  private final String relayId = UUID.randomUUID().toString();
+  private final ScheduledExecutorService executor =
+      Executors.newSingleThreadScheduledExecutor(
+          new ThreadFactoryBuilder()
+              .setNameFormat("config-change-event-outbox-relay-%d")
+              .setDaemon(true)
+              .build());
+
+  ConfigChangeEventOutboxRelay(
+      EventProducer<ConfigChangeEventKey, ConfigChangeEventValue> producer,
+      ConfigChangeEventOutbox outbox,
+      ConfigChangeEventOutboxRelayConfig config,
+      Clock clock) {
+    this.producer = producer;
+    this.outbox = outbox;
+    this.config = config;
+    this.clock = clock;
+    this.relayedEvents = PlatformMetricsRegistry.registerCounter(RELAYED_EVENTS_METRIC, Map.of());
+  }
+
+  public void start() {
+    long pollIntervalMillis = config.getPollInterval().toMillis();
+    executor.scheduleWithFixedDelay(
+        this::poll, pollIntervalMillis, pollIntervalMillis, TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public void close() {
+    executor.shutdown();
+  }
+
+  @VisibleForTesting
+  void poll() {
+    try {
+      if (!outbox.tryAcquireRelayLease(
+          relayId, clock.millis(), config.getLeaseDuration().toMillis())) {
+        return;
+      }
+      relayPending();
+      outbox.pruneDelivered(clock.millis() - config.getDeliveredRetention().toMillis());
+    } catch (Exception e) {
+      log.error("Error relaying config change events from the outbox", e);
+    }
+  }
+
+  /** Relays up to the configured number of batches, stopping early once the outbox is drained. */
+  @VisibleForTesting
+  int relayPending() throws IOException {
+    int relayed = 0;
+    for (int batchCount = 0; batchCount < config.getMaxBatchesPerPoll(); batchCount++) {
+      List<ConfigChangeEventOutboxEntry> batch = outbox.fetchUndelivered(config.getBatchSize());
+      List<ConfigChangeEventOutboxEntry> sent = send(batch);
+      if (!sent.isEmpty()) {
+        outbox.markDelivered(sent, clock.millis());
+        relayedEvents.increment(sent.size());
+        relayed += sent.size();
+      }
+      if (batch.size() < config.getBatchSize() || sent.size() < batch.size()) {
+        break;
+      }
+    }
+    return relayed;
+  }
+
+  // Stops at the first failure so that later events of the same config are not published ahead
+  private List<ConfigChangeEventOutboxEntry> send(List<ConfigChangeEventOutboxEntry> batch) {
+    List<ConfigChangeEventOutboxEntry> sent = new ArrayList<>(batch.size());
+    for (ConfigChangeEventOutboxEntry entry : batch) {
+      try {
+        producer.send(entry.getKey(), entry.getValue());
+        sent.add(entry);
+      } catch (Exception e) {
+        log.warn(
+            "Unable to relay event {} for config with tenantId {} configType {}, will retry",
+            entry.getId(),
+            entry.getKey().getTenantId(),
+            entry.getKey().getConfigType(),
+            e);
+        break;
+      }
+    }
+    return sent;
+  }
+}
@@ -0,0 +1,48 @@
+package org.hypertrace.config.service.change.event.impl;
+
+import com.typesafe.config.Config;
+import java.time.Duration;
+import lombok.Value;
+
+@Value
+class ConfigChangeEventOutboxRelayConfig {
+  static final String CHANGE_EVENTS_OUTBOX_CONFIG = "generic.config.service.change.events.outbox";
+  private static final String ENABLED = "enabled";
+  private static final String BATCH_SIZE = "batch.size";
+  private static final String MAX_BATCHES_PER_POLL = "max.batches.per.poll";
+  private static final String POLL_INTERVAL = "poll.interval";
+  private static final String DELIVERED_RETENTION = "delivered.retention";
+  private static final String LEASE_DURATION = "lease.duration";
+
+  static final ConfigChangeEventOutboxRelayConfig DEFAULT =
+      new ConfigChangeEventOutboxRelayConfig(
+          false, 500, 10, Duration.ofSeconds(1), Duration.ofDays(1), Duration.ofSeconds(30));
+
+  boolean enabled;
+  int batchSize;
+  int maxBatchesPerPoll;
+  Duration pollInterval;
+  Duration deliveredRetention;
+  // Renewed on every poll, so another instance takes over this long after the relay stops
+  Duration leaseDuration;
+
+  static ConfigChangeEventOutboxRelayConfig from(Config appConfig) {
+    if (appConfig == null || !appConfig.hasPath(CHANGE_EVENTS_OUTBOX_CONFIG)) {
+      return DEFAULT;
+    }
+    Config config = appConfig.getConfig(CHANGE_EVENTS_OUTBOX_CONFIG);
+    return new ConfigChangeEventOutboxRelayConfig(
+        config.hasPath(ENABLED) ? config.getBoolean(ENABLED) : DEFAULT.enabled,
+        config.hasPath(BATCH_SIZE) ? config.getInt(BATCH_SIZE) : DEFAULT.batchSize,
+        config.hasPath(MAX_BATCHES_PER_POLL)
+            ? config.getInt(MAX_BATCHES_PER_POLL)
+            : DEFAULT.maxBatchesPerPoll,
+        config.hasPath(POLL_INTERVAL) ? config.getDuration(POLL_INTERVAL) : DEFAULT.pollInterval,
+        config.hasPath(DELIVERED_RETENTION)
+            ? config.getDuration(DELIVERED_RETENTION)
+            : DEFAULT.deliveredRetention,
+        config.hasPath(LEASE_DURATION)
+            ? config.getDuration(LEASE_DURATION)
+            : DEFAULT.leaseDuration);
+  }
+}
@@ -1,7 +1,9 @@
 package org.hypertrace.config.service.change.event.impl;
 
 import com.google.protobuf.Value;
+import java.util.List;
 import org.hypertrace.config.service.change.event.api.ConfigChangeEventGenerator;
+import org.hypertrace.config.service.change.event.api.ConfigChangeNotification;
 import org.hypertrace.core.grpcutils.context.RequestContext;
 
 /** No-op implementation of Config change event generator interface. */
@@ -48,4 +50,10 @@ public class NoopConfigChangeEventGenerator implements ConfigChangeEventGenerato
       Value latestConfig) {
     // No-op
   }
+
+  @Override
+  public void sendNotifications(
+      RequestContext requestContext, List<ConfigChangeNotification> notifications) {
+    // No-op, without resolving the configs of the notifications
+  }
 }
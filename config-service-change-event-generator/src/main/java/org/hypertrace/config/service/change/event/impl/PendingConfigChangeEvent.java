@@ -0,0 +1,283 @@
+package org.hypertrace.config.service.change.event.impl;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.Value;
+import java.util.Optional;
+import java.util.function.Supplier;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.hypertrace.config.change.event.v1.ConfigChangeEventKey;
+import org.hypertrace.config.change.event.v1.ConfigChangeEventValue;
+import org.hypertrace.config.change.event.v1.ConfigCreateEvent;
+import org.hypertrace.config.change.event.v1.ConfigDeleteEvent;
+import org.hypertrace.config.change.event.v1.ConfigUpdateEvent;
+import org.hypertrace.config.change.event.v1.JsonPatchUtil;
+import org.hypertrace.config.proto.converter.ConfigProtoConverter;
+import org.hypertrace.config.service.change.event.api.ConfigChangeNotification;
+import org.hypertrace.config.service.change.event.impl.ConfigChangeEventEncodingConfig.UpdateEncoding;
+import org.hypertrace.core.eventstore.EventProducer;
+import org.hypertrace.core.grpcutils.context.RequestContext;
+
+/**
+ * A change event captured on the request thread. Everything derived from the request (tenant,
+ * user details, event time) is resolved eagerly, while the json conversion of the configs is
+ * deferred until the event is published. The configs themselves may be deferred too, as memoized
+ * suppliers, so that the conversions of object stores also run on the publishing thread.
+ */
+@lombok.Value
+@Slf4j
+class PendingConfigChangeEvent {
+  enum EventType {
+    CREATE,
+    UPDATE,
+    DELETE
+  }
+
+  ConfigChangeEventKey key;
+  EventType eventType;
+  @Getter(AccessLevel.NONE)
+  Optional<Supplier<Value>> previousConfig;
+
+  @Getter(AccessLevel.NONE)
+  Optional<Supplier<Value>> latestConfig;
+
+  UpdateEncoding updateEncoding;
+  Optional<String> userId;
+  Optional<String> userName;
+  Optional<String> userEmail;
+  long eventTimeMillis;
+
+  static PendingConfigChangeEvent create(
+      ConfigChangeEventKey key, RequestContext requestContext, long eventTimeMillis, Value config) {
+    return create(key, requestContext, eventTimeMillis, () -> config);
+  }
+
+  static PendingConfigChangeEvent update(
+      ConfigChangeEventKey key,
+      RequestContext requestContext,
+      long eventTimeMillis,
+      Value prevConfig,
+      Value latestConfig) {
+    return update(key, requestContext, eventTimeMillis, () -> prevConfig, () -> latestConfig);
+  }
+
+  static PendingConfigChangeEvent delete(
+      ConfigChangeEventKey key, RequestContext requestContext, long eventTimeMillis, Value config) {
+    return delete(key, requestContext, eventTimeMillis, () -> config);
+  }
+
+  static PendingConfigChangeEvent create(
+      ConfigChangeEventKey key,
+      RequestContext requestContext,
+      long eventTimeMillis,
+      Supplier<Value> config) {
+    return new PendingConfigChangeEvent(
+        key,
+        EventType.CREATE,
+        Optional.empty(),
+        Optional.of(config),
+        UpdateEncoding.FULL,
+        requestContext.getUserId(),
+        requestContext.getName(),
+        requestContext.getEmail(),
+        eventTimeMillis);
+  }
+
+  static PendingConfigChangeEvent update(
+      ConfigChangeEventKey key,
+      RequestContext requestContext,
+      long eventTimeMillis,
+      Supplier<Value> prevConfig,
+      Supplier<Value> latestConfig) {
+    return new PendingConfigChangeEvent(
+        key,
+        EventType.UPDATE,
+        Optional.of(prevConfig),
+        Optional.of(latestConfig),
+        UpdateEncoding.FULL,
+        requestContext.getUserId(),
+        requestContext.getName(),
+        requestContext.getEmail(),
+        eventTimeMillis);
+  }
+
+  static PendingConfigChangeEvent delete(
+      ConfigChangeEventKey key,
+      RequestContext requestContext,
+      long eventTimeMillis,
+      Supplier<Value> config) {
+    return new PendingConfigChangeEvent(
+        key,
+        EventType.DELETE,
+        Optional.of(config),
+        Optional.empty(),
+        UpdateEncoding.FULL,
+        requestContext.getUserId(),
+        requestContext.getName(),
+        requestContext.getEmail(),
+        eventTimeMillis);
+  }
+
+  /** Captures a change reported to a generator, deferring its configs as the notification does. */
+  static PendingConfigChangeEvent fromNotification(
+      ConfigChangeEventKey key,
+      RequestContext requestContext,
+      long eventTimeMillis,
+      ConfigChangeNotification notification) {
+    switch (notification.getChangeType()) {
+      case CREATE:
+        return create(
+            key,
+            requestContext,
+            eventTimeMillis,
+            notification.getLatestConfigSupplier().orElseThrow());
+      case UPDATE:
+        return update(
+            key,
+            requestContext,
+            eventTimeMillis,
+            notification.getPreviousConfigSupplier().orElseThrow(),
+            notification.getLatestConfigSupplier().orElseThrow());
+      case DELETE:
+      default:
+        return delete(
+            key,
+            requestContext,
+            eventTimeMillis,
+            notification.getPreviousConfigSupplier().orElseThrow());
+    }
+  }
+
+  Optional<Value> getPreviousConfig() {
+    return previousConfig.map(Supplier::get);
+  }
+
+  Optional<Value> getLatestConfig() {
+    return latestConfig.map(Supplier::get);
+  }
+
+  String getTenantId() {
+    return key.getTenantId();
+  }
+
+  /**
+   * Folds a later event for the same key into this one, keeping the earliest previous config and
+   * the latest config. The user details and event time are taken from the later event.
+   *
+   * @return the combined event, or empty if the two cancel out (a create followed by a delete)
+   */
+  Optional<PendingConfigChangeEvent> coalesce(PendingConfigChangeEvent next) {
+    switch (next.eventType) {
+      case UPDATE:
+        if (eventType == EventType.CREATE) {
+          return Optional.of(
+              next.withChange(EventType.CREATE, Optional.empty(), next.latestConfig));
+        }
+        if (eventType == EventType.UPDATE) {
+          return Optional.of(next.withChange(EventType.UPDATE, previousConfig, next.latestConfig));
+        }
+        return Optional.of(next);
+      case DELETE:
+        if (eventType == EventType.CREATE) {
+          return Optional.empty();
+        }
+        return Optional.of(next);
+      case CREATE:
+      default:
+        if (eventType == EventType.DELETE) {
+          return Optional.of(next.withChange(EventType.UPDATE, previousConfig, next.latestConfig));
+        }
+        return Optional.of(next);
+    }
+  }
+
+  /** Returns this event with the given representation used if it is, or becomes, an update. */
+  PendingConfigChangeEvent withUpdateEncoding(UpdateEncoding updateEncoding) {
+    return new PendingConfigChangeEvent(
+        key,
+        eventType,
+        previousConfig,
+        latestConfig,
+        updateEncoding,
+        userId,
+        userName,
+        userEmail,
+        eventTimeMillis);
+  }
+
+  private PendingConfigChangeEvent withChange(
+      EventType eventType,
+      Optional<Supplier<Value>> previousConfig,
+      Optional<Supplier<Value>> latestConfig) {
+    return new PendingConfigChangeEvent(
+        key,
+        eventType,
+        previousConfig,
+        latestConfig,
+        updateEncoding,
+        userId,
+        userName,
+        userEmail,
+        eventTimeMillis);
+  }
+
+  ConfigChangeEventValue toEventValue() throws InvalidProtocolBufferException {
+    ConfigChangeEventValue.Builder builder = ConfigChangeEventValue.newBuilder();
+    switch (eventType) {
+      case CREATE:
+        builder.setCreateEvent(
+            ConfigCreateEvent.newBuilder()
+                .setCreatedConfigJson(
+                    ConfigProtoConverter.convertToJsonString(getLatestConfig().orElseThrow()))
+                .build());
+        break;
+      case UPDATE:
+        builder.setUpdateEvent(buildUpdateEvent());
+        break;
+      case DELETE:
+        builder.setDeleteEvent(
+            ConfigDeleteEvent.newBuilder()
+                .setDeletedConfigJson(
+                    ConfigProtoConverter.convertToJsonString(getPreviousConfig().orElseThrow()))
+                .build());
+        break;
+    }
+    builder.setEventTimeMillis(eventTimeMillis);
+    userId.ifPresent(builder::setUserId);
+    userName.ifPresent(builder::setUserName);
+    userEmail.ifPresent(builder::setUserEmail);
+    return builder.build();
+  }
+
+  private ConfigUpdateEvent buildUpdateEvent() throws InvalidProtocolBufferException {
+    ConfigUpdateEvent.Builder builder = ConfigUpdateEvent.newBuilder();
+    if (updateEncoding != UpdateEncoding.PATCH) {
+      builder
+          .setPreviousConfigJson(
+              ConfigProtoConverter.convertToJsonString(getPreviousConfig().orElseThrow()))
+          .setLatestConfigJson(
+              ConfigProtoConverter.convertToJsonString(getLatestConfig().orElseThrow()));
+    }
+    if (updateEncoding != UpdateEncoding.FULL) {
+      builder.addAllPatch(
+          JsonPatchUtil.diff(getPreviousConfig().orElseThrow(), getLatestConfig().orElseThrow()));
+    }
+    return builder.build();
+  }
+
+  /** Converts and sends this event, logging rather than propagating any failure. */
+  void publish(EventProducer<ConfigChangeEventKey, ConfigChangeEventValue> producer) {
+    try {
+      producer.send(key, toEventValue());
+    } catch (Exception ex) {
+      log.warn(
+          "Unable to send {} event for config with tenantId {} configType {} context {}",
+          eventType.name().toLowerCase(),
+          key.getTenantId(),
+          key.getConfigType(),
+          key.hasContext() ? Optional.of(key.getContext()) : Optional.empty(),
+          ex);
+    }
+  }
+}
@@ -0,0 +1,20 @@
+package org.hypertrace.config.service.change.event.impl;
+
+import org.hypertrace.config.change.event.v1.ConfigChangeEventKey;
+import org.hypertrace.config.change.event.v1.ConfigChangeEventValue;
+import org.hypertrace.core.eventstore.EventProducer;
+
+/** Publishes every change event inline on the calling thread. */
+class SynchronousConfigChangeEventDispatcher implements ConfigChangeEventDispatcher {
+  private final EventProducer<ConfigChangeEventKey, ConfigChangeEventValue> producer;
+
+  SynchronousConfigChangeEventDispatcher(
+      EventProducer<ConfigChangeEventKey, ConfigChangeEventValue> producer) {
+    this.producer = producer;
+  }
+
+  @Override
+  public void dispatch(PendingConfigChangeEvent event) {
+    event.publish(producer);
+  }
+}
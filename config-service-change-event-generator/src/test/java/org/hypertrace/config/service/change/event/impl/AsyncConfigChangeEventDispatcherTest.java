@@ -0,0 +1,187 @@
+package org.hypertrace.config.service.change.event.impl;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import com.google.protobuf.Value;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.hypertrace.config.change.event.v1.ConfigChangeEventKey;
+import org.hypertrace.config.change.event.v1.ConfigChangeEventValue;
+import org.hypertrace.config.service.change.event.impl.ConfigChangeEventDispatcherConfig.OverflowPolicy;
+import org.hypertrace.config.service.change.event.util.KeyUtil;
+import org.hypertrace.core.eventstore.EventProducer;
+import org.hypertrace.core.grpcutils.context.RequestContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+class AsyncConfigChangeEventDispatcherTest {
+  private static final String TEST_TENANT_ID = "test-tenant";
+  private static final String TEST_CONFIG_TYPE = "test-config-type";
+
+  private EventProducer<ConfigChangeEventKey, ConfigChangeEventValue> eventProducer;
+  private RequestContext requestContext;
+  private AsyncConfigChangeEventDispatcher dispatcher;
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  void setup() {
+    eventProducer = mock(EventProducer.class);
+    requestContext = RequestContext.forTenantId(TEST_TENANT_ID);
+  }
+
+  @AfterEach
+  void teardown() {
+    dispatcher.close();
+  }
+
+  @Test
+  void publishesEventsOfATenantInDispatchOrder() {
+    dispatcher =
+        new AsyncConfigChangeEventDispatcher(eventProducer, buildConfig(OverflowPolicy.BLOCK, 2));
+    for (int i = 0; i < 10; i++) {
+      dispatcher.dispatch(buildEvent("context-" + i));
+    }
+
+    InOrder inOrder = inOrder(eventProducer);
+    for (int i = 0; i < 10; i++) {
+      inOrder.verify(eventProducer, timeout(1000)).send(eq(buildKey("context-" + i)), any());
+    }
+  }
+
+  @Test
+  void publishesBatchesInDispatchOrder() {
+    dispatcher =
+        new AsyncConfigChangeEventDispatcher(eventProducer, buildConfig(OverflowPolicy.BLOCK, 2));
+    dispatcher.dispatchAll(
+        IntStream.range(0, 10)
+            .mapToObj(i -> buildEvent("context-" + i))
+            .collect(Collectors.toUnmodifiableList()));
+
+    InOrder inOrder = inOrder(eventProducer);
+    for (int i = 0; i < 10; i++) {
+      inOrder.verify(eventProducer, timeout(1000)).send(eq(buildKey("context-" + i)), any());
+    }
+  }
+
+  @Test
+  void publishesBatchesOnTheCallingThreadOnceClosed() {
+    dispatcher =
+        new AsyncConfigChangeEventDispatcher(eventProducer, buildConfig(OverflowPolicy.BLOCK, 2));
+    dispatcher.close();
+
+    dispatcher.dispatchAll(List.of(buildEvent("first"), buildEvent("second")));
+
+    InOrder inOrder = inOrder(eventProducer);
+    inOrder.verify(eventProducer).send(eq(buildKey("first")), any());
+    inOrder.verify(eventProducer).send(eq(buildKey("second")), any());
+  }
+
+  @Test
+  void dropsEventsWhenBufferIsFull() throws InterruptedException {
+    CountDownLatch publishStarted = new CountDownLatch(1);
+    CountDownLatch releasePublish = new CountDownLatch(1);
+    doAnswer(
+            invocation -> {
+              publishStarted.countDown();
+              releasePublish.await();
+              return null;
+            })
+        .when(eventProducer)
+        .send(eq(buildKey("blocking")), any());
+    dispatcher =
+        new AsyncConfigChangeEventDispatcher(eventProducer, buildConfig(OverflowPolicy.DROP, 1));
+
+    dispatcher.dispatch(buildEvent("blocking"));
+    publishStarted.await();
+    dispatcher.dispatch(buildEvent("buffered"));
+    dispatcher.dispatch(buildEvent("dropped"));
+    releasePublish.countDown();
+
+    verify(eventProducer, timeout(1000)).send(eq(buildKey("buffered")), any());
+    verify(eventProducer, never()).send(eq(buildKey("dropped")), any());
+  }
+
+  @Test
+  void spillsEventsWhenBufferIsFull() throws InterruptedException {
+    CountDownLatch publishStarted = new CountDownLatch(1);
+    CountDownLatch releasePublish = new CountDownLatch(1);
+    doAnswer(
+            invocation -> {
+              publishStarted.countDown();
+              releasePublish.await();
+              return null;
+            })
+        .when(eventProducer)
+        .send(eq(buildKey("blocking")), any());
+    dispatcher =
+        new AsyncConfigChangeEventDispatcher(eventProducer, buildConfig(OverflowPolicy.SPILL, 1));
+
+    dispatcher.dispatch(buildEvent("blocking"));
+    publishStarted.await();
+    dispatcher.dispatch(buildEvent("buffered"));
+    dispatcher.dispatch(buildEvent("spilled"));
+    releasePublish.countDown();
+
+    InOrder inOrder = inOrder(eventProducer);
+    inOrder.verify(eventProducer, timeout(1000)).send(eq(buildKey("buffered")), any());
+    inOrder.verify(eventProducer, timeout(1000)).send(eq(buildKey("spilled")), any());
+  }
+
+  @Test
+  void dropsEventsWhenSpillIsFull() throws InterruptedException {
+    CountDownLatch publishStarted = new CountDownLatch(1);
+    CountDownLatch releasePublish = new CountDownLatch(1);
+    doAnswer(
+            invocation -> {
+              publishStarted.countDown();
+              releasePublish.await();
+              return null;
+            })
+        .when(eventProducer)
+        .send(eq(buildKey("blocking")), any());
+    dispatcher =
+        new AsyncConfigChangeEventDispatcher(
+            eventProducer,
+            new ConfigChangeEventDispatcherConfig(
+                true, 1, 1, 10, OverflowPolicy.SPILL, 1, Duration.ofSeconds(1)));
+
+    dispatcher.dispatch(buildEvent("blocking"));
+    publishStarted.await();
+    dispatcher.dispatch(buildEvent("buffered"));
+    dispatcher.dispatch(buildEvent("spilled"));
+    dispatcher.dispatch(buildEvent("dropped"));
+    releasePublish.countDown();
+
+    InOrder inOrder = inOrder(eventProducer);
+    inOrder.verify(eventProducer, timeout(1000)).send(eq(buildKey("buffered")), any());
+    inOrder.verify(eventProducer, timeout(1000)).send(eq(buildKey("spilled")), any());
+    verify(eventProducer, never()).send(eq(buildKey("dropped")), any());
+  }
+
+  private ConfigChangeEventDispatcherConfig buildConfig(OverflowPolicy policy, int bufferSize) {
+    return new ConfigChangeEventDispatcherConfig(
+        true, 1, bufferSize, 10, policy, 10, Duration.ofSeconds(1));
+  }
+
+  private PendingConfigChangeEvent buildEvent(String context) {
+    Value config = Value.newBuilder().setStringValue(context).build();
+    return PendingConfigChangeEvent.create(buildKey(context), requestContext, 1000, config);
+  }
+
+  private ConfigChangeEventKey buildKey(String context) {
+    return KeyUtil.getKey(TEST_TENANT_ID, TEST_CONFIG_TYPE, Optional.of(context));
+  }
+}
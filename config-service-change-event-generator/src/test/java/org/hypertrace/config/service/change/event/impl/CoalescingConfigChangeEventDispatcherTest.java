@@ -0,0 +1,167 @@
+package org.hypertrace.config.service.change.event.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import com.google.protobuf.Value;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import org.hypertrace.config.change.event.v1.ConfigChangeEventKey;
+import org.hypertrace.config.service.change.event.impl.PendingConfigChangeEvent.EventType;
+import org.hypertrace.config.service.change.event.util.KeyUtil;
+import org.hypertrace.core.grpcutils.context.RequestContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class CoalescingConfigChangeEventDispatcherTest {
+  private static final String COALESCED_CONFIG_TYPE = "coalesced-type";
+  private static final String IMMEDIATE_CONFIG_TYPE = "immediate-type";
+  private static final ConfigChangeEventKey KEY =
+      KeyUtil.getKey("tenant", COALESCED_CONFIG_TYPE, Optional.of("context"));
+
+  @Mock ConfigChangeEventDispatcher delegate;
+
+  private final RequestContext requestContext = RequestContext.forTenantId("tenant");
+  private CoalescingConfigChangeEventDispatcher dispatcher;
+
+  @BeforeEach
+  void setup() {
+    dispatcher =
+        new CoalescingConfigChangeEventDispatcher(
+            delegate,
+            new ConfigChangeEventCoalescingConfig(
+                Duration.ZERO, Map.of(COALESCED_CONFIG_TYPE, Duration.ofHours(1))));
+  }
+
+  @Test
+  void keepsFirstPreviousAndLastLatestConfig() {
+    dispatcher.dispatch(
+        PendingConfigChangeEvent.update(KEY, requestContext, 1, value("v1"), value("v2")));
+    dispatcher.dispatch(
+        PendingConfigChangeEvent.update(KEY, requestContext, 2, value("v2"), value("v3")));
+    dispatcher.dispatch(
+        PendingConfigChangeEvent.update(KEY, requestContext, 3, value("v3"), value("v4")));
+    verify(delegate, never()).dispatch(any());
+
+    dispatcher.close();
+
+    ArgumentCaptor<PendingConfigChangeEvent> eventCaptor =
+        ArgumentCaptor.forClass(PendingConfigChangeEvent.class);
+    verify(delegate).dispatch(eventCaptor.capture());
+    PendingConfigChangeEvent event = eventCaptor.getValue();
+    assertEquals(EventType.UPDATE, event.getEventType());
+    assertEquals(Optional.of(value("v1")), event.getPreviousConfig());
+    assertEquals(Optional.of(value("v4")), event.getLatestConfig());
+    assertEquals(3, event.getEventTimeMillis());
+  }
+
+  @Test
+  void dropsCreateFollowedByDelete() {
+    dispatcher.dispatch(PendingConfigChangeEvent.create(KEY, requestContext, 1, value("v1")));
+    dispatcher.dispatch(PendingConfigChangeEvent.delete(KEY, requestContext, 2, value("v1")));
+
+    dispatcher.close();
+
+    verify(delegate, never()).dispatch(any());
+  }
+
+  @Test
+  void turnsDeleteFollowedByCreateIntoUpdate() {
+    dispatcher.dispatch(PendingConfigChangeEvent.delete(KEY, requestContext, 1, value("v1")));
+    dispatcher.dispatch(PendingConfigChangeEvent.create(KEY, requestContext, 2, value("v2")));
+
+    dispatcher.close();
+
+    ArgumentCaptor<PendingConfigChangeEvent> eventCaptor =
+        ArgumentCaptor.forClass(PendingConfigChangeEvent.class);
+    verify(delegate).dispatch(eventCaptor.capture());
+    assertEquals(EventType.UPDATE, eventCaptor.getValue().getEventType());
+    assertEquals(Optional.of(value("v1")), eventCaptor.getValue().getPreviousConfig());
+    assertEquals(Optional.of(value("v2")), eventCaptor.getValue().getLatestConfig());
+  }
+
+  @Test
+  void forwardsTypesWithoutWindowImmediately() {
+    PendingConfigChangeEvent event =
+        PendingConfigChangeEvent.create(
+            KeyUtil.getKey("tenant", IMMEDIATE_CONFIG_TYPE, Optional.empty()),
+            requestContext,
+            1,
+            value("v1"));
+
+    dispatcher.dispatch(event);
+
+    verify(delegate).dispatch(event);
+  }
+
+  @Test
+  void flushesWhenWindowEnds() {
+    dispatcher =
+        new CoalescingConfigChangeEventDispatcher(
+            delegate, new ConfigChangeEventCoalescingConfig(Duration.ofMillis(50), Map.of()));
+    PendingConfigChangeEvent event =
+        PendingConfigChangeEvent.create(KEY, requestContext, 1, value("v1"));
+
+    dispatcher.dispatch(event);
+
+    verify(delegate, timeout(1000)).dispatch(event);
+  }
+
+  @Test
+  void keepsTheOrderOfTheEventsOfATenantAcrossWindows() {
+    PendingConfigChangeEvent coalescedEvent =
+        PendingConfigChangeEvent.create(KEY, requestContext, 1, value("v1"));
+    PendingConfigChangeEvent immediateEvent =
+        PendingConfigChangeEvent.create(
+            KeyUtil.getKey("tenant", IMMEDIATE_CONFIG_TYPE, Optional.empty()),
+            requestContext,
+            2,
+            value("v2"));
+    PendingConfigChangeEvent otherTenantEvent =
+        PendingConfigChangeEvent.create(
+            KeyUtil.getKey("other-tenant", IMMEDIATE_CONFIG_TYPE, Optional.empty()),
+            RequestContext.forTenantId("other-tenant"),
+            3,
+            value("v3"));
+
+    dispatcher.dispatch(coalescedEvent);
+    dispatcher.dispatch(immediateEvent);
+    dispatcher.dispatch(otherTenantEvent);
+
+    // Other tenants don't wait for the open window
+    verify(delegate).dispatch(otherTenantEvent);
+    verify(delegate, never()).dispatch(immediateEvent);
+
+    dispatcher.close();
+
+    InOrder inOrder = inOrder(delegate);
+    inOrder.verify(delegate).dispatch(coalescedEvent);
+    inOrder.verify(delegate).dispatch(immediateEvent);
+  }
+
+  @Test
+  void forwardsEventsDispatchedAfterClose() {
+    dispatcher.close();
+    PendingConfigChangeEvent event =
+        PendingConfigChangeEvent.create(KEY, requestContext, 1, value("v1"));
+
+    dispatcher.dispatch(event);
+
+    verify(delegate).dispatch(event);
+  }
+
+  private Value value(String value) {
+    return Value.newBuilder().setStringValue(value).build();
+  }
+}
@@ -31,6 +31,21 @@ class ConfigChangeEventGeneratorFactoryTest {
     assertTrue(configChangeEventGenerator instanceof ConfigChangeEventGeneratorImpl);
   }
 
+  @Test
+  void createConfigChangeEventGeneratorImplWhenOutboxEnabled() {
+    Config config =
+        ConfigFactory.parseMap(
+                Map.of(
+                    ConfigChangeEventOutboxRelayConfig.CHANGE_EVENTS_OUTBOX_CONFIG + ".enabled",
+                    "true"))
+            .withFallback(getEventStoreConfig());
+    ConfigChangeEventGenerator configChangeEventGenerator =
+        ConfigChangeEventGeneratorFactory.getInstance()
+            .createConfigChangeEventGenerator(config, Clock.systemUTC());
+    // The outbox relay publishes alongside the domain services, which aren't silenced
+    assertTrue(configChangeEventGenerator instanceof ConfigChangeEventGeneratorImpl);
+  }
+
   private Config getEventStoreConfig() {
     return ConfigFactory.parseMap(
         Map.of(
@@ -1,25 +1,39 @@
 package org.hypertrace.config.service.change.event.impl;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.ListValue;
+import com.google.protobuf.Struct;
 import com.google.protobuf.Value;
 import java.time.Clock;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import org.hypertrace.config.change.event.v1.ConfigChangeEventKey;
 import org.hypertrace.config.change.event.v1.ConfigChangeEventValue;
 import org.hypertrace.config.change.event.v1.ConfigCreateEvent;
 import org.hypertrace.config.change.event.v1.ConfigDeleteEvent;
 import org.hypertrace.config.change.event.v1.ConfigUpdateEvent;
+import org.hypertrace.config.change.event.v1.JsonPatchUtil;
 import org.hypertrace.config.proto.converter.ConfigProtoConverter;
+import org.hypertrace.config.service.change.event.api.ConfigChangeNotification;
+import org.hypertrace.config.service.change.event.impl.ConfigChangeEventEncodingConfig.UpdateEncoding;
 import org.hypertrace.config.service.change.event.util.KeyUtil;
 import org.hypertrace.core.eventstore.EventProducer;
 import org.hypertrace.core.grpcutils.context.RequestContext;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -109,6 +123,40 @@ class ConfigChangeEventGeneratorImplTest {
                 .build());
   }
 
+  @Test
+  void sendNotificationsInOrder() throws InvalidProtocolBufferException {
+    Value config = createStringValue();
+    changeEventGenerator.sendNotifications(
+        requestContext,
+        List.of(
+            ConfigChangeNotification.create(TEST_CONFIG_TYPE, "first-context", config),
+            ConfigChangeNotification.delete(TEST_CONFIG_TYPE, "second-context", config)));
+
+    InOrder inOrder = inOrder(eventProducer);
+    inOrder
+        .verify(eventProducer)
+        .send(
+            KeyUtil.getKey(TEST_TENANT_ID_1, TEST_CONFIG_TYPE, Optional.of("first-context")),
+            ConfigChangeEventValue.newBuilder()
+                .setEventTimeMillis(CURRENT_TIME_MILLIS)
+                .setCreateEvent(
+                    ConfigCreateEvent.newBuilder()
+                        .setCreatedConfigJson(ConfigProtoConverter.convertToJsonString(config))
+                        .build())
+                .build());
+    inOrder
+        .verify(eventProducer)
+        .send(
+            KeyUtil.getKey(TEST_TENANT_ID_1, TEST_CONFIG_TYPE, Optional.of("second-context")),
+            ConfigChangeEventValue.newBuilder()
+                .setEventTimeMillis(CURRENT_TIME_MILLIS)
+                .setDeleteEvent(
+                    ConfigDeleteEvent.newBuilder()
+                        .setDeletedConfigJson(ConfigProtoConverter.convertToJsonString(config))
+                        .build())
+                .build());
+  }
+
   @Test
   void sendDeleteNotification() throws InvalidProtocolBufferException {
     Value config = createStringValue();
@@ -182,6 +230,45 @@ class ConfigChangeEventGeneratorImplTest {
                 .build());
   }
 
+  @Test
+  void sendChangeNotificationAsPatch() {
+    changeEventGenerator =
+        new ConfigChangeEventGeneratorImpl(
+            new SynchronousConfigChangeEventDispatcher(eventProducer),
+            new ConfigChangeEventEncodingConfig(
+                UpdateEncoding.FULL, Map.of(TEST_CONFIG_TYPE, UpdateEncoding.PATCH)),
+            mockClock);
+    Value prevConfig =
+        createStructValue(
+            Struct.newBuilder()
+                .putFields("enabled", createBoolValue(false))
+                .putFields("name", createStringValue("rule"))
+                .putFields("channels", createListValue("a", "b"))
+                .build());
+    Value latestConfig =
+        createStructValue(
+            Struct.newBuilder()
+                .putFields("enabled", createBoolValue(true))
+                .putFields("channels", createListValue("a", "c"))
+                .putFields("description", createStringValue("new"))
+                .build());
+
+    changeEventGenerator.sendUpdateNotification(
+        requestContext, TEST_CONFIG_TYPE, TEST_CONTEXT, prevConfig, latestConfig);
+
+    ArgumentCaptor<ConfigChangeEventValue> valueCaptor =
+        ArgumentCaptor.forClass(ConfigChangeEventValue.class);
+    verify(eventProducer)
+        .send(
+            eq(KeyUtil.getKey(TEST_TENANT_ID_1, TEST_CONFIG_TYPE, Optional.of(TEST_CONTEXT))),
+            valueCaptor.capture());
+    ConfigUpdateEvent updateEvent = valueCaptor.getValue().getUpdateEvent();
+    assertTrue(updateEvent.getPreviousConfigJson().isEmpty());
+    assertTrue(updateEvent.getLatestConfigJson().isEmpty());
+    assertEquals(4, updateEvent.getPatchCount());
+    assertEquals(latestConfig, JsonPatchUtil.apply(prevConfig, updateEvent.getPatchList()));
+  }
+
   private Value createStringValue() {
     return createStringValue(TEST_VALUE);
   }
@@ -189,4 +276,18 @@ class ConfigChangeEventGeneratorImplTest {
   private Value createStringValue(String value) {
     return Value.newBuilder().setStringValue(value).build();
   }
+
+  private Value createBoolValue(boolean value) {
+    return Value.newBuilder().setBoolValue(value).build();
+  }
+
+  private Value createListValue(String... values) {
+    ListValue.Builder listValue = ListValue.newBuilder();
+    Arrays.stream(values).map(this::createStringValue).forEach(listValue::addValues);
+    return Value.newBuilder().setListValue(listValue).build();
+  }
+
+  private Value createStructValue(Struct struct) {
+    return Value.newBuilder().setStructValue(struct).build();
+  }
 }
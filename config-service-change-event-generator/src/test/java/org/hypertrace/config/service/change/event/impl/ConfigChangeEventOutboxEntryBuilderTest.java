@@ -0,0 +1,67 @@
+package org.hypertrace.config.service.change.event.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.Value;
+import java.util.Map;
+import java.util.Optional;
+import org.hypertrace.config.change.event.v1.ConfigChangeEventValue;
+import org.hypertrace.config.change.event.v1.JsonPatchUtil;
+import org.hypertrace.config.proto.converter.ConfigProtoConverter;
+import org.hypertrace.config.service.change.event.api.ConfigChangeEventOutboxEntry;
+import org.hypertrace.config.service.change.event.api.ConfigChangeNotification;
+import org.hypertrace.config.service.change.event.impl.ConfigChangeEventEncodingConfig.UpdateEncoding;
+import org.hypertrace.config.service.change.event.util.KeyUtil;
+import org.hypertrace.core.grpcutils.context.RequestContext;
+import org.junit.jupiter.api.Test;
+
+class ConfigChangeEventOutboxEntryBuilderTest {
+  private static final String TENANT_ID = "test-tenant";
+  private static final String CONFIG_TYPE = "test-config-type";
+  private static final long EVENT_TIME_MILLIS = 1000;
+
+  private final RequestContext requestContext = RequestContext.forTenantId(TENANT_ID);
+
+  @Test
+  void buildsEventLikeGenerator() throws InvalidProtocolBufferException {
+    Value config = Value.newBuilder().setStringValue("config").build();
+    ConfigChangeEventOutboxEntry entry =
+        new ConfigChangeEventOutboxEntryBuilder(ConfigChangeEventEncodingConfig.DEFAULT)
+            .build(
+                TENANT_ID,
+                requestContext,
+                ConfigChangeNotification.create(CONFIG_TYPE, Optional.empty(), () -> config),
+                EVENT_TIME_MILLIS);
+
+    assertEquals(KeyUtil.getKey(TENANT_ID, CONFIG_TYPE, Optional.empty()), entry.getKey());
+    assertEquals(EVENT_TIME_MILLIS, entry.getCreatedTimeMillis());
+    ConfigChangeEventValue value = entry.getValue();
+    assertEquals(EVENT_TIME_MILLIS, value.getEventTimeMillis());
+    assertEquals(
+        ConfigProtoConverter.convertToJsonString(config),
+        value.getCreateEvent().getCreatedConfigJson());
+  }
+
+  @Test
+  void appliesUpdateEncodingOfConfigType() throws InvalidProtocolBufferException {
+    Value prevConfig = Value.newBuilder().setStringValue("previous").build();
+    Value latestConfig = Value.newBuilder().setStringValue("latest").build();
+    ConfigChangeEventOutboxEntry entry =
+        new ConfigChangeEventOutboxEntryBuilder(
+                new ConfigChangeEventEncodingConfig(
+                    UpdateEncoding.FULL, Map.of(CONFIG_TYPE, UpdateEncoding.PATCH)))
+            .build(
+                TENANT_ID,
+                requestContext,
+                ConfigChangeNotification.update(CONFIG_TYPE, "context", prevConfig, latestConfig),
+                EVENT_TIME_MILLIS);
+
+    assertEquals(KeyUtil.getKey(TENANT_ID, CONFIG_TYPE, Optional.of("context")), entry.getKey());
+    assertTrue(entry.getValue().getUpdateEvent().getLatestConfigJson().isEmpty());
+    assertEquals(
+        latestConfig,
+        JsonPatchUtil.apply(prevConfig, entry.getValue().getUpdateEvent().getPatchList()));
+  }
+}
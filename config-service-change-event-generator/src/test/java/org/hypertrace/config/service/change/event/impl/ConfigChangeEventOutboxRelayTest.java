@@ -0,0 +1,120 @@
+package org.hypertrace.config.service.change.event.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.hypertrace.config.change.event.v1.ConfigChangeEventKey;
+import org.hypertrace.config.change.event.v1.ConfigChangeEventValue;
+import org.hypertrace.config.service.change.event.api.ConfigChangeEventOutbox;
+import org.hypertrace.config.service.change.event.api.ConfigChangeEventOutboxEntry;
+import org.hypertrace.config.service.change.event.util.KeyUtil;
+import org.hypertrace.core.eventstore.EventProducer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class ConfigChangeEventOutboxRelayTest {
+  private static final long CURRENT_TIME_MILLIS = 1000;
+
+  @Mock EventProducer<ConfigChangeEventKey, ConfigChangeEventValue> eventProducer;
+  @Mock ConfigChangeEventOutbox outbox;
+  @Mock Clock clock;
+
+  private ConfigChangeEventOutboxRelay relay;
+
+  @BeforeEach
+  void setup() {
+    relay =
+        new ConfigChangeEventOutboxRelay(
+            eventProducer,
+            outbox,
+            new ConfigChangeEventOutboxRelayConfig(
+                true, 2, 3, Duration.ofSeconds(1), Duration.ofDays(1), Duration.ofSeconds(30)),
+            clock);
+  }
+
+  @Test
+  void relaysBatchesUntilOutboxIsDrained() throws IOException {
+    List<ConfigChangeEventOutboxEntry> firstBatch = buildEntries(0, 2);
+    List<ConfigChangeEventOutboxEntry> secondBatch = buildEntries(2, 1);
+    when(outbox.fetchUndelivered(2)).thenReturn(firstBatch, secondBatch);
+    when(clock.millis()).thenReturn(CURRENT_TIME_MILLIS);
+
+    assertEquals(3, relay.relayPending());
+
+    for (ConfigChangeEventOutboxEntry entry : firstBatch) {
+      verify(eventProducer).send(entry.getKey(), entry.getValue());
+    }
+    verify(eventProducer).send(secondBatch.get(0).getKey(), secondBatch.get(0).getValue());
+    verify(outbox).markDelivered(firstBatch, CURRENT_TIME_MILLIS);
+    verify(outbox).markDelivered(secondBatch, CURRENT_TIME_MILLIS);
+  }
+
+  @Test
+  void stopsAtFirstFailedSend() throws IOException {
+    List<ConfigChangeEventOutboxEntry> batch = buildEntries(0, 2);
+    when(outbox.fetchUndelivered(2)).thenReturn(batch);
+    when(clock.millis()).thenReturn(CURRENT_TIME_MILLIS);
+    doThrow(new RuntimeException("send failed"))
+        .when(eventProducer)
+        .send(batch.get(1).getKey(), batch.get(1).getValue());
+
+    assertEquals(1, relay.relayPending());
+
+    verify(outbox).markDelivered(List.of(batch.get(0)), CURRENT_TIME_MILLIS);
+  }
+
+  @Test
+  void doesNotMarkAnythingWhenOutboxIsEmpty() throws IOException {
+    when(outbox.fetchUndelivered(2)).thenReturn(List.of());
+
+    assertEquals(0, relay.relayPending());
+
+    verify(outbox, never()).markDelivered(any(), anyLong());
+  }
+
+  @Test
+  void relaysOnlyWhileHoldingLease() throws IOException {
+    when(clock.millis()).thenReturn(CURRENT_TIME_MILLIS);
+    when(outbox.tryAcquireRelayLease(any(), eq(CURRENT_TIME_MILLIS), eq(30_000L)))
+        .thenReturn(false, true);
+    when(outbox.fetchUndelivered(2)).thenReturn(List.of());
+
+    relay.poll();
+    verify(outbox, never()).fetchUndelivered(anyInt());
+    verify(outbox, never()).pruneDelivered(anyLong());
+
+    relay.poll();
+    verify(outbox).fetchUndelivered(2);
+    verify(outbox).pruneDelivered(CURRENT_TIME_MILLIS - Duration.ofDays(1).toMillis());
+  }
+
+  private List<ConfigChangeEventOutboxEntry> buildEntries(int start, int count) {
+    return IntStream.range(start, start + count)
+        .mapToObj(
+            index ->
+                new ConfigChangeEventOutboxEntry(
+                    "id-" + index,
+                    KeyUtil.getKey("tenant", "config-type", Optional.of("context-" + index)),
+                    ConfigChangeEventValue.newBuilder().setEventTimeMillis(index).build(),
+                    index))
+        .collect(Collectors.toUnmodifiableList());
+  }
+}
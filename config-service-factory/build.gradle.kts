@@ -8,6 +8,7 @@ dependencies {
   implementation(projects.configServiceChangeEventGenerator)
   implementation(commonLibs.hypertrace.documentstore)
   implementation(projects.configServiceImpl)
+  implementation(projects.configObjectStore)
   implementation(projects.spacesConfigServiceImpl)
   implementation(projects.labelsConfigServiceImpl)
   implementation(projects.labelApplicationRuleConfigServiceImpl)
@@ -8,17 +8,40 @@ import io.grpc.health.v1.HealthCheckResponse.ServingStatus;
 import java.time.Clock;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.hypertrace.alerting.config.service.EventConditionConfigServiceImpl;
+import org.hypertrace.config.objectstore.DirectChannel;
 import org.hypertrace.config.service.change.event.api.ConfigChangeEventGenerator;
+import org.hypertrace.config.service.change.event.api.ConfigChangeEventOutbox;
 import org.hypertrace.config.service.change.event.impl.ConfigChangeEventGeneratorFactory;
+import org.hypertrace.config.service.change.event.impl.ConfigChangeEventOutboxEntryBuilder;
 import org.hypertrace.config.service.metric.ConfigMetricsReporter;
+import org.hypertrace.config.service.store.CachingConfigStore;
+import org.hypertrace.config.service.store.ConfigChangeEventOutboxConfig;
+import org.hypertrace.config.service.store.ConfigChangeEventOutboxRecorder;
+import org.hypertrace.config.service.store.ConfigInvalidationChannel;
 import org.hypertrace.config.service.store.ConfigStore;
+import org.hypertrace.config.service.store.ConfigStoreCacheConfig;
+import org.hypertrace.config.service.store.ConfigStoreIndexConfig;
+import org.hypertrace.config.service.store.ConfigStoreIndexProvisioner;
+import org.hypertrace.config.service.store.DocumentConfigChangeEventOutbox;
+import org.hypertrace.config.service.store.DocumentConfigInvalidationChannel;
 import org.hypertrace.config.service.store.DocumentConfigStore;
 import org.hypertrace.config.service.store.DocumentConfigStoreConfig;
+import org.hypertrace.config.service.store.InMemoryConfigInvalidationChannel;
+import org.hypertrace.config.service.store.InMemoryConfigStore;
+import org.hypertrace.config.service.store.IndexedConfigPaths;
+import org.hypertrace.config.service.store.MongoConfigStoreIndexManager;
+import org.hypertrace.config.service.store.ReplicaConfigStore;
+import org.hypertrace.config.service.store.ReplicaConfigStoreConfig;
+import org.hypertrace.config.service.store.ReplicaConfigStoreConfig.WriteMode;
 import org.hypertrace.core.documentstore.Datastore;
 import org.hypertrace.core.documentstore.DatastoreProvider;
+import org.hypertrace.core.documentstore.model.config.DatabaseType;
+import org.hypertrace.core.documentstore.model.config.DatastoreConfig;
 import org.hypertrace.core.documentstore.model.config.TypesafeConfigDatastoreConfigExtractor;
 import org.hypertrace.core.serviceframework.docstore.metrics.DocStoreCustomMetricReportingConfig;
 import org.hypertrace.core.serviceframework.grpc.GrpcPlatformService;
@@ -35,9 +58,19 @@ import org.hypertrace.span.processing.config.service.SpanProcessingConfigService
 public class ConfigServiceFactory implements GrpcPlatformServiceFactory {
   private static final String SERVICE_NAME = "config-service";
   private static final String STORE_REPORTING_NAME = "config-service-store";
+  private static final String WARM_UP_REPORTING_NAME = "config-service-warmup";
   private static final String GENERIC_CONFIG_SERVICE_CONFIG = "generic.config.service";
   private static final String DOC_STORE_CONFIG_KEY = "document.store";
   private static final String DATA_STORE_TYPE = "dataStoreType";
+  // Domain services call the config service in the JVM rather than through the local channel
+  private static final String DIRECT_BINDING_ENABLED =
+      GENERIC_CONFIG_SERVICE_CONFIG + ".direct.binding.enabled";
+  // Configs are kept in memory rather than in the document store, for tests and local experiments
+  private static final String STORE_TYPE = GENERIC_CONFIG_SERVICE_CONFIG + ".store.type";
+  private static final String IN_MEMORY_STORE_TYPE = "memory";
+  // Replicas serve reads from a snapshot of the document store, refreshed in the background
+  private static final String SERVING_MODE = GENERIC_CONFIG_SERVICE_CONFIG + ".serving.mode";
+  private static final String REPLICA_SERVING_MODE = "replica";
 
   private ConfigStore store;
   private GrpcServiceContainerEnvironment grpcServiceContainerEnvironment;
@@ -81,7 +114,7 @@ public class ConfigServiceFactory implements GrpcPlatformServiceFactory {
         config,
         configChangeEventGenerator,
         grpcServiceContainerEnvironment,
-        initDataStore(config, configurationCounterConfig));
+        this.isInMemoryStore(config) ? null : initDataStore(config, configurationCounterConfig));
   }
 
   public List<GrpcPlatformService> buildServices(
@@ -91,54 +124,218 @@ public class ConfigServiceFactory implements GrpcPlatformServiceFactory {
       GrpcServiceContainerEnvironment grpcServiceContainerEnvironment,
       Datastore datastore) {
     this.grpcServiceContainerEnvironment = grpcServiceContainerEnvironment;
+    ConfigServiceGrpcImpl configService =
+        new ConfigServiceGrpcImpl(this.buildConfigStore(datastore, config));
+    this.warmUp(configService, config);
+    Channel configChannel = this.buildConfigChannel(localChannel, configService, config);
     return Stream.of(
-            new ConfigServiceGrpcImpl(this.buildConfigStore(datastore, config)),
-            new SpacesConfigServiceImpl(localChannel),
-            new LabelsConfigServiceImpl(localChannel, config, configChangeEventGenerator),
+            configService,
+            new SpacesConfigServiceImpl(configChannel),
+            new LabelsConfigServiceImpl(configChannel, config, configChangeEventGenerator),
             new LabelApplicationRuleConfigServiceImpl(
-                localChannel, new LabelApplicationRuleConfig(config), configChangeEventGenerator),
-            new EventConditionConfigServiceImpl(localChannel, configChangeEventGenerator),
-            new NotificationRuleConfigServiceImpl(localChannel, configChangeEventGenerator),
+                configChannel, new LabelApplicationRuleConfig(config), configChangeEventGenerator),
+            new EventConditionConfigServiceImpl(configChannel, configChangeEventGenerator),
+            new NotificationRuleConfigServiceImpl(configChannel, configChangeEventGenerator),
             new NotificationChannelConfigServiceImpl(
-                localChannel, config, configChangeEventGenerator),
+                configChannel, config, configChangeEventGenerator),
             SpanProcessingConfigServiceFactory.build(
-                localChannel, config, configChangeEventGenerator))
+                configChannel, config, configChangeEventGenerator))
         .map(GrpcPlatformService::new)
         .collect(Collectors.toUnmodifiableList());
   }
 
+  /**
+   * Warms up the config service if enabled, before its server starts. Warm-up is reported as not
+   * serving until it completes or times out.
+   */
+  protected void warmUp(ConfigServiceGrpcImpl configService, Config config) {
+    ConfigServiceWarmupConfig warmupConfig = ConfigServiceWarmupConfig.from(config);
+    if (!warmupConfig.isEnabled()) {
+      return;
+    }
+    this.reportWarmUpStatus(ServingStatus.NOT_SERVING);
+    new ConfigServiceWarmer(configService, this.store, warmupConfig, Clock.systemUTC()).warmUp();
+    this.reportWarmUpStatus(ServingStatus.SERVING);
+  }
+
+  private void reportWarmUpStatus(ServingStatus servingStatus) {
+    if (!isNull(this.grpcServiceContainerEnvironment)) {
+      this.grpcServiceContainerEnvironment.reportServiceStatus(
+          WARM_UP_REPORTING_NAME, servingStatus);
+    }
+  }
+
   protected Channel getLocalChannel() {
     return grpcServiceContainerEnvironment
         .getChannelRegistry()
         .forName(grpcServiceContainerEnvironment.getInProcessChannelName());
   }
 
+  /**
+   * The channel of the domain services, which calls the config service directly if direct binding
+   * is enabled, skipping the interceptors of the server. Calls of other services always go through
+   * the local channel.
+   */
+  protected Channel buildConfigChannel(
+      Channel localChannel, ConfigServiceGrpcImpl configService, Config config) {
+    if (config.hasPath(DIRECT_BINDING_ENABLED) && config.getBoolean(DIRECT_BINDING_ENABLED)) {
+      return new DirectChannel(localChannel, configService);
+    }
+    return localChannel;
+  }
+
   protected ConfigChangeEventGenerator buildChangeEventGenerator(Config config) {
     return ConfigChangeEventGeneratorFactory.getInstance()
         .createConfigChangeEventGenerator(config, Clock.systemUTC());
   }
 
+  /** @param datastore the document store of the configs, null if they are kept in memory */
   protected ConfigStore buildConfigStore(Datastore datastore, Config config) {
+    // The outbox is kept in the document store, so in memory its events would never be recorded
+    if (this.isInMemoryStore(config)
+        && ConfigChangeEventGeneratorFactory.getInstance().isOutboxEnabled(config)) {
+      throw new IllegalStateException(
+          "The change event outbox requires the document store, disable it for in memory stores");
+    }
+    // Replicas only learn of the configs deleted by other nodes through their invalidations
+    if (this.isReplica(config) && !ConfigStoreCacheConfig.from(config).isEnabled()) {
+      throw new IllegalStateException(
+          "Replicas drop deleted configs through the invalidations published by caching primaries,"
+              + " enable the cache on all nodes");
+    }
     try {
       DocumentConfigStoreConfig storeConfig = DocumentConfigStoreConfig.from(config);
-      ConfigStore configStore = new DocumentConfigStore(Clock.systemUTC(), datastore, storeConfig);
-      this.store = configStore;
-      return configStore;
+      if (this.isInMemoryStore(config)) {
+        this.store =
+            this.withCache(
+                new InMemoryConfigStore(Clock.systemUTC(), storeConfig),
+                cacheConfig -> new InMemoryConfigInvalidationChannel(),
+                config);
+        return this.store;
+      }
+      if (this.isReplica(config)) {
+        ReplicaConfigStoreConfig replicaConfig = ReplicaConfigStoreConfig.from(config);
+        // Replicas only record the change events of the writes they forward, the primaries relay
+        DocumentConfigStore documentConfigStore =
+            new DocumentConfigStore(
+                Clock.systemUTC(),
+                datastore,
+                storeConfig,
+                replicaConfig.getWriteMode() == WriteMode.FORWARD
+                    ? this.buildOutboxRecorder(datastore, config, false).orElse(null)
+                    : null,
+                IndexedConfigPaths.from(config));
+        // The invalidations published by caching primaries carry their deletes to the replica
+        ConfigStoreCacheConfig cacheConfig = ConfigStoreCacheConfig.from(config);
+        ReplicaConfigStore replicaConfigStore =
+            new ReplicaConfigStore(
+                Clock.systemUTC(),
+                documentConfigStore,
+                storeConfig,
+                replicaConfig,
+                new DocumentConfigInvalidationChannel(datastore, cacheConfig, Clock.systemUTC()));
+        replicaConfigStore.start();
+        this.store = replicaConfigStore;
+      } else {
+        DocumentConfigStore documentConfigStore =
+            new DocumentConfigStore(
+                Clock.systemUTC(),
+                datastore,
+                storeConfig,
+                this.buildOutboxRecorder(datastore, config, true).orElse(null),
+                IndexedConfigPaths.from(config));
+        this.store =
+            this.withCache(
+                documentConfigStore,
+                cacheConfig ->
+                    new DocumentConfigInvalidationChannel(
+                        datastore, cacheConfig, Clock.systemUTC()),
+                config);
+      }
+      return this.store;
     } catch (Exception e) {
       throw new RuntimeException("Error in getting or initializing config store", e);
     }
   }
 
+  /**
+   * Caches the configs read from the store if enabled. Replicas serve every read from memory
+   * already, so only primaries cache.
+   */
+  private ConfigStore withCache(
+      ConfigStore store,
+      Function<ConfigStoreCacheConfig, ConfigInvalidationChannel> invalidationChannelBuilder,
+      Config config) {
+    ConfigStoreCacheConfig cacheConfig = ConfigStoreCacheConfig.from(config);
+    if (!cacheConfig.isEnabled()) {
+      return store;
+    }
+    return new CachingConfigStore(
+        store, invalidationChannelBuilder.apply(cacheConfig), cacheConfig, Clock.systemUTC());
+  }
+
+  private boolean isInMemoryStore(Config config) {
+    return config.hasPath(STORE_TYPE)
+        && IN_MEMORY_STORE_TYPE.equalsIgnoreCase(config.getString(STORE_TYPE));
+  }
+
+  private boolean isReplica(Config config) {
+    return config.hasPath(SERVING_MODE)
+        && REPLICA_SERVING_MODE.equalsIgnoreCase(config.getString(SERVING_MODE));
+  }
+
+  /** @param startRelay whether this instance also relays the recorded events */
+  private Optional<ConfigChangeEventOutboxRecorder> buildOutboxRecorder(
+      Datastore datastore, Config config, boolean startRelay) {
+    ConfigChangeEventGeneratorFactory generatorFactory =
+        ConfigChangeEventGeneratorFactory.getInstance();
+    if (!generatorFactory.isOutboxEnabled(config)) {
+      return Optional.empty();
+    }
+    ConfigChangeEventOutbox outbox = new DocumentConfigChangeEventOutbox(datastore);
+    if (startRelay) {
+      generatorFactory
+          .createOutboxRelay(config, outbox, Clock.systemUTC())
+          .ifPresent(
+              relay -> {
+                relay.start();
+                Runtime.getRuntime().addShutdownHook(new Thread(relay::close));
+              });
+    }
+    return Optional.of(
+        new ConfigChangeEventOutboxRecorder(
+            outbox,
+            ConfigChangeEventOutboxConfig.from(config),
+            new ConfigChangeEventOutboxEntryBuilder(config),
+            Clock.systemUTC()));
+  }
+
   private Datastore initDataStore(
       Config config, List<DocStoreCustomMetricReportingConfig> configurationCounterConfig) {
     Config genericConfig = config.getConfig(GENERIC_CONFIG_SERVICE_CONFIG);
     Config docStoreConfig = genericConfig.getConfig(DOC_STORE_CONFIG_KEY);
-    Datastore datastore =
-        DatastoreProvider.getDatastore(
-            TypesafeConfigDatastoreConfigExtractor.from(docStoreConfig, DATA_STORE_TYPE).extract());
+    DatastoreConfig datastoreConfig =
+        TypesafeConfigDatastoreConfigExtractor.from(docStoreConfig, DATA_STORE_TYPE).extract();
+    Datastore datastore = DatastoreProvider.getDatastore(datastoreConfig);
     new ConfigMetricsReporter(
             datastore, grpcServiceContainerEnvironment.getLifecycle(), configurationCounterConfig)
         .monitor();
+    this.provisionIndexes(config, datastoreConfig);
     return datastore;
   }
+
+  /** Indexes are provisioned in Mongo only. */
+  private void provisionIndexes(Config config, DatastoreConfig datastoreConfig) {
+    ConfigStoreIndexConfig indexConfig = ConfigStoreIndexConfig.from(config);
+    if (!indexConfig.isEnabled() || datastoreConfig.type() != DatabaseType.MONGO) {
+      return;
+    }
+    new ConfigStoreIndexProvisioner(
+            () -> new MongoConfigStoreIndexManager(datastoreConfig),
+            indexConfig,
+            IndexedConfigPaths.from(config),
+            ConfigStoreCacheConfig.from(config).isEnabled(),
+            ConfigChangeEventGeneratorFactory.getInstance().isOutboxEnabled(config))
+        .provision();
+  }
 }
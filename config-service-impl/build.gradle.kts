@@ -19,6 +19,8 @@ dependencies {
   implementation(commonLibs.hypertrace.documentstore)
   implementation(commonLibs.hypertrace.grpcutils.context)
   implementation(commonLibs.hypertrace.framework.documentstore.metrics.jakarta)
+  implementation(commonLibs.hypertrace.framework.metrics.jakarta)
+  implementation(localLibs.mongodb.driver.sync)
 
   annotationProcessor(commonLibs.lombok)
   compileOnly(commonLibs.lombok)
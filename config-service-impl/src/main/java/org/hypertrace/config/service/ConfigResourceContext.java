@@ -8,7 +8,7 @@ import lombok.Value;
 /** A specific context within a configuration resource. */
 @Value
 public class ConfigResourceContext {
-  private static final String DEFAULT_CONTEXT = "DEFAULT-CONTEXT";
+  public static final String DEFAULT_CONTEXT = "DEFAULT-CONTEXT";
   ConfigResource configResource;
   String context;
 
@@ -148,7 +148,8 @@ public class ConfigServiceGrpcImpl extends ConfigServiceGrpc.ConfigServiceImplBa
             CompletableFuture.supplyAsync(
                 () -> {
                   try {
-                    return configStore.getMatchingConfigsCount(configResource, request.getFilter());
+                    return configStore.getMatchingConfigsCount(
+                        configResource, request.getFilter(), request.getContextsList());
                   } catch (Exception e) {
                     throw Status.INTERNAL
                         .withCause(e)
@@ -165,7 +166,8 @@ public class ConfigServiceGrpcImpl extends ConfigServiceGrpc.ConfigServiceImplBa
               configResource,
               request.getFilter(),
               request.getPagination(),
-              request.getSortByList());
+              request.getSortByList(),
+              request.getContextsList());
 
       // Build the response
       GetAllConfigsResponse.Builder responseBuilder =
@@ -0,0 +1,140 @@
+package org.hypertrace.config.service;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.grpc.stub.StreamObserver;
+import java.io.IOException;
+import java.time.Clock;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.hypertrace.config.service.store.ConfigStore;
+import org.hypertrace.config.service.v1.GetAllConfigsRequest;
+import org.hypertrace.config.service.v1.GetConfigRequest;
+import org.hypertrace.core.grpcutils.context.RequestContext;
+
+/**
+ * Warms up a config service on startup by serving the reads of the configs of hot tenants through
+ * it: the configs of configured tenants, and the recently updated ones. Reading them fills the
+ * caches of the store and loads the classes and descriptors of their decoding, and repeating the
+ * reads, each context merged over the default config as domain services read them, lets the JIT
+ * compile the read paths before the first requests.
+ */
+@Slf4j
+public class ConfigServiceWarmer {
+  private final ConfigServiceGrpcImpl configService;
+  private final ConfigStore configStore;
+  private final ConfigServiceWarmupConfig config;
+  private final Clock clock;
+
+  public ConfigServiceWarmer(
+      ConfigServiceGrpcImpl configService,
+      ConfigStore configStore,
+      ConfigServiceWarmupConfig config,
+      Clock clock) {
+    this.configService = configService;
+    this.configStore = configStore;
+    this.config = config;
+    this.clock = clock;
+  }
+
+  /** Runs the warm-up, returning whether it completed within the timeout. */
+  public boolean warmUp() {
+    ExecutorService executor =
+        Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder().setNameFormat("config-warmup-%d").setDaemon(true).build());
+    Future<?> warmUp =
+        executor.submit(
+            () -> {
+              this.runWarmUp();
+              return null;
+            });
+    try {
+      warmUp.get(this.config.getTimeout().toMillis(), TimeUnit.MILLISECONDS);
+      return true;
+    } catch (TimeoutException e) {
+      log.warn("Config warm-up did not complete within {}", this.config.getTimeout());
+      return false;
+    } catch (ExecutionException e) {
+      log.error("Config warm-up failed", e.getCause());
+      return false;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @VisibleForTesting
+  void runWarmUp() throws IOException {
+    long startTimestamp = this.clock.millis();
+    List<ConfigResourceContext> configResourceContexts =
+        this.configStore.getWarmUpContexts(
+            Set.copyOf(this.config.getTenants()),
+            startTimestamp - this.config.getRecentUpdatesLookback().toMillis(),
+            this.config.getMaxContexts());
+    Map<ConfigResource, List<String>> contextsByResource =
+        configResourceContexts.stream()
+            .collect(
+                Collectors.groupingBy(
+                    ConfigResourceContext::getConfigResource,
+                    LinkedHashMap::new,
+                    Collectors.mapping(
+                        ConfigResourceContext::getContext, Collectors.toUnmodifiableList())));
+    for (int iteration = 0; iteration < this.config.getIterations(); iteration++) {
+      for (Map.Entry<ConfigResource, List<String>> entry : contextsByResource.entrySet()) {
+        if (Thread.currentThread().isInterrupted()) {
+          return;
+        }
+        RequestContext.forTenantId(entry.getKey().getTenantId())
+            .run(() -> this.readConfigs(entry.getKey(), entry.getValue()));
+      }
+    }
+    log.info(
+        "Warmed up {} configs of {} resources in {} ms",
+        configResourceContexts.size(),
+        contextsByResource.size(),
+        this.clock.millis() - startTimestamp);
+  }
+
+  private void readConfigs(ConfigResource configResource, List<String> contexts) {
+    this.configService.getAllConfigs(
+        GetAllConfigsRequest.newBuilder()
+            .setResourceName(configResource.getResourceName())
+            .setResourceNamespace(configResource.getResourceNamespace())
+            .build(),
+        new DiscardingStreamObserver<>());
+    for (String context : contexts) {
+      GetConfigRequest.Builder request =
+          GetConfigRequest.newBuilder()
+              .setResourceName(configResource.getResourceName())
+              .setResourceNamespace(configResource.getResourceNamespace());
+      if (!ConfigResourceContext.DEFAULT_CONTEXT.equals(context)) {
+        request.addContexts(context);
+      }
+      this.configService.getConfig(request.build(), new DiscardingStreamObserver<>());
+    }
+  }
+
+  /** Discards responses, and errors such as those of deleted configs which are not found. */
+  private static class DiscardingStreamObserver<T> implements StreamObserver<T> {
+    @Override
+    public void onNext(T value) {}
+
+    @Override
+    public void onError(Throwable t) {}
+
+    @Override
+    public void onCompleted() {}
+  }
+}
@@ -0,0 +1,49 @@
+package org.hypertrace.config.service;
+
+import com.typesafe.config.Config;
+import java.time.Duration;
+import java.util.List;
+import lombok.Value;
+
+/** Settings of the warm-up run on startup, before the config service reports itself serving. */
+@Value
+public class ConfigServiceWarmupConfig {
+  private static final String WARMUP_CONFIG = "generic.config.service.warmup";
+  private static final String ENABLED = "enabled";
+  private static final String TENANTS = "tenants";
+  private static final String RECENT_UPDATES_LOOKBACK = "recent.updates.lookback";
+  private static final String MAX_CONTEXTS = "max.contexts";
+  private static final String ITERATIONS = "iterations";
+  private static final String TIMEOUT = "timeout";
+
+  static final ConfigServiceWarmupConfig DEFAULT =
+      new ConfigServiceWarmupConfig(
+          false, List.of(), Duration.ofDays(1), 1000, 3, Duration.ofMinutes(1));
+
+  boolean enabled;
+  /** Tenants whose configs are warmed up, besides those with recently updated configs */
+  List<String> tenants;
+  /** Configs updated within this lookback are warmed up, as their tenants are likely active */
+  Duration recentUpdatesLookback;
+  int maxContexts;
+  /** Passes over the warmed up configs, so that the JIT compiles the read paths */
+  int iterations;
+  /** The service reports itself serving after this timeout should the warm-up not complete */
+  Duration timeout;
+
+  public static ConfigServiceWarmupConfig from(Config appConfig) {
+    if (appConfig == null || !appConfig.hasPath(WARMUP_CONFIG)) {
+      return DEFAULT;
+    }
+    Config config = appConfig.getConfig(WARMUP_CONFIG);
+    return new ConfigServiceWarmupConfig(
+        config.hasPath(ENABLED) ? config.getBoolean(ENABLED) : DEFAULT.enabled,
+        config.hasPath(TENANTS) ? config.getStringList(TENANTS) : DEFAULT.tenants,
+        config.hasPath(RECENT_UPDATES_LOOKBACK)
+            ? config.getDuration(RECENT_UPDATES_LOOKBACK)
+            : DEFAULT.recentUpdatesLookback,
+        config.hasPath(MAX_CONTEXTS) ? config.getInt(MAX_CONTEXTS) : DEFAULT.maxContexts,
+        config.hasPath(ITERATIONS) ? config.getInt(ITERATIONS) : DEFAULT.iterations,
+        config.hasPath(TIMEOUT) ? config.getDuration(TIMEOUT) : DEFAULT.timeout);
+  }
+}
@@ -0,0 +1,286 @@
+package org.hypertrace.config.service.store;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.google.protobuf.Value;
+import io.grpc.StatusRuntimeException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.hypertrace.config.service.ConfigResource;
+import org.hypertrace.config.service.ConfigResourceContext;
+import org.hypertrace.config.service.v1.ContextSpecificConfig;
+import org.hypertrace.config.service.v1.Filter;
+import org.hypertrace.config.service.v1.Pagination;
+import org.hypertrace.config.service.v1.SortBy;
+import org.hypertrace.config.service.v1.UpsertAllConfigsResponse.UpsertedConfig;
+import org.hypertrace.config.service.v1.UpsertConfigRequest;
+import org.hypertrace.core.serviceframework.metrics.PlatformMetricsRegistry;
+
+/**
+ * Config store caching the configs read by context, including their absence, in front of another
+ * store. A write evicts the written contexts here and publishes their invalidation, on which every
+ * node subscribed to the channel evicts them too. Since an invalidation may be lost, or race with a
+ * read of the config it invalidates, cached configs also expire after a while, which bounds their
+ * staleness. Filtered reads and counts are not cached.
+ *
+ * <p>An invalidation can't stop a load already in flight, which may have read the config before the
+ * write it is invalidated for. Loads therefore note the invalidation generation of each context
+ * they load, and a loaded config is dropped rather than kept if its context was invalidated since.
+ * Generations are kept per stripe of contexts, so invalidations of other contexts rarely drop it.
+ */
+@Slf4j
+public class CachingConfigStore implements ConfigStore {
+  private static final String CACHE_METRIC = "hypertrace.config.store.cache";
+  private static final String INVALIDATION_DELAY_METRIC =
+      "hypertrace.config.cache.invalidation.delay";
+  private static final String PUBLISH_FAILURES_METRIC =
+      "hypertrace.config.cache.invalidation.publish.failures";
+  private static final int INVALIDATION_GENERATION_STRIPES = 1024;
+
+  private final ConfigStore delegate;
+  private final ConfigInvalidationChannel invalidationChannel;
+  private final Clock clock;
+  private final Cache<ConfigResourceContext, Optional<ContextSpecificConfig>> cache;
+  private final Timer invalidationDelay;
+  private final Counter publishFailures;
+  // Incremented by every invalidation of the contexts of a stripe, before they are evicted
+  private final AtomicLongArray invalidationGenerations =
+      new AtomicLongArray(INVALIDATION_GENERATION_STRIPES);
+
+  public CachingConfigStore(
+      ConfigStore delegate,
+      ConfigInvalidationChannel invalidationChannel,
+      ConfigStoreCacheConfig config,
+      Clock clock) {
+    this(delegate, invalidationChannel, config, clock, Ticker.systemTicker());
+  }
+
+  @VisibleForTesting
+  CachingConfigStore(
+      ConfigStore delegate,
+      ConfigInvalidationChannel invalidationChannel,
+      ConfigStoreCacheConfig config,
+      Clock clock,
+      Ticker ticker) {
+    this.delegate = delegate;
+    this.invalidationChannel = invalidationChannel;
+    this.clock = clock;
+    this.cache =
+        CacheBuilder.newBuilder()
+            .expireAfterWrite(config.getExpireAfterWrite())
+            .maximumSize(config.getMaximumSize())
+            .ticker(ticker)
+            .recordStats()
+            .build();
+    PlatformMetricsRegistry.registerCache(CACHE_METRIC, this.cache, Map.of());
+    this.invalidationDelay =
+        PlatformMetricsRegistry.registerTimer(INVALIDATION_DELAY_METRIC, Map.of());
+    this.publishFailures =
+        PlatformMetricsRegistry.registerCounter(PUBLISH_FAILURES_METRIC, Map.of());
+    invalidationChannel.subscribe(this::onInvalidations);
+  }
+
+  @Override
+  public UpsertedConfig writeConfig(
+      ConfigResourceContext configResourceContext,
+      String userId,
+      UpsertConfigRequest request,
+      String userEmail,
+      boolean suppressUserTracking)
+      throws IOException {
+    try {
+      return this.delegate.writeConfig(
+          configResourceContext, userId, request, userEmail, suppressUserTracking);
+    } finally {
+      this.invalidate(List.of(configResourceContext));
+    }
+  }
+
+  @Override
+  public Optional<ContextSpecificConfig> getConfig(ConfigResourceContext configResourceContext)
+      throws IOException {
+    long generation = this.getInvalidationGeneration(configResourceContext);
+    try {
+      Optional<ContextSpecificConfig> config =
+          this.cache.get(
+              configResourceContext, () -> this.delegate.getConfig(configResourceContext));
+      this.dropIfInvalidatedSince(configResourceContext, generation, config);
+      return config;
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      }
+      throw new IOException(e.getCause());
+    } catch (UncheckedExecutionException e) {
+      if (e.getCause() instanceof StatusRuntimeException) {
+        throw (StatusRuntimeException) e.getCause();
+      }
+      throw e;
+    }
+  }
+
+  @Override
+  public Map<ConfigResourceContext, ContextSpecificConfig> getContextConfigs(
+      Collection<ConfigResourceContext> configResourceContexts) throws IOException {
+    Map<ConfigResourceContext, Optional<ContextSpecificConfig>> cachedConfigs =
+        this.cache.getAllPresent(configResourceContexts);
+    List<ConfigResourceContext> missingContexts =
+        configResourceContexts.stream()
+            .filter(configResourceContext -> !cachedConfigs.containsKey(configResourceContext))
+            .distinct()
+            .collect(Collectors.toUnmodifiableList());
+    Map<ConfigResourceContext, ContextSpecificConfig> configs = new HashMap<>();
+    cachedConfigs.forEach(
+        (configResourceContext, config) ->
+            config.ifPresent(value -> configs.put(configResourceContext, value)));
+    if (!missingContexts.isEmpty()) {
+      Map<ConfigResourceContext, Long> generations =
+          missingContexts.stream()
+              .collect(
+                  Collectors.toUnmodifiableMap(
+                      Function.identity(), this::getInvalidationGeneration));
+      Map<ConfigResourceContext, ContextSpecificConfig> loadedConfigs =
+          this.delegate.getContextConfigs(missingContexts);
+      for (ConfigResourceContext configResourceContext : missingContexts) {
+        ContextSpecificConfig config = loadedConfigs.get(configResourceContext);
+        this.cache.put(configResourceContext, Optional.ofNullable(config));
+        this.dropIfInvalidatedSince(
+            configResourceContext,
+            generations.get(configResourceContext),
+            Optional.ofNullable(config));
+        if (config != null) {
+          configs.put(configResourceContext, config);
+        }
+      }
+    }
+    return configs;
+  }
+
+  @Override
+  public List<ContextSpecificConfig> getAllConfigs(
+      ConfigResource configResource,
+      Filter filter,
+      Pagination pagination,
+      List<SortBy> sortByList,
+      Collection<String> contexts)
+      throws IOException {
+    return this.delegate.getAllConfigs(configResource, filter, pagination, sortByList, contexts);
+  }
+
+  @Override
+  public long getMatchingConfigsCount(
+      ConfigResource configResource, Filter filter, Collection<String> contexts) {
+    return this.delegate.getMatchingConfigsCount(configResource, filter, contexts);
+  }
+
+  @Override
+  public List<UpsertedConfig> writeAllConfigs(
+      Map<ConfigResourceContext, Value> resourceContextValueMap,
+      String userId,
+      String userEmail,
+      boolean suppressUserTracking)
+      throws IOException {
+    try {
+      return this.delegate.writeAllConfigs(
+          resourceContextValueMap, userId, userEmail, suppressUserTracking);
+    } finally {
+      this.invalidate(resourceContextValueMap.keySet());
+    }
+  }
+
+  @Override
+  public void deleteConfigs(Collection<ConfigResourceContext> configResourceContexts)
+      throws IOException {
+    try {
+      this.delegate.deleteConfigs(configResourceContexts);
+    } finally {
+      this.invalidate(configResourceContexts);
+    }
+  }
+
+  @Override
+  public List<ConfigResourceContext> getWarmUpContexts(
+      Set<String> tenantIds, long updatedSince, int limit) throws IOException {
+    return this.delegate.getWarmUpContexts(tenantIds, updatedSince, limit);
+  }
+
+  @Override
+  public boolean healthCheck() {
+    return this.delegate.healthCheck();
+  }
+
+  /**
+   * Evicts the contexts here and publishes their invalidation. Failed writes are invalidated too,
+   * as they may have been applied. Other nodes evict the contexts once their configs expire if the
+   * invalidation cannot be published.
+   */
+  private void invalidate(Collection<ConfigResourceContext> configResourceContexts) {
+    configResourceContexts.forEach(this::incrementInvalidationGeneration);
+    this.cache.invalidateAll(configResourceContexts);
+    long writeTimestamp = this.clock.millis();
+    try {
+      this.invalidationChannel.publish(
+          configResourceContexts.stream()
+              .map(
+                  configResourceContext ->
+                      new ConfigInvalidation(configResourceContext, writeTimestamp))
+              .collect(Collectors.toUnmodifiableList()));
+    } catch (Exception e) {
+      log.error("Error publishing the invalidation of configs {}", configResourceContexts, e);
+      this.publishFailures.increment();
+    }
+  }
+
+  private void onInvalidations(List<ConfigInvalidation> invalidations) {
+    long now = this.clock.millis();
+    for (ConfigInvalidation invalidation : invalidations) {
+      this.incrementInvalidationGeneration(invalidation.getConfigResourceContext());
+      this.cache.invalidate(invalidation.getConfigResourceContext());
+      this.invalidationDelay.record(
+          Duration.ofMillis(Math.max(0, now - invalidation.getWriteTimestamp())));
+    }
+  }
+
+  /**
+   * Drops the cached config if its context was invalidated since the given generation. Checked
+   * after caching it, as an invalidation incrementing the generation later also evicts it.
+   */
+  private void dropIfInvalidatedSince(
+      ConfigResourceContext configResourceContext,
+      long generation,
+      Optional<ContextSpecificConfig> config) {
+    if (this.getInvalidationGeneration(configResourceContext) != generation) {
+      this.cache.asMap().remove(configResourceContext, config);
+    }
+  }
+
+  private long getInvalidationGeneration(ConfigResourceContext configResourceContext) {
+    return this.invalidationGenerations.get(getInvalidationGenerationStripe(configResourceContext));
+  }
+
+  private void incrementInvalidationGeneration(ConfigResourceContext configResourceContext) {
+    this.invalidationGenerations.incrementAndGet(
+        getInvalidationGenerationStripe(configResourceContext));
+  }
+
+  private static int getInvalidationGenerationStripe(ConfigResourceContext configResourceContext) {
+    return Math.floorMod(configResourceContext.hashCode(), INVALIDATION_GENERATION_STRIPES);
+  }
+}
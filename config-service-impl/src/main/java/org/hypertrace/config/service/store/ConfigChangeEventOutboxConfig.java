@@ -0,0 +1,77 @@
+package org.hypertrace.config.service.store;
+
+import com.google.protobuf.Message;
+import com.typesafe.config.Config;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import lombok.Value;
+import org.hypertrace.config.service.ConfigResource;
+
+/**
+ * Selects the config resources whose changes are recorded in the change event outbox, along with
+ * the config type reported for each of them. The config type is the one the domain service reports
+ * for the resource, the class name of its objects, so that the relay publishes the same events as
+ * the domain service. Configs naming no protobuf message, or one for several resources, are
+ * rejected.
+ */
+@Value
+public class ConfigChangeEventOutboxConfig {
+  private static final String CHANGE_EVENTS_OUTBOX_CONFIG =
+      "generic.config.service.change.events.outbox";
+  private static final String CONFIG_TYPES = "config.types";
+  private static final String RESOURCE_NAMESPACE = "resource.namespace";
+  private static final String RESOURCE_NAME = "resource.name";
+  private static final String CONFIG_TYPE = "config.type";
+
+  Map<ResourceType, String> configTypes;
+
+  public static ConfigChangeEventOutboxConfig from(Config config) {
+    if (config == null || !config.hasPath(CHANGE_EVENTS_OUTBOX_CONFIG + "." + CONFIG_TYPES)) {
+      return new ConfigChangeEventOutboxConfig(Collections.emptyMap());
+    }
+    Map<ResourceType, String> configTypes =
+        config.getConfigList(CHANGE_EVENTS_OUTBOX_CONFIG + "." + CONFIG_TYPES).stream()
+            .collect(
+                Collectors.toUnmodifiableMap(
+                    typeConfig ->
+                        new ResourceType(
+                            typeConfig.getString(RESOURCE_NAMESPACE),
+                            typeConfig.getString(RESOURCE_NAME)),
+                    typeConfig -> typeConfig.getString(CONFIG_TYPE)));
+    configTypes.values().forEach(ConfigChangeEventOutboxConfig::validateConfigType);
+    if (new HashSet<>(configTypes.values()).size() < configTypes.size()) {
+      throw new IllegalArgumentException("Each outbox config type must be of a single resource");
+    }
+    return new ConfigChangeEventOutboxConfig(configTypes);
+  }
+
+  private static void validateConfigType(String configType) {
+    try {
+      Class<?> configClass =
+          Class.forName(configType, false, ConfigChangeEventOutboxConfig.class.getClassLoader());
+      if (Message.class.isAssignableFrom(configClass)) {
+        return;
+      }
+    } catch (ClassNotFoundException e) {
+      // Rejected below
+    }
+    throw new IllegalArgumentException(
+        "Outbox config type " + configType + " is not the class name of a protobuf message");
+  }
+
+  public Optional<String> getConfigType(ConfigResource configResource) {
+    return Optional.ofNullable(
+        configTypes.get(
+            new ResourceType(
+                configResource.getResourceNamespace(), configResource.getResourceName())));
+  }
+
+  @Value
+  public static class ResourceType {
+    String resourceNamespace;
+    String resourceName;
+  }
+}
@@ -0,0 +1,124 @@
+package org.hypertrace.config.service.store;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonCreator.Mode;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.util.JsonFormat;
+import java.io.IOException;
+import java.util.Optional;
+import lombok.extern.slf4j.Slf4j;
+import org.hypertrace.config.change.event.v1.ConfigChangeEventValue;
+import org.hypertrace.config.service.change.event.api.ConfigChangeEventOutboxEntry;
+import org.hypertrace.config.service.change.event.util.KeyUtil;
+import org.hypertrace.core.documentstore.Document;
+
+/**
+ * This class represents the data model for an outbox entry as stored by {@link
+ * DocumentConfigChangeEventOutbox}.
+ */
+@lombok.Value
+@Slf4j
+public class ConfigChangeEventOutboxDocument implements Document {
+
+  private static final ObjectMapper OBJECT_MAPPER =
+      new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+  public static final String ID_FIELD_NAME = "id";
+  public static final String TENANT_ID_FIELD_NAME = "tenantId";
+  public static final String CONFIG_TYPE_FIELD_NAME = "configType";
+  public static final String CONTEXT_FIELD_NAME = "context";
+  public static final String EVENT_VALUE_FIELD_NAME = "eventValue";
+  public static final String CREATION_TIMESTAMP_FIELD_NAME = "creationTimestamp";
+  public static final String DELIVERED_FIELD_NAME = "delivered";
+  public static final String DELIVERED_TIMESTAMP_FIELD_NAME = "deliveredTimestamp";
+
+  @JsonProperty(value = ID_FIELD_NAME)
+  String id;
+
+  @JsonProperty(value = TENANT_ID_FIELD_NAME)
+  String tenantId;
+
+  @JsonProperty(value = CONFIG_TYPE_FIELD_NAME)
+  String configType;
+
+  @JsonProperty(value = CONTEXT_FIELD_NAME)
+  String context;
+
+  @JsonProperty(value = EVENT_VALUE_FIELD_NAME)
+  String eventValue;
+
+  @JsonProperty(value = CREATION_TIMESTAMP_FIELD_NAME)
+  long creationTimestamp;
+
+  @JsonProperty(value = DELIVERED_FIELD_NAME)
+  boolean delivered;
+
+  @JsonProperty(value = DELIVERED_TIMESTAMP_FIELD_NAME)
+  long deliveredTimestamp;
+
+  @JsonCreator(mode = Mode.PROPERTIES)
+  public ConfigChangeEventOutboxDocument(
+      @JsonProperty(ID_FIELD_NAME) String id,
+      @JsonProperty(TENANT_ID_FIELD_NAME) String tenantId,
+      @JsonProperty(CONFIG_TYPE_FIELD_NAME) String configType,
+      @JsonProperty(CONTEXT_FIELD_NAME) String context,
+      @JsonProperty(EVENT_VALUE_FIELD_NAME) String eventValue,
+      @JsonProperty(CREATION_TIMESTAMP_FIELD_NAME) long creationTimestamp,
+      @JsonProperty(DELIVERED_FIELD_NAME) boolean delivered,
+      @JsonProperty(DELIVERED_TIMESTAMP_FIELD_NAME) long deliveredTimestamp) {
+    this.id = id;
+    this.tenantId = tenantId;
+    this.configType = configType;
+    this.context = context;
+    this.eventValue = eventValue;
+    this.creationTimestamp = creationTimestamp;
+    this.delivered = delivered;
+    this.deliveredTimestamp = deliveredTimestamp;
+  }
+
+  public static ConfigChangeEventOutboxDocument fromEntry(ConfigChangeEventOutboxEntry entry)
+      throws InvalidProtocolBufferException {
+    return new ConfigChangeEventOutboxDocument(
+        entry.getId(),
+        entry.getKey().getTenantId(),
+        entry.getKey().getConfigType(),
+        entry.getKey().hasContext() ? entry.getKey().getContext() : null,
+        JsonFormat.printer().omittingInsignificantWhitespace().print(entry.getValue()),
+        entry.getCreatedTimeMillis(),
+        false,
+        0L);
+  }
+
+  public static ConfigChangeEventOutboxDocument fromJson(String json) throws IOException {
+    return OBJECT_MAPPER.readValue(json, ConfigChangeEventOutboxDocument.class);
+  }
+
+  public ConfigChangeEventOutboxDocument withDelivered(long deliveredTimestamp) {
+    return new ConfigChangeEventOutboxDocument(
+        id, tenantId, configType, context, eventValue, creationTimestamp, true, deliveredTimestamp);
+  }
+
+  public ConfigChangeEventOutboxEntry toEntry() throws InvalidProtocolBufferException {
+    ConfigChangeEventValue.Builder valueBuilder = ConfigChangeEventValue.newBuilder();
+    JsonFormat.parser().ignoringUnknownFields().merge(eventValue, valueBuilder);
+    return new ConfigChangeEventOutboxEntry(
+        id,
+        KeyUtil.getKey(tenantId, configType, Optional.ofNullable(context)),
+        valueBuilder.build(),
+        creationTimestamp);
+  }
+
+  @Override
+  public String toJson() {
+    try {
+      return OBJECT_MAPPER.writeValueAsString(this);
+    } catch (JsonProcessingException ex) {
+      log.error("Error in converting {} to json", this);
+      throw new RuntimeException("Error in converting ConfigChangeEventOutboxDocument to json", ex);
+    }
+  }
+}
@@ -0,0 +1,61 @@
+package org.hypertrace.config.service.store;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonCreator.Mode;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import lombok.extern.slf4j.Slf4j;
+import org.hypertrace.core.documentstore.Document;
+
+/**
+ * This class represents the data model for the lease of the outbox relay as stored by {@link
+ * DocumentConfigChangeEventOutbox}.
+ */
+@lombok.Value
+@Slf4j
+public class ConfigChangeEventOutboxLeaseDocument implements Document {
+
+  private static final ObjectMapper OBJECT_MAPPER =
+      new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+  public static final String ID_FIELD_NAME = "id";
+  public static final String OWNER_FIELD_NAME = "owner";
+  public static final String EXPIRY_TIMESTAMP_FIELD_NAME = "expiryTimestamp";
+
+  @JsonProperty(value = ID_FIELD_NAME)
+  String id;
+
+  @JsonProperty(value = OWNER_FIELD_NAME)
+  String owner;
+
+  @JsonProperty(value = EXPIRY_TIMESTAMP_FIELD_NAME)
+  long expiryTimestamp;
+
+  @JsonCreator(mode = Mode.PROPERTIES)
+  public ConfigChangeEventOutboxLeaseDocument(
+      @JsonProperty(ID_FIELD_NAME) String id,
+      @JsonProperty(OWNER_FIELD_NAME) String owner,
+      @JsonProperty(EXPIRY_TIMESTAMP_FIELD_NAME) long expiryTimestamp) {
+    this.id = id;
+    this.owner = owner;
+    this.expiryTimestamp = expiryTimestamp;
+  }
+
+  public static ConfigChangeEventOutboxLeaseDocument fromJson(String json) throws IOException {
+    return OBJECT_MAPPER.readValue(json, ConfigChangeEventOutboxLeaseDocument.class);
+  }
+
+  @Override
+  public String toJson() {
+    try {
+      return OBJECT_MAPPER.writeValueAsString(this);
+    } catch (JsonProcessingException ex) {
+      log.error("Error in converting {} to json", this);
+      throw new RuntimeException(
+          "Error in converting ConfigChangeEventOutboxLeaseDocument to json", ex);
+    }
+  }
+}
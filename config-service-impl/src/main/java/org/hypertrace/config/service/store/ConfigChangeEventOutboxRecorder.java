@@ -0,0 +1,147 @@
+package org.hypertrace.config.service.store;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.Value;
+import io.grpc.Status;
+import io.micrometer.core.instrument.Counter;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.hypertrace.config.service.ConfigResourceContext;
+import org.hypertrace.config.service.change.event.api.ConfigChangeEventOutbox;
+import org.hypertrace.config.service.change.event.api.ConfigChangeEventOutboxEntry;
+import org.hypertrace.config.service.change.event.api.ConfigChangeNotification;
+import org.hypertrace.config.service.change.event.impl.ConfigChangeEventOutboxEntryBuilder;
+import org.hypertrace.config.service.v1.UpsertAllConfigsResponse.UpsertedConfig;
+import org.hypertrace.core.grpcutils.context.RequestContext;
+import org.hypertrace.core.serviceframework.metrics.PlatformMetricsRegistry;
+
+/**
+ * Translates config writes into change events and records them in the {@link
+ * ConfigChangeEventOutbox}. Only resources mapped to a config type are recorded, and their events
+ * carry the stored config values.
+ *
+ * <p>Upserts are recorded once committed and deletes right before, as the deleted values can't be
+ * read afterwards. If recording fails, the request fails as unavailable so that the caller retries
+ * it, which records the events again. Delivery is therefore at least once, and the domain services
+ * keep publishing their own events of the same changes.
+ */
+@Slf4j
+public class ConfigChangeEventOutboxRecorder {
+  private static final String FAILED_EVENTS_METRIC =
+      "hypertrace.config.change.events.outbox.record.failures";
+
+  private final ConfigChangeEventOutbox outbox;
+  private final ConfigChangeEventOutboxConfig outboxConfig;
+  private final ConfigChangeEventOutboxEntryBuilder entryBuilder;
+  private final Clock clock;
+  private final Counter failedEvents;
+
+  public ConfigChangeEventOutboxRecorder(
+      ConfigChangeEventOutbox outbox,
+      ConfigChangeEventOutboxConfig outboxConfig,
+      ConfigChangeEventOutboxEntryBuilder entryBuilder,
+      Clock clock) {
+    this.outbox = outbox;
+    this.outboxConfig = outboxConfig;
+    this.entryBuilder = entryBuilder;
+    this.clock = clock;
+    this.failedEvents = PlatformMetricsRegistry.registerCounter(FAILED_EVENTS_METRIC, Map.of());
+  }
+
+  /** Records the events of committed upserts, failing the request if they can't be recorded. */
+  void recordUpserts(Map<ConfigResourceContext, UpsertedConfig> upsertedConfigs) {
+    long eventTimeMillis = clock.millis();
+    try {
+      List<ConfigChangeEventOutboxEntry> entries = new ArrayList<>();
+      for (Map.Entry<ConfigResourceContext, UpsertedConfig> upsert : upsertedConfigs.entrySet()) {
+        UpsertedConfig upsertedConfig = upsert.getValue();
+        Optional<String> context = getEventContext(upsert.getKey());
+        buildEntry(
+                upsert.getKey(),
+                configType ->
+                    upsertedConfig.hasPrevConfig()
+                        ? ConfigChangeNotification.update(
+                            configType,
+                            context,
+                            upsertedConfig::getPrevConfig,
+                            upsertedConfig::getConfig)
+                        : ConfigChangeNotification.create(
+                            configType, context, upsertedConfig::getConfig),
+                eventTimeMillis)
+            .ifPresent(entries::add);
+      }
+      outbox.append(entries);
+    } catch (Exception e) {
+      reportFailure(upsertedConfigs.keySet(), e);
+    }
+  }
+
+  /** Records the events of deletes about to be made, failing the request if they can't be. */
+  void recordDeletes(Map<ConfigResourceContext, Value> deletedConfigs) {
+    long eventTimeMillis = clock.millis();
+    try {
+      List<ConfigChangeEventOutboxEntry> entries = new ArrayList<>();
+      for (Map.Entry<ConfigResourceContext, Value> delete : deletedConfigs.entrySet()) {
+        Optional<String> context = getEventContext(delete.getKey());
+        buildEntry(
+                delete.getKey(),
+                configType ->
+                    ConfigChangeNotification.delete(configType, context, delete::getValue),
+                eventTimeMillis)
+            .ifPresent(entries::add);
+      }
+      outbox.append(entries);
+    } catch (Exception e) {
+      reportFailure(deletedConfigs.keySet(), e);
+    }
+  }
+
+  boolean isRecorded(ConfigResourceContext configResourceContext) {
+    return outboxConfig.getConfigType(configResourceContext.getConfigResource()).isPresent();
+  }
+
+  private Optional<ConfigChangeEventOutboxEntry> buildEntry(
+      ConfigResourceContext configResourceContext,
+      Function<String, ConfigChangeNotification> notificationBuilder,
+      long eventTimeMillis)
+      throws InvalidProtocolBufferException {
+    Optional<String> configType =
+        outboxConfig.getConfigType(configResourceContext.getConfigResource());
+    if (configType.isEmpty()) {
+      return Optional.empty();
+    }
+    String tenantId = configResourceContext.getConfigResource().getTenantId();
+    // The store is called on the request thread, so the caller's details are still available
+    RequestContext requestContext =
+        Optional.ofNullable(RequestContext.CURRENT.get())
+            .orElseGet(() -> RequestContext.forTenantId(tenantId));
+    return Optional.of(
+        entryBuilder.build(
+            tenantId,
+            requestContext,
+            notificationBuilder.apply(configType.get()),
+            eventTimeMillis));
+  }
+
+  private void reportFailure(Set<ConfigResourceContext> configResourceContexts, Exception e) {
+    long recordedCount = configResourceContexts.stream().filter(this::isRecorded).count();
+    failedEvents.increment(recordedCount);
+    log.error("Unable to record {} config change events in the outbox", recordedCount, e);
+    throw Status.UNAVAILABLE
+        .withDescription("Unable to record the change events of the write, retry it")
+        .withCause(e)
+        .asRuntimeException();
+  }
+
+  // Object stores without contexts report their changes without one
+  private static Optional<String> getEventContext(ConfigResourceContext configResourceContext) {
+    return Optional.of(configResourceContext.getContext())
+        .filter(context -> !ConfigResourceContext.DEFAULT_CONTEXT.equals(context));
+  }
+}
@@ -0,0 +1,200 @@
+package org.hypertrace.config.service.store;
+
+import com.google.common.base.Strings;
+import com.google.protobuf.Value;
+import java.time.Clock;
+import java.util.Optional;
+import org.hypertrace.config.service.ConfigResource;
+import org.hypertrace.config.service.ConfigResourceContext;
+import org.hypertrace.config.service.ConfigServiceUtils;
+import org.hypertrace.config.service.v1.ContextSpecificConfig;
+import org.hypertrace.config.service.v1.UpsertAllConfigsResponse.UpsertedConfig;
+
+/**
+ * Builds the documents of written configs, and converts stored documents back to configs, as shared
+ * by the config stores.
+ */
+class ConfigDocumentConverter {
+  private final Clock clock;
+  private final DocumentConfigStoreConfig storeConfig;
+
+  ConfigDocumentConverter(Clock clock, DocumentConfigStoreConfig storeConfig) {
+    this.clock = clock;
+    this.storeConfig = storeConfig;
+  }
+
+  /**
+   * Builds a ConfigDocument for storage.
+   *
+   * @param userId Current user ID making this request (not historical audit data)
+   * @param userEmail Current user email making this request (not historical audit data)
+   *     <p>Note: These parameters represent the CURRENT caller, while the ConfigDocument contains
+   *     HISTORICAL fields (lastUpdatedUserId, lastUpdatedUserEmail) for audit tracking.
+   */
+  ConfigDocument buildConfigDocument(
+      ConfigResourceContext configResourceContext,
+      Value latestConfig,
+      Optional<ConfigDocument> previousConfigDoc,
+      String userId,
+      String userEmail,
+      boolean suppressUserTracking) {
+
+    return isPreviousConfigPresent(previousConfigDoc)
+        ? buildConfigDocumentForUpdate(
+            configResourceContext,
+            latestConfig,
+            previousConfigDoc.get(),
+            userId,
+            userEmail,
+            suppressUserTracking)
+        : buildConfigDocumentForCreate(
+            configResourceContext, latestConfig, userId, userEmail, suppressUserTracking);
+  }
+
+  private ConfigDocument buildConfigDocumentForUpdate(
+      ConfigResourceContext configResourceContext,
+      Value latestConfig,
+      ConfigDocument previousConfig,
+      String userId,
+      String userEmail,
+      boolean suppressUserTracking) {
+    long updateTimestamp = this.clock.millis();
+    String resolvedEmail = suppressUserTracking ? userEmail : resolveUserEmail(userEmail);
+    boolean excludedEmail = suppressUserTracking || isExcludedEmail(resolvedEmail);
+    return new ConfigDocument(
+        configResourceContext.getConfigResource().getResourceName(),
+        configResourceContext.getConfigResource().getResourceNamespace(),
+        configResourceContext.getConfigResource().getTenantId(),
+        configResourceContext.getContext(),
+        previousConfig.getConfigVersion() + 1,
+        userId,
+        userEmail,
+        previousConfig.getCreatedByEmail(),
+        excludedEmail ? previousConfig.getLastUserUpdateEmail() : resolvedEmail,
+        excludedEmail ? previousConfig.getLastUserUpdateTimestamp() : updateTimestamp,
+        latestConfig,
+        previousConfig.getCreationTimestamp(),
+        updateTimestamp);
+  }
+
+  private boolean isPreviousConfigPresent(Optional<ConfigDocument> previousConfigDoc) {
+    return previousConfigDoc
+        .filter(configDocument -> !ConfigServiceUtils.isNull(configDocument.getConfig()))
+        .isPresent();
+  }
+
+  private ConfigDocument buildConfigDocumentForCreate(
+      ConfigResourceContext configResourceContext,
+      Value latestConfig,
+      String userId,
+      String userEmail,
+      boolean suppressUserTracking) {
+    long updateTimestamp = this.clock.millis();
+    String resolvedEmail = suppressUserTracking ? userEmail : resolveUserEmail(userEmail);
+    boolean excludedEmail = suppressUserTracking || isExcludedEmail(resolvedEmail);
+    return new ConfigDocument(
+        configResourceContext.getConfigResource().getResourceName(),
+        configResourceContext.getConfigResource().getResourceNamespace(),
+        configResourceContext.getConfigResource().getTenantId(),
+        configResourceContext.getContext(),
+        1L,
+        userId,
+        userEmail,
+        resolvedEmail, // created by email
+        excludedEmail ? null : resolvedEmail,
+        excludedEmail ? 0L : updateTimestamp,
+        latestConfig,
+        updateTimestamp,
+        updateTimestamp);
+  }
+
+  Optional<ContextSpecificConfig> convertToContextSpecificConfig(ConfigDocument configDocument) {
+    if (ConfigServiceUtils.isNull(configDocument.getConfig())) {
+      return Optional.empty();
+    }
+    return Optional.of(
+        ContextSpecificConfig.newBuilder()
+            .setConfig(configDocument.getConfig())
+            .setContext(configDocument.getContext())
+            .setCreationTimestamp(configDocument.getCreationTimestamp())
+            .setUpdateTimestamp(configDocument.getUpdateTimestamp())
+            .setCreatedByEmail(getEmailOrDefaultWithSystemMask(configDocument.getCreatedByEmail()))
+            .setLastUserUpdateEmail(getEmailOrDefault(configDocument.getLastUserUpdateEmail()))
+            .setLastUserUpdateTimestamp(
+                getNonDefaultTimestamp(
+                    configDocument.getLastUserUpdateTimestamp(),
+                    configDocument.getUpdateTimestamp()))
+            .setLastUpdateEmail(getEmailOrDefault(configDocument.getLastUpdatedUserEmail()))
+            .build());
+  }
+
+  private long getNonDefaultTimestamp(long timestampFirstChoice, long timestampSecondChoice) {
+    return timestampFirstChoice == 0 ? timestampSecondChoice : timestampFirstChoice;
+  }
+
+  UpsertedConfig buildUpsertResult(
+      ConfigDocument configDocument, ContextSpecificConfig existingConfig) {
+    return this.buildUpsertResult(configDocument).toBuilder()
+        .setPrevConfig(existingConfig.getConfig())
+        .build();
+  }
+
+  UpsertedConfig buildUpsertResult(ConfigDocument configDocument) {
+    return UpsertedConfig.newBuilder()
+        .setConfig(configDocument.getConfig())
+        .setContext(configDocument.getContext())
+        .setCreationTimestamp(configDocument.getCreationTimestamp())
+        .setUpdateTimestamp(configDocument.getUpdateTimestamp())
+        .setCreatedByEmail(getEmailOrDefaultWithSystemMask(configDocument.getCreatedByEmail()))
+        .setLastUserUpdateEmail(getEmailOrDefault(configDocument.getLastUserUpdateEmail()))
+        .setLastUserUpdateTimestamp(configDocument.getLastUserUpdateTimestamp())
+        .setLastUpdateEmail(getEmailOrDefault(configDocument.getLastUpdatedUserEmail()))
+        .build();
+  }
+
+  ConfigResourceContext buildConfigResourceContext(ConfigDocument configDocument) {
+    return new ConfigResourceContext(
+        new ConfigResource(
+            configDocument.getResourceName(),
+            configDocument.getResourceNamespace(),
+            configDocument.getTenantId()),
+        configDocument.getContext());
+  }
+
+  private boolean isExcludedEmail(String userEmail) {
+    return this.storeConfig.getCustomerVisibleExcludedEmailPatterns().stream()
+        .anyMatch(pattern -> pattern.matcher(userEmail).matches());
+  }
+
+  private String resolveUserEmail(String userEmail) {
+    if (Strings.isNullOrEmpty(userEmail)) {
+      return this.storeConfig.getInternalPlatformEmail();
+    }
+    return userEmail;
+  }
+
+  /**
+   * Applies default substitution for email fields at read-time. Returns "Unknown" for null or empty
+   * email values to ensure protobuf compatibility.
+   */
+  private String getEmailOrDefault(String email) {
+    return (email == null || email.isEmpty())
+        ? ConfigDocument.DEFAULT_LATEST_UPDATED_USER_EMAIL
+        : email;
+  }
+
+  /**
+   * Applies default substitution for email fields at read-time with system email masking. Returns
+   * "System" for excluded emails (agents/system accounts), "Unknown" for null/empty values, or the
+   * actual email otherwise.
+   */
+  private String getEmailOrDefaultWithSystemMask(String email) {
+    if (email == null || email.isEmpty()) {
+      return ConfigDocument.DEFAULT_LATEST_UPDATED_USER_EMAIL;
+    }
+    if (isExcludedEmail(email)) {
+      return ConfigDocument.DEFAULT_SYSTEM_USER_EMAIL;
+    }
+    return email;
+  }
+}
@@ -0,0 +1,225 @@
+package org.hypertrace.config.service.store;
+
+import static com.google.protobuf.Value.KindCase.BOOL_VALUE;
+import static com.google.protobuf.Value.KindCase.NUMBER_VALUE;
+import static com.google.protobuf.Value.KindCase.STRING_VALUE;
+
+import com.google.protobuf.Value;
+import io.grpc.Status;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BiPredicate;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+import org.hypertrace.config.service.v1.Filter;
+import org.hypertrace.config.service.v1.LogicalFilter;
+import org.hypertrace.config.service.v1.RelationalFilter;
+import org.hypertrace.config.service.v1.SortBy;
+import org.hypertrace.config.service.v1.SortOrder;
+
+/**
+ * Evaluates filters and sorts on the configs of documents in memory, as the document store does.
+ * Json paths descend into arrays: a path matches the values at it in every element of an array on
+ * its way, and a numeric segment selects an element. A condition on a path holds if it holds for
+ * any of its values, or for any element of an array value, except for the negated operators, which
+ * hold if their positive counterpart holds for none.
+ */
+class ConfigDocumentFilterMatcher {
+
+  boolean matches(Filter filter, ConfigDocument document) {
+    switch (filter.getTypeCase()) {
+      case LOGICAL_FILTER:
+        return this.matchesLogicalFilter(filter.getLogicalFilter(), document);
+      case RELATIONAL_FILTER:
+        return this.matchesRelationalFilter(filter.getRelationalFilter(), document);
+      case TYPE_NOT_SET:
+      default:
+        throw Status.INVALID_ARGUMENT.withDescription("Filter type unset").asRuntimeException();
+    }
+  }
+
+  /**
+   * Orders documents by the values at the paths of the sorts, documents without a value first. As
+   * in the document store, values of different types are ordered by type: numbers, strings,
+   * objects, arrays and then booleans.
+   */
+  Comparator<ConfigDocument> comparator(List<SortBy> sortByList) {
+    return sortByList.stream()
+        .map(this::comparator)
+        .reduce(Comparator::thenComparing)
+        .orElse((first, second) -> 0);
+  }
+
+  private Comparator<ConfigDocument> comparator(SortBy sortBy) {
+    String configJsonPath = sortBy.getSelection().getConfigJsonPath();
+    Comparator<ConfigDocument> comparator =
+        Comparator.comparing(
+            (ConfigDocument document) ->
+                this.getValues(document, configJsonPath).stream().findFirst().orElse(null),
+            Comparator.nullsFirst(ConfigDocumentFilterMatcher::compareValues));
+    return sortBy.getSortOrder() == SortOrder.SORT_ORDER_DESC ? comparator.reversed() : comparator;
+  }
+
+  private boolean matchesLogicalFilter(LogicalFilter logicalFilter, ConfigDocument document) {
+    Predicate<Filter> operandMatches = operand -> this.matches(operand, document);
+    switch (logicalFilter.getOperator()) {
+      case LOGICAL_OPERATOR_AND:
+        return logicalFilter.getOperandsList().stream().allMatch(operandMatches);
+      case LOGICAL_OPERATOR_OR:
+        return logicalFilter.getOperandsList().stream().anyMatch(operandMatches);
+      case LOGICAL_OPERATOR_UNSPECIFIED:
+      default:
+        throw Status.INVALID_ARGUMENT
+            .withDescription("Unknown logical operator while building expression")
+            .asRuntimeException();
+    }
+  }
+
+  private boolean matchesRelationalFilter(
+      RelationalFilter relationalFilter, ConfigDocument document) {
+    List<Value> values = this.getValues(document, relationalFilter.getConfigJsonPath());
+    Value operand = relationalFilter.getValue();
+    switch (relationalFilter.getOperator()) {
+      case RELATIONAL_OPERATOR_EQ:
+        return anyMatch(values, operand, Value::equals);
+      case RELATIONAL_OPERATOR_NEQ:
+        return !anyMatch(values, operand, Value::equals);
+      case RELATIONAL_OPERATOR_IN:
+        return anyMatch(values, operand, ConfigDocumentFilterMatcher::isIn);
+      case RELATIONAL_OPERATOR_NOT_IN:
+        return !anyMatch(values, operand, ConfigDocumentFilterMatcher::isIn);
+      case RELATIONAL_OPERATOR_LT:
+        return anyMatch(values, operand, comparison(result -> result < 0));
+      case RELATIONAL_OPERATOR_GT:
+        return anyMatch(values, operand, comparison(result -> result > 0));
+      case RELATIONAL_OPERATOR_LTE:
+        return anyMatch(values, operand, comparison(result -> result <= 0));
+      case RELATIONAL_OPERATOR_GTE:
+        return anyMatch(values, operand, comparison(result -> result >= 0));
+      case RELATIONAL_OPERATOR_EXISTS:
+        return !values.isEmpty();
+      case RELATIONAL_OPERATOR_NOT_EXISTS:
+        return values.isEmpty();
+      case UNRECOGNIZED:
+      default:
+        throw Status.INVALID_ARGUMENT
+            .withDescription("Unknown relational operator while building expression")
+            .asRuntimeException();
+    }
+  }
+
+  private List<Value> getValues(ConfigDocument document, String configJsonPath) {
+    List<Value> values = new ArrayList<>();
+    collectValues(document.getConfig(), configJsonPath.split("\\."), 0, values);
+    return values;
+  }
+
+  private static void collectValues(Value value, String[] path, int index, List<Value> values) {
+    if (index == path.length) {
+      values.add(value);
+      return;
+    }
+    switch (value.getKindCase()) {
+      case STRUCT_VALUE:
+        Value field = value.getStructValue().getFieldsMap().get(path[index]);
+        if (field != null) {
+          collectValues(field, path, index + 1, values);
+        }
+        return;
+      case LIST_VALUE:
+        List<Value> elements = value.getListValue().getValuesList();
+        parseIndex(path[index])
+            .filter(element -> element < elements.size())
+            .ifPresent(element -> collectValues(elements.get(element), path, index + 1, values));
+        for (Value element : elements) {
+          if (element.hasStructValue()) {
+            collectValues(element, path, index, values);
+          }
+        }
+        return;
+      default:
+        // Scalars have no fields
+    }
+  }
+
+  private static Optional<Integer> parseIndex(String segment) {
+    if (segment.isEmpty() || !segment.chars().allMatch(Character::isDigit)) {
+      return Optional.empty();
+    }
+    try {
+      return Optional.of(Integer.parseInt(segment));
+    } catch (NumberFormatException exception) {
+      return Optional.empty();
+    }
+  }
+
+  /** Whether the predicate holds for any value, or any element of an array value. */
+  private static boolean anyMatch(
+      List<Value> values, Value operand, BiPredicate<Value, Value> predicate) {
+    for (Value value : values) {
+      if (predicate.test(value, operand)) {
+        return true;
+      }
+      if (value.hasListValue()
+          && value.getListValue().getValuesList().stream()
+              .anyMatch(element -> predicate.test(element, operand))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean isIn(Value value, Value operand) {
+    return operand.hasListValue()
+        ? operand.getListValue().getValuesList().contains(value)
+        : operand.equals(value);
+  }
+
+  /** Compares numbers, strings and booleans with bounds of their kind only. */
+  private static BiPredicate<Value, Value> comparison(IntPredicate comparisonResult) {
+    return (value, bound) ->
+        value.getKindCase() == bound.getKindCase()
+            && (value.getKindCase() == NUMBER_VALUE
+                || value.getKindCase() == STRING_VALUE
+                || value.getKindCase() == BOOL_VALUE)
+            && comparisonResult.test(compareValues(value, bound));
+  }
+
+  private static int compareValues(Value first, Value second) {
+    int kindOrder = Integer.compare(kindOrder(first), kindOrder(second));
+    if (kindOrder != 0) {
+      return kindOrder;
+    }
+    switch (first.getKindCase()) {
+      case NUMBER_VALUE:
+        return Double.compare(first.getNumberValue(), second.getNumberValue());
+      case STRING_VALUE:
+        return first.getStringValue().compareTo(second.getStringValue());
+      case BOOL_VALUE:
+        return Boolean.compare(first.getBoolValue(), second.getBoolValue());
+      default:
+        return 0;
+    }
+  }
+
+  private static int kindOrder(Value value) {
+    switch (value.getKindCase()) {
+      case NUMBER_VALUE:
+        return 1;
+      case STRING_VALUE:
+        return 2;
+      case STRUCT_VALUE:
+        return 3;
+      case LIST_VALUE:
+        return 4;
+      case BOOL_VALUE:
+        return 5;
+      case NULL_VALUE:
+      case KIND_NOT_SET:
+      default:
+        return 0;
+    }
+  }
+}
@@ -0,0 +1,11 @@
+package org.hypertrace.config.service.store;
+
+import lombok.Value;
+import org.hypertrace.config.service.ConfigResourceContext;
+
+/** Notice that a config was written at the given time, so cached reads of it are stale. */
+@Value
+public class ConfigInvalidation {
+  ConfigResourceContext configResourceContext;
+  long writeTimestamp;
+}
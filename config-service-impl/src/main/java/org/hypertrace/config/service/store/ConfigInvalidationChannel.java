@@ -0,0 +1,19 @@
+package org.hypertrace.config.service.store;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Carries the invalidations of the configs written by any node of the config service to the
+ * subscribers of every node, so that their caches drop the written configs.
+ */
+public interface ConfigInvalidationChannel extends AutoCloseable {
+  void publish(List<ConfigInvalidation> invalidations) throws IOException;
+
+  /** Delivers the invalidations published from now on, including those of this node. */
+  void subscribe(Consumer<List<ConfigInvalidation>> subscriber);
+
+  @Override
+  void close();
+}
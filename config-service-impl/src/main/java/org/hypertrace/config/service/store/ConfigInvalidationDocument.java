@@ -0,0 +1,100 @@
+package org.hypertrace.config.service.store;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonCreator.Mode;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import lombok.extern.slf4j.Slf4j;
+import org.hypertrace.config.service.ConfigResource;
+import org.hypertrace.config.service.ConfigResourceContext;
+import org.hypertrace.core.documentstore.Document;
+
+/**
+ * This class represents the data model for an invalidation as stored by {@link
+ * DocumentConfigInvalidationChannel}.
+ */
+@lombok.Value
+@Slf4j
+public class ConfigInvalidationDocument implements Document {
+
+  private static final ObjectMapper OBJECT_MAPPER =
+      new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+  public static final String ID_FIELD_NAME = "id";
+  public static final String TENANT_ID_FIELD_NAME = "tenantId";
+  public static final String RESOURCE_FIELD_NAME = "resourceName";
+  public static final String RESOURCE_NAMESPACE_FIELD_NAME = "resourceNamespace";
+  public static final String CONTEXT_FIELD_NAME = "context";
+  public static final String WRITE_TIMESTAMP_FIELD_NAME = "writeTimestamp";
+
+  @JsonProperty(value = ID_FIELD_NAME)
+  String id;
+
+  @JsonProperty(value = TENANT_ID_FIELD_NAME)
+  String tenantId;
+
+  @JsonProperty(value = RESOURCE_FIELD_NAME)
+  String resourceName;
+
+  @JsonProperty(value = RESOURCE_NAMESPACE_FIELD_NAME)
+  String resourceNamespace;
+
+  @JsonProperty(value = CONTEXT_FIELD_NAME)
+  String context;
+
+  @JsonProperty(value = WRITE_TIMESTAMP_FIELD_NAME)
+  long writeTimestamp;
+
+  @JsonCreator(mode = Mode.PROPERTIES)
+  public ConfigInvalidationDocument(
+      @JsonProperty(ID_FIELD_NAME) String id,
+      @JsonProperty(TENANT_ID_FIELD_NAME) String tenantId,
+      @JsonProperty(RESOURCE_FIELD_NAME) String resourceName,
+      @JsonProperty(RESOURCE_NAMESPACE_FIELD_NAME) String resourceNamespace,
+      @JsonProperty(CONTEXT_FIELD_NAME) String context,
+      @JsonProperty(WRITE_TIMESTAMP_FIELD_NAME) long writeTimestamp) {
+    this.id = id;
+    this.tenantId = tenantId;
+    this.resourceName = resourceName;
+    this.resourceNamespace = resourceNamespace;
+    this.context = context;
+    this.writeTimestamp = writeTimestamp;
+  }
+
+  public static ConfigInvalidationDocument fromInvalidation(
+      String id, ConfigInvalidation invalidation) {
+    ConfigResourceContext configResourceContext = invalidation.getConfigResourceContext();
+    ConfigResource configResource = configResourceContext.getConfigResource();
+    return new ConfigInvalidationDocument(
+        id,
+        configResource.getTenantId(),
+        configResource.getResourceName(),
+        configResource.getResourceNamespace(),
+        configResourceContext.getContext(),
+        invalidation.getWriteTimestamp());
+  }
+
+  public static ConfigInvalidationDocument fromJson(String json) throws IOException {
+    return OBJECT_MAPPER.readValue(json, ConfigInvalidationDocument.class);
+  }
+
+  public ConfigInvalidation toInvalidation() {
+    return new ConfigInvalidation(
+        new ConfigResourceContext(
+            new ConfigResource(resourceName, resourceNamespace, tenantId), context),
+        writeTimestamp);
+  }
+
+  @Override
+  public String toJson() {
+    try {
+      return OBJECT_MAPPER.writeValueAsString(this);
+    } catch (JsonProcessingException ex) {
+      log.error("Error in converting {} to json", this);
+      throw new RuntimeException("Error in converting ConfigInvalidationDocument to json", ex);
+    }
+  }
+}
@@ -6,6 +6,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import org.hypertrace.config.service.ConfigResource;
 import org.hypertrace.config.service.ConfigResourceContext;
 import org.hypertrace.config.service.v1.ContextSpecificConfig;
@@ -67,11 +68,30 @@ public interface ConfigStore {
    * @return
    * @throws IOException
    */
-  List<ContextSpecificConfig> getAllConfigs(
+  default List<ContextSpecificConfig> getAllConfigs(
       ConfigResource configResource, Filter filter, Pagination pagination, List<SortBy> sortByList)
+      throws IOException {
+    return getAllConfigs(configResource, filter, pagination, sortByList, List.of());
+  }
+
+  /**
+   * Same as {@link #getAllConfigs(ConfigResource, Filter, Pagination, List)}, restricted to the
+   * configs with the given contexts unless empty.
+   */
+  List<ContextSpecificConfig> getAllConfigs(
+      ConfigResource configResource,
+      Filter filter,
+      Pagination pagination,
+      List<SortBy> sortByList,
+      Collection<String> contexts)
       throws IOException;
 
-  long getMatchingConfigsCount(ConfigResource configResource, Filter filter);
+  default long getMatchingConfigsCount(ConfigResource configResource, Filter filter) {
+    return getMatchingConfigsCount(configResource, filter, List.of());
+  }
+
+  long getMatchingConfigsCount(
+      ConfigResource configResource, Filter filter, Collection<String> contexts);
 
   /**
    * Write each of the provided config value associated with the specified config resource to the
@@ -96,6 +116,16 @@ public interface ConfigStore {
    */
   void deleteConfigs(Collection<ConfigResourceContext> configResourceContexts) throws IOException;
 
+  /**
+   * Lists the contexts of the configs of the given tenants and of the configs updated since the
+   * given time, most recently updated first, up to the limit. Used to warm up on startup; stores
+   * which cannot list them return none.
+   */
+  default List<ConfigResourceContext> getWarmUpContexts(
+      Set<String> tenantIds, long updatedSince, int limit) throws IOException {
+    return List.of();
+  }
+
   /**
    * Health check for the backend store
    *
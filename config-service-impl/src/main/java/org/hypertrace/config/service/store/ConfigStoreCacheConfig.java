@@ -0,0 +1,59 @@
+package org.hypertrace.config.service.store;
+
+import com.typesafe.config.Config;
+import java.time.Duration;
+import lombok.Value;
+
+/** Settings of the cache of config reads, and of the invalidations which keep it coherent. */
+@Value
+public class ConfigStoreCacheConfig {
+  private static final String CACHE_CONFIG = "generic.config.service.cache";
+  private static final String ENABLED = "enabled";
+  private static final String EXPIRE_AFTER_WRITE = "expire.after.write";
+  private static final String MAXIMUM_SIZE = "maximum.size";
+  private static final String INVALIDATION_POLL_INTERVAL = "invalidation.poll.interval";
+  private static final String INVALIDATION_OVERLAP = "invalidation.overlap";
+  private static final String INVALIDATION_RETENTION = "invalidation.retention";
+
+  static final ConfigStoreCacheConfig DEFAULT =
+      new ConfigStoreCacheConfig(
+          false,
+          Duration.ofMinutes(1),
+          10_000,
+          Duration.ofSeconds(1),
+          Duration.ofSeconds(5),
+          Duration.ofHours(1));
+
+  boolean enabled;
+  /** Bounds the staleness of cached configs should invalidations be lost or delayed */
+  Duration expireAfterWrite;
+  long maximumSize;
+  /** Interval between the reads of the invalidations published by other nodes */
+  Duration invalidationPollInterval;
+  /** Margin by which invalidation reads reach back, covering the clock skew of the writers */
+  Duration invalidationOverlap;
+  /** Age after which published invalidations are deleted */
+  Duration invalidationRetention;
+
+  public static ConfigStoreCacheConfig from(Config appConfig) {
+    if (appConfig == null || !appConfig.hasPath(CACHE_CONFIG)) {
+      return DEFAULT;
+    }
+    Config config = appConfig.getConfig(CACHE_CONFIG);
+    return new ConfigStoreCacheConfig(
+        config.hasPath(ENABLED) ? config.getBoolean(ENABLED) : DEFAULT.enabled,
+        config.hasPath(EXPIRE_AFTER_WRITE)
+            ? config.getDuration(EXPIRE_AFTER_WRITE)
+            : DEFAULT.expireAfterWrite,
+        config.hasPath(MAXIMUM_SIZE) ? config.getLong(MAXIMUM_SIZE) : DEFAULT.maximumSize,
+        config.hasPath(INVALIDATION_POLL_INTERVAL)
+            ? config.getDuration(INVALIDATION_POLL_INTERVAL)
+            : DEFAULT.invalidationPollInterval,
+        config.hasPath(INVALIDATION_OVERLAP)
+            ? config.getDuration(INVALIDATION_OVERLAP)
+            : DEFAULT.invalidationOverlap,
+        config.hasPath(INVALIDATION_RETENTION)
+            ? config.getDuration(INVALIDATION_RETENTION)
+            : DEFAULT.invalidationRetention);
+  }
+}
@@ -0,0 +1,31 @@
+package org.hypertrace.config.service.store;
+
+import java.util.List;
+import java.util.Map;
+import lombok.Value;
+
+/**
+ * An ascending index on the fields of the documents of a collection, in order. A partial index only
+ * covers the documents whose fields equal the values of its partial filter.
+ */
+@Value
+public class ConfigStoreIndex {
+  String name;
+  List<String> fields;
+  Map<String, String> partialFilter;
+
+  public static ConfigStoreIndex of(String name, String... fields) {
+    return new ConfigStoreIndex(name, List.of(fields), Map.of());
+  }
+
+  public static ConfigStoreIndex partial(
+      String name, Map<String, String> partialFilter, String... fields) {
+    return new ConfigStoreIndex(name, List.of(fields), Map.copyOf(partialFilter));
+  }
+
+  /** Whether the index has the same fields in order and partial filter, whatever its name. */
+  boolean isEquivalentTo(ConfigStoreIndex index) {
+    return this.fields.equals(index.getFields())
+        && this.partialFilter.equals(index.getPartialFilter());
+  }
+}
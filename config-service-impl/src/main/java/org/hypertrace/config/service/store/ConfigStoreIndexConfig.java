@@ -0,0 +1,38 @@
+package org.hypertrace.config.service.store;
+
+import com.typesafe.config.Config;
+import java.util.List;
+import lombok.Value;
+
+/** Settings of the provisioning of the indexes required by the config store. */
+@Value
+public class ConfigStoreIndexConfig {
+  private static final String INDEXES_CONFIG = "generic.config.service.indexes";
+  private static final String ENABLED = "enabled";
+  private static final String CREATE_MISSING = "create.missing";
+  private static final String CONFIG_JSON_PATHS = "config.json.paths";
+
+  static final ConfigStoreIndexConfig DEFAULT = new ConfigStoreIndexConfig(true, false, List.of());
+
+  boolean enabled;
+  /**
+   * Missing indexes are created if set, and only reported otherwise, as building an index on a
+   * large collection loads the database
+   */
+  boolean createMissing;
+  /** Config json paths filtered or sorted on, indexed within the configs of a resource */
+  List<String> configJsonPaths;
+
+  public static ConfigStoreIndexConfig from(Config appConfig) {
+    if (appConfig == null || !appConfig.hasPath(INDEXES_CONFIG)) {
+      return DEFAULT;
+    }
+    Config config = appConfig.getConfig(INDEXES_CONFIG);
+    return new ConfigStoreIndexConfig(
+        config.hasPath(ENABLED) ? config.getBoolean(ENABLED) : DEFAULT.enabled,
+        config.hasPath(CREATE_MISSING) ? config.getBoolean(CREATE_MISSING) : DEFAULT.createMissing,
+        config.hasPath(CONFIG_JSON_PATHS)
+            ? config.getStringList(CONFIG_JSON_PATHS)
+            : DEFAULT.configJsonPaths);
+  }
+}
@@ -0,0 +1,13 @@
+package org.hypertrace.config.service.store;
+
+import java.util.List;
+
+/** Lists and creates the indexes of the collections of the config store. */
+public interface ConfigStoreIndexManager extends AutoCloseable {
+  List<ConfigStoreIndex> getIndexes(String collectionName);
+
+  void createIndex(String collectionName, ConfigStoreIndex index);
+
+  @Override
+  void close();
+}
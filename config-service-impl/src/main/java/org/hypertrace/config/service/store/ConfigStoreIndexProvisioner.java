@@ -0,0 +1,134 @@
+package org.hypertrace.config.service.store;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.hypertrace.core.serviceframework.metrics.PlatformMetricsRegistry;
+
+/**
+ * Verifies on startup that the indexes required by the config store exist, creating the missing
+ * ones if enabled. Missing indexes, and indexes the store does not require, which no query of the
+ * store uses, are logged and reported as metrics.
+ */
+@Slf4j
+public class ConfigStoreIndexProvisioner {
+  private static final String MISSING_INDEXES_METRIC = "hypertrace.config.store.indexes.missing";
+  private static final String UNUSED_INDEXES_METRIC = "hypertrace.config.store.indexes.unused";
+  // Created with every collection
+  private static final String ID_INDEX_FIELD = "_id";
+
+  private final Supplier<ConfigStoreIndexManager> indexManagerSupplier;
+  private final ConfigStoreIndexConfig config;
+  private final IndexedConfigPaths indexedConfigPaths;
+  private final boolean invalidationsEnabled;
+  private final boolean outboxEnabled;
+  private final AtomicLong missingIndexes;
+  private final AtomicLong unusedIndexes;
+
+  /**
+   * @param indexManagerSupplier opens the index manager, which is closed once provisioning is done
+   * @param invalidationsEnabled whether the cache invalidations collection is in use
+   * @param outboxEnabled whether the change event outbox collection is in use
+   */
+  public ConfigStoreIndexProvisioner(
+      Supplier<ConfigStoreIndexManager> indexManagerSupplier,
+      ConfigStoreIndexConfig config,
+      IndexedConfigPaths indexedConfigPaths,
+      boolean invalidationsEnabled,
+      boolean outboxEnabled) {
+    this.indexManagerSupplier = indexManagerSupplier;
+    this.config = config;
+    this.indexedConfigPaths = indexedConfigPaths;
+    this.invalidationsEnabled = invalidationsEnabled;
+    this.outboxEnabled = outboxEnabled;
+    this.missingIndexes =
+        PlatformMetricsRegistry.registerGauge(MISSING_INDEXES_METRIC, Map.of(), new AtomicLong());
+    this.unusedIndexes =
+        PlatformMetricsRegistry.registerGauge(UNUSED_INDEXES_METRIC, Map.of(), new AtomicLong());
+  }
+
+  /** Provisions the indexes of the collections of the config store, logging rather than failing. */
+  public void provision() {
+    try (ConfigStoreIndexManager indexManager = this.indexManagerSupplier.get()) {
+      long missing = 0;
+      long unused = 0;
+      for (Map.Entry<String, List<ConfigStoreIndex>> collectionIndexes :
+          this.getRequiredIndexes().entrySet()) {
+        CollectionResult result =
+            this.provisionCollection(
+                indexManager, collectionIndexes.getKey(), collectionIndexes.getValue());
+        missing += result.getMissing();
+        unused += result.getUnused();
+      }
+      this.missingIndexes.set(missing);
+      this.unusedIndexes.set(unused);
+    } catch (Exception e) {
+      log.error("Error provisioning the indexes of the config store", e);
+    }
+  }
+
+  private Map<String, List<ConfigStoreIndex>> getRequiredIndexes() {
+    Map<String, List<ConfigStoreIndex>> requiredIndexes = new LinkedHashMap<>();
+    requiredIndexes.put(
+        DocumentConfigStore.CONFIGURATIONS_COLLECTION,
+        DocumentConfigStore.getRequiredIndexes(
+            this.config.getConfigJsonPaths(), this.indexedConfigPaths));
+    if (this.invalidationsEnabled) {
+      requiredIndexes.put(
+          DocumentConfigInvalidationChannel.CONFIG_INVALIDATIONS_COLLECTION,
+          DocumentConfigInvalidationChannel.getRequiredIndexes());
+    }
+    if (this.outboxEnabled) {
+      requiredIndexes.put(
+          DocumentConfigChangeEventOutbox.CONFIG_CHANGE_EVENT_OUTBOX_COLLECTION,
+          DocumentConfigChangeEventOutbox.getRequiredIndexes());
+    }
+    return requiredIndexes;
+  }
+
+  private CollectionResult provisionCollection(
+      ConfigStoreIndexManager indexManager,
+      String collectionName,
+      List<ConfigStoreIndex> requiredIndexes) {
+    List<ConfigStoreIndex> existingIndexes = indexManager.getIndexes(collectionName);
+
+    List<ConfigStoreIndex> missing = new ArrayList<>();
+    for (ConfigStoreIndex requiredIndex : requiredIndexes) {
+      if (existingIndexes.stream().anyMatch(requiredIndex::isEquivalentTo)) {
+        continue;
+      }
+      if (!this.config.isCreateMissing()) {
+        log.warn("Index {} of collection {} is missing", requiredIndex, collectionName);
+        missing.add(requiredIndex);
+        continue;
+      }
+      try {
+        indexManager.createIndex(collectionName, requiredIndex);
+        log.info("Created index {} of collection {}", requiredIndex, collectionName);
+      } catch (Exception e) {
+        log.error("Error creating index {} of collection {}", requiredIndex, collectionName, e);
+        missing.add(requiredIndex);
+      }
+    }
+
+    List<ConfigStoreIndex> unused =
+        existingIndexes.stream()
+            .filter(index -> !index.getFields().equals(List.of(ID_INDEX_FIELD)))
+            .filter(index -> requiredIndexes.stream().noneMatch(index::isEquivalentTo))
+            .collect(Collectors.toUnmodifiableList());
+    unused.forEach(
+        index -> log.warn("Index {} of collection {} is not required", index, collectionName));
+    return new CollectionResult(missing.size(), unused.size());
+  }
+
+  @lombok.Value
+  private static class CollectionResult {
+    int missing;
+    int unused;
+  }
+}
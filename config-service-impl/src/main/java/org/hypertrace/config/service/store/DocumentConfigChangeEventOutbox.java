@@ -0,0 +1,177 @@
+package org.hypertrace.config.service.store;
+
+import static org.hypertrace.config.service.store.ConfigChangeEventOutboxDocument.CREATION_TIMESTAMP_FIELD_NAME;
+import static org.hypertrace.config.service.store.ConfigChangeEventOutboxDocument.DELIVERED_FIELD_NAME;
+import static org.hypertrace.config.service.store.ConfigChangeEventOutboxDocument.DELIVERED_TIMESTAMP_FIELD_NAME;
+import static org.hypertrace.config.service.store.ConfigChangeEventOutboxDocument.ID_FIELD_NAME;
+import static org.hypertrace.config.service.store.ConfigChangeEventOutboxLeaseDocument.EXPIRY_TIMESTAMP_FIELD_NAME;
+import static org.hypertrace.config.service.store.ConfigChangeEventOutboxLeaseDocument.OWNER_FIELD_NAME;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.hypertrace.config.service.change.event.api.ConfigChangeEventOutbox;
+import org.hypertrace.config.service.change.event.api.ConfigChangeEventOutboxEntry;
+import org.hypertrace.core.documentstore.CloseableIterator;
+import org.hypertrace.core.documentstore.Collection;
+import org.hypertrace.core.documentstore.Datastore;
+import org.hypertrace.core.documentstore.Document;
+import org.hypertrace.core.documentstore.Filter;
+import org.hypertrace.core.documentstore.Key;
+import org.hypertrace.core.documentstore.SingleValueKey;
+import org.hypertrace.core.documentstore.expression.impl.ConstantExpression;
+import org.hypertrace.core.documentstore.expression.impl.IdentifierExpression;
+import org.hypertrace.core.documentstore.expression.impl.RelationalExpression;
+import org.hypertrace.core.documentstore.expression.operators.RelationalOperator;
+import org.hypertrace.core.documentstore.expression.operators.SortOrder;
+import org.hypertrace.core.documentstore.model.options.QueryOptions;
+import org.hypertrace.core.documentstore.query.Pagination;
+import org.hypertrace.core.documentstore.query.Query;
+
+/**
+ * Change event outbox kept in a collection of the config document store, with the relay lease kept
+ * as a single document of another collection.
+ */
+public class DocumentConfigChangeEventOutbox implements ConfigChangeEventOutbox {
+  static final String CONFIG_CHANGE_EVENT_OUTBOX_COLLECTION = "config_change_event_outbox";
+  static final String CONFIG_CHANGE_EVENT_OUTBOX_LEASE_COLLECTION =
+      "config_change_event_outbox_lease";
+  private static final String RELAY_LEASE_ID = "relay";
+  private static final Key RELAY_LEASE_KEY = new SingleValueKey("", RELAY_LEASE_ID);
+
+  private final Collection collection;
+  private final Collection leaseCollection;
+
+  public DocumentConfigChangeEventOutbox(Datastore datastore) {
+    this.collection = datastore.getCollection(CONFIG_CHANGE_EVENT_OUTBOX_COLLECTION);
+    this.leaseCollection = datastore.getCollection(CONFIG_CHANGE_EVENT_OUTBOX_LEASE_COLLECTION);
+  }
+
+  @Override
+  public boolean tryAcquireRelayLease(
+      String relayId, long currentTimeMillis, long leaseDurationMillis) throws IOException {
+    ConfigChangeEventOutboxLeaseDocument lease =
+        new ConfigChangeEventOutboxLeaseDocument(
+            RELAY_LEASE_ID, relayId, currentTimeMillis + leaseDurationMillis);
+    // Only the holder renews the lease, anyone else takes it over once it has expired
+    Filter claimable =
+        Filter.eq(OWNER_FIELD_NAME, relayId)
+            .or(new Filter(Filter.Op.LT, EXPIRY_TIMESTAMP_FIELD_NAME, currentTimeMillis));
+    if (leaseCollection.update(RELAY_LEASE_KEY, lease, claimable).getUpdatedCount() > 0) {
+      return true;
+    }
+    if (getRelayLease().isPresent()) {
+      return false;
+    }
+    // No relay held the lease yet. Relays creating it together race, the last write wins
+    leaseCollection.upsert(RELAY_LEASE_KEY, lease);
+    return getRelayLease().map(created -> relayId.equals(created.getOwner())).orElse(false);
+  }
+
+  @Override
+  public void append(List<ConfigChangeEventOutboxEntry> entries) throws IOException {
+    if (entries.isEmpty()) {
+      return;
+    }
+    Map<Key, Document> documents = new LinkedHashMap<>();
+    for (ConfigChangeEventOutboxEntry entry : entries) {
+      documents.put(buildKey(entry), ConfigChangeEventOutboxDocument.fromEntry(entry));
+    }
+    upsert(documents);
+  }
+
+  @Override
+  public List<ConfigChangeEventOutboxEntry> fetchUndelivered(int limit) throws IOException {
+    Query query =
+        Query.builder()
+            .setFilter(
+                RelationalExpression.of(
+                    IdentifierExpression.of(DELIVERED_FIELD_NAME),
+                    RelationalOperator.EQ,
+                    ConstantExpression.of(false)))
+            .addSort(IdentifierExpression.of(CREATION_TIMESTAMP_FIELD_NAME), SortOrder.ASC)
+            // Entries appended together share their creation time
+            .addSort(IdentifierExpression.of(ID_FIELD_NAME), SortOrder.ASC)
+            .setPagination(Pagination.builder().offset(0).limit(limit).build())
+            .build();
+    List<ConfigChangeEventOutboxEntry> entries = new ArrayList<>();
+    try (CloseableIterator<Document> documentIterator =
+        collection.query(query, QueryOptions.DEFAULT_QUERY_OPTIONS)) {
+      while (documentIterator.hasNext()) {
+        entries.add(
+            ConfigChangeEventOutboxDocument.fromJson(documentIterator.next().toJson()).toEntry());
+      }
+    }
+    return entries;
+  }
+
+  @Override
+  public void markDelivered(List<ConfigChangeEventOutboxEntry> entries, long deliveredTimeMillis)
+      throws IOException {
+    if (entries.isEmpty()) {
+      return;
+    }
+    Map<Key, Document> documents = new LinkedHashMap<>();
+    for (ConfigChangeEventOutboxEntry entry : entries) {
+      documents.put(
+          buildKey(entry),
+          ConfigChangeEventOutboxDocument.fromEntry(entry).withDelivered(deliveredTimeMillis));
+    }
+    upsert(documents);
+  }
+
+  @Override
+  public void pruneDelivered(long deliveredBeforeMillis) throws IOException {
+    collection.delete(
+        Filter.eq(DELIVERED_FIELD_NAME, true)
+            .and(new Filter(Filter.Op.LT, DELIVERED_TIMESTAMP_FIELD_NAME, deliveredBeforeMillis)));
+  }
+
+  /**
+   * The indexes backing the queries of the outbox: undelivered entries in the order of the relay,
+   * and delivered entries by the time they are pruned after. The lease is read by id only.
+   */
+  static List<ConfigStoreIndex> getRequiredIndexes() {
+    return List.of(
+        ConfigStoreIndex.of(
+            "outbox_undelivered",
+            DELIVERED_FIELD_NAME,
+            CREATION_TIMESTAMP_FIELD_NAME,
+            ID_FIELD_NAME),
+        ConfigStoreIndex.of(
+            "outbox_delivered_timestamp", DELIVERED_FIELD_NAME, DELIVERED_TIMESTAMP_FIELD_NAME));
+  }
+
+  private void upsert(Map<Key, Document> documents) throws IOException {
+    if (!collection.bulkUpsert(documents)) {
+      throw new IOException("Failed to write config change events to the outbox");
+    }
+  }
+
+  private Optional<ConfigChangeEventOutboxLeaseDocument> getRelayLease() throws IOException {
+    Query query =
+        Query.builder()
+            .setFilter(
+                RelationalExpression.of(
+                    IdentifierExpression.of(ConfigChangeEventOutboxLeaseDocument.ID_FIELD_NAME),
+                    RelationalOperator.EQ,
+                    ConstantExpression.of(RELAY_LEASE_ID)))
+            .setPagination(Pagination.builder().offset(0).limit(1).build())
+            .build();
+    try (CloseableIterator<Document> documentIterator =
+        leaseCollection.query(query, QueryOptions.DEFAULT_QUERY_OPTIONS)) {
+      if (!documentIterator.hasNext()) {
+        return Optional.empty();
+      }
+      return Optional.of(
+          ConfigChangeEventOutboxLeaseDocument.fromJson(documentIterator.next().toJson()));
+    }
+  }
+
+  private Key buildKey(ConfigChangeEventOutboxEntry entry) {
+    return new SingleValueKey(entry.getKey().getTenantId(), entry.getId());
+  }
+}
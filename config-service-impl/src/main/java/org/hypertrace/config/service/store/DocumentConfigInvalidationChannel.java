@@ -0,0 +1,167 @@
+package org.hypertrace.config.service.store;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.grpc.Status;
+import java.io.IOException;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.hypertrace.core.documentstore.CloseableIterator;
+import org.hypertrace.core.documentstore.Collection;
+import org.hypertrace.core.documentstore.Datastore;
+import org.hypertrace.core.documentstore.Document;
+import org.hypertrace.core.documentstore.Filter;
+import org.hypertrace.core.documentstore.Key;
+import org.hypertrace.core.documentstore.SingleValueKey;
+import org.hypertrace.core.documentstore.expression.impl.ConstantExpression;
+import org.hypertrace.core.documentstore.expression.impl.IdentifierExpression;
+import org.hypertrace.core.documentstore.expression.impl.RelationalExpression;
+import org.hypertrace.core.documentstore.expression.operators.RelationalOperator;
+import org.hypertrace.core.documentstore.expression.operators.SortOrder;
+import org.hypertrace.core.documentstore.model.options.QueryOptions;
+import org.hypertrace.core.documentstore.query.Query;
+
+/**
+ * Invalidation channel kept in a collection of the config document store. Every node appends the
+ * invalidations of its writes, and polls those written since its previous poll, reaching back by an
+ * overlap to cover clock skew; invalidations seen within the overlap are not delivered twice. Old
+ * invalidations are deleted periodically by every node.
+ */
+@Slf4j
+public class DocumentConfigInvalidationChannel implements ConfigInvalidationChannel {
+  static final String CONFIG_INVALIDATIONS_COLLECTION = "config_invalidations";
+  private static final String WRITE_TIMESTAMP_FIELD_NAME =
+      ConfigInvalidationDocument.WRITE_TIMESTAMP_FIELD_NAME;
+  private static final long PRUNE_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+  private final Collection collection;
+  private final ConfigStoreCacheConfig config;
+  private final Clock clock;
+  private final List<Consumer<List<ConfigInvalidation>>> subscribers =
+      new CopyOnWriteArrayList<>();
+  private final AtomicBoolean polling = new AtomicBoolean();
+  private final ScheduledExecutorService executor =
+      Executors.newSingleThreadScheduledExecutor(
+          new ThreadFactoryBuilder()
+              .setNameFormat("config-invalidation-poll-%d")
+              .setDaemon(true)
+              .build());
+  // Write timestamps of the invalidations delivered within the overlap, by id
+  private final Map<String, Long> deliveredIds = new HashMap<>();
+  private volatile long pollTimestamp;
+  private long pruneTimestamp;
+
+  public DocumentConfigInvalidationChannel(
+      Datastore datastore, ConfigStoreCacheConfig config, Clock clock) {
+    this.collection = datastore.getCollection(CONFIG_INVALIDATIONS_COLLECTION);
+    this.config = config;
+    this.clock = clock;
+  }
+
+  @Override
+  public void publish(List<ConfigInvalidation> invalidations) throws IOException {
+    if (invalidations.isEmpty()) {
+      return;
+    }
+    Map<Key, Document> documents = new LinkedHashMap<>();
+    for (ConfigInvalidation invalidation : invalidations) {
+      String id = UUID.randomUUID().toString();
+      documents.put(
+          new SingleValueKey(
+              invalidation.getConfigResourceContext().getConfigResource().getTenantId(), id),
+          ConfigInvalidationDocument.fromInvalidation(id, invalidation));
+    }
+    if (!this.collection.bulkUpsert(documents)) {
+      throw Status.INTERNAL
+          .withDescription("Failed to write config invalidations")
+          .asRuntimeException();
+    }
+  }
+
+  /** Starts polling with the first subscriber, from the time of subscription. */
+  @Override
+  public void subscribe(Consumer<List<ConfigInvalidation>> subscriber) {
+    this.subscribers.add(subscriber);
+    if (this.polling.compareAndSet(false, true)) {
+      this.pollTimestamp = this.clock.millis();
+      this.pruneTimestamp = this.pollTimestamp;
+      long pollIntervalMillis = this.config.getInvalidationPollInterval().toMillis();
+      this.executor.scheduleWithFixedDelay(
+          this::pollAndPrune, pollIntervalMillis, pollIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  @Override
+  public void close() {
+    this.executor.shutdown();
+  }
+
+  /** The index backing polls and pruning, both of which filter on the write time. */
+  static List<ConfigStoreIndex> getRequiredIndexes() {
+    return List.of(
+        ConfigStoreIndex.of("config_invalidation_write_timestamp", WRITE_TIMESTAMP_FIELD_NAME));
+  }
+
+  @VisibleForTesting
+  void pollAndPrune() {
+    try {
+      this.poll();
+      if (this.clock.millis() - this.pruneTimestamp >= PRUNE_INTERVAL_MILLIS) {
+        this.pruneTimestamp = this.clock.millis();
+        this.collection.delete(
+            new Filter(
+                Filter.Op.LT,
+                WRITE_TIMESTAMP_FIELD_NAME,
+                this.pruneTimestamp - this.config.getInvalidationRetention().toMillis()));
+      }
+    } catch (Exception e) {
+      log.error("Error polling config invalidations", e);
+    }
+  }
+
+  @VisibleForTesting
+  void poll() throws IOException {
+    long currentPollTimestamp = this.clock.millis();
+    long since = this.pollTimestamp - this.config.getInvalidationOverlap().toMillis();
+    Query query =
+        Query.builder()
+            .setFilter(
+                RelationalExpression.of(
+                    IdentifierExpression.of(WRITE_TIMESTAMP_FIELD_NAME),
+                    RelationalOperator.GTE,
+                    ConstantExpression.of(since)))
+            .addSort(IdentifierExpression.of(WRITE_TIMESTAMP_FIELD_NAME), SortOrder.ASC)
+            .build();
+    List<ConfigInvalidation> invalidations = new ArrayList<>();
+    try (CloseableIterator<Document> documentIterator =
+        this.collection.query(query, QueryOptions.DEFAULT_QUERY_OPTIONS)) {
+      while (documentIterator.hasNext()) {
+        ConfigInvalidationDocument document =
+            ConfigInvalidationDocument.fromJson(documentIterator.next().toJson());
+        if (this.deliveredIds.putIfAbsent(document.getId(), document.getWriteTimestamp())
+            == null) {
+          invalidations.add(document.toInvalidation());
+        }
+      }
+    }
+    if (!invalidations.isEmpty()) {
+      this.subscribers.forEach(subscriber -> subscriber.accept(invalidations));
+    }
+    this.pollTimestamp = currentPollTimestamp;
+    // Invalidations older than the next poll reaches back are not read again
+    long nextSince = currentPollTimestamp - this.config.getInvalidationOverlap().toMillis();
+    this.deliveredIds.values().removeIf(writeTimestamp -> writeTimestamp < nextSince);
+  }
+}
@@ -6,9 +6,9 @@ import static org.hypertrace.config.service.store.ConfigDocument.CREATION_TIMEST
 import static org.hypertrace.config.service.store.ConfigDocument.RESOURCE_FIELD_NAME;
 import static org.hypertrace.config.service.store.ConfigDocument.RESOURCE_NAMESPACE_FIELD_NAME;
 import static org.hypertrace.config.service.store.ConfigDocument.TENANT_ID_FIELD_NAME;
+import static org.hypertrace.config.service.store.ConfigDocument.UPDATE_TIMESTAMP_FIELD_NAME;
 import static org.hypertrace.core.documentstore.Filter.Op.OR;
 
-import com.google.common.base.Strings;
 import com.google.common.collect.Maps;
 import com.google.protobuf.Value;
 import io.grpc.Status;
@@ -18,11 +18,13 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.stream.Collectors;
 import lombok.NonNull;
 import lombok.SneakyThrows;
@@ -30,6 +32,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.hypertrace.config.service.ConfigResource;
 import org.hypertrace.config.service.ConfigResourceContext;
 import org.hypertrace.config.service.ConfigServiceUtils;
+import org.hypertrace.config.service.store.IndexedConfigPaths.IndexedPath;
+import org.hypertrace.config.service.store.IndexedConfigPaths.ResourceType;
 import org.hypertrace.config.service.v1.ContextSpecificConfig;
 import org.hypertrace.config.service.v1.SortBy;
 import org.hypertrace.config.service.v1.UpsertAllConfigsResponse.UpsertedConfig;
@@ -57,21 +61,46 @@ import org.hypertrace.core.documentstore.query.Query;
 public class DocumentConfigStore implements ConfigStore {
   static final String CONFIGURATIONS_COLLECTION = "configurations";
 
-  private final Clock clock;
   private final Datastore datastore;
   private final Collection collection;
   private final FilterBuilder filterBuilder;
   private final FilterExpressionBuilder filterExpressionBuilder;
-  private final DocumentConfigStoreConfig storeConfig;
+  private final ConfigDocumentConverter documentConverter;
+  private final Optional<ConfigChangeEventOutboxRecorder> outboxRecorder;
+  private final IndexedConfigPathGuard indexedConfigPathGuard;
 
   public DocumentConfigStore(
       Clock clock, Datastore datastore, DocumentConfigStoreConfig storeConfig) {
-    this.clock = clock;
+    this(clock, datastore, storeConfig, null);
+  }
+
+  /**
+   * @param outboxRecorder if present, records the change events of every write alongside it,
+   *     failing the write if they can't be recorded
+   */
+  public DocumentConfigStore(
+      Clock clock,
+      Datastore datastore,
+      DocumentConfigStoreConfig storeConfig,
+      ConfigChangeEventOutboxRecorder outboxRecorder) {
+    this(clock, datastore, storeConfig, outboxRecorder, IndexedConfigPaths.NONE);
+  }
+
+  /** @param indexedConfigPaths the paths which queries may filter and sort on */
+  public DocumentConfigStore(
+      Clock clock,
+      Datastore datastore,
+      DocumentConfigStoreConfig storeConfig,
+      ConfigChangeEventOutboxRecorder outboxRecorder,
+      IndexedConfigPaths indexedConfigPaths) {
     this.datastore = datastore;
     this.collection = this.datastore.getCollection(CONFIGURATIONS_COLLECTION);
     this.filterBuilder = new FilterBuilder();
     this.filterExpressionBuilder = new FilterExpressionBuilder();
-    this.storeConfig = storeConfig;
+    this.documentConverter = new ConfigDocumentConverter(clock, storeConfig);
+    this.outboxRecorder = Optional.ofNullable(outboxRecorder);
+    this.indexedConfigPathGuard =
+        new IndexedConfigPathGuard(indexedConfigPaths, this::countResourceConfigs);
   }
 
   @Override
@@ -84,7 +113,7 @@ public class DocumentConfigStore implements ConfigStore {
       throws IOException {
     Optional<ConfigDocument> previousConfigDoc = getConfigDocument(configResourceContext);
     Optional<ContextSpecificConfig> optionalPreviousConfig =
-        previousConfigDoc.flatMap(this::convertToContextSpecificConfig);
+        previousConfigDoc.flatMap(this.documentConverter::convertToContextSpecificConfig);
 
     // reject create config with condition
     if (optionalPreviousConfig.isEmpty() && request.hasUpsertCondition()) {
@@ -95,7 +124,7 @@ public class DocumentConfigStore implements ConfigStore {
 
     Key latestDocKey = new ConfigDocumentKey(configResourceContext);
     ConfigDocument latestConfigDocument =
-        buildConfigDocument(
+        this.documentConverter.buildConfigDocument(
             configResourceContext,
             request.getConfig(),
             previousConfigDoc,
@@ -115,9 +144,16 @@ public class DocumentConfigStore implements ConfigStore {
       collection.upsert(latestDocKey, latestConfigDocument);
     }
 
-    return optionalPreviousConfig
-        .map(previousConfig -> this.buildUpsertResult(latestConfigDocument, previousConfig))
-        .orElseGet(() -> this.buildUpsertResult(latestConfigDocument));
+    UpsertedConfig upsertedConfig =
+        optionalPreviousConfig
+            .map(
+                previousConfig ->
+                    this.documentConverter.buildUpsertResult(latestConfigDocument, previousConfig))
+            .orElseGet(() -> this.documentConverter.buildUpsertResult(latestConfigDocument));
+    if (outboxRecorder.isPresent()) {
+      outboxRecorder.get().recordUpserts(Map.of(configResourceContext, upsertedConfig));
+    }
+    return upsertedConfig;
   }
 
   private List<UpsertedConfig> writeConfigs(
@@ -136,7 +172,7 @@ public class DocumentConfigStore implements ConfigStore {
           }
           documentsToBeUpserted.put(
               new ConfigDocumentKey(key),
-              buildConfigDocument(
+              this.documentConverter.buildConfigDocument(
                   key,
                   resourceContextValueMap.get(key),
                   value,
@@ -147,51 +183,39 @@ public class DocumentConfigStore implements ConfigStore {
 
     boolean successfulBulkUpsertDocuments = collection.bulkUpsert(documentsToBeUpserted);
     if (successfulBulkUpsertDocuments) {
-      return zip(
-              previousConfigDocs.values().stream(),
-              documentsToBeUpserted.values().stream(),
-              (previousConfigDoc, documentToBeUpserted) ->
-                  previousConfigDoc
-                      .flatMap(this::convertToContextSpecificConfig)
-                      .map(
-                          previousConfig ->
-                              this.buildUpsertResult(
-                                  (ConfigDocument) documentToBeUpserted, previousConfig))
-                      .orElseGet(
-                          () -> this.buildUpsertResult((ConfigDocument) documentToBeUpserted)))
-          .collect(Collectors.toUnmodifiableList());
+      List<UpsertedConfig> upsertedConfigs =
+          zip(
+                  previousConfigDocs.values().stream(),
+                  documentsToBeUpserted.values().stream(),
+                  (previousConfigDoc, documentToBeUpserted) ->
+                      previousConfigDoc
+                          .flatMap(this.documentConverter::convertToContextSpecificConfig)
+                          .map(
+                              previousConfig ->
+                                  this.documentConverter.buildUpsertResult(
+                                      (ConfigDocument) documentToBeUpserted, previousConfig))
+                          .orElseGet(
+                              () ->
+                                  this.documentConverter.buildUpsertResult(
+                                      (ConfigDocument) documentToBeUpserted)))
+              .collect(Collectors.toUnmodifiableList());
+      if (outboxRecorder.isPresent()) {
+        outboxRecorder
+            .get()
+            .recordUpserts(
+                zip(previousConfigDocs.keySet().stream(), upsertedConfigs.stream(), Map::entry)
+                    .collect(
+                        Collectors.toMap(
+                            Map.Entry::getKey,
+                            Map.Entry::getValue,
+                            (first, second) -> second,
+                            LinkedHashMap::new)));
+      }
+      return upsertedConfigs;
     }
     return Collections.emptyList();
   }
 
-  /**
-   * Builds a ConfigDocument for storage.
-   *
-   * @param userId Current user ID making this request (not historical audit data)
-   * @param userEmail Current user email making this request (not historical audit data)
-   *     <p>Note: These parameters represent the CURRENT caller, while the ConfigDocument contains
-   *     HISTORICAL fields (lastUpdatedUserId, lastUpdatedUserEmail) for audit tracking.
-   */
-  private ConfigDocument buildConfigDocument(
-      ConfigResourceContext configResourceContext,
-      Value latestConfig,
-      Optional<ConfigDocument> previousConfigDoc,
-      String userId,
-      String userEmail,
-      boolean suppressUserTracking) {
-
-    return isPreviousConfigPresent(previousConfigDoc)
-        ? buildConfigDocumentForUpdate(
-            configResourceContext,
-            latestConfig,
-            previousConfigDoc.get(),
-            userId,
-            userEmail,
-            suppressUserTracking)
-        : buildConfigDocumentForCreate(
-            configResourceContext, latestConfig, userId, userEmail, suppressUserTracking);
-  }
-
   @Override
   public List<UpsertedConfig> writeAllConfigs(
       Map<ConfigResourceContext, Value> resourceContextValueMap,
@@ -203,17 +227,40 @@ public class DocumentConfigStore implements ConfigStore {
   }
 
   @Override
-  public void deleteConfigs(java.util.Collection<ConfigResourceContext> configResourceContexts) {
+  public void deleteConfigs(java.util.Collection<ConfigResourceContext> configResourceContexts)
+      throws IOException {
     if (configResourceContexts.isEmpty()) {
       return;
     }
+    Map<ConfigResourceContext, Value> deletedConfigs =
+        getConfigsRecordedInOutbox(configResourceContexts);
+    // Recorded first, as a delete whose events are lost can't be retried to record them again
+    if (!deletedConfigs.isEmpty()) {
+      outboxRecorder.get().recordDeletes(deletedConfigs);
+    }
     collection.delete(buildConfigResourceContextsFilter(configResourceContexts));
   }
 
+  private Map<ConfigResourceContext, Value> getConfigsRecordedInOutbox(
+      java.util.Collection<ConfigResourceContext> configResourceContexts) throws IOException {
+    if (outboxRecorder.isEmpty()) {
+      return Collections.emptyMap();
+    }
+    List<ConfigResourceContext> recordedContexts =
+        configResourceContexts.stream()
+            .filter(outboxRecorder.get()::isRecorded)
+            .collect(Collectors.toUnmodifiableList());
+    Map<ConfigResourceContext, Value> configs = new LinkedHashMap<>();
+    getContextConfigs(recordedContexts)
+        .forEach((context, config) -> configs.put(context, config.getConfig()));
+    return configs;
+  }
+
   @Override
   public Optional<ContextSpecificConfig> getConfig(ConfigResourceContext configResourceContext)
       throws IOException {
-    return getConfigDocument(configResourceContext).flatMap(this::convertToContextSpecificConfig);
+    return getConfigDocument(configResourceContext)
+        .flatMap(this.documentConverter::convertToContextSpecificConfig);
   }
 
   @Override
@@ -222,7 +269,8 @@ public class DocumentConfigStore implements ConfigStore {
     return Maps.filterValues(
         Maps.transformValues(
             getLatestVersionConfigDocs(configResourceContexts),
-            doc -> doc.flatMap(this::convertToContextSpecificConfig).orElse(null)),
+            doc ->
+                doc.flatMap(this.documentConverter::convertToContextSpecificConfig).orElse(null)),
         Objects::nonNull);
   }
 
@@ -231,10 +279,12 @@ public class DocumentConfigStore implements ConfigStore {
       ConfigResource configResource,
       org.hypertrace.config.service.v1.Filter filter,
       org.hypertrace.config.service.v1.Pagination pagination,
-      List<SortBy> sortByList)
+      List<SortBy> sortByList,
+      java.util.Collection<String> contexts)
       throws IOException {
 
-    Query query = buildQuery(configResource, filter, pagination, sortByList);
+    this.indexedConfigPathGuard.check(configResource, filter, sortByList);
+    Query query = buildQuery(configResource, filter, contexts, pagination, sortByList);
     List<ContextSpecificConfig> configList = new ArrayList<>();
     Set<String> seenContexts = new HashSet<>();
 
@@ -249,23 +299,33 @@ public class DocumentConfigStore implements ConfigStore {
 
   @Override
   public long getMatchingConfigsCount(
-      ConfigResource configResource, org.hypertrace.config.service.v1.Filter filter) {
+      ConfigResource configResource,
+      org.hypertrace.config.service.v1.Filter filter,
+      java.util.Collection<String> contexts) {
+    this.indexedConfigPathGuard.check(configResource, filter, Collections.emptyList());
     Query query =
         buildQuery(
             configResource,
             filter,
+            contexts,
             org.hypertrace.config.service.v1.Pagination.getDefaultInstance(),
             Collections.emptyList());
     return collection.count(query);
   }
 
+  private long countResourceConfigs(ConfigResource configResource) {
+    return collection.count(
+        Query.builder().setFilter(getConfigResourceFilterTypeExpression(configResource)).build());
+  }
+
   private Query buildQuery(
       ConfigResource configResource,
       @NonNull org.hypertrace.config.service.v1.Filter filter,
+      java.util.Collection<String> contexts,
       @NonNull org.hypertrace.config.service.v1.Pagination pagination,
       List<SortBy> sortByList) {
 
-    FilterTypeExpression combinedFilter = getCombinedFilter(configResource, filter);
+    FilterTypeExpression combinedFilter = getCombinedFilter(configResource, filter, contexts);
     Query.QueryBuilder queryBuilder = Query.builder().setFilter(combinedFilter);
     if (!pagination.equals(org.hypertrace.config.service.v1.Pagination.getDefaultInstance())) {
       queryBuilder.setPagination(
@@ -287,73 +347,22 @@ public class DocumentConfigStore implements ConfigStore {
 
   private FilterTypeExpression getCombinedFilter(
       ConfigResource configResource,
-      @NonNull org.hypertrace.config.service.v1.Filter additionalFilter) {
-
-    FilterTypeExpression resourceFilter = getConfigResourceFilterTypeExpression(configResource);
-    if (additionalFilter.equals(org.hypertrace.config.service.v1.Filter.getDefaultInstance())) {
-      return resourceFilter;
+      @NonNull org.hypertrace.config.service.v1.Filter additionalFilter,
+      java.util.Collection<String> contexts) {
+
+    List<FilterTypeExpression> filters = new ArrayList<>();
+    filters.add(getConfigResourceFilterTypeExpression(configResource));
+    if (!contexts.isEmpty()) {
+      filters.add(
+          RelationalExpression.of(
+              IdentifierExpression.of(CONTEXT_FIELD_NAME),
+              RelationalOperator.IN,
+              ConstantExpression.ofStrings(List.copyOf(contexts))));
     }
-
-    FilterTypeExpression docStoreFilter =
-        filterExpressionBuilder.buildFilterTypeExpression(additionalFilter);
-    return LogicalExpression.and(resourceFilter, docStoreFilter);
-  }
-
-  private ConfigDocument buildConfigDocumentForUpdate(
-      ConfigResourceContext configResourceContext,
-      Value latestConfig,
-      ConfigDocument previousConfig,
-      String userId,
-      String userEmail,
-      boolean suppressUserTracking) {
-    long updateTimestamp = clock.millis();
-    String resolvedEmail = suppressUserTracking ? userEmail : resolveUserEmail(userEmail);
-    boolean excludedEmail = suppressUserTracking || isExcludedEmail(resolvedEmail);
-    return new ConfigDocument(
-        configResourceContext.getConfigResource().getResourceName(),
-        configResourceContext.getConfigResource().getResourceNamespace(),
-        configResourceContext.getConfigResource().getTenantId(),
-        configResourceContext.getContext(),
-        previousConfig.getConfigVersion() + 1,
-        userId,
-        userEmail,
-        previousConfig.getCreatedByEmail(),
-        excludedEmail ? previousConfig.getLastUserUpdateEmail() : resolvedEmail,
-        excludedEmail ? previousConfig.getLastUserUpdateTimestamp() : updateTimestamp,
-        latestConfig,
-        previousConfig.getCreationTimestamp(),
-        updateTimestamp);
-  }
-
-  private boolean isPreviousConfigPresent(Optional<ConfigDocument> previousConfigDoc) {
-    return previousConfigDoc
-        .filter(configDocument -> !ConfigServiceUtils.isNull(configDocument.getConfig()))
-        .isPresent();
-  }
-
-  private ConfigDocument buildConfigDocumentForCreate(
-      ConfigResourceContext configResourceContext,
-      Value latestConfig,
-      String userId,
-      String userEmail,
-      boolean suppressUserTracking) {
-    long updateTimestamp = clock.millis();
-    String resolvedEmail = suppressUserTracking ? userEmail : resolveUserEmail(userEmail);
-    boolean excludedEmail = suppressUserTracking || isExcludedEmail(resolvedEmail);
-    return new ConfigDocument(
-        configResourceContext.getConfigResource().getResourceName(),
-        configResourceContext.getConfigResource().getResourceNamespace(),
-        configResourceContext.getConfigResource().getTenantId(),
-        configResourceContext.getContext(),
-        1L,
-        userId,
-        userEmail,
-        resolvedEmail, // created by email
-        excludedEmail ? null : resolvedEmail,
-        excludedEmail ? 0L : updateTimestamp,
-        latestConfig,
-        updateTimestamp,
-        updateTimestamp);
+    if (!additionalFilter.equals(org.hypertrace.config.service.v1.Filter.getDefaultInstance())) {
+      filters.add(filterExpressionBuilder.buildFilterTypeExpression(additionalFilter));
+    }
+    return filters.size() == 1 ? filters.get(0) : LogicalExpression.and(filters);
   }
 
   @SneakyThrows
@@ -364,7 +373,9 @@ public class DocumentConfigStore implements ConfigStore {
     String context = configDocument.getContext();
 
     if (seenContexts.add(context)) {
-      convertToContextSpecificConfig(configDocument).ifPresent(configList::add);
+      this.documentConverter
+          .convertToContextSpecificConfig(configDocument)
+          .ifPresent(configList::add);
     }
   }
 
@@ -378,6 +389,102 @@ public class DocumentConfigStore implements ConfigStore {
     }
   }
 
+  @Override
+  public List<ConfigResourceContext> getWarmUpContexts(
+      Set<String> tenantIds, long updatedSince, int limit) throws IOException {
+    FilterTypeExpression filter =
+        RelationalExpression.of(
+            IdentifierExpression.of(UPDATE_TIMESTAMP_FIELD_NAME),
+            RelationalOperator.GTE,
+            ConstantExpression.of(updatedSince));
+    if (!tenantIds.isEmpty()) {
+      filter =
+          LogicalExpression.or(
+              List.of(
+                  RelationalExpression.of(
+                      IdentifierExpression.of(TENANT_ID_FIELD_NAME),
+                      RelationalOperator.IN,
+                      ConstantExpression.ofStrings(List.copyOf(tenantIds))),
+                  filter));
+    }
+    Query query =
+        Query.builder()
+            .setFilter(filter)
+            .addSort(IdentifierExpression.of(UPDATE_TIMESTAMP_FIELD_NAME), SortOrder.DESC)
+            .setPagination(Pagination.builder().offset(0).limit(limit).build())
+            .build();
+    Set<ConfigResourceContext> configResourceContexts = new LinkedHashSet<>();
+    try (CloseableIterator<Document> documentIterator =
+        collection.query(query, QueryOptions.DEFAULT_QUERY_OPTIONS)) {
+      while (documentIterator.hasNext()) {
+        configResourceContexts.add(
+            this.documentConverter.buildConfigResourceContext(
+                ConfigDocument.fromJson(documentIterator.next().toJson())));
+      }
+    }
+    return List.copyOf(configResourceContexts);
+  }
+
+  /**
+   * The indexes backing the queries of the store: the key of configs, on which reads by context
+   * filter, the creation time within a resource, by which listings are sorted by default, the
+   * update time, from which replicas refresh, and each config json path filtered or sorted on.
+   * The indexes of the paths declared for a resource only cover the configs of the resource, so
+   * they stay small and are not maintained by the writes of other resources.
+   */
+  static List<ConfigStoreIndex> getRequiredIndexes(
+      java.util.Collection<String> configJsonPaths, IndexedConfigPaths indexedConfigPaths) {
+    List<ConfigStoreIndex> indexes = new ArrayList<>();
+    indexes.add(
+        ConfigStoreIndex.of(
+            "config_key",
+            TENANT_ID_FIELD_NAME,
+            RESOURCE_NAMESPACE_FIELD_NAME,
+            RESOURCE_FIELD_NAME,
+            CONTEXT_FIELD_NAME));
+    indexes.add(
+        ConfigStoreIndex.of(
+            "config_creation_timestamp",
+            TENANT_ID_FIELD_NAME,
+            RESOURCE_NAMESPACE_FIELD_NAME,
+            RESOURCE_FIELD_NAME,
+            CREATION_TIMESTAMP_FIELD_NAME));
+    indexes.add(ConfigStoreIndex.of("config_update_timestamp", UPDATE_TIMESTAMP_FIELD_NAME));
+    for (String configJsonPath : new TreeSet<>(configJsonPaths)) {
+      indexes.add(
+          ConfigStoreIndex.of(
+              "config_path_" + configJsonPath,
+              TENANT_ID_FIELD_NAME,
+              RESOURCE_NAMESPACE_FIELD_NAME,
+              RESOURCE_FIELD_NAME,
+              ConfigServiceUtils.buildConfigFieldPath(configJsonPath)));
+    }
+    for (Map.Entry<ResourceType, Map<String, IndexedPath>> resourcePaths :
+        indexedConfigPaths.getPaths().entrySet()) {
+      ResourceType resourceType = resourcePaths.getKey();
+      Map<String, String> partialFilter =
+          Map.of(
+              RESOURCE_NAMESPACE_FIELD_NAME,
+              resourceType.getResourceNamespace(),
+              RESOURCE_FIELD_NAME,
+              resourceType.getResourceName());
+      for (String configJsonPath : new TreeSet<>(resourcePaths.getValue().keySet())) {
+        indexes.add(
+            ConfigStoreIndex.partial(
+                String.join(
+                    "_",
+                    "config_path",
+                    resourceType.getResourceNamespace(),
+                    resourceType.getResourceName(),
+                    configJsonPath),
+                partialFilter,
+                TENANT_ID_FIELD_NAME,
+                ConfigServiceUtils.buildConfigFieldPath(configJsonPath)));
+      }
+    }
+    return indexes;
+  }
+
   @Override
   public boolean healthCheck() {
     return datastore.healthCheck();
@@ -400,7 +507,30 @@ public class DocumentConfigStore implements ConfigStore {
     return Optional.empty();
   }
 
-  private Map<ConfigResourceContext, Optional<ConfigDocument>> getLatestVersionConfigDocs(
+  /**
+   * The documents of the configs of every tenant updated at or after the timestamp, or of all the
+   * configs if it is not positive. Deleted configs have no documents, so they are never returned.
+   */
+  List<ConfigDocument> getConfigDocumentsUpdatedSince(long updateTimestamp) throws IOException {
+    Query.QueryBuilder queryBuilder = Query.builder();
+    if (updateTimestamp > 0) {
+      queryBuilder.setFilter(
+          RelationalExpression.of(
+              IdentifierExpression.of(UPDATE_TIMESTAMP_FIELD_NAME),
+              RelationalOperator.GTE,
+              ConstantExpression.of(updateTimestamp)));
+    }
+    List<ConfigDocument> configDocuments = new ArrayList<>();
+    try (CloseableIterator<Document> documentIterator =
+        collection.query(queryBuilder.build(), QueryOptions.DEFAULT_QUERY_OPTIONS)) {
+      while (documentIterator.hasNext()) {
+        configDocuments.add(ConfigDocument.fromJson(documentIterator.next().toJson()));
+      }
+    }
+    return configDocuments;
+  }
+
+  Map<ConfigResourceContext, Optional<ConfigDocument>> getLatestVersionConfigDocs(
       java.util.Collection<ConfigResourceContext> configResourceContexts) throws IOException {
     if (configResourceContexts.isEmpty()) {
       return Collections.emptyMap();
@@ -430,7 +560,8 @@ public class DocumentConfigStore implements ConfigStore {
         String documentString = documentIterator.next().toJson();
         ConfigDocument configDocument = ConfigDocument.fromJson(documentString);
         latestVersionConfigDocs.put(
-            buildConfigResourceContext(configDocument), Optional.of(configDocument));
+            this.documentConverter.buildConfigResourceContext(configDocument),
+            Optional.of(configDocument));
       }
     }
     return latestVersionConfigDocs;
@@ -536,60 +667,6 @@ public class DocumentConfigStore implements ConfigStore {
                 ConstantExpression.of(configResourceContext.getContext()))));
   }
 
-  private Optional<ContextSpecificConfig> convertToContextSpecificConfig(
-      ConfigDocument configDocument) {
-    if (ConfigServiceUtils.isNull(configDocument.getConfig())) {
-      return Optional.empty();
-    }
-    return Optional.of(
-        ContextSpecificConfig.newBuilder()
-            .setConfig(configDocument.getConfig())
-            .setContext(configDocument.getContext())
-            .setCreationTimestamp(configDocument.getCreationTimestamp())
-            .setUpdateTimestamp(configDocument.getUpdateTimestamp())
-            .setCreatedByEmail(getEmailOrDefaultWithSystemMask(configDocument.getCreatedByEmail()))
-            .setLastUserUpdateEmail(getEmailOrDefault(configDocument.getLastUserUpdateEmail()))
-            .setLastUserUpdateTimestamp(
-                getNonDefaultTimestamp(
-                    configDocument.getLastUserUpdateTimestamp(),
-                    configDocument.getUpdateTimestamp()))
-            .setLastUpdateEmail(getEmailOrDefault(configDocument.getLastUpdatedUserEmail()))
-            .build());
-  }
-
-  private long getNonDefaultTimestamp(long timestampFirstChoice, long timestampSecondChoice) {
-    return timestampFirstChoice == 0 ? timestampSecondChoice : timestampFirstChoice;
-  }
-
-  private UpsertedConfig buildUpsertResult(
-      ConfigDocument configDocument, ContextSpecificConfig existingConfig) {
-    return this.buildUpsertResult(configDocument).toBuilder()
-        .setPrevConfig(existingConfig.getConfig())
-        .build();
-  }
-
-  private UpsertedConfig buildUpsertResult(ConfigDocument configDocument) {
-    return UpsertedConfig.newBuilder()
-        .setConfig(configDocument.getConfig())
-        .setContext(configDocument.getContext())
-        .setCreationTimestamp(configDocument.getCreationTimestamp())
-        .setUpdateTimestamp(configDocument.getUpdateTimestamp())
-        .setCreatedByEmail(getEmailOrDefaultWithSystemMask(configDocument.getCreatedByEmail()))
-        .setLastUserUpdateEmail(getEmailOrDefault(configDocument.getLastUserUpdateEmail()))
-        .setLastUserUpdateTimestamp(configDocument.getLastUserUpdateTimestamp())
-        .setLastUpdateEmail(getEmailOrDefault(configDocument.getLastUpdatedUserEmail()))
-        .build();
-  }
-
-  private ConfigResourceContext buildConfigResourceContext(ConfigDocument configDocument) {
-    return new ConfigResourceContext(
-        new ConfigResource(
-            configDocument.getResourceName(),
-            configDocument.getResourceNamespace(),
-            configDocument.getTenantId()),
-        configDocument.getContext());
-  }
-
   private FilterTypeExpression getConfigResourceFilterTypeExpression(
       ConfigResource configResource) {
     return LogicalExpression.and(
@@ -607,41 +684,4 @@ public class DocumentConfigStore implements ConfigStore {
                 RelationalOperator.EQ,
                 ConstantExpression.of(configResource.getTenantId()))));
   }
-
-  private boolean isExcludedEmail(String userEmail) {
-    return storeConfig.getCustomerVisibleExcludedEmailPatterns().stream()
-        .anyMatch(pattern -> pattern.matcher(userEmail).matches());
-  }
-
-  private String resolveUserEmail(String userEmail) {
-    if (Strings.isNullOrEmpty(userEmail)) {
-      return storeConfig.getInternalPlatformEmail();
-    }
-    return userEmail;
-  }
-
-  /**
-   * Applies default substitution for email fields at read-time. Returns "Unknown" for null or empty
-   * email values to ensure protobuf compatibility.
-   */
-  private String getEmailOrDefault(String email) {
-    return (email == null || email.isEmpty())
-        ? ConfigDocument.DEFAULT_LATEST_UPDATED_USER_EMAIL
-        : email;
-  }
-
-  /**
-   * Applies default substitution for email fields at read-time with system email masking. Returns
-   * "System" for excluded emails (agents/system accounts), "Unknown" for null/empty values, or the
-   * actual email otherwise.
-   */
-  private String getEmailOrDefaultWithSystemMask(String email) {
-    if (email == null || email.isEmpty()) {
-      return ConfigDocument.DEFAULT_LATEST_UPDATED_USER_EMAIL;
-    }
-    if (isExcludedEmail(email)) {
-      return ConfigDocument.DEFAULT_SYSTEM_USER_EMAIL;
-    }
-    return email;
-  }
 }
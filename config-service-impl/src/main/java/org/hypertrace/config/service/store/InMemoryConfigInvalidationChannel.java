@@ -0,0 +1,30 @@
+package org.hypertrace.config.service.store;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Invalidation channel delivering invalidations to its subscribers right away, on the publishing
+ * thread. Shared by the config stores of a JVM, it stands in for the nodes of a deployment in tests
+ * and serves the in-memory config store.
+ */
+public class InMemoryConfigInvalidationChannel implements ConfigInvalidationChannel {
+  private final List<Consumer<List<ConfigInvalidation>>> subscribers =
+      new CopyOnWriteArrayList<>();
+
+  @Override
+  public void publish(List<ConfigInvalidation> invalidations) {
+    this.subscribers.forEach(subscriber -> subscriber.accept(invalidations));
+  }
+
+  @Override
+  public void subscribe(Consumer<List<ConfigInvalidation>> subscriber) {
+    this.subscribers.add(subscriber);
+  }
+
+  @Override
+  public void close() {
+    this.subscribers.clear();
+  }
+}
@@ -0,0 +1,387 @@
+package org.hypertrace.config.service.store;
+
+import com.google.protobuf.Value;
+import io.grpc.Status;
+import java.time.Clock;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.hypertrace.config.service.ConfigResource;
+import org.hypertrace.config.service.ConfigResourceContext;
+import org.hypertrace.config.service.v1.ContextSpecificConfig;
+import org.hypertrace.config.service.v1.Filter;
+import org.hypertrace.config.service.v1.Pagination;
+import org.hypertrace.config.service.v1.SortBy;
+import org.hypertrace.config.service.v1.UpsertAllConfigsResponse.UpsertedConfig;
+import org.hypertrace.config.service.v1.UpsertConfigRequest;
+
+/**
+ * Config store keeping its documents in memory, with the semantics of {@link DocumentConfigStore}:
+ * versions, user tracking, upsert conditions, filters, sorting, pagination and counts. The
+ * documents of each tenant are an immutable map replaced on every write, so reads never block and
+ * see a consistent snapshot, while the writes of a tenant are serialized. Change events are not
+ * recorded in an outbox. Meant for tests and local experiments, as the configs are lost on restart.
+ */
+public class InMemoryConfigStore implements ConfigStore {
+  private final ConfigDocumentConverter documentConverter;
+  private final ConfigDocumentFilterMatcher filterMatcher = new ConfigDocumentFilterMatcher();
+  private final FilterBuilder filterBuilder = new FilterBuilder();
+  private final FilterExpressionBuilder filterExpressionBuilder = new FilterExpressionBuilder();
+  private final ConcurrentMap<String, TenantPartition> partitions = new ConcurrentHashMap<>();
+
+  public InMemoryConfigStore(Clock clock, DocumentConfigStoreConfig storeConfig) {
+    this.documentConverter = new ConfigDocumentConverter(clock, storeConfig);
+  }
+
+  @Override
+  public UpsertedConfig writeConfig(
+      ConfigResourceContext configResourceContext,
+      String userId,
+      UpsertConfigRequest request,
+      String userEmail,
+      boolean suppressUserTracking) {
+    TenantPartition partition = this.getPartition(configResourceContext);
+    synchronized (partition) {
+      Optional<ConfigDocument> previousConfigDoc =
+          Optional.ofNullable(partition.getDocuments().get(configResourceContext));
+      Optional<ContextSpecificConfig> optionalPreviousConfig =
+          previousConfigDoc.flatMap(this.documentConverter::convertToContextSpecificConfig);
+
+      // reject create config with condition
+      if (optionalPreviousConfig.isEmpty() && request.hasUpsertCondition()) {
+        throw Status.FAILED_PRECONDITION
+            .withDescription("No upsert condition required for creating config")
+            .asRuntimeException();
+      }
+
+      ConfigDocument latestConfigDocument =
+          this.documentConverter.buildConfigDocument(
+              configResourceContext,
+              request.getConfig(),
+              previousConfigDoc,
+              userId,
+              userEmail,
+              suppressUserTracking);
+
+      if (request.hasUpsertCondition()) {
+        // Rejects the conditions the document store rejects
+        this.filterBuilder.buildDocStoreFilter(request.getUpsertCondition());
+        if (!this.filterMatcher.matches(request.getUpsertCondition(), previousConfigDoc.get())) {
+          throw Status.FAILED_PRECONDITION
+              .withDescription("Update failed because upsert condition did not match given record")
+              .asRuntimeException();
+        }
+      }
+      partition.putAll(Map.of(configResourceContext, latestConfigDocument));
+      return this.buildUpsertResult(latestConfigDocument, previousConfigDoc);
+    }
+  }
+
+  @Override
+  public List<UpsertedConfig> writeAllConfigs(
+      Map<ConfigResourceContext, Value> resourceContextValueMap,
+      String userId,
+      String userEmail,
+      boolean suppressUserTracking) {
+    Map<ConfigResourceContext, UpsertedConfig> upsertedConfigs = new HashMap<>();
+    this.groupByPartition(resourceContextValueMap.keySet())
+        .forEach(
+            (partition, configResourceContexts) -> {
+              synchronized (partition) {
+                Map<ConfigResourceContext, ConfigDocument> documents = new LinkedHashMap<>();
+                for (ConfigResourceContext configResourceContext : configResourceContexts) {
+                  Optional<ConfigDocument> previousConfigDoc =
+                      Optional.ofNullable(partition.getDocuments().get(configResourceContext));
+                  ConfigDocument latestConfigDocument =
+                      this.documentConverter.buildConfigDocument(
+                          configResourceContext,
+                          resourceContextValueMap.get(configResourceContext),
+                          previousConfigDoc,
+                          userId,
+                          userEmail,
+                          suppressUserTracking);
+                  documents.put(configResourceContext, latestConfigDocument);
+                  upsertedConfigs.put(
+                      configResourceContext,
+                      this.buildUpsertResult(latestConfigDocument, previousConfigDoc));
+                }
+                partition.putAll(documents);
+              }
+            });
+    return resourceContextValueMap.keySet().stream()
+        .map(upsertedConfigs::get)
+        .collect(Collectors.toUnmodifiableList());
+  }
+
+  @Override
+  public Optional<ContextSpecificConfig> getConfig(ConfigResourceContext configResourceContext) {
+    return Optional.ofNullable(
+            this.getPartition(configResourceContext).getDocuments().get(configResourceContext))
+        .flatMap(this.documentConverter::convertToContextSpecificConfig);
+  }
+
+  @Override
+  public Map<ConfigResourceContext, ContextSpecificConfig> getContextConfigs(
+      Collection<ConfigResourceContext> configResourceContexts) {
+    Map<ConfigResourceContext, ContextSpecificConfig> contextConfigs = new LinkedHashMap<>();
+    for (ConfigResourceContext configResourceContext : configResourceContexts) {
+      this.getConfig(configResourceContext)
+          .ifPresent(config -> contextConfigs.put(configResourceContext, config));
+    }
+    return contextConfigs;
+  }
+
+  @Override
+  public List<ContextSpecificConfig> getAllConfigs(
+      ConfigResource configResource,
+      Filter filter,
+      Pagination pagination,
+      List<SortBy> sortByList,
+      Collection<String> contexts) {
+    Stream<ConfigDocument> documents =
+        this.getMatchingDocuments(configResource, filter, contexts)
+            .sorted(
+                sortByList.isEmpty()
+                    ? Comparator.comparingLong(ConfigDocument::getCreationTimestamp).reversed()
+                    : this.filterMatcher.comparator(sortByList));
+    if (!pagination.equals(Pagination.getDefaultInstance())) {
+      documents = documents.skip(pagination.getOffset());
+      // As in the document store, a limit of 0 is no limit
+      if (pagination.getLimit() > 0) {
+        documents = documents.limit(pagination.getLimit());
+      }
+    }
+    return documents
+        .map(this.documentConverter::convertToContextSpecificConfig)
+        .flatMap(Optional::stream)
+        .collect(Collectors.toUnmodifiableList());
+  }
+
+  @Override
+  public long getMatchingConfigsCount(
+      ConfigResource configResource, Filter filter, Collection<String> contexts) {
+    return this.getMatchingDocuments(configResource, filter, contexts).count();
+  }
+
+  @Override
+  public void deleteConfigs(Collection<ConfigResourceContext> configResourceContexts) {
+    this.groupByPartition(configResourceContexts).forEach(TenantPartition::removeAll);
+  }
+
+  @Override
+  public List<ConfigResourceContext> getWarmUpContexts(
+      Set<String> tenantIds, long updatedSince, int limit) {
+    return this.partitions.entrySet().stream()
+        .flatMap(
+            partition ->
+                partition.getValue().getDocuments().entrySet().stream()
+                    .filter(
+                        entry ->
+                            tenantIds.contains(partition.getKey())
+                                || entry.getValue().getUpdateTimestamp() >= updatedSince))
+        .sorted(
+            Comparator.comparingLong(
+                    (Map.Entry<ConfigResourceContext, ConfigDocument> entry) ->
+                        entry.getValue().getUpdateTimestamp())
+                .reversed())
+        .limit(limit)
+        .map(Map.Entry::getKey)
+        .collect(Collectors.toUnmodifiableList());
+  }
+
+  @Override
+  public boolean healthCheck() {
+    return true;
+  }
+
+  /**
+   * Stores the documents read as of the timestamp as they are, replacing the documents of the same
+   * configs unless updated later. Documents of configs deleted since the read started are left out.
+   */
+  void putDocuments(Collection<ConfigDocument> documents, long readTimestamp) {
+    this.groupByTenant(documents)
+        .forEach(
+            (tenantId, tenantDocuments) -> {
+              TenantPartition partition = this.getPartition(tenantId);
+              synchronized (partition) {
+                Map<ConfigResourceContext, ConfigDocument> currentDocuments =
+                    partition.getDocuments();
+                tenantDocuments
+                    .entrySet()
+                    .removeIf(
+                        entry ->
+                            isOutdated(entry.getKey(), entry.getValue(), currentDocuments)
+                                || partition.isDeletedSince(entry.getKey(), readTimestamp));
+                partition.putAll(tenantDocuments);
+              }
+            });
+  }
+
+  /**
+   * Removes the documents of the configs deleted at the timestamp, and remembers their deletion so
+   * that documents read before it are not put back.
+   */
+  void deleteDocuments(Collection<ConfigResourceContext> configResourceContexts, long timestamp) {
+    this.groupByPartition(configResourceContexts)
+        .forEach((partition, deleted) -> partition.removeAll(deleted, timestamp));
+  }
+
+  /**
+   * Replaces the documents of every tenant with the given ones read as of the timestamp, keeping
+   * those of the given configs updated since by writes racing with the read of the given ones and
+   * leaving out those deleted since. Deletions made before the retention cut off are forgotten.
+   */
+  void replaceDocuments(
+      Collection<ConfigDocument> documents, long readTimestamp, long deletionRetentionCutOff) {
+    Map<String, Map<ConfigResourceContext, ConfigDocument>> documentsByTenant =
+        this.groupByTenant(documents);
+    documentsByTenant.keySet().forEach(this::getPartition);
+    this.partitions.forEach(
+        (tenantId, partition) -> {
+          synchronized (partition) {
+            Map<ConfigResourceContext, ConfigDocument> currentDocuments = partition.getDocuments();
+            Map<ConfigResourceContext, ConfigDocument> tenantDocuments =
+                documentsByTenant.getOrDefault(tenantId, new LinkedHashMap<>());
+            tenantDocuments.replaceAll(
+                (configResourceContext, document) ->
+                    isOutdated(configResourceContext, document, currentDocuments)
+                        ? currentDocuments.get(configResourceContext)
+                        : document);
+            tenantDocuments
+                .keySet()
+                .removeIf(
+                    configResourceContext ->
+                        partition.isDeletedSince(configResourceContext, readTimestamp));
+            partition.replaceAll(tenantDocuments);
+            partition.forgetDeletionsBefore(deletionRetentionCutOff);
+          }
+        });
+  }
+
+  private static boolean isOutdated(
+      ConfigResourceContext configResourceContext,
+      ConfigDocument document,
+      Map<ConfigResourceContext, ConfigDocument> currentDocuments) {
+    ConfigDocument currentDocument = currentDocuments.get(configResourceContext);
+    return currentDocument != null
+        && currentDocument.getUpdateTimestamp() > document.getUpdateTimestamp();
+  }
+
+  /**
+   * The documents of the resource with one of the contexts, unless empty, which match the filter.
+   * Documents of deleted configs match as well, as they are counted by the document store.
+   */
+  private Stream<ConfigDocument> getMatchingDocuments(
+      ConfigResource configResource, Filter filter, Collection<String> contexts) {
+    boolean filtered = !filter.equals(Filter.getDefaultInstance());
+    if (filtered) {
+      // Rejects the filters the document store rejects
+      this.filterExpressionBuilder.buildFilterTypeExpression(filter);
+    }
+    return this.getPartition(configResource.getTenantId()).getDocuments().entrySet().stream()
+        .filter(entry -> entry.getKey().getConfigResource().equals(configResource))
+        .filter(entry -> contexts.isEmpty() || contexts.contains(entry.getKey().getContext()))
+        .map(Map.Entry::getValue)
+        .filter(document -> !filtered || this.filterMatcher.matches(filter, document));
+  }
+
+  private UpsertedConfig buildUpsertResult(
+      ConfigDocument latestConfigDocument, Optional<ConfigDocument> previousConfigDoc) {
+    return previousConfigDoc
+        .flatMap(this.documentConverter::convertToContextSpecificConfig)
+        .map(
+            previousConfig ->
+                this.documentConverter.buildUpsertResult(latestConfigDocument, previousConfig))
+        .orElseGet(() -> this.documentConverter.buildUpsertResult(latestConfigDocument));
+  }
+
+  /** Keeps the latest update of each config, should documents of a config be repeated. */
+  private Map<String, Map<ConfigResourceContext, ConfigDocument>> groupByTenant(
+      Collection<ConfigDocument> documents) {
+    return documents.stream()
+        .collect(
+            Collectors.groupingBy(
+                ConfigDocument::getTenantId,
+                Collectors.toMap(
+                    this.documentConverter::buildConfigResourceContext,
+                    document -> document,
+                    (first, second) ->
+                        first.getUpdateTimestamp() >= second.getUpdateTimestamp() ? first : second,
+                    LinkedHashMap::new)));
+  }
+
+  private Map<TenantPartition, List<ConfigResourceContext>> groupByPartition(
+      Collection<ConfigResourceContext> configResourceContexts) {
+    return configResourceContexts.stream()
+        .collect(
+            Collectors.groupingBy(
+                this::getPartition, LinkedHashMap::new, Collectors.toUnmodifiableList()));
+  }
+
+  private TenantPartition getPartition(ConfigResourceContext configResourceContext) {
+    return this.getPartition(configResourceContext.getConfigResource().getTenantId());
+  }
+
+  private TenantPartition getPartition(String tenantId) {
+    return this.partitions.computeIfAbsent(tenantId, unused -> new TenantPartition());
+  }
+
+  /**
+   * The documents of a tenant, in order of their first write, and the times of the deletions which
+   * documents read earlier must not undo. Writers synchronize on the partition around reading and
+   * replacing its documents.
+   */
+  private static class TenantPartition {
+    private volatile Map<ConfigResourceContext, ConfigDocument> documents = Map.of();
+    private final Map<ConfigResourceContext, Long> deletionTimestamps = new HashMap<>();
+
+    Map<ConfigResourceContext, ConfigDocument> getDocuments() {
+      return this.documents;
+    }
+
+    synchronized void putAll(Map<ConfigResourceContext, ConfigDocument> updatedDocuments) {
+      Map<ConfigResourceContext, ConfigDocument> copy = new LinkedHashMap<>(this.documents);
+      copy.putAll(updatedDocuments);
+      this.documents = Collections.unmodifiableMap(copy);
+    }
+
+    synchronized void replaceAll(Map<ConfigResourceContext, ConfigDocument> replacedDocuments) {
+      this.documents = Collections.unmodifiableMap(new LinkedHashMap<>(replacedDocuments));
+    }
+
+    synchronized void removeAll(Collection<ConfigResourceContext> configResourceContexts) {
+      Map<ConfigResourceContext, ConfigDocument> copy = new LinkedHashMap<>(this.documents);
+      copy.keySet().removeAll(configResourceContexts);
+      this.documents = Collections.unmodifiableMap(copy);
+    }
+
+    synchronized void removeAll(
+        Collection<ConfigResourceContext> configResourceContexts, long deletionTimestamp) {
+      this.removeAll(configResourceContexts);
+      configResourceContexts.forEach(
+          configResourceContext ->
+              this.deletionTimestamps.merge(configResourceContext, deletionTimestamp, Math::max));
+    }
+
+    // Reads starting in the same millisecond as the deletion may have preceded it
+    synchronized boolean isDeletedSince(
+        ConfigResourceContext configResourceContext, long readTimestamp) {
+      Long deletionTimestamp = this.deletionTimestamps.get(configResourceContext);
+      return deletionTimestamp != null && deletionTimestamp >= readTimestamp;
+    }
+
+    synchronized void forgetDeletionsBefore(long timestamp) {
+      this.deletionTimestamps.values().removeIf(deletionTimestamp -> deletionTimestamp < timestamp);
+    }
+  }
+}
@@ -0,0 +1,189 @@
+package org.hypertrace.config.service.store;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.google.protobuf.Value;
+import io.grpc.Status;
+import io.micrometer.core.instrument.Counter;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.ToLongFunction;
+import lombok.extern.slf4j.Slf4j;
+import org.hypertrace.config.service.ConfigResource;
+import org.hypertrace.config.service.store.IndexedConfigPaths.Enforcement;
+import org.hypertrace.config.service.store.IndexedConfigPaths.IndexedPath;
+import org.hypertrace.config.service.store.IndexedConfigPaths.PathType;
+import org.hypertrace.config.service.v1.Filter;
+import org.hypertrace.config.service.v1.RelationalFilter;
+import org.hypertrace.config.service.v1.SortBy;
+import org.hypertrace.core.serviceframework.metrics.PlatformMetricsRegistry;
+
+/**
+ * Checks the config json paths which queries filter and sort on against the {@link
+ * IndexedConfigPaths}. A filter on a path is indexed if the path is declared filterable with the
+ * type of the filtered values, and a sort if the path is declared sortable. Queries with paths
+ * which are not indexed are flagged or rejected if the tenant has many configs of the resource, as
+ * counted periodically. Flagged queries are logged at most once per interval for each resource
+ * type and set of paths, and every one of them is counted.
+ */
+@Slf4j
+class IndexedConfigPathGuard {
+  private static final String UNINDEXED_QUERIES_METRIC =
+      "hypertrace.config.store.unindexed.queries";
+  private static final Duration CONFIG_COUNT_EXPIRY = Duration.ofMinutes(5);
+  private static final Duration FLAGGED_QUERY_LOG_INTERVAL = Duration.ofMinutes(1);
+
+  private final IndexedConfigPaths indexedConfigPaths;
+  private final ToLongFunction<ConfigResource> configCounter;
+  private final Cache<ConfigResource, Long> configCounts =
+      CacheBuilder.newBuilder().expireAfterWrite(CONFIG_COUNT_EXPIRY).maximumSize(10_000).build();
+  // Flagged queries logged within the interval
+  private final Cache<UnindexedQuery, Boolean> loggedQueries =
+      CacheBuilder.newBuilder()
+          .expireAfterWrite(FLAGGED_QUERY_LOG_INTERVAL)
+          .maximumSize(10_000)
+          .build();
+  // By their tags
+  private final Map<Map<String, String>, Counter> unindexedQueryCounters =
+      new ConcurrentHashMap<>();
+
+  /** @param configCounter counts the configs of a resource */
+  IndexedConfigPathGuard(
+      IndexedConfigPaths indexedConfigPaths, ToLongFunction<ConfigResource> configCounter) {
+    this.indexedConfigPaths = indexedConfigPaths;
+    this.configCounter = configCounter;
+  }
+
+  void check(ConfigResource configResource, Filter filter, List<SortBy> sortByList) {
+    Enforcement enforcement = this.indexedConfigPaths.getEnforcement();
+    if (enforcement == Enforcement.DISABLED) {
+      return;
+    }
+    Set<String> unindexedPaths = new TreeSet<>();
+    this.collectUnindexedPaths(configResource, filter, unindexedPaths);
+    for (SortBy sortBy : sortByList) {
+      String configJsonPath = sortBy.getSelection().getConfigJsonPath();
+      if (!this.getIndexedPath(configResource, configJsonPath)
+          .map(IndexedPath::isSortable)
+          .orElse(false)) {
+        unindexedPaths.add(configJsonPath);
+      }
+    }
+    if (unindexedPaths.isEmpty() || !this.isLargeTenant(configResource)) {
+      return;
+    }
+    boolean rejected = enforcement == Enforcement.REJECT;
+    this.unindexedQueryCounters
+        .computeIfAbsent(
+            Map.of(
+                "resourceNamespace",
+                configResource.getResourceNamespace(),
+                "resourceName",
+                configResource.getResourceName(),
+                "action",
+                rejected ? "rejected" : "flagged"),
+            tags -> PlatformMetricsRegistry.registerCounter(UNINDEXED_QUERIES_METRIC, tags))
+        .increment();
+    String description =
+        String.format(
+            "Config json paths %s of resource %s are not indexed", unindexedPaths, configResource);
+    if (rejected) {
+      throw Status.FAILED_PRECONDITION.withDescription(description).asRuntimeException();
+    }
+    UnindexedQuery unindexedQuery =
+        new UnindexedQuery(
+            configResource.getResourceNamespace(),
+            configResource.getResourceName(),
+            unindexedPaths);
+    if (this.loggedQueries.asMap().putIfAbsent(unindexedQuery, true) == null) {
+      log.warn(description);
+    } else {
+      log.debug(description);
+    }
+  }
+
+  private void collectUnindexedPaths(
+      ConfigResource configResource, Filter filter, Set<String> unindexedPaths) {
+    switch (filter.getTypeCase()) {
+      case LOGICAL_FILTER:
+        filter
+            .getLogicalFilter()
+            .getOperandsList()
+            .forEach(
+                operand -> this.collectUnindexedPaths(configResource, operand, unindexedPaths));
+        return;
+      case RELATIONAL_FILTER:
+        RelationalFilter relationalFilter = filter.getRelationalFilter();
+        if (!this.getIndexedPath(configResource, relationalFilter.getConfigJsonPath())
+            .filter(IndexedPath::isFilterable)
+            .filter(indexedPath -> hasFilterableValue(relationalFilter, indexedPath.getType()))
+            .isPresent()) {
+          unindexedPaths.add(relationalFilter.getConfigJsonPath());
+        }
+        return;
+      case TYPE_NOT_SET:
+      default:
+        // Unset filters filter nothing
+    }
+  }
+
+  private Optional<IndexedPath> getIndexedPath(
+      ConfigResource configResource, String configJsonPath) {
+    return this.indexedConfigPaths.getIndexedPath(configResource, configJsonPath);
+  }
+
+  private boolean isLargeTenant(ConfigResource configResource) {
+    try {
+      return this.configCounts.get(
+              configResource, () -> this.configCounter.applyAsLong(configResource))
+          >= this.indexedConfigPaths.getLargeTenantMinConfigs();
+    } catch (ExecutionException | UncheckedExecutionException e) {
+      log.error("Error counting the configs of resource {}", configResource, e.getCause());
+      return false;
+    }
+  }
+
+  private static boolean hasFilterableValue(RelationalFilter relationalFilter, PathType type) {
+    switch (relationalFilter.getOperator()) {
+      case RELATIONAL_OPERATOR_EXISTS:
+      case RELATIONAL_OPERATOR_NOT_EXISTS:
+        return true;
+      case RELATIONAL_OPERATOR_IN:
+      case RELATIONAL_OPERATOR_NOT_IN:
+        Value values = relationalFilter.getValue();
+        return values.hasListValue()
+            ? values.getListValue().getValuesList().stream()
+                .allMatch(value -> hasType(value, type))
+            : hasType(values, type);
+      default:
+        return hasType(relationalFilter.getValue(), type);
+    }
+  }
+
+  private static boolean hasType(Value value, PathType type) {
+    switch (type) {
+      case STRING:
+        return value.hasStringValue();
+      case NUMBER:
+        return value.hasNumberValue();
+      case BOOLEAN:
+        return value.hasBoolValue();
+      default:
+        return false;
+    }
+  }
+
+  @lombok.Value
+  private static class UnindexedQuery {
+    String resourceNamespace;
+    String resourceName;
+    Set<String> configJsonPaths;
+  }
+}
@@ -0,0 +1,122 @@
+package org.hypertrace.config.service.store;
+
+import com.typesafe.config.Config;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.Value;
+import org.hypertrace.config.service.ConfigResource;
+
+/**
+ * Registry of the config json paths of each resource which are indexed, with their types, and
+ * whether queries may filter or sort on them. Indexes are provisioned for the declared paths, and
+ * queries on undeclared paths in the configs of large tenants are flagged or rejected, so that no
+ * query scans the configs of a large tenant.
+ */
+@Value
+public class IndexedConfigPaths {
+  private static final String INDEXED_PATHS_CONFIG = "generic.config.service.indexed.paths";
+  private static final String ENFORCEMENT = "enforcement";
+  private static final String LARGE_TENANT_MIN_CONFIGS = "large.tenant.min.configs";
+  private static final String RESOURCES = "resources";
+  private static final String RESOURCE_NAMESPACE = "resource.namespace";
+  private static final String RESOURCE_NAME = "resource.name";
+  private static final String PATHS = "paths";
+  private static final String PATH = "path";
+  private static final String TYPE = "type";
+  private static final String FILTERABLE = "filterable";
+  private static final String SORTABLE = "sortable";
+
+  /** Declares no path and enforces nothing. */
+  public static final IndexedConfigPaths NONE =
+      new IndexedConfigPaths(Enforcement.DISABLED, 10_000, Map.of());
+
+  public enum Enforcement {
+    DISABLED,
+    /** Queries on undeclared paths are logged and counted */
+    FLAG,
+    /** Queries on undeclared paths are rejected, and counted */
+    REJECT
+  }
+
+  public enum PathType {
+    STRING,
+    NUMBER,
+    BOOLEAN
+  }
+
+  Enforcement enforcement;
+  /** Tenants with at least this many configs of a resource are subject to enforcement */
+  long largeTenantMinConfigs;
+
+  Map<ResourceType, Map<String, IndexedPath>> paths;
+
+  public static IndexedConfigPaths from(Config appConfig) {
+    if (appConfig == null || !appConfig.hasPath(INDEXED_PATHS_CONFIG)) {
+      return NONE;
+    }
+    Config config = appConfig.getConfig(INDEXED_PATHS_CONFIG);
+    return new IndexedConfigPaths(
+        config.hasPath(ENFORCEMENT)
+            ? config.getEnum(Enforcement.class, ENFORCEMENT)
+            : NONE.enforcement,
+        config.hasPath(LARGE_TENANT_MIN_CONFIGS)
+            ? config.getLong(LARGE_TENANT_MIN_CONFIGS)
+            : NONE.largeTenantMinConfigs,
+        config.hasPath(RESOURCES)
+            ? config.getConfigList(RESOURCES).stream()
+                .collect(
+                    Collectors.toUnmodifiableMap(
+                        resourceConfig ->
+                            new ResourceType(
+                                resourceConfig.getString(RESOURCE_NAMESPACE),
+                                resourceConfig.getString(RESOURCE_NAME)),
+                        IndexedConfigPaths::buildPaths))
+            : NONE.paths);
+  }
+
+  public Optional<IndexedPath> getIndexedPath(
+      ConfigResource configResource, String configJsonPath) {
+    return Optional.ofNullable(
+            this.paths.get(
+                new ResourceType(
+                    configResource.getResourceNamespace(), configResource.getResourceName())))
+        .map(resourcePaths -> resourcePaths.get(configJsonPath));
+  }
+
+  /** The declared paths of all resources. */
+  public Set<String> getAllConfigJsonPaths() {
+    return this.paths.values().stream()
+        .flatMap(resourcePaths -> resourcePaths.keySet().stream())
+        .collect(Collectors.toUnmodifiableSet());
+  }
+
+  private static Map<String, IndexedPath> buildPaths(Config resourceConfig) {
+    return resourceConfig.getConfigList(PATHS).stream()
+        .map(
+            pathConfig ->
+                new IndexedPath(
+                    pathConfig.getString(PATH),
+                    pathConfig.getEnum(PathType.class, TYPE),
+                    !pathConfig.hasPath(FILTERABLE) || pathConfig.getBoolean(FILTERABLE),
+                    !pathConfig.hasPath(SORTABLE) || pathConfig.getBoolean(SORTABLE)))
+        .collect(
+            Collectors.toUnmodifiableMap(IndexedPath::getConfigJsonPath, Function.identity()));
+  }
+
+  @Value
+  public static class ResourceType {
+    String resourceNamespace;
+    String resourceName;
+  }
+
+  @Value
+  public static class IndexedPath {
+    String configJsonPath;
+    PathType type;
+    boolean filterable;
+    boolean sortable;
+  }
+}
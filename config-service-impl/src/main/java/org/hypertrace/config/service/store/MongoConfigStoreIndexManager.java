@@ -0,0 +1,72 @@
+package org.hypertrace.config.service.store;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.bson.Document;
+import org.hypertrace.core.documentstore.model.config.DatastoreConfig;
+import org.hypertrace.core.documentstore.model.config.mongo.MongoConnectionConfig;
+
+/**
+ * Index manager of a Mongo document store. The document store itself does not manage indexes, so
+ * this opens a client of its own, with the same connection settings as the document store.
+ */
+public class MongoConfigStoreIndexManager implements ConfigStoreIndexManager {
+  private static final String INDEX_NAME = "name";
+  private static final String INDEX_KEY = "key";
+  private static final String INDEX_PARTIAL_FILTER = "partialFilterExpression";
+
+  private final MongoClient client;
+  private final MongoDatabase database;
+
+  /** @param datastoreConfig the config of the document store, of type mongo */
+  public MongoConfigStoreIndexManager(DatastoreConfig datastoreConfig) {
+    if (!(datastoreConfig.connectionConfig() instanceof MongoConnectionConfig)) {
+      throw new IllegalArgumentException("Indexes are only managed in a Mongo document store");
+    }
+    MongoConnectionConfig connectionConfig =
+        (MongoConnectionConfig) datastoreConfig.connectionConfig();
+    this.client = MongoClients.create(connectionConfig.toSettings());
+    this.database = this.client.getDatabase(connectionConfig.database());
+  }
+
+  @Override
+  public List<ConfigStoreIndex> getIndexes(String collectionName) {
+    List<ConfigStoreIndex> indexes = new ArrayList<>();
+    for (Document index : this.database.getCollection(collectionName).listIndexes()) {
+      Document partialFilter = index.get(INDEX_PARTIAL_FILTER, new Document());
+      indexes.add(
+          new ConfigStoreIndex(
+              index.getString(INDEX_NAME),
+              List.copyOf(index.get(INDEX_KEY, Document.class).keySet()),
+              // Filters other than equalities are never required, so they just need to differ
+              partialFilter.entrySet().stream()
+                  .collect(
+                      Collectors.toUnmodifiableMap(
+                          Map.Entry::getKey, entry -> String.valueOf(entry.getValue())))));
+    }
+    return indexes;
+  }
+
+  @Override
+  public void createIndex(String collectionName, ConfigStoreIndex index) {
+    IndexOptions options = new IndexOptions().name(index.getName());
+    if (!index.getPartialFilter().isEmpty()) {
+      options.partialFilterExpression(new Document(Map.copyOf(index.getPartialFilter())));
+    }
+    this.database
+        .getCollection(collectionName)
+        .createIndex(Indexes.ascending(index.getFields()), options);
+  }
+
+  @Override
+  public void close() {
+    this.client.close();
+  }
+}
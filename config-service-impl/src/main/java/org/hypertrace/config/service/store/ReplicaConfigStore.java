@@ -0,0 +1,332 @@
+package org.hypertrace.config.service.store;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.protobuf.Value;
+import io.grpc.Status;
+import io.micrometer.core.instrument.Counter;
+import java.io.IOException;
+import java.time.Clock;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.hypertrace.config.service.ConfigResource;
+import org.hypertrace.config.service.ConfigResourceContext;
+import org.hypertrace.config.service.store.ReplicaConfigStoreConfig.WriteMode;
+import org.hypertrace.config.service.v1.ContextSpecificConfig;
+import org.hypertrace.config.service.v1.Filter;
+import org.hypertrace.config.service.v1.Pagination;
+import org.hypertrace.config.service.v1.SortBy;
+import org.hypertrace.config.service.v1.UpsertAllConfigsResponse.UpsertedConfig;
+import org.hypertrace.config.service.v1.UpsertConfigRequest;
+import org.hypertrace.core.serviceframework.metrics.PlatformMetricsRegistry;
+
+/**
+ * Config store of a read replica, serving every read from an in-memory snapshot of the configs of
+ * all tenants, so that reads add no load to the document store. The snapshot is refreshed
+ * periodically with the configs updated since the previous refresh, which can't see deletions.
+ * The configs written by other nodes, deleted ones included, are therefore refreshed as their
+ * invalidations arrive, and the snapshot is replaced by all the configs less often, which drops
+ * the deletions whose invalidations were lost. Deletions are remembered for a while, so that a
+ * refresh which read the configs before a deletion does not bring the deleted config back. Writes
+ * are rejected, or forwarded to the document store, in which case the written configs are
+ * refreshed right away and their invalidations published. The lag of the snapshot behind the
+ * document store is reported as a metric.
+ */
+@Slf4j
+public class ReplicaConfigStore implements ConfigStore, AutoCloseable {
+  private static final String SNAPSHOT_LAG_METRIC = "hypertrace.config.replica.snapshot.lag.ms";
+  private static final String FULL_REFRESH_AGE_METRIC =
+      "hypertrace.config.replica.full.refresh.age.ms";
+  private static final String REFRESH_FAILURES_METRIC =
+      "hypertrace.config.replica.refresh.failures";
+  // Documents read before a deletion may still be applied by refreshes in flight during this time
+  private static final long DELETION_RETENTION_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+  private final DocumentConfigStore primaryStore;
+  private final InMemoryConfigStore snapshot;
+  private final ReplicaConfigStoreConfig config;
+  private final ConfigInvalidationChannel invalidationChannel;
+  private final Clock clock;
+  private final Counter refreshFailures;
+  // Held, as gauges only keep weak references to their values
+  private final Number snapshotLag;
+  private final Number fullRefreshAge;
+  private final ScheduledExecutorService executor =
+      Executors.newSingleThreadScheduledExecutor(
+          new ThreadFactoryBuilder()
+              .setNameFormat("config-replica-refresh-%d")
+              .setDaemon(true)
+              .build());
+  // Time of the document store as of which the snapshot is up to date
+  private volatile long snapshotTimestamp;
+  private volatile long fullRefreshTimestamp;
+
+  /**
+   * @param invalidationChannel the channel of the invalidations of the config writes of all nodes,
+   *     through which the configs deleted by other nodes are dropped
+   */
+  public ReplicaConfigStore(
+      Clock clock,
+      DocumentConfigStore primaryStore,
+      DocumentConfigStoreConfig storeConfig,
+      ReplicaConfigStoreConfig config,
+      ConfigInvalidationChannel invalidationChannel) {
+    this.clock = clock;
+    this.primaryStore = primaryStore;
+    this.snapshot = new InMemoryConfigStore(clock, storeConfig);
+    this.config = config;
+    this.invalidationChannel = Objects.requireNonNull(invalidationChannel);
+    // Computed when read, so the lag keeps growing while refreshes are stuck
+    this.snapshotLag =
+        PlatformMetricsRegistry.registerGauge(
+            SNAPSHOT_LAG_METRIC, Map.of(), new ComputedGaugeValue(this::getSnapshotLagMillis));
+    this.fullRefreshAge =
+        PlatformMetricsRegistry.registerGauge(
+            FULL_REFRESH_AGE_METRIC,
+            Map.of(),
+            new ComputedGaugeValue(() -> this.clock.millis() - this.fullRefreshTimestamp));
+    this.refreshFailures =
+        PlatformMetricsRegistry.registerCounter(REFRESH_FAILURES_METRIC, Map.of());
+  }
+
+  /** Loads all the configs, then refreshes them periodically and as they are invalidated. */
+  public void start() throws IOException {
+    // Invalidations arriving during the initial load are applied after it
+    this.invalidationChannel.subscribe(
+        invalidations -> this.executor.execute(() -> this.refresh(invalidations)));
+    this.refreshFully();
+    long refreshIntervalMillis = this.config.getRefreshInterval().toMillis();
+    this.executor.scheduleWithFixedDelay(
+        this::refresh, refreshIntervalMillis, refreshIntervalMillis, TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public void close() {
+    this.invalidationChannel.close();
+    this.executor.shutdown();
+  }
+
+  @Override
+  public UpsertedConfig writeConfig(
+      ConfigResourceContext configResourceContext,
+      String userId,
+      UpsertConfigRequest request,
+      String userEmail,
+      boolean suppressUserTracking)
+      throws IOException {
+    this.checkWritable();
+    UpsertedConfig upsertedConfig =
+        this.primaryStore.writeConfig(
+            configResourceContext, userId, request, userEmail, suppressUserTracking);
+    this.refreshContexts(List.of(configResourceContext));
+    this.publishInvalidations(List.of(configResourceContext));
+    return upsertedConfig;
+  }
+
+  @Override
+  public List<UpsertedConfig> writeAllConfigs(
+      Map<ConfigResourceContext, Value> resourceContextValueMap,
+      String userId,
+      String userEmail,
+      boolean suppressUserTracking)
+      throws IOException {
+    this.checkWritable();
+    List<UpsertedConfig> upsertedConfigs =
+        this.primaryStore.writeAllConfigs(
+            resourceContextValueMap, userId, userEmail, suppressUserTracking);
+    this.refreshContexts(resourceContextValueMap.keySet());
+    this.publishInvalidations(resourceContextValueMap.keySet());
+    return upsertedConfigs;
+  }
+
+  @Override
+  public void deleteConfigs(Collection<ConfigResourceContext> configResourceContexts)
+      throws IOException {
+    this.checkWritable();
+    this.primaryStore.deleteConfigs(configResourceContexts);
+    // Refreshes which started reading before now may still return the deleted configs
+    this.snapshot.deleteDocuments(configResourceContexts, this.clock.millis());
+    this.publishInvalidations(configResourceContexts);
+  }
+
+  @Override
+  public Optional<ContextSpecificConfig> getConfig(ConfigResourceContext configResourceContext) {
+    return this.snapshot.getConfig(configResourceContext);
+  }
+
+  @Override
+  public Map<ConfigResourceContext, ContextSpecificConfig> getContextConfigs(
+      Collection<ConfigResourceContext> configResourceContexts) {
+    return this.snapshot.getContextConfigs(configResourceContexts);
+  }
+
+  @Override
+  public List<ContextSpecificConfig> getAllConfigs(
+      ConfigResource configResource,
+      Filter filter,
+      Pagination pagination,
+      List<SortBy> sortByList,
+      Collection<String> contexts) {
+    return this.snapshot.getAllConfigs(configResource, filter, pagination, sortByList, contexts);
+  }
+
+  @Override
+  public long getMatchingConfigsCount(
+      ConfigResource configResource, Filter filter, Collection<String> contexts) {
+    return this.snapshot.getMatchingConfigsCount(configResource, filter, contexts);
+  }
+
+  @Override
+  public List<ConfigResourceContext> getWarmUpContexts(
+      Set<String> tenantIds, long updatedSince, int limit) throws IOException {
+    return this.snapshot.getWarmUpContexts(tenantIds, updatedSince, limit);
+  }
+
+  /**
+   * Healthy while the snapshot lags behind the document store by less than the maximum lag, which
+   * includes overdue full refreshes.
+   */
+  @Override
+  public boolean healthCheck() {
+    return this.getSnapshotLagMillis() <= this.config.getMaxLag().toMillis();
+  }
+
+  @VisibleForTesting
+  void refresh() {
+    try {
+      if (this.clock.millis() - this.fullRefreshTimestamp
+          >= this.config.getFullRefreshInterval().toMillis()) {
+        this.refreshFully();
+      } else {
+        long refreshTimestamp = this.clock.millis();
+        this.snapshot.putDocuments(
+            this.primaryStore.getConfigDocumentsUpdatedSince(
+                this.snapshotTimestamp - this.config.getRefreshOverlap().toMillis()),
+            refreshTimestamp);
+        this.snapshotTimestamp = refreshTimestamp;
+      }
+    } catch (Exception e) {
+      log.error("Error refreshing the config snapshot of the replica", e);
+      this.refreshFailures.increment();
+    }
+  }
+
+  /** Refreshes the invalidated configs, dropping the deleted ones. */
+  @VisibleForTesting
+  void refresh(List<ConfigInvalidation> invalidations) {
+    try {
+      this.refreshContexts(
+          invalidations.stream()
+              .map(ConfigInvalidation::getConfigResourceContext)
+              .collect(Collectors.toUnmodifiableSet()));
+    } catch (Exception e) {
+      log.error("Error refreshing the invalidated configs of the replica", e);
+      this.refreshFailures.increment();
+    }
+  }
+
+  private void refreshFully() throws IOException {
+    long refreshTimestamp = this.clock.millis();
+    this.snapshot.replaceDocuments(
+        this.primaryStore.getConfigDocumentsUpdatedSince(0),
+        refreshTimestamp,
+        refreshTimestamp - DELETION_RETENTION_MILLIS);
+    this.snapshotTimestamp = refreshTimestamp;
+    this.fullRefreshTimestamp = refreshTimestamp;
+  }
+
+  private void refreshContexts(Collection<ConfigResourceContext> configResourceContexts)
+      throws IOException {
+    long refreshTimestamp = this.clock.millis();
+    Map<ConfigResourceContext, Optional<ConfigDocument>> configDocuments =
+        this.primaryStore.getLatestVersionConfigDocs(configResourceContexts);
+    this.snapshot.putDocuments(
+        configDocuments.values().stream()
+            .flatMap(Optional::stream)
+            .collect(Collectors.toUnmodifiableList()),
+        refreshTimestamp);
+    // Deleted before the read, so refreshes which started reading earlier are not applied
+    this.snapshot.deleteDocuments(
+        configResourceContexts.stream()
+            .filter(
+                configResourceContext ->
+                    configDocuments.getOrDefault(configResourceContext, Optional.empty()).isEmpty())
+            .collect(Collectors.toUnmodifiableList()),
+        refreshTimestamp);
+  }
+
+  /** Other nodes refresh or evict the written configs, unless the invalidations are lost. */
+  private void publishInvalidations(Collection<ConfigResourceContext> configResourceContexts) {
+    long writeTimestamp = this.clock.millis();
+    try {
+      this.invalidationChannel.publish(
+              configResourceContexts.stream()
+                  .map(
+                      configResourceContext ->
+                          new ConfigInvalidation(configResourceContext, writeTimestamp))
+                  .collect(Collectors.toUnmodifiableList()));
+    } catch (Exception e) {
+      log.error("Error publishing the invalidation of configs {}", configResourceContexts, e);
+    }
+  }
+
+  /**
+   * The time since the last refresh, or since the last full refresh became due, whichever is
+   * longer, as deletions whose invalidations were lost are only dropped by full refreshes.
+   */
+  private long getSnapshotLagMillis() {
+    long currentTimestamp = this.clock.millis();
+    return Math.max(
+        currentTimestamp - this.snapshotTimestamp,
+        currentTimestamp
+            - this.fullRefreshTimestamp
+            - this.config.getFullRefreshInterval().toMillis());
+  }
+
+  private void checkWritable() {
+    if (this.config.getWriteMode() == WriteMode.REJECT) {
+      throw Status.FAILED_PRECONDITION
+          .withDescription("Configs cannot be written through a read replica of the config service")
+          .asRuntimeException();
+    }
+  }
+
+  /** A gauge value computed each time it is read. */
+  private static final class ComputedGaugeValue extends Number {
+    private final LongSupplier valueSupplier;
+
+    ComputedGaugeValue(LongSupplier valueSupplier) {
+      this.valueSupplier = valueSupplier;
+    }
+
+    @Override
+    public int intValue() {
+      return (int) this.longValue();
+    }
+
+    @Override
+    public long longValue() {
+      return this.valueSupplier.getAsLong();
+    }
+
+    @Override
+    public float floatValue() {
+      return this.longValue();
+    }
+
+    @Override
+    public double doubleValue() {
+      return this.longValue();
+    }
+  }
+}
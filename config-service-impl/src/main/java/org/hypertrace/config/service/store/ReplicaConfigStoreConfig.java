@@ -0,0 +1,63 @@
+package org.hypertrace.config.service.store;
+
+import com.typesafe.config.Config;
+import java.time.Duration;
+import lombok.Value;
+
+/** How a read replica refreshes its snapshot of the configs, and what it does with writes. */
+@Value
+public class ReplicaConfigStoreConfig {
+  private static final String REPLICA_CONFIG = "generic.config.service.replica";
+  private static final String REFRESH_INTERVAL = "refresh.interval";
+  private static final String REFRESH_OVERLAP = "refresh.overlap";
+  private static final String FULL_REFRESH_INTERVAL = "full.refresh.interval";
+  private static final String MAX_LAG = "max.lag";
+  private static final String WRITE_MODE = "write.mode";
+
+  static final ReplicaConfigStoreConfig DEFAULT =
+      new ReplicaConfigStoreConfig(
+          Duration.ofSeconds(5),
+          Duration.ofSeconds(5),
+          Duration.ofMinutes(5),
+          Duration.ofMinutes(2),
+          WriteMode.FORWARD);
+
+  /** Interval between the reads of the configs updated since the previous refresh */
+  Duration refreshInterval;
+  /** Margin by which refreshes reach back, covering the clock skew of the writers */
+  Duration refreshOverlap;
+  /** Interval between the reads of all the configs, which drop the deleted ones */
+  Duration fullRefreshInterval;
+  /** Lag behind the primary beyond which the replica reports itself unhealthy */
+  Duration maxLag;
+
+  WriteMode writeMode;
+
+  public enum WriteMode {
+    /** Writes fail, as clients are expected to send them to the primary nodes */
+    REJECT,
+    /** Writes go to the document store, and the written configs are refreshed right after */
+    FORWARD
+  }
+
+  public static ReplicaConfigStoreConfig from(Config appConfig) {
+    if (appConfig == null || !appConfig.hasPath(REPLICA_CONFIG)) {
+      return DEFAULT;
+    }
+    Config config = appConfig.getConfig(REPLICA_CONFIG);
+    return new ReplicaConfigStoreConfig(
+        config.hasPath(REFRESH_INTERVAL)
+            ? config.getDuration(REFRESH_INTERVAL)
+            : DEFAULT.refreshInterval,
+        config.hasPath(REFRESH_OVERLAP)
+            ? config.getDuration(REFRESH_OVERLAP)
+            : DEFAULT.refreshOverlap,
+        config.hasPath(FULL_REFRESH_INTERVAL)
+            ? config.getDuration(FULL_REFRESH_INTERVAL)
+            : DEFAULT.fullRefreshInterval,
+        config.hasPath(MAX_LAG) ? config.getDuration(MAX_LAG) : DEFAULT.maxLag,
+        config.hasPath(WRITE_MODE)
+            ? config.getEnum(WriteMode.class, WRITE_MODE)
+            : DEFAULT.writeMode);
+  }
+}
@@ -187,6 +187,7 @@ class ConfigServiceGrpcImplTest {
             eq(new ConfigResource(RESOURCE_NAME, RESOURCE_NAMESPACE, TENANT_ID)),
             eq(Filter.getDefaultInstance()), // for empty filter
             eq(Pagination.getDefaultInstance()),
+            eq(Collections.emptyList()),
             eq(Collections.emptyList())))
         .thenReturn(contextSpecificConfigList);
     ConfigServiceGrpcImpl configServiceGrpc = new ConfigServiceGrpcImpl(configStore);
@@ -249,10 +250,13 @@ class ConfigServiceGrpcImplTest {
                         && TENANT_ID.equals(resource.getTenantId())),
             eq(filter),
             eq(pagination),
-            eq(List.of(sortBy))))
+            eq(List.of(sortBy)),
+            eq(List.of())))
         .thenReturn(contextSpecificConfigList);
     when(configStore.getMatchingConfigsCount(
-            eq(new ConfigResource(RESOURCE_NAME, RESOURCE_NAMESPACE, TENANT_ID)), eq(filter)))
+            eq(new ConfigResource(RESOURCE_NAME, RESOURCE_NAMESPACE, TENANT_ID)),
+            eq(filter),
+            eq(List.of())))
         .thenReturn(mockedTotalCount);
 
     ConfigServiceGrpcImpl configServiceGrpc = new ConfigServiceGrpcImpl(configStore);
@@ -0,0 +1,94 @@
+package org.hypertrace.config.service;
+
+import static org.hypertrace.config.service.TestUtils.TENANT_ID;
+import static org.hypertrace.config.service.TestUtils.getConfig1;
+import static org.hypertrace.config.service.TestUtils.getConfig2;
+import static org.hypertrace.config.service.TestUtils.getConfigResourceContext;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.protobuf.Value;
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import org.hypertrace.config.service.store.ConfigDocument;
+import org.hypertrace.config.service.store.DocumentConfigStoreConfig;
+import org.hypertrace.config.service.store.InMemoryConfigStore;
+import org.hypertrace.config.service.v1.UpsertConfigRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ConfigServiceWarmerTest {
+  private final Clock clock = mock(Clock.class);
+  private InMemoryConfigStore configStore;
+
+  @BeforeEach
+  void beforeEach() {
+    this.configStore =
+        spy(
+            new InMemoryConfigStore(
+                this.clock,
+                new DocumentConfigStoreConfig(
+                    List.of(), ConfigDocument.DEFAULT_LATEST_UPDATED_USER_EMAIL)));
+  }
+
+  @Test
+  void readsTheConfigsOfHotTenantsOnEveryIteration() throws IOException {
+    ConfigResourceContext recent = getConfigResourceContext("recent");
+    ConfigResourceContext old = getConfigResourceContext("old");
+    ConfigResourceContext otherTenant =
+        new ConfigResourceContext(
+            new ConfigResource(
+                recent.getConfigResource().getResourceName(),
+                recent.getConfigResource().getResourceNamespace(),
+                "other-tenant"),
+            "other");
+    when(this.clock.millis()).thenReturn(1_000L);
+    this.write(old, getConfig1());
+    this.write(otherTenant, getConfig1());
+    when(this.clock.millis()).thenReturn(10_000L);
+    this.write(recent, getConfig2());
+
+    assertTrue(this.warmer(List.of(), 2).warmUp());
+
+    verify(this.configStore, times(2)).getConfig(recent);
+    verify(this.configStore, never()).getConfig(old);
+    verify(this.configStore, never()).getConfig(otherTenant);
+  }
+
+  @Test
+  void readsTheConfigsOfConfiguredTenants() throws IOException {
+    ConfigResourceContext old = getConfigResourceContext("old");
+    when(this.clock.millis()).thenReturn(1_000L);
+    this.write(old, getConfig1());
+    when(this.clock.millis()).thenReturn(10_000L);
+
+    assertTrue(this.warmer(List.of(TENANT_ID), 1).warmUp());
+
+    verify(this.configStore).getConfig(old);
+  }
+
+  private ConfigServiceWarmer warmer(List<String> tenants, int iterations) {
+    return new ConfigServiceWarmer(
+        new ConfigServiceGrpcImpl(this.configStore),
+        this.configStore,
+        new ConfigServiceWarmupConfig(
+            true, tenants, Duration.ofSeconds(5), 100, iterations, Duration.ofSeconds(10)),
+        this.clock);
+  }
+
+  private void write(ConfigResourceContext configResourceContext, Value config) {
+    this.configStore.writeConfig(
+        configResourceContext,
+        "user1",
+        UpsertConfigRequest.newBuilder().setConfig(config).build(),
+        "user@email.com",
+        false);
+  }
+}
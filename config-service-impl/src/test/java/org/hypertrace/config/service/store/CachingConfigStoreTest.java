@@ -0,0 +1,154 @@
+package org.hypertrace.config.service.store;
+
+import static org.hypertrace.config.service.TestUtils.getConfig1;
+import static org.hypertrace.config.service.TestUtils.getConfig2;
+import static org.hypertrace.config.service.TestUtils.getConfigResourceContext;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.google.common.base.Ticker;
+import com.google.protobuf.Value;
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.hypertrace.config.service.ConfigResourceContext;
+import org.hypertrace.config.service.v1.UpsertConfigRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CachingConfigStoreTest {
+  private static final String USER_ID = "user1";
+  private static final String USER_EMAIL = "user@email.com";
+  private static final ConfigStoreCacheConfig CACHE_CONFIG =
+      new ConfigStoreCacheConfig(
+          true,
+          Duration.ofMinutes(1),
+          100,
+          Duration.ofSeconds(1),
+          Duration.ofSeconds(5),
+          Duration.ofHours(1));
+
+  private final AtomicLong tickerNanos = new AtomicLong();
+  private final Ticker ticker =
+      new Ticker() {
+        @Override
+        public long read() {
+          return tickerNanos.get();
+        }
+      };
+  private InMemoryConfigStore sharedStore;
+
+  @BeforeEach
+  void beforeEach() {
+    this.sharedStore =
+        spy(
+            new InMemoryConfigStore(
+                Clock.systemUTC(),
+                new DocumentConfigStoreConfig(
+                    Collections.emptyList(), ConfigDocument.DEFAULT_LATEST_UPDATED_USER_EMAIL)));
+  }
+
+  @Test
+  void servesRepeatedReadsFromTheCache() throws IOException {
+    ConfigResourceContext first = getConfigResourceContext("first");
+    ConfigResourceContext second = getConfigResourceContext("second");
+    CachingConfigStore configStore = this.cachingStore(new InMemoryConfigInvalidationChannel());
+    this.write(this.sharedStore, first, getConfig1());
+
+    assertEquals(getConfig1(), configStore.getConfig(first).orElseThrow().getConfig());
+    assertEquals(getConfig1(), configStore.getConfig(first).orElseThrow().getConfig());
+    assertTrue(configStore.getConfig(second).isEmpty());
+    assertTrue(configStore.getConfig(second).isEmpty());
+    assertEquals(1, configStore.getContextConfigs(List.of(first, second)).size());
+
+    verify(this.sharedStore, times(1)).getConfig(first);
+    verify(this.sharedStore, times(1)).getConfig(second);
+  }
+
+  @Test
+  void evictsConfigsWrittenOnOtherNodes() throws IOException {
+    ConfigResourceContext first = getConfigResourceContext("first");
+    ConfigResourceContext second = getConfigResourceContext("second");
+    InMemoryConfigInvalidationChannel invalidationChannel = new InMemoryConfigInvalidationChannel();
+    CachingConfigStore readingNode = this.cachingStore(invalidationChannel);
+    CachingConfigStore writingNode = this.cachingStore(invalidationChannel);
+    this.write(writingNode, first, getConfig1());
+    assertEquals(
+        getConfig1(),
+        readingNode.getContextConfigs(List.of(first, second)).get(first).getConfig());
+
+    this.write(writingNode, first, getConfig2());
+    this.write(writingNode, second, getConfig1());
+
+    assertEquals(getConfig2(), readingNode.getConfig(first).orElseThrow().getConfig());
+    assertEquals(getConfig1(), readingNode.getConfig(second).orElseThrow().getConfig());
+
+    writingNode.deleteConfigs(List.of(first));
+
+    assertTrue(readingNode.getConfig(first).isEmpty());
+  }
+
+  @Test
+  void dropsBulkLoadedConfigsInvalidatedDuringTheLoad() throws IOException {
+    ConfigResourceContext first = getConfigResourceContext("first");
+    InMemoryConfigInvalidationChannel invalidationChannel = new InMemoryConfigInvalidationChannel();
+    CachingConfigStore readingNode = this.cachingStore(invalidationChannel);
+    CachingConfigStore writingNode = this.cachingStore(invalidationChannel);
+    this.write(writingNode, first, getConfig1());
+    // The write lands on the other node after the load read the config
+    doAnswer(
+            invocation -> {
+              Object configs = invocation.callRealMethod();
+              this.write(writingNode, first, getConfig2());
+              return configs;
+            })
+        .doCallRealMethod()
+        .when(this.sharedStore)
+        .getContextConfigs(List.of(first));
+
+    assertEquals(
+        getConfig1(), readingNode.getContextConfigs(List.of(first)).get(first).getConfig());
+    assertEquals(getConfig2(), readingNode.getConfig(first).orElseThrow().getConfig());
+  }
+
+  @Test
+  void expiresConfigsWhoseInvalidationIsLost() throws IOException {
+    ConfigResourceContext first = getConfigResourceContext("first");
+    CachingConfigStore readingNode = this.cachingStore(new InMemoryConfigInvalidationChannel());
+    CachingConfigStore writingNode = this.cachingStore(mock(ConfigInvalidationChannel.class));
+    this.write(writingNode, first, getConfig1());
+    readingNode.getConfig(first);
+
+    this.write(writingNode, first, getConfig2());
+    this.tickerNanos.addAndGet(Duration.ofSeconds(59).toNanos());
+
+    assertEquals(getConfig1(), readingNode.getConfig(first).orElseThrow().getConfig());
+
+    this.tickerNanos.addAndGet(Duration.ofSeconds(1).toNanos());
+
+    assertEquals(getConfig2(), readingNode.getConfig(first).orElseThrow().getConfig());
+  }
+
+  private CachingConfigStore cachingStore(ConfigInvalidationChannel invalidationChannel) {
+    return new CachingConfigStore(
+        this.sharedStore, invalidationChannel, CACHE_CONFIG, Clock.systemUTC(), this.ticker);
+  }
+
+  private void write(ConfigStore configStore, ConfigResourceContext context, Value config)
+      throws IOException {
+    configStore.writeConfig(
+        context,
+        USER_ID,
+        UpsertConfigRequest.newBuilder().setConfig(config).build(),
+        USER_EMAIL,
+        false);
+  }
+}
@@ -0,0 +1,68 @@
+package org.hypertrace.config.service.store;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.google.protobuf.Struct;
+import com.google.protobuf.Value;
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+import java.util.Optional;
+import org.hypertrace.config.service.ConfigResource;
+import org.junit.jupiter.api.Test;
+
+class ConfigChangeEventOutboxConfigTest {
+  private static final String NAMESPACE = "namespace";
+
+  @Test
+  void mapsResourcesToTheirConfigTypes() {
+    ConfigChangeEventOutboxConfig outboxConfig =
+        ConfigChangeEventOutboxConfig.from(
+            buildConfig(
+                buildTypeConfig("a", Value.class.getName()),
+                buildTypeConfig("b", Struct.class.getName())));
+
+    assertEquals(
+        Optional.of(Value.class.getName()),
+        outboxConfig.getConfigType(new ConfigResource("a", NAMESPACE, "tenant")));
+    assertEquals(
+        Optional.empty(),
+        outboxConfig.getConfigType(new ConfigResource("c", NAMESPACE, "tenant")));
+  }
+
+  @Test
+  void rejectsConfigTypesNamingNoProtobufMessage() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> ConfigChangeEventOutboxConfig.from(buildConfig(buildTypeConfig("a", "Label"))));
+    assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            ConfigChangeEventOutboxConfig.from(
+                buildConfig(buildTypeConfig("a", String.class.getName()))));
+  }
+
+  @Test
+  void rejectsConfigTypesOfSeveralResources() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            ConfigChangeEventOutboxConfig.from(
+                buildConfig(
+                    buildTypeConfig("a", Value.class.getName()),
+                    buildTypeConfig("b", Value.class.getName()))));
+  }
+
+  private static String buildTypeConfig(String resourceName, String configType) {
+    return String.format(
+        "{resource.namespace = %s, resource.name = %s, config.type = \"%s\"}",
+        NAMESPACE, resourceName, configType);
+  }
+
+  private static Config buildConfig(String... typeConfigs) {
+    return ConfigFactory.parseString(
+        "generic.config.service.change.events.outbox.config.types = ["
+            + String.join(",", typeConfigs)
+            + "]");
+  }
+}
@@ -0,0 +1,167 @@
+package org.hypertrace.config.service.store;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import org.hypertrace.config.service.store.IndexedConfigPaths.Enforcement;
+import org.hypertrace.config.service.store.IndexedConfigPaths.IndexedPath;
+import org.hypertrace.config.service.store.IndexedConfigPaths.PathType;
+import org.hypertrace.config.service.store.IndexedConfigPaths.ResourceType;
+import org.junit.jupiter.api.Test;
+
+class ConfigStoreIndexProvisionerTest {
+  private static final String COLLECTION = DocumentConfigStore.CONFIGURATIONS_COLLECTION;
+
+  private final ConfigStoreIndexManager indexManager = mock(ConfigStoreIndexManager.class);
+
+  @Test
+  void createsTheMissingIndexes() {
+    when(this.indexManager.getIndexes(COLLECTION))
+        .thenReturn(
+            List.of(
+                ConfigStoreIndex.of("_id_", "_id"),
+                ConfigStoreIndex.of(
+                    "custom_key_name", "tenantId", "resourceNamespace", "resourceName", "context"),
+                ConfigStoreIndex.of("unused", "lastUpdateUserId")));
+
+    new ConfigStoreIndexProvisioner(
+            () -> this.indexManager,
+            new ConfigStoreIndexConfig(true, true, List.of("data.enabled")),
+            IndexedConfigPaths.NONE,
+            false,
+            false)
+        .provision();
+
+    verify(this.indexManager)
+        .createIndex(
+            COLLECTION,
+            ConfigStoreIndex.of(
+                "config_creation_timestamp",
+                "tenantId",
+                "resourceNamespace",
+                "resourceName",
+                "creationTimestamp"));
+    verify(this.indexManager)
+        .createIndex(COLLECTION, ConfigStoreIndex.of("config_update_timestamp", "updateTimestamp"));
+    verify(this.indexManager)
+        .createIndex(
+            COLLECTION,
+            ConfigStoreIndex.of(
+                "config_path_data.enabled",
+                "tenantId",
+                "resourceNamespace",
+                "resourceName",
+                "config.data.enabled"));
+    verify(this.indexManager, never())
+        .createIndex(
+            COLLECTION,
+            ConfigStoreIndex.of(
+                "config_key", "tenantId", "resourceNamespace", "resourceName", "context"));
+  }
+
+  @Test
+  void createsPartialIndexesOfTheDeclaredPathsOfEachResource() {
+    Map<String, String> partialFilter =
+        Map.of("resourceNamespace", "labels", "resourceName", "label-config");
+    when(this.indexManager.getIndexes(COLLECTION))
+        .thenReturn(
+            List.of(
+                ConfigStoreIndex.partial(
+                    "custom_path_name", partialFilter, "tenantId", "config.key"),
+                ConfigStoreIndex.of("config_path_color", "tenantId", "config.color")));
+
+    new ConfigStoreIndexProvisioner(
+            () -> this.indexManager,
+            new ConfigStoreIndexConfig(true, true, List.of()),
+            new IndexedConfigPaths(
+                Enforcement.FLAG,
+                10_000,
+                Map.of(
+                    new ResourceType("labels", "label-config"),
+                    Map.of(
+                        "key", new IndexedPath("key", PathType.STRING, true, true),
+                        "color", new IndexedPath("color", PathType.STRING, true, false)))),
+            false,
+            false)
+        .provision();
+
+    // An index on the same fields without the partial filter is not equivalent
+    verify(this.indexManager)
+        .createIndex(
+            COLLECTION,
+            ConfigStoreIndex.partial(
+                "config_path_labels_label-config_color",
+                partialFilter,
+                "tenantId",
+                "config.color"));
+    verify(this.indexManager, never())
+        .createIndex(
+            COLLECTION,
+            ConfigStoreIndex.partial(
+                "config_path_labels_label-config_key", partialFilter, "tenantId", "config.key"));
+  }
+
+  @Test
+  void onlyReportsMissingIndexesUnlessCreationIsEnabled() {
+    when(this.indexManager.getIndexes(COLLECTION)).thenReturn(List.of());
+
+    new ConfigStoreIndexProvisioner(
+            () -> this.indexManager,
+            new ConfigStoreIndexConfig(true, false, List.of()),
+            IndexedConfigPaths.NONE,
+            false,
+            false)
+        .provision();
+
+    verify(this.indexManager, never()).createIndex(anyString(), any());
+    verify(this.indexManager).close();
+  }
+
+  @Test
+  void createsTheIndexesOfInvalidationsAndOutboxWhenInUse() {
+    when(this.indexManager.getIndexes(anyString())).thenReturn(List.of());
+
+    new ConfigStoreIndexProvisioner(
+            () -> this.indexManager,
+            new ConfigStoreIndexConfig(true, true, List.of()),
+            IndexedConfigPaths.NONE,
+            true,
+            true)
+        .provision();
+
+    verify(this.indexManager)
+        .createIndex(
+            DocumentConfigInvalidationChannel.CONFIG_INVALIDATIONS_COLLECTION,
+            ConfigStoreIndex.of("config_invalidation_write_timestamp", "writeTimestamp"));
+    verify(this.indexManager)
+        .createIndex(
+            DocumentConfigChangeEventOutbox.CONFIG_CHANGE_EVENT_OUTBOX_COLLECTION,
+            ConfigStoreIndex.of("outbox_undelivered", "delivered", "creationTimestamp", "id"));
+    verify(this.indexManager)
+        .createIndex(
+            DocumentConfigChangeEventOutbox.CONFIG_CHANGE_EVENT_OUTBOX_COLLECTION,
+            ConfigStoreIndex.of("outbox_delivered_timestamp", "delivered", "deliveredTimestamp"));
+  }
+
+  @Test
+  void doesNotFailWhenIndexManagerCannotConnect() {
+    assertDoesNotThrow(
+        () ->
+            new ConfigStoreIndexProvisioner(
+                    () -> {
+                      throw new IllegalArgumentException("Invalid connection config");
+                    },
+                    new ConfigStoreIndexConfig(true, true, List.of()),
+                    IndexedConfigPaths.NONE,
+                    false,
+                    false)
+                .provision());
+  }
+}
@@ -0,0 +1,136 @@
+package org.hypertrace.config.service.store;
+
+import static org.hypertrace.config.service.store.ConfigChangeEventOutboxDocument.CREATION_TIMESTAMP_FIELD_NAME;
+import static org.hypertrace.config.service.store.ConfigChangeEventOutboxDocument.ID_FIELD_NAME;
+import static org.hypertrace.config.service.store.DocumentConfigChangeEventOutbox.CONFIG_CHANGE_EVENT_OUTBOX_COLLECTION;
+import static org.hypertrace.config.service.store.DocumentConfigChangeEventOutbox.CONFIG_CHANGE_EVENT_OUTBOX_LEASE_COLLECTION;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import org.hypertrace.config.change.event.v1.ConfigChangeEventValue;
+import org.hypertrace.config.service.change.event.api.ConfigChangeEventOutboxEntry;
+import org.hypertrace.config.service.change.event.util.KeyUtil;
+import org.hypertrace.config.service.store.DocumentConfigStoreTest.CloseableIteratorImpl;
+import org.hypertrace.core.documentstore.Collection;
+import org.hypertrace.core.documentstore.Datastore;
+import org.hypertrace.core.documentstore.Document;
+import org.hypertrace.core.documentstore.Filter;
+import org.hypertrace.core.documentstore.Key;
+import org.hypertrace.core.documentstore.UpdateResult;
+import org.hypertrace.core.documentstore.expression.impl.IdentifierExpression;
+import org.hypertrace.core.documentstore.expression.operators.SortOrder;
+import org.hypertrace.core.documentstore.model.options.QueryOptions;
+import org.hypertrace.core.documentstore.query.Query;
+import org.hypertrace.core.documentstore.query.SortingSpec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class DocumentConfigChangeEventOutboxTest {
+  private static final String RELAY_ID = "relay-1";
+  private static final long CURRENT_TIME_MILLIS = 1000;
+  private static final long LEASE_DURATION_MILLIS = 30_000;
+
+  private Collection collection;
+  private Collection leaseCollection;
+  private UpdateResult updateResult;
+  private DocumentConfigChangeEventOutbox outbox;
+
+  @BeforeEach
+  void setup() {
+    Datastore datastore = mock(Datastore.class);
+    collection = mock(Collection.class);
+    leaseCollection = mock(Collection.class);
+    updateResult = mock(UpdateResult.class);
+    when(datastore.getCollection(CONFIG_CHANGE_EVENT_OUTBOX_COLLECTION)).thenReturn(collection);
+    when(datastore.getCollection(CONFIG_CHANGE_EVENT_OUTBOX_LEASE_COLLECTION))
+        .thenReturn(leaseCollection);
+    outbox = new DocumentConfigChangeEventOutbox(datastore);
+  }
+
+  @Test
+  void renewsOrTakesOverClaimableLease() throws IOException {
+    when(leaseCollection.update(any(Key.class), any(), any(Filter.class))).thenReturn(updateResult);
+    when(updateResult.getUpdatedCount()).thenReturn(1L);
+
+    assertTrue(outbox.tryAcquireRelayLease(RELAY_ID, CURRENT_TIME_MILLIS, LEASE_DURATION_MILLIS));
+
+    ArgumentCaptor<Document> leaseCaptor = ArgumentCaptor.forClass(Document.class);
+    verify(leaseCollection).update(any(Key.class), leaseCaptor.capture(), any(Filter.class));
+    ConfigChangeEventOutboxLeaseDocument lease =
+        ConfigChangeEventOutboxLeaseDocument.fromJson(leaseCaptor.getValue().toJson());
+    assertEquals(RELAY_ID, lease.getOwner());
+    assertEquals(CURRENT_TIME_MILLIS + LEASE_DURATION_MILLIS, lease.getExpiryTimestamp());
+  }
+
+  @Test
+  void doesNotAcquireLeaseHeldByAnotherRelay() throws IOException {
+    when(leaseCollection.update(any(Key.class), any(), any(Filter.class))).thenReturn(updateResult);
+    when(updateResult.getUpdatedCount()).thenReturn(0L);
+    when(leaseCollection.query(any(Query.class), any()))
+        .thenReturn(new CloseableIteratorImpl(List.of(buildLease("relay-2"))));
+
+    assertFalse(outbox.tryAcquireRelayLease(RELAY_ID, CURRENT_TIME_MILLIS, LEASE_DURATION_MILLIS));
+    verify(leaseCollection, never()).upsert(any(), any());
+  }
+
+  @Test
+  void createsMissingLease() throws IOException {
+    when(leaseCollection.update(any(Key.class), any(), any(Filter.class))).thenReturn(updateResult);
+    when(updateResult.getUpdatedCount()).thenReturn(0L);
+    when(leaseCollection.query(any(Query.class), any()))
+        .thenReturn(
+            new CloseableIteratorImpl(List.of()),
+            new CloseableIteratorImpl(List.of(buildLease(RELAY_ID))));
+
+    assertTrue(outbox.tryAcquireRelayLease(RELAY_ID, CURRENT_TIME_MILLIS, LEASE_DURATION_MILLIS));
+    verify(leaseCollection).upsert(any(Key.class), any(Document.class));
+  }
+
+  @Test
+  void fetchesUndeliveredInCreationThenIdOrder() throws IOException {
+    when(collection.query(any(Query.class), any()))
+        .thenReturn(new CloseableIteratorImpl(List.of()));
+
+    outbox.fetchUndelivered(10);
+
+    List<SortingSpec> expectedSorts =
+        List.of(
+            SortingSpec.of(IdentifierExpression.of(CREATION_TIMESTAMP_FIELD_NAME), SortOrder.ASC),
+            SortingSpec.of(IdentifierExpression.of(ID_FIELD_NAME), SortOrder.ASC));
+    verify(collection)
+        .query(argThat(query -> query.getSorts().equals(expectedSorts)), any(QueryOptions.class));
+  }
+
+  @Test
+  void failsAppendWithIOException() throws IOException {
+    when(collection.bulkUpsert(any())).thenReturn(false);
+
+    assertThrows(
+        IOException.class,
+        () ->
+            outbox.append(
+                List.of(
+                    new ConfigChangeEventOutboxEntry(
+                        "id",
+                        KeyUtil.getKey("tenant", "config-type", Optional.empty()),
+                        ConfigChangeEventValue.newBuilder().build(),
+                        CURRENT_TIME_MILLIS))));
+  }
+
+  private Document buildLease(String owner) {
+    return new ConfigChangeEventOutboxLeaseDocument(
+        "relay", owner, CURRENT_TIME_MILLIS + LEASE_DURATION_MILLIS);
+  }
+}
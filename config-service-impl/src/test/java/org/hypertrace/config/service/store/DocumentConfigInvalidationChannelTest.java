@@ -0,0 +1,166 @@
+package org.hypertrace.config.service.store;
+
+import static org.hypertrace.config.service.store.ConfigInvalidationDocument.WRITE_TIMESTAMP_FIELD_NAME;
+import static org.hypertrace.config.service.store.DocumentConfigInvalidationChannel.CONFIG_INVALIDATIONS_COLLECTION;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.hypertrace.config.service.ConfigResource;
+import org.hypertrace.config.service.ConfigResourceContext;
+import org.hypertrace.config.service.store.DocumentConfigStoreTest.CloseableIteratorImpl;
+import org.hypertrace.core.documentstore.Collection;
+import org.hypertrace.core.documentstore.Datastore;
+import org.hypertrace.core.documentstore.Document;
+import org.hypertrace.core.documentstore.Filter;
+import org.hypertrace.core.documentstore.expression.impl.ConstantExpression;
+import org.hypertrace.core.documentstore.expression.impl.IdentifierExpression;
+import org.hypertrace.core.documentstore.expression.impl.RelationalExpression;
+import org.hypertrace.core.documentstore.expression.operators.RelationalOperator;
+import org.hypertrace.core.documentstore.model.options.QueryOptions;
+import org.hypertrace.core.documentstore.query.Query;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class DocumentConfigInvalidationChannelTest {
+  private static final long SUBSCRIBE_TIME_MILLIS = 100_000;
+  private static final long OVERLAP_MILLIS = 5_000;
+  private static final long RETENTION_MILLIS = 3_600_000;
+  private static final ConfigStoreCacheConfig CACHE_CONFIG =
+      new ConfigStoreCacheConfig(
+          true,
+          Duration.ofMinutes(1),
+          100,
+          // Polls are only triggered by the tests
+          Duration.ofHours(1),
+          Duration.ofMillis(OVERLAP_MILLIS),
+          Duration.ofMillis(RETENTION_MILLIS));
+
+  private final List<List<ConfigInvalidation>> deliveries = new ArrayList<>();
+  private Collection collection;
+  private Clock clock;
+  private DocumentConfigInvalidationChannel channel;
+
+  @BeforeEach
+  void setup() {
+    Datastore datastore = mock(Datastore.class);
+    collection = mock(Collection.class);
+    clock = mock(Clock.class);
+    when(datastore.getCollection(CONFIG_INVALIDATIONS_COLLECTION)).thenReturn(collection);
+    when(clock.millis()).thenReturn(SUBSCRIBE_TIME_MILLIS);
+    channel = new DocumentConfigInvalidationChannel(datastore, CACHE_CONFIG, clock);
+    channel.subscribe(deliveries::add);
+  }
+
+  @AfterEach
+  void teardown() {
+    channel.close();
+  }
+
+  @Test
+  void pollsFromThePreviousPollReachingBackByTheOverlap() throws IOException {
+    when(collection.query(any(Query.class), any()))
+        .thenReturn(new CloseableIteratorImpl(List.of()));
+    when(clock.millis()).thenReturn(SUBSCRIBE_TIME_MILLIS + 1_000);
+
+    channel.poll();
+
+    ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+    verify(collection).query(queryCaptor.capture(), any(QueryOptions.class));
+    assertEquals(
+        RelationalExpression.of(
+            IdentifierExpression.of(WRITE_TIMESTAMP_FIELD_NAME),
+            RelationalOperator.GTE,
+            ConstantExpression.of(SUBSCRIBE_TIME_MILLIS - OVERLAP_MILLIS)),
+        queryCaptor.getValue().getFilter().orElseThrow());
+  }
+
+  @Test
+  void doesNotRedeliverInvalidationsReadAgainWithinTheOverlap() throws IOException {
+    Document first = buildDocument("first", SUBSCRIBE_TIME_MILLIS + 500);
+    Document second = buildDocument("second", SUBSCRIBE_TIME_MILLIS + 1_500);
+    when(collection.query(any(Query.class), any()))
+        .thenReturn(
+            new CloseableIteratorImpl(List.of(first)),
+            new CloseableIteratorImpl(List.of(first, second)),
+            new CloseableIteratorImpl(List.of(first, second)));
+
+    when(clock.millis()).thenReturn(SUBSCRIBE_TIME_MILLIS + 1_000);
+    channel.poll();
+    when(clock.millis()).thenReturn(SUBSCRIBE_TIME_MILLIS + 2_000);
+    channel.poll();
+    // Nothing new, so nothing is delivered
+    when(clock.millis()).thenReturn(SUBSCRIBE_TIME_MILLIS + 3_000);
+    channel.poll();
+
+    assertEquals(
+        List.of(
+            List.of(buildInvalidation("first", SUBSCRIBE_TIME_MILLIS + 500)),
+            List.of(buildInvalidation("second", SUBSCRIBE_TIME_MILLIS + 1_500))),
+        deliveries);
+  }
+
+  @Test
+  void forgetsDeliveredInvalidationsOncePastTheOverlap() throws IOException {
+    Document document = buildDocument("first", SUBSCRIBE_TIME_MILLIS + 500);
+    // The store would no longer return it, so reading it again means it was forgotten
+    when(collection.query(any(Query.class), any()))
+        .thenReturn(
+            new CloseableIteratorImpl(List.of(document)),
+            new CloseableIteratorImpl(List.of(document)),
+            new CloseableIteratorImpl(List.of(document)));
+
+    when(clock.millis()).thenReturn(SUBSCRIBE_TIME_MILLIS + 1_000);
+    channel.poll();
+    // Still within the overlap of this poll, after which it is forgotten
+    when(clock.millis()).thenReturn(SUBSCRIBE_TIME_MILLIS + 500 + OVERLAP_MILLIS + 1);
+    channel.poll();
+    assertEquals(1, deliveries.size());
+    when(clock.millis()).thenReturn(SUBSCRIBE_TIME_MILLIS + 7_000);
+    channel.poll();
+
+    assertEquals(2, deliveries.size());
+  }
+
+  @Test
+  void prunesInvalidationsPastTheRetentionEveryMinute() throws IOException {
+    when(collection.query(any(Query.class), any()))
+        .thenAnswer(invocation -> new CloseableIteratorImpl(List.of()));
+
+    when(clock.millis()).thenReturn(SUBSCRIBE_TIME_MILLIS + 30_000);
+    channel.pollAndPrune();
+    verify(collection, never()).delete(any(Filter.class));
+
+    long pruneTimeMillis = SUBSCRIBE_TIME_MILLIS + 60_000;
+    when(clock.millis()).thenReturn(pruneTimeMillis);
+    channel.pollAndPrune();
+
+    ArgumentCaptor<Filter> filterCaptor = ArgumentCaptor.forClass(Filter.class);
+    verify(collection).delete(filterCaptor.capture());
+    assertEquals(
+        new Filter(Filter.Op.LT, WRITE_TIMESTAMP_FIELD_NAME, pruneTimeMillis - RETENTION_MILLIS)
+            .toString(),
+        filterCaptor.getValue().toString());
+  }
+
+  private static Document buildDocument(String context, long writeTimestamp) {
+    return ConfigInvalidationDocument.fromInvalidation(
+        context + "-id", buildInvalidation(context, writeTimestamp));
+  }
+
+  private static ConfigInvalidation buildInvalidation(String context, long writeTimestamp) {
+    return new ConfigInvalidation(
+        new ConfigResourceContext(new ConfigResource("resource", "namespace", "tenant"), context),
+        writeTimestamp);
+  }
+}
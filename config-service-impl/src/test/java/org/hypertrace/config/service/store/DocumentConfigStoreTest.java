@@ -15,7 +15,10 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -25,6 +28,7 @@ import com.google.protobuf.Value;
 import com.google.protobuf.util.Values;
 import com.typesafe.config.Config;
 import com.typesafe.config.ConfigFactory;
+import io.grpc.Status;
 import io.grpc.StatusRuntimeException;
 import java.io.IOException;
 import java.time.Clock;
@@ -34,8 +38,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import org.hypertrace.config.proto.converter.ConfigProtoConverter;
 import org.hypertrace.config.service.ConfigResource;
 import org.hypertrace.config.service.ConfigResourceContext;
+import org.hypertrace.config.service.change.event.api.ConfigChangeEventOutbox;
+import org.hypertrace.config.service.change.event.api.ConfigChangeEventOutboxEntry;
+import org.hypertrace.config.service.change.event.impl.ConfigChangeEventOutboxEntryBuilder;
+import org.hypertrace.config.service.change.event.util.KeyUtil;
 import org.hypertrace.config.service.v1.ContextSpecificConfig;
 import org.hypertrace.config.service.v1.Filter;
 import org.hypertrace.config.service.v1.LogicalFilter;
@@ -65,6 +74,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Answers;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -77,6 +87,7 @@ class DocumentConfigStoreTest {
   private static final long TIMESTAMP1 = 100L;
   private static final long TIMESTAMP2 = 200L;
   private static final long TIMESTAMP3 = 300L;
+  private static final String OUTBOX_CONFIG_TYPE = "test-config-type";
   private static Value config1 = getConfig1();
   private static Value config2 = getConfig2();
   private static ConfigResourceContext configResourceContext = getConfigResourceContext();
@@ -467,6 +478,31 @@ class DocumentConfigStoreTest {
         .query(argThat(query -> query.getSorts().equals(expectedSorts)), any(QueryOptions.class));
   }
 
+  @Test
+  void buildQuery_withContexts() throws IOException {
+    configStore.getAllConfigs(
+        new ConfigResource(RESOURCE_NAMESPACE, RESOURCE_NAME, "tenant1"),
+        Filter.getDefaultInstance(),
+        Pagination.getDefaultInstance(),
+        emptyList(),
+        List.of("context1", "context2"));
+
+    FilterTypeExpression expectedContextFilter =
+        RelationalExpression.of(
+            IdentifierExpression.of("context"),
+            org.hypertrace.core.documentstore.expression.operators.RelationalOperator.IN,
+            ConstantExpression.ofStrings(List.of("context1", "context2")));
+    verify(collection)
+        .query(
+            argThat(
+                query ->
+                    ((LogicalExpression) query.getFilter().orElseThrow())
+                        .getOperands()
+                        .get(1)
+                        .equals(expectedContextFilter)),
+            any(QueryOptions.class));
+  }
+
   @Test
   void buildQuery_withFilter() throws IOException {
     ConfigResource configResource =
@@ -1272,6 +1308,133 @@ class DocumentConfigStoreTest {
     }
   }
 
+  @Test
+  void writeConfigRecordsChangeEventInOutbox() throws IOException {
+    ConfigChangeEventOutbox outbox = mock(ConfigChangeEventOutbox.class);
+    DocumentConfigStore storeWithOutbox = buildStoreWithOutbox(outbox);
+    ConfigResourceContext resourceContext = getConfigResourceContext(CONTEXT1);
+    when(collection.query(any(Query.class), any()))
+        .thenReturn(
+            new CloseableIteratorImpl(
+                List.of(
+                    getConfigDocument(
+                        CONTEXT1, CONFIG_VERSION, config1, TIMESTAMP1, TIMESTAMP1))));
+    when(mockClock.millis()).thenReturn(TIMESTAMP2);
+
+    storeWithOutbox.writeConfig(
+        resourceContext,
+        USER_ID,
+        UpsertConfigRequest.newBuilder().setConfig(config2).build(),
+        USER_EMAIL,
+        false);
+
+    ArgumentCaptor<List<ConfigChangeEventOutboxEntry>> entriesCaptor =
+        ArgumentCaptor.forClass(List.class);
+    verify(outbox).append(entriesCaptor.capture());
+    ConfigChangeEventOutboxEntry entry = entriesCaptor.getValue().get(0);
+    assertEquals(1, entriesCaptor.getValue().size());
+    assertEquals(
+        KeyUtil.getKey(TENANT_ID, OUTBOX_CONFIG_TYPE, Optional.of(CONTEXT1)), entry.getKey());
+    assertEquals(
+        ConfigProtoConverter.convertToJsonString(config1),
+        entry.getValue().getUpdateEvent().getPreviousConfigJson());
+    assertEquals(
+        ConfigProtoConverter.convertToJsonString(config2),
+        entry.getValue().getUpdateEvent().getLatestConfigJson());
+    assertEquals(TIMESTAMP2, entry.getValue().getEventTimeMillis());
+  }
+
+  @Test
+  void deleteConfigsRecordsChangeEventInOutbox() throws IOException {
+    ConfigChangeEventOutbox outbox = mock(ConfigChangeEventOutbox.class);
+    DocumentConfigStore storeWithOutbox = buildStoreWithOutbox(outbox);
+    ConfigResourceContext resourceContext = getConfigResourceContext(CONTEXT1);
+    when(collection.query(any(Query.class), any()))
+        .thenReturn(
+            new CloseableIteratorImpl(
+                List.of(
+                    getConfigDocument(
+                        CONTEXT1, CONFIG_VERSION, config1, TIMESTAMP1, TIMESTAMP1))));
+    when(mockClock.millis()).thenReturn(TIMESTAMP2);
+
+    storeWithOutbox.deleteConfigs(List.of(resourceContext));
+
+    // Recorded before the values are gone
+    InOrder inOrder = inOrder(outbox, collection);
+    ArgumentCaptor<List<ConfigChangeEventOutboxEntry>> entriesCaptor =
+        ArgumentCaptor.forClass(List.class);
+    inOrder.verify(outbox).append(entriesCaptor.capture());
+    inOrder.verify(collection).delete(any(org.hypertrace.core.documentstore.Filter.class));
+    assertEquals(
+        ConfigProtoConverter.convertToJsonString(config1),
+        entriesCaptor.getValue().get(0).getValue().getDeleteEvent().getDeletedConfigJson());
+  }
+
+  @Test
+  void writeConfigFailsAsUnavailableWhenOutboxAppendFails() throws IOException {
+    ConfigChangeEventOutbox outbox = mock(ConfigChangeEventOutbox.class);
+    DocumentConfigStore storeWithOutbox = buildStoreWithOutbox(outbox);
+    when(collection.query(any(Query.class), any()))
+        .thenReturn(new CloseableIteratorImpl(Collections.emptyList()));
+    when(mockClock.millis()).thenReturn(TIMESTAMP2);
+    doThrow(new IOException("append failed")).when(outbox).append(any());
+
+    StatusRuntimeException exception =
+        assertThrows(
+            StatusRuntimeException.class,
+            () ->
+                storeWithOutbox.writeConfig(
+                    getConfigResourceContext(CONTEXT1),
+                    USER_ID,
+                    UpsertConfigRequest.newBuilder().setConfig(config2).build(),
+                    USER_EMAIL,
+                    false));
+
+    // The write is committed, so retrying it records its events
+    assertEquals(Status.Code.UNAVAILABLE, exception.getStatus().getCode());
+    verify(collection).upsert(any(Key.class), any(Document.class));
+  }
+
+  @Test
+  void deleteConfigsDeletesNothingWhenOutboxAppendFails() throws IOException {
+    ConfigChangeEventOutbox outbox = mock(ConfigChangeEventOutbox.class);
+    DocumentConfigStore storeWithOutbox = buildStoreWithOutbox(outbox);
+    when(collection.query(any(Query.class), any()))
+        .thenReturn(
+            new CloseableIteratorImpl(
+                List.of(
+                    getConfigDocument(
+                        CONTEXT1, CONFIG_VERSION, config1, TIMESTAMP1, TIMESTAMP1))));
+    when(mockClock.millis()).thenReturn(TIMESTAMP2);
+    doThrow(new IOException("append failed")).when(outbox).append(any());
+
+    StatusRuntimeException exception =
+        assertThrows(
+            StatusRuntimeException.class,
+            () -> storeWithOutbox.deleteConfigs(List.of(getConfigResourceContext(CONTEXT1))));
+
+    assertEquals(Status.Code.UNAVAILABLE, exception.getStatus().getCode());
+    verify(collection, never()).delete(any(org.hypertrace.core.documentstore.Filter.class));
+  }
+
+  private DocumentConfigStore buildStoreWithOutbox(ConfigChangeEventOutbox outbox) {
+    ConfigChangeEventOutboxConfig outboxConfig =
+        new ConfigChangeEventOutboxConfig(
+            Map.of(
+                new ConfigChangeEventOutboxConfig.ResourceType(RESOURCE_NAMESPACE, RESOURCE_NAME),
+                OUTBOX_CONFIG_TYPE));
+    return new DocumentConfigStore(
+        mockClock,
+        mockDatastore,
+        new DocumentConfigStoreConfig(
+            Collections.emptyList(), ConfigDocument.DEFAULT_LATEST_UPDATED_USER_EMAIL),
+        new ConfigChangeEventOutboxRecorder(
+            outbox,
+            outboxConfig,
+            new ConfigChangeEventOutboxEntryBuilder(ConfigFactory.empty()),
+            mockClock));
+  }
+
   private Document getConfigDocument(
       String context, long version, Value config, long creationTimestamp, long updateTimestamp) {
     return new ConfigDocument(
@@ -0,0 +1,221 @@
+package org.hypertrace.config.service.store;
+
+import static org.hypertrace.config.service.TestUtils.RESOURCE_NAME;
+import static org.hypertrace.config.service.TestUtils.RESOURCE_NAMESPACE;
+import static org.hypertrace.config.service.TestUtils.TENANT_ID;
+import static org.hypertrace.config.service.TestUtils.getConfig1;
+import static org.hypertrace.config.service.TestUtils.getConfig2;
+import static org.hypertrace.config.service.TestUtils.getConfigResourceContext;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.protobuf.Struct;
+import com.google.protobuf.Value;
+import com.google.protobuf.util.Values;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import java.time.Clock;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.hypertrace.config.service.ConfigResource;
+import org.hypertrace.config.service.ConfigResourceContext;
+import org.hypertrace.config.service.v1.ContextSpecificConfig;
+import org.hypertrace.config.service.v1.Filter;
+import org.hypertrace.config.service.v1.LogicalFilter;
+import org.hypertrace.config.service.v1.LogicalOperator;
+import org.hypertrace.config.service.v1.Pagination;
+import org.hypertrace.config.service.v1.RelationalFilter;
+import org.hypertrace.config.service.v1.RelationalOperator;
+import org.hypertrace.config.service.v1.Selection;
+import org.hypertrace.config.service.v1.SortBy;
+import org.hypertrace.config.service.v1.SortOrder;
+import org.hypertrace.config.service.v1.UpsertAllConfigsResponse.UpsertedConfig;
+import org.hypertrace.config.service.v1.UpsertConfigRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class InMemoryConfigStoreTest {
+  private static final String USER_ID = "user1";
+  private static final String USER_EMAIL = "user@email.com";
+  private static final ConfigResource CONFIG_RESOURCE =
+      new ConfigResource(RESOURCE_NAME, RESOURCE_NAMESPACE, TENANT_ID);
+
+  private final Clock clock = mock(Clock.class);
+  private InMemoryConfigStore configStore;
+
+  @BeforeEach
+  void beforeEach() {
+    this.configStore =
+        new InMemoryConfigStore(
+            this.clock,
+            new DocumentConfigStoreConfig(
+                Collections.emptyList(), ConfigDocument.DEFAULT_LATEST_UPDATED_USER_EMAIL));
+  }
+
+  @Test
+  void versionsWrittenConfigs() {
+    ConfigResourceContext configResourceContext = getConfigResourceContext();
+    when(this.clock.millis()).thenReturn(100L);
+    UpsertedConfig created = this.write(configResourceContext, getConfig1());
+    when(this.clock.millis()).thenReturn(200L);
+    UpsertedConfig updated = this.write(configResourceContext, getConfig2());
+
+    assertEquals(100L, created.getCreationTimestamp());
+    assertEquals(getConfig1(), updated.getPrevConfig());
+    assertEquals(100L, updated.getCreationTimestamp());
+    assertEquals(200L, updated.getUpdateTimestamp());
+    assertEquals(
+        getConfig2(), this.configStore.getConfig(configResourceContext).orElseThrow().getConfig());
+  }
+
+  @Test
+  void appliesUpsertConditionsToTheStoredConfig() {
+    ConfigResourceContext configResourceContext = getConfigResourceContext();
+    Value config = this.config("first", 1, "red");
+    UpsertConfigRequest conditionalRequest =
+        UpsertConfigRequest.newBuilder()
+            .setConfig(this.config("first", 2, "red"))
+            .setUpsertCondition(
+                this.relationalFilter(
+                    "priority", RelationalOperator.RELATIONAL_OPERATOR_EQ, Values.of(1)))
+            .build();
+
+    StatusRuntimeException exception =
+        assertThrows(StatusRuntimeException.class, () -> this.write(conditionalRequest));
+    assertEquals(Status.Code.FAILED_PRECONDITION, exception.getStatus().getCode());
+
+    this.write(configResourceContext, config);
+    this.write(conditionalRequest);
+    exception = assertThrows(StatusRuntimeException.class, () -> this.write(conditionalRequest));
+    assertEquals(Status.Code.FAILED_PRECONDITION, exception.getStatus().getCode());
+    assertEquals(
+        Values.of(2),
+        this.configStore
+            .getConfig(configResourceContext)
+            .orElseThrow()
+            .getConfig()
+            .getStructValue()
+            .getFieldsOrThrow("priority"));
+  }
+
+  @Test
+  void filtersSortsAndPaginatesConfigs() {
+    when(this.clock.millis()).thenReturn(100L, 200L, 300L, 400L);
+    this.write(getConfigResourceContext("first"), this.config("first", 3, "red"));
+    this.write(getConfigResourceContext("second"), this.config("second", 1, "blue"));
+    this.write(getConfigResourceContext("third"), this.config("third", 2, "red"));
+    this.write(
+        new ConfigResourceContext(
+            new ConfigResource(RESOURCE_NAME, RESOURCE_NAMESPACE, "other-tenant"), "fourth"),
+        this.config("fourth", 4, "red"));
+    Filter redFilter =
+        Filter.newBuilder()
+            .setLogicalFilter(
+                LogicalFilter.newBuilder()
+                    .setOperator(LogicalOperator.LOGICAL_OPERATOR_AND)
+                    .addOperands(
+                        this.relationalFilter(
+                            "tags",
+                            RelationalOperator.RELATIONAL_OPERATOR_IN,
+                            Values.of(List.of(Values.of("red")))))
+                    .addOperands(
+                        this.relationalFilter(
+                            "priority", RelationalOperator.RELATIONAL_OPERATOR_GT, Values.of(1))))
+            .build();
+    SortBy byPriority =
+        SortBy.newBuilder()
+            .setSelection(Selection.newBuilder().setConfigJsonPath("priority"))
+            .setSortOrder(SortOrder.SORT_ORDER_ASC)
+            .build();
+
+    assertEquals(
+        List.of("third", "second", "first"), this.getContexts(Filter.getDefaultInstance()));
+    assertEquals(List.of("third", "first"), this.getContexts(redFilter));
+    assertEquals(
+        List.of("second", "third"),
+        this.getContexts(
+            Filter.getDefaultInstance(),
+            Pagination.newBuilder().setOffset(0).setLimit(2).build(),
+            List.of(byPriority)));
+    assertEquals(
+        List.of("third", "first"),
+        this.getContexts(
+            Filter.getDefaultInstance(),
+            Pagination.newBuilder().setOffset(1).setLimit(2).build(),
+            List.of(byPriority)));
+    assertEquals(2, this.configStore.getMatchingConfigsCount(CONFIG_RESOURCE, redFilter));
+    assertEquals(
+        1,
+        this.configStore.getMatchingConfigsCount(
+            CONFIG_RESOURCE,
+            this.relationalFilter(
+                "name", RelationalOperator.RELATIONAL_OPERATOR_EQ, Values.of("second"))));
+  }
+
+  @Test
+  void deletesConfigs() {
+    ConfigResourceContext configResourceContext = getConfigResourceContext();
+    this.write(configResourceContext, getConfig1());
+    this.write(getConfigResourceContext("other"), getConfig2());
+
+    this.configStore.deleteConfigs(List.of(configResourceContext));
+
+    assertTrue(this.configStore.getConfig(configResourceContext).isEmpty());
+    assertEquals(
+        Map.of(getConfigResourceContext("other"), getConfig2()),
+        this.configStore
+            .getContextConfigs(List.of(configResourceContext, getConfigResourceContext("other")))
+            .entrySet()
+            .stream()
+            .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().getConfig())));
+  }
+
+  private UpsertedConfig write(ConfigResourceContext configResourceContext, Value config) {
+    return this.configStore.writeConfig(
+        configResourceContext,
+        USER_ID,
+        UpsertConfigRequest.newBuilder().setConfig(config).build(),
+        USER_EMAIL,
+        false);
+  }
+
+  private UpsertedConfig write(UpsertConfigRequest request) {
+    return this.configStore.writeConfig(
+        getConfigResourceContext(), USER_ID, request, USER_EMAIL, false);
+  }
+
+  private List<String> getContexts(Filter filter) {
+    return this.getContexts(filter, Pagination.getDefaultInstance(), List.of());
+  }
+
+  private List<String> getContexts(Filter filter, Pagination pagination, List<SortBy> sortBys) {
+    return this.configStore.getAllConfigs(CONFIG_RESOURCE, filter, pagination, sortBys).stream()
+        .map(ContextSpecificConfig::getContext)
+        .collect(Collectors.toUnmodifiableList());
+  }
+
+  private Value config(String name, int priority, String tag) {
+    return Value.newBuilder()
+        .setStructValue(
+            Struct.newBuilder()
+                .putFields("name", Values.of(name))
+                .putFields("priority", Values.of(priority))
+                .putFields("tags", Values.of(List.of(Values.of(tag), Values.of("shared")))))
+        .build();
+  }
+
+  private Filter relationalFilter(String path, RelationalOperator operator, Value value) {
+    return Filter.newBuilder()
+        .setRelationalFilter(
+            RelationalFilter.newBuilder()
+                .setConfigJsonPath(path)
+                .setOperator(operator)
+                .setValue(value))
+        .build();
+  }
+}
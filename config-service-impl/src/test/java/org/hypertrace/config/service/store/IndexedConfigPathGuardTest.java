@@ -0,0 +1,154 @@
+package org.hypertrace.config.service.store;
+
+import static org.hypertrace.config.service.TestUtils.RESOURCE_NAME;
+import static org.hypertrace.config.service.TestUtils.RESOURCE_NAMESPACE;
+import static org.hypertrace.config.service.TestUtils.TENANT_ID;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.google.protobuf.Value;
+import com.google.protobuf.util.Values;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import java.util.List;
+import java.util.Map;
+import org.hypertrace.config.service.ConfigResource;
+import org.hypertrace.config.service.store.IndexedConfigPaths.Enforcement;
+import org.hypertrace.config.service.store.IndexedConfigPaths.IndexedPath;
+import org.hypertrace.config.service.store.IndexedConfigPaths.PathType;
+import org.hypertrace.config.service.store.IndexedConfigPaths.ResourceType;
+import org.hypertrace.config.service.v1.Filter;
+import org.hypertrace.config.service.v1.LogicalFilter;
+import org.hypertrace.config.service.v1.LogicalOperator;
+import org.hypertrace.config.service.v1.RelationalFilter;
+import org.hypertrace.config.service.v1.RelationalOperator;
+import org.hypertrace.config.service.v1.Selection;
+import org.hypertrace.config.service.v1.SortBy;
+import org.junit.jupiter.api.Test;
+
+class IndexedConfigPathGuardTest {
+  private static final ConfigResource CONFIG_RESOURCE =
+      new ConfigResource(RESOURCE_NAME, RESOURCE_NAMESPACE, TENANT_ID);
+  private static final Map<ResourceType, Map<String, IndexedPath>> PATHS =
+      Map.of(
+          new ResourceType(RESOURCE_NAMESPACE, RESOURCE_NAME),
+          Map.of(
+              "data.enabled",
+              new IndexedPath("data.enabled", PathType.BOOLEAN, true, false),
+              "data.type",
+              new IndexedPath("data.type", PathType.STRING, true, true)));
+
+  @Test
+  void allowsQueriesOnIndexedPaths() {
+    IndexedConfigPathGuard guard = this.guard(Enforcement.REJECT, 100);
+
+    assertDoesNotThrow(
+        () ->
+            guard.check(CONFIG_RESOURCE, this.filter("data.enabled", Values.of(true)), List.of()));
+  }
+
+  @Test
+  void rejectsQueriesOnUnindexedPathsInLargeTenants() {
+    IndexedConfigPathGuard guard = this.guard(Enforcement.REJECT, 100);
+
+    StatusRuntimeException exception =
+        assertThrows(
+            StatusRuntimeException.class,
+            () ->
+                guard.check(
+                    CONFIG_RESOURCE, this.filter("data.name", Values.of("name")), List.of()));
+    assertEquals(Status.Code.FAILED_PRECONDITION, exception.getStatus().getCode());
+    // Declared as a boolean, and not sortable
+    assertThrows(
+        StatusRuntimeException.class,
+        () ->
+            guard.check(
+                CONFIG_RESOURCE, this.filter("data.enabled", Values.of("true")), List.of()));
+    assertThrows(
+        StatusRuntimeException.class,
+        () ->
+            guard.check(
+                CONFIG_RESOURCE, Filter.getDefaultInstance(), List.of(this.sort("data.enabled"))));
+  }
+
+  @Test
+  void checksEveryOperandOfLogicalFiltersAndEveryValueOfInLists() {
+    IndexedConfigPathGuard guard = this.guard(Enforcement.REJECT, 100);
+    Filter typeFilter =
+        this.filter(
+            "data.type",
+            RelationalOperator.RELATIONAL_OPERATOR_IN,
+            Values.of(List.of(Values.of("a"), Values.of("b"))));
+
+    assertDoesNotThrow(
+        () ->
+            guard.check(
+                CONFIG_RESOURCE,
+                this.and(this.filter("data.enabled", Values.of(true)), typeFilter),
+                List.of(this.sort("data.type"))));
+    assertThrows(
+        StatusRuntimeException.class,
+        () ->
+            guard.check(
+                CONFIG_RESOURCE,
+                this.and(typeFilter, this.and(this.filter("data.name", Values.of("name")))),
+                List.of()));
+    // Each value of the list must have the declared type
+    assertThrows(
+        StatusRuntimeException.class,
+        () ->
+            guard.check(
+                CONFIG_RESOURCE,
+                this.filter(
+                    "data.type",
+                    RelationalOperator.RELATIONAL_OPERATOR_NOT_IN,
+                    Values.of(List.of(Values.of("a"), Values.of(1)))),
+                List.of()));
+  }
+
+  @Test
+  void allowsQueriesOnUnindexedPathsInSmallTenantsOrWhenFlagging() {
+    Filter unindexedFilter = this.filter("data.name", Values.of("name"));
+
+    assertDoesNotThrow(
+        () ->
+            this.guard(Enforcement.REJECT, 99).check(CONFIG_RESOURCE, unindexedFilter, List.of()));
+    assertDoesNotThrow(
+        () -> this.guard(Enforcement.FLAG, 100).check(CONFIG_RESOURCE, unindexedFilter, List.of()));
+  }
+
+  private IndexedConfigPathGuard guard(Enforcement enforcement, long configCount) {
+    return new IndexedConfigPathGuard(
+        new IndexedConfigPaths(enforcement, 100, PATHS), configResource -> configCount);
+  }
+
+  private Filter filter(String configJsonPath, Value value) {
+    return this.filter(configJsonPath, RelationalOperator.RELATIONAL_OPERATOR_EQ, value);
+  }
+
+  private Filter filter(String configJsonPath, RelationalOperator operator, Value value) {
+    return Filter.newBuilder()
+        .setRelationalFilter(
+            RelationalFilter.newBuilder()
+                .setConfigJsonPath(configJsonPath)
+                .setOperator(operator)
+                .setValue(value))
+        .build();
+  }
+
+  private Filter and(Filter... operands) {
+    return Filter.newBuilder()
+        .setLogicalFilter(
+            LogicalFilter.newBuilder()
+                .setOperator(LogicalOperator.LOGICAL_OPERATOR_AND)
+                .addAllOperands(List.of(operands)))
+        .build();
+  }
+
+  private SortBy sort(String configJsonPath) {
+    return SortBy.newBuilder()
+        .setSelection(Selection.newBuilder().setConfigJsonPath(configJsonPath))
+        .build();
+  }
+}
@@ -0,0 +1,304 @@
+package org.hypertrace.config.service.store;
+
+import static org.hypertrace.config.service.TestUtils.RESOURCE_NAME;
+import static org.hypertrace.config.service.TestUtils.RESOURCE_NAMESPACE;
+import static org.hypertrace.config.service.TestUtils.TENANT_ID;
+import static org.hypertrace.config.service.TestUtils.getConfig1;
+import static org.hypertrace.config.service.TestUtils.getConfig2;
+import static org.hypertrace.config.service.TestUtils.getConfigResourceContext;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import com.google.protobuf.Value;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.hypertrace.config.service.ConfigResourceContext;
+import org.hypertrace.config.service.store.ReplicaConfigStoreConfig.WriteMode;
+import org.hypertrace.config.service.v1.UpsertConfigRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class ReplicaConfigStoreTest {
+  private static final String USER_ID = "user1";
+  private static final String USER_EMAIL = "user@email.com";
+
+  private final Clock clock = mock(Clock.class);
+  private final DocumentConfigStore primaryStore = mock(DocumentConfigStore.class);
+  private ReplicaConfigStore replicaConfigStore;
+
+  @AfterEach
+  void afterEach() {
+    this.replicaConfigStore.close();
+  }
+
+  @Test
+  void servesReadsFromTheRefreshedSnapshot() throws IOException {
+    ConfigResourceContext first = getConfigResourceContext("first");
+    ConfigResourceContext second = getConfigResourceContext("second");
+    when(this.clock.millis()).thenReturn(10_000L);
+    when(this.primaryStore.getConfigDocumentsUpdatedSince(0))
+        .thenReturn(List.of(this.document("first", getConfig1(), 9_000L)));
+    this.replicaConfigStore = this.startReplica(WriteMode.FORWARD);
+
+    assertEquals(getConfig1(), this.replicaConfigStore.getConfig(first).orElseThrow().getConfig());
+    assertTrue(this.replicaConfigStore.getConfig(second).isEmpty());
+
+    when(this.clock.millis()).thenReturn(20_000L);
+    when(this.primaryStore.getConfigDocumentsUpdatedSince(5_000L))
+        .thenReturn(
+            List.of(
+                this.document("first", getConfig2(), 18_000L),
+                this.document("second", getConfig1(), 19_000L)));
+    this.replicaConfigStore.refresh();
+
+    assertEquals(getConfig2(), this.replicaConfigStore.getConfig(first).orElseThrow().getConfig());
+    assertEquals(
+        getConfig1(), this.replicaConfigStore.getConfig(second).orElseThrow().getConfig());
+    verify(this.primaryStore).getConfigDocumentsUpdatedSince(0);
+    verify(this.primaryStore).getConfigDocumentsUpdatedSince(5_000L);
+    verifyNoMoreInteractions(this.primaryStore);
+  }
+
+  @Test
+  void dropsDeletedConfigsOnFullRefresh() throws IOException {
+    when(this.clock.millis()).thenReturn(10_000L);
+    when(this.primaryStore.getConfigDocumentsUpdatedSince(0))
+        .thenReturn(
+            List.of(
+                this.document("first", getConfig1(), 9_000L),
+                this.document("second", getConfig2(), 9_000L)))
+        .thenReturn(List.of(this.document("second", getConfig2(), 9_000L)));
+    this.replicaConfigStore = this.startReplica(WriteMode.FORWARD);
+
+    when(this.clock.millis()).thenReturn(10_000L + Duration.ofMinutes(5).toMillis());
+    this.replicaConfigStore.refresh();
+
+    assertTrue(this.replicaConfigStore.getConfig(getConfigResourceContext("first")).isEmpty());
+    assertEquals(
+        getConfig2(),
+        this.replicaConfigStore
+            .getConfig(getConfigResourceContext("second"))
+            .orElseThrow()
+            .getConfig());
+  }
+
+  @Test
+  void forwardsWritesAndRefreshesTheWrittenConfigs() throws IOException {
+    ConfigResourceContext first = getConfigResourceContext("first");
+    UpsertConfigRequest request = UpsertConfigRequest.newBuilder().setConfig(getConfig2()).build();
+    when(this.clock.millis()).thenReturn(10_000L);
+    when(this.primaryStore.getConfigDocumentsUpdatedSince(0))
+        .thenReturn(List.of(this.document("first", getConfig1(), 9_000L)));
+    when(this.primaryStore.getLatestVersionConfigDocs(List.of(first)))
+        .thenReturn(Map.of(first, Optional.of(this.document("first", getConfig2(), 10_000L))));
+    this.replicaConfigStore = this.startReplica(WriteMode.FORWARD);
+
+    this.replicaConfigStore.writeConfig(first, USER_ID, request, USER_EMAIL, false);
+
+    verify(this.primaryStore).writeConfig(first, USER_ID, request, USER_EMAIL, false);
+    assertEquals(getConfig2(), this.replicaConfigStore.getConfig(first).orElseThrow().getConfig());
+
+    this.replicaConfigStore.deleteConfigs(List.of(first));
+
+    verify(this.primaryStore).deleteConfigs(List.of(first));
+    assertTrue(this.replicaConfigStore.getConfig(first).isEmpty());
+  }
+
+  @Test
+  void keepsConfigsWrittenDuringFullRefresh() throws IOException {
+    ConfigResourceContext first = getConfigResourceContext("first");
+    when(this.clock.millis()).thenReturn(10_000L);
+    when(this.primaryStore.getConfigDocumentsUpdatedSince(0))
+        .thenReturn(List.of(this.document("first", getConfig1(), 9_000L)));
+    when(this.primaryStore.getLatestVersionConfigDocs(List.of(first)))
+        .thenReturn(Map.of(first, Optional.of(this.document("first", getConfig2(), 12_000L))));
+    this.replicaConfigStore = this.startReplica(WriteMode.FORWARD);
+
+    this.replicaConfigStore.writeConfig(
+        first,
+        USER_ID,
+        UpsertConfigRequest.newBuilder().setConfig(getConfig2()).build(),
+        USER_EMAIL,
+        false);
+    // The full refresh read the configs before the write
+    when(this.clock.millis()).thenReturn(10_000L + Duration.ofMinutes(5).toMillis());
+    this.replicaConfigStore.refresh();
+
+    assertEquals(getConfig2(), this.replicaConfigStore.getConfig(first).orElseThrow().getConfig());
+  }
+
+  @Test
+  void refreshesInvalidatedConfigsAndDropsDeletedOnes() throws IOException {
+    ConfigResourceContext first = getConfigResourceContext("first");
+    ConfigResourceContext second = getConfigResourceContext("second");
+    ConfigInvalidationChannel invalidationChannel = mock(ConfigInvalidationChannel.class);
+    when(this.clock.millis()).thenReturn(10_000L);
+    when(this.primaryStore.getConfigDocumentsUpdatedSince(0))
+        .thenReturn(
+            List.of(
+                this.document("first", getConfig1(), 9_000L),
+                this.document("second", getConfig1(), 9_000L)));
+    when(this.primaryStore.getLatestVersionConfigDocs(Set.of(first, second)))
+        .thenReturn(
+            Map.of(
+                first,
+                Optional.of(this.document("first", getConfig2(), 11_000L)),
+                second,
+                Optional.empty()));
+    this.replicaConfigStore = this.startReplica(WriteMode.FORWARD, invalidationChannel);
+    verify(invalidationChannel).subscribe(any());
+
+    this.replicaConfigStore.refresh(
+        List.of(new ConfigInvalidation(first, 11_000L), new ConfigInvalidation(second, 11_000L)));
+
+    assertEquals(getConfig2(), this.replicaConfigStore.getConfig(first).orElseThrow().getConfig());
+    assertTrue(this.replicaConfigStore.getConfig(second).isEmpty());
+  }
+
+  @Test
+  void keepsConfigsDeletedDuringARefreshDeleted() throws IOException {
+    ConfigResourceContext first = getConfigResourceContext("first");
+    when(this.clock.millis()).thenReturn(10_000L);
+    when(this.primaryStore.getConfigDocumentsUpdatedSince(0))
+        .thenReturn(List.of(this.document("first", getConfig1(), 9_000L)));
+    this.replicaConfigStore = this.startReplica(WriteMode.FORWARD);
+
+    when(this.clock.millis()).thenReturn(20_000L);
+    // The refresh reads the config, which is deleted before the refresh applies it
+    when(this.primaryStore.getConfigDocumentsUpdatedSince(5_000L))
+        .thenAnswer(
+            invocation -> {
+              doReturn(21_000L).when(this.clock).millis();
+              this.replicaConfigStore.deleteConfigs(List.of(first));
+              return List.of(this.document("first", getConfig2(), 19_000L));
+            });
+    this.replicaConfigStore.refresh();
+
+    assertTrue(this.replicaConfigStore.getConfig(first).isEmpty());
+  }
+
+  @Test
+  void publishesTheInvalidationsOfForwardedWrites() throws IOException {
+    ConfigResourceContext first = getConfigResourceContext("first");
+    ConfigInvalidationChannel invalidationChannel = mock(ConfigInvalidationChannel.class);
+    when(this.clock.millis()).thenReturn(10_000L);
+    when(this.primaryStore.getConfigDocumentsUpdatedSince(0)).thenReturn(Collections.emptyList());
+    this.replicaConfigStore = this.startReplica(WriteMode.FORWARD, invalidationChannel);
+
+    this.replicaConfigStore.deleteConfigs(List.of(first));
+
+    verify(invalidationChannel).publish(List.of(new ConfigInvalidation(first, 10_000L)));
+  }
+
+  @Test
+  void rejectsWritesInRejectMode() throws IOException {
+    when(this.clock.millis()).thenReturn(10_000L);
+    when(this.primaryStore.getConfigDocumentsUpdatedSince(0)).thenReturn(Collections.emptyList());
+    this.replicaConfigStore = this.startReplica(WriteMode.REJECT);
+
+    StatusRuntimeException exception =
+        assertThrows(
+            StatusRuntimeException.class,
+            () ->
+                this.replicaConfigStore.writeAllConfigs(
+                    Map.of(getConfigResourceContext("first"), getConfig1()),
+                    USER_ID,
+                    USER_EMAIL,
+                    false));
+    assertEquals(Status.Code.FAILED_PRECONDITION, exception.getStatus().getCode());
+    verify(this.primaryStore).getConfigDocumentsUpdatedSince(0);
+    verifyNoMoreInteractions(this.primaryStore);
+  }
+
+  @Test
+  void reportsUnhealthyOnceTheSnapshotLagsTooFarBehind() throws IOException {
+    when(this.clock.millis()).thenReturn(10_000L);
+    when(this.primaryStore.getConfigDocumentsUpdatedSince(0)).thenReturn(Collections.emptyList());
+    this.replicaConfigStore = this.startReplica(WriteMode.FORWARD);
+    assertTrue(this.replicaConfigStore.healthCheck());
+
+    when(this.clock.millis()).thenReturn(10_000L + Duration.ofMinutes(3).toMillis());
+    when(this.primaryStore.getConfigDocumentsUpdatedSince(anyLong()))
+        .thenThrow(new IOException("unavailable"));
+    this.replicaConfigStore.refresh();
+
+    assertFalse(this.replicaConfigStore.healthCheck());
+  }
+
+  @Test
+  void reportsUnhealthyOnceTheFullRefreshIsOverdue() throws IOException {
+    ConfigResourceContext first = getConfigResourceContext("first");
+    when(this.clock.millis()).thenReturn(10_000L);
+    when(this.primaryStore.getConfigDocumentsUpdatedSince(0))
+        .thenReturn(Collections.emptyList())
+        .thenThrow(new IOException("unavailable"));
+    when(this.primaryStore.getLatestVersionConfigDocs(Set.of(first)))
+        .thenReturn(Map.of(first, Optional.empty()));
+    this.replicaConfigStore = this.startReplica(WriteMode.FORWARD);
+
+    // Invalidations keep being refreshed, but deletions whose invalidations were lost are not
+    when(this.clock.millis()).thenReturn(10_000L + Duration.ofMinutes(7).toMillis() + 1);
+    this.replicaConfigStore.refresh();
+    this.replicaConfigStore.refresh(
+        List.of(new ConfigInvalidation(first, 10_000L + Duration.ofMinutes(7).toMillis())));
+
+    assertFalse(this.replicaConfigStore.healthCheck());
+  }
+
+  private ReplicaConfigStore startReplica(WriteMode writeMode) throws IOException {
+    return this.startReplica(writeMode, mock(ConfigInvalidationChannel.class));
+  }
+
+  private ReplicaConfigStore startReplica(
+      WriteMode writeMode, ConfigInvalidationChannel invalidationChannel) throws IOException {
+    ReplicaConfigStore replicaConfigStore =
+        new ReplicaConfigStore(
+            this.clock,
+            this.primaryStore,
+            new DocumentConfigStoreConfig(
+                Collections.emptyList(), ConfigDocument.DEFAULT_LATEST_UPDATED_USER_EMAIL),
+            new ReplicaConfigStoreConfig(
+                Duration.ofHours(1),
+                Duration.ofSeconds(5),
+                Duration.ofMinutes(5),
+                Duration.ofMinutes(2),
+                writeMode),
+            invalidationChannel);
+    replicaConfigStore.start();
+    return replicaConfigStore;
+  }
+
+  private ConfigDocument document(String context, Value config, long updateTimestamp) {
+    return new ConfigDocument(
+        RESOURCE_NAME,
+        RESOURCE_NAMESPACE,
+        TENANT_ID,
+        context,
+        1L,
+        USER_ID,
+        USER_EMAIL,
+        USER_EMAIL,
+        USER_EMAIL,
+        updateTimestamp,
+        config,
+        updateTimestamp,
+        updateTimestamp);
+  }
+}
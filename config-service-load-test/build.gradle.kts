@@ -0,0 +1,40 @@
+plugins {
+  java
+  application
+}
+
+dependencies {
+  implementation(projects.configServiceFactory)
+  implementation(projects.configServiceApi)
+  implementation(projects.configServiceChangeEventGenerator)
+  implementation(projects.labelsConfigServiceApi)
+  implementation(projects.spanProcessingConfigServiceApi)
+  // Types of the build methods of the factory
+  implementation(commonLibs.hypertrace.documentstore)
+  implementation(commonLibs.hypertrace.framework.documentstore.metrics.jakarta)
+  implementation(commonLibs.typesafe.config)
+  implementation(commonLibs.protobuf.javautil)
+  implementation(commonLibs.grpc.inprocess)
+  implementation(commonLibs.grpc.stub)
+  implementation(commonLibs.hypertrace.grpcutils.context)
+  implementation(commonLibs.hypertrace.grpcutils.client)
+  implementation(commonLibs.slf4j2.api)
+  implementation(localLibs.hdrhistogram)
+
+  annotationProcessor(commonLibs.lombok)
+  compileOnly(commonLibs.lombok)
+
+  runtimeOnly(commonLibs.log4j.slf4j2.impl)
+}
+
+application {
+  mainClass.set("org.hypertrace.config.service.loadtest.ConfigServiceLoadTest")
+}
+
+// Settings of load-test.conf are overridden with system properties, e.g.
+// gw run -Dload.test.duration=5m -Dload.test.tenant.skew=1.2
+tasks.run<JavaExec> {
+  systemProperties(
+    System.getProperties().filterKeys { it.toString().startsWith("load.test.") }
+      .mapKeys { it.key.toString() })
+}
@@ -0,0 +1,127 @@
+package org.hypertrace.config.service.loadtest;
+
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+import io.grpc.StatusRuntimeException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Drives the services of the config service, served in process and backed by the in-memory config
+ * store, with a mix of operations over tenants of skewed activity, and reports the throughput and
+ * latencies of each RPC. Settings are read from load-test.conf, overridden by system properties.
+ */
+@Slf4j
+public class ConfigServiceLoadTest {
+  private static final String CONFIG_RESOURCE = "load-test.conf";
+
+  private final LoadTestConfig config;
+  private final TenantSampler tenantSampler;
+  private final Operation[] operations;
+  private final int[] cumulativeWeights;
+
+  ConfigServiceLoadTest(LoadTestConfig config) {
+    this.config = config;
+    this.tenantSampler = new TenantSampler(config.getTenants(), config.getTenantSkew());
+    this.operations =
+        config.getOperationWeights().entrySet().stream()
+            .filter(entry -> entry.getValue() > 0)
+            .map(Map.Entry::getKey)
+            .toArray(Operation[]::new);
+    if (this.operations.length == 0) {
+      throw new IllegalArgumentException("No operation of the workload has a positive weight");
+    }
+    this.cumulativeWeights = new int[this.operations.length];
+    int total = 0;
+    for (int index = 0; index < this.operations.length; index++) {
+      total += config.getOperationWeights().get(this.operations[index]);
+      this.cumulativeWeights[index] = total;
+    }
+  }
+
+  public static void main(String[] args) throws Exception {
+    Config config =
+        ConfigFactory.systemProperties()
+            .withFallback(ConfigFactory.parseResources(CONFIG_RESOURCE))
+            .resolve();
+    new ConfigServiceLoadTest(LoadTestConfig.from(config)).run();
+  }
+
+  void run() throws Exception {
+    try (InProcessConfigService service =
+        new InProcessConfigService(this.config.getServiceConfig())) {
+      Workload workload = new Workload(service.getChannel(), this.config);
+      log.info("Seeding {} tenants", this.config.getTenants());
+      Random seedRandom = new Random(0);
+      this.tenantSampler.getTenantIds().forEach(tenantId -> workload.seed(tenantId, seedRandom));
+
+      log.info("Warming up for {}", this.config.getWarmup());
+      this.drive(workload, this.config.getWarmup(), new LatencyRecorder());
+
+      log.info("Measuring for {}", this.config.getDuration());
+      LatencyRecorder recorder = new LatencyRecorder();
+      Duration elapsed = this.drive(workload, this.config.getDuration(), recorder);
+      Map<Operation, Histogram> histograms = recorder.getHistograms();
+      recorder.report(elapsed, System.out, histograms);
+      if (this.config.getReportDirectory().isPresent()) {
+        recorder.writeHistograms(Path.of(this.config.getReportDirectory().get()), histograms);
+      }
+    }
+  }
+
+  /** Calls the operations from every thread until the duration is over. */
+  private Duration drive(Workload workload, Duration duration, LatencyRecorder recorder)
+      throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(this.config.getThreads());
+    long startNanos = System.nanoTime();
+    long endNanos = startNanos + duration.toNanos();
+    try {
+      List<Future<?>> workers = new ArrayList<>();
+      for (int thread = 0; thread < this.config.getThreads(); thread++) {
+        workers.add(executor.submit(() -> this.callUntil(workload, endNanos, recorder)));
+      }
+      for (Future<?> worker : workers) {
+        worker.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    return Duration.ofNanos(System.nanoTime() - startNanos);
+  }
+
+  private void callUntil(Workload workload, long endNanos, LatencyRecorder recorder) {
+    Random random = ThreadLocalRandom.current();
+    while (System.nanoTime() < endNanos) {
+      Operation operation = this.sampleOperation(random);
+      String tenantId = this.tenantSampler.sample(random);
+      long startNanos = System.nanoTime();
+      try {
+        workload.execute(operation, tenantId, random);
+        recorder.recordSuccess(operation, System.nanoTime() - startNanos);
+      } catch (StatusRuntimeException exception) {
+        log.debug("Call of {} failed for tenant {}", operation, tenantId, exception);
+        recorder.recordError(operation);
+      }
+    }
+  }
+
+  private Operation sampleOperation(Random random) {
+    int value = random.nextInt(this.cumulativeWeights[this.cumulativeWeights.length - 1]);
+    for (int index = 0; index < this.cumulativeWeights.length; index++) {
+      if (value < this.cumulativeWeights[index]) {
+        return this.operations[index];
+      }
+    }
+    throw new IllegalStateException("Operation weights are inconsistent");
+  }
+}
@@ -0,0 +1,78 @@
+package org.hypertrace.config.service.loadtest;
+
+import com.typesafe.config.Config;
+import io.grpc.Context;
+import io.grpc.Contexts;
+import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
+import io.grpc.Server;
+import io.grpc.ServerCall;
+import io.grpc.ServerCall.Listener;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.ServerInterceptors;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import java.io.IOException;
+import java.time.Clock;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import org.hypertrace.config.service.ConfigServiceFactory;
+import org.hypertrace.config.service.change.event.impl.ConfigChangeEventGeneratorFactory;
+import org.hypertrace.core.grpcutils.context.RequestContext;
+import org.hypertrace.core.serviceframework.grpc.GrpcPlatformService;
+
+/**
+ * The services built by {@link ConfigServiceFactory}, served in process. The domain services call
+ * the config service through the same in-process channel as the clients, as they would through
+ * the local channel of the service container.
+ */
+class InProcessConfigService implements AutoCloseable {
+  private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+  private final Server server;
+  private final ManagedChannel channel;
+
+  InProcessConfigService(Config serviceConfig) throws IOException {
+    String serverName = InProcessServerBuilder.generateName();
+    this.channel = InProcessChannelBuilder.forName(serverName).build();
+    InProcessServerBuilder serverBuilder = InProcessServerBuilder.forName(serverName);
+    for (GrpcPlatformService service :
+        new ConfigServiceFactory()
+            .buildServices(
+                this.channel,
+                serviceConfig,
+                ConfigChangeEventGeneratorFactory.getInstance()
+                    .createConfigChangeEventGenerator(serviceConfig, Clock.systemUTC()),
+                null,
+                Collections.emptyList())) {
+      serverBuilder.addService(
+          ServerInterceptors.intercept(
+              service.getGrpcServiceDefinition(), new RequestContextInterceptor()));
+    }
+    this.server = serverBuilder.build().start();
+  }
+
+  ManagedChannel getChannel() {
+    return this.channel;
+  }
+
+  @Override
+  public void close() throws InterruptedException {
+    this.channel.shutdown();
+    this.server.shutdown();
+    this.channel.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    this.server.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+  }
+
+  /** Restores the request context sent in the headers, as the service container does. */
+  private static class RequestContextInterceptor implements ServerInterceptor {
+    @Override
+    public <ReqT, RespT> Listener<ReqT> interceptCall(
+        ServerCall<ReqT, RespT> call, Metadata headers, ServerCallHandler<ReqT, RespT> next) {
+      Context context =
+          Context.current().withValue(RequestContext.CURRENT, RequestContext.fromMetadata(headers));
+      return Contexts.interceptCall(context, call, headers, next);
+    }
+  }
+}
@@ -0,0 +1,87 @@
+package org.hypertrace.config.service.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Records the latencies, in microseconds, and the errors of the calls of each operation. Recording
+ * is safe from any thread, and the histograms are read once the calls are over.
+ */
+class LatencyRecorder {
+  private static final int SIGNIFICANT_DIGITS = 3;
+  private static final double MICROS_PER_MILLI = 1000.0;
+
+  private final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+  private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+
+  LatencyRecorder() {
+    for (Operation operation : Operation.values()) {
+      this.recorders.put(operation, new Recorder(SIGNIFICANT_DIGITS));
+      this.errors.put(operation, new LongAdder());
+    }
+  }
+
+  void recordSuccess(Operation operation, long latencyNanos) {
+    this.recorders.get(operation).recordValue(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+  }
+
+  void recordError(Operation operation) {
+    this.errors.get(operation).increment();
+  }
+
+  /** Prints the throughput, errors and latency percentiles, in milliseconds, of each operation. */
+  void report(Duration duration, PrintStream out, Map<Operation, Histogram> histograms) {
+    double seconds = duration.toMillis() / 1000.0;
+    out.printf(
+        "%-28s %10s %10s %8s %9s %9s %9s %9s %9s%n",
+        "operation", "calls", "calls/s", "errors", "p50", "p90", "p99", "p99.9", "max");
+    long totalCalls = 0;
+    for (Operation operation : Operation.values()) {
+      Histogram histogram = histograms.get(operation);
+      totalCalls += histogram.getTotalCount();
+      out.printf(
+          "%-28s %10d %10.1f %8d %9.3f %9.3f %9.3f %9.3f %9.3f%n",
+          operation,
+          histogram.getTotalCount(),
+          histogram.getTotalCount() / seconds,
+          this.errors.get(operation).sum(),
+          histogram.getValueAtPercentile(50) / MICROS_PER_MILLI,
+          histogram.getValueAtPercentile(90) / MICROS_PER_MILLI,
+          histogram.getValueAtPercentile(99) / MICROS_PER_MILLI,
+          histogram.getValueAtPercentile(99.9) / MICROS_PER_MILLI,
+          histogram.getMaxValue() / MICROS_PER_MILLI);
+    }
+    out.printf("%-28s %10d %10.1f%n", "total", totalCalls, totalCalls / seconds);
+  }
+
+  /** Writes the percentile distribution of each operation, as plotted by the HdrHistogram tools. */
+  void writeHistograms(Path directory, Map<Operation, Histogram> histograms) throws IOException {
+    Files.createDirectories(directory);
+    for (Operation operation : Operation.values()) {
+      Path file = directory.resolve(operation.getConfigKey() + ".hgrm");
+      try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+        histograms.get(operation).outputPercentileDistribution(out, MICROS_PER_MILLI);
+      }
+    }
+  }
+
+  /** The histograms of the latencies recorded since the previous call, one per operation. */
+  Map<Operation, Histogram> getHistograms() {
+    Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+    Arrays.stream(Operation.values())
+        .forEach(
+            operation ->
+                histograms.put(operation, this.recorders.get(operation).getIntervalHistogram()));
+    return histograms;
+  }
+}
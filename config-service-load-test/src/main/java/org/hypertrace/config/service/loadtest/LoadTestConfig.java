@@ -0,0 +1,71 @@
+package org.hypertrace.config.service.loadtest;
+
+import com.typesafe.config.Config;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import lombok.Value;
+
+@Value
+class LoadTestConfig {
+  private static final String LOAD_TEST_CONFIG = "load.test";
+  private static final String SERVICE_CONFIG = "config.service";
+  private static final String DURATION = "duration";
+  private static final String WARMUP = "warmup";
+  private static final String THREADS = "threads";
+  private static final String TENANTS = "tenants";
+  private static final String TENANT_SKEW = "tenant.skew";
+  private static final String SEED_CONTEXTS = "seed.contexts";
+  private static final String SEED_LABELS = "seed.labels";
+  private static final String SEED_EXCLUDE_SPAN_RULES = "seed.exclude.span.rules";
+  private static final String CONTEXT_CHAIN_LENGTH = "get.config.context.chain";
+  private static final String UPSERT_BATCH_SIZE = "upsert.all.configs.batch.size";
+  private static final String WORKLOAD = "workload";
+  private static final String REPORT_DIRECTORY = "report.directory";
+
+  Duration duration;
+  Duration warmup;
+  int threads;
+  int tenants;
+  double tenantSkew;
+  int seedContexts;
+  int seedLabels;
+  int seedExcludeSpanRules;
+  int contextChainLength;
+  int upsertBatchSize;
+  Map<Operation, Integer> operationWeights;
+  /** Where the latency histograms are written, in the hgrm format, if set */
+  Optional<String> reportDirectory;
+  /** The config of the services under test */
+  Config serviceConfig;
+
+  static LoadTestConfig from(Config config) {
+    Config loadTestConfig = config.getConfig(LOAD_TEST_CONFIG);
+    Config workloadConfig = loadTestConfig.getConfig(WORKLOAD);
+    Map<Operation, Integer> operationWeights = new EnumMap<>(Operation.class);
+    Arrays.stream(Operation.values())
+        .filter(operation -> workloadConfig.hasPath(operation.getConfigKey()))
+        .forEach(
+            operation ->
+                operationWeights.put(operation, workloadConfig.getInt(operation.getConfigKey())));
+    return new LoadTestConfig(
+        loadTestConfig.getDuration(DURATION),
+        loadTestConfig.getDuration(WARMUP),
+        loadTestConfig.getInt(THREADS),
+        loadTestConfig.getInt(TENANTS),
+        loadTestConfig.getDouble(TENANT_SKEW),
+        loadTestConfig.getInt(SEED_CONTEXTS),
+        loadTestConfig.getInt(SEED_LABELS),
+        loadTestConfig.getInt(SEED_EXCLUDE_SPAN_RULES),
+        loadTestConfig.getInt(CONTEXT_CHAIN_LENGTH),
+        loadTestConfig.getInt(UPSERT_BATCH_SIZE),
+        Collections.unmodifiableMap(operationWeights),
+        loadTestConfig.hasPath(REPORT_DIRECTORY)
+            ? Optional.of(loadTestConfig.getString(REPORT_DIRECTORY))
+            : Optional.empty(),
+        config.getConfig(SERVICE_CONFIG));
+  }
+}
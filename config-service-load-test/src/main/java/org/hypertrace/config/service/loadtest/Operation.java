@@ -0,0 +1,20 @@
+package org.hypertrace.config.service.loadtest;
+
+/** The operations of the workload, each a call of one RPC. */
+enum Operation {
+  GET_CONFIG("get.config"),
+  GET_ALL_CONFIGS("get.all.configs"),
+  UPSERT_ALL_CONFIGS("upsert.all.configs"),
+  GET_OR_CREATE_LABELS("get.or.create.labels"),
+  GET_ALL_EXCLUDE_SPAN_RULES("get.all.exclude.span.rules");
+
+  private final String configKey;
+
+  Operation(String configKey) {
+    this.configKey = configKey;
+  }
+
+  String getConfigKey() {
+    return this.configKey;
+  }
+}
@@ -0,0 +1,48 @@
+package org.hypertrace.config.service.loadtest;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Picks the tenant of each request from a zipf distribution: the tenant of rank k receives a share
+ * of the requests proportional to 1 / k^skew, so a skew of 0 spreads them evenly and a skew above
+ * 1 concentrates them on a few tenants.
+ */
+class TenantSampler {
+  private final List<String> tenantIds;
+  private final double[] cumulativeProbabilities;
+
+  TenantSampler(int tenants, double skew) {
+    if (tenants < 1 || skew < 0) {
+      throw new IllegalArgumentException(
+          String.format("Invalid tenant distribution: %d tenants, skew %f", tenants, skew));
+    }
+    this.tenantIds =
+        IntStream.range(0, tenants)
+            .mapToObj(tenant -> "load-test-tenant-" + tenant)
+            .collect(Collectors.toUnmodifiableList());
+    this.cumulativeProbabilities = new double[tenants];
+    double total = 0;
+    for (int rank = 1; rank <= tenants; rank++) {
+      total += 1 / Math.pow(rank, skew);
+      this.cumulativeProbabilities[rank - 1] = total;
+    }
+    for (int index = 0; index < tenants; index++) {
+      this.cumulativeProbabilities[index] /= total;
+    }
+  }
+
+  List<String> getTenantIds() {
+    return this.tenantIds;
+  }
+
+  String sample(Random random) {
+    int index = Arrays.binarySearch(this.cumulativeProbabilities, random.nextDouble());
+    // A missing probability yields the insertion point, the first tenant whose share covers it
+    index = index < 0 ? -index - 1 : index;
+    return this.tenantIds.get(Math.min(index, this.tenantIds.size() - 1));
+  }
+}
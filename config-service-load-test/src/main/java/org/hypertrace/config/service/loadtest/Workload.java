@@ -0,0 +1,272 @@
+package org.hypertrace.config.service.loadtest;
+
+import com.google.protobuf.Struct;
+import com.google.protobuf.Value;
+import com.google.protobuf.util.Values;
+import io.grpc.Channel;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.hypertrace.config.service.v1.ConfigServiceGrpc;
+import org.hypertrace.config.service.v1.ConfigServiceGrpc.ConfigServiceBlockingStub;
+import org.hypertrace.config.service.v1.Filter;
+import org.hypertrace.config.service.v1.GetAllConfigsRequest;
+import org.hypertrace.config.service.v1.GetConfigRequest;
+import org.hypertrace.config.service.v1.LogicalFilter;
+import org.hypertrace.config.service.v1.LogicalOperator;
+import org.hypertrace.config.service.v1.Pagination;
+import org.hypertrace.config.service.v1.RelationalFilter;
+import org.hypertrace.config.service.v1.RelationalOperator;
+import org.hypertrace.config.service.v1.Selection;
+import org.hypertrace.config.service.v1.SortBy;
+import org.hypertrace.config.service.v1.SortOrder;
+import org.hypertrace.config.service.v1.UpsertAllConfigsRequest;
+import org.hypertrace.config.service.v1.UpsertAllConfigsRequest.ConfigToUpsert;
+import org.hypertrace.core.grpcutils.client.RequestContextClientCallCredsProviderFactory;
+import org.hypertrace.core.grpcutils.context.RequestContext;
+import org.hypertrace.label.config.service.v1.GetOrCreateLabelsRequest;
+import org.hypertrace.label.config.service.v1.GetOrCreateLabelsRequest.LabelRequest;
+import org.hypertrace.label.config.service.v1.LabelData;
+import org.hypertrace.label.config.service.v1.LabelsConfigServiceGrpc;
+import org.hypertrace.label.config.service.v1.LabelsConfigServiceGrpc.LabelsConfigServiceBlockingStub;
+import org.hypertrace.span.processing.config.service.v1.CreateExcludeSpanRuleRequest;
+import org.hypertrace.span.processing.config.service.v1.ExcludeSpanRuleInfo;
+import org.hypertrace.span.processing.config.service.v1.Field;
+import org.hypertrace.span.processing.config.service.v1.GetAllExcludeSpanRulesRequest;
+import org.hypertrace.span.processing.config.service.v1.RelationalSpanFilterExpression;
+import org.hypertrace.span.processing.config.service.v1.RuleType;
+import org.hypertrace.span.processing.config.service.v1.SpanFilter;
+import org.hypertrace.span.processing.config.service.v1.SpanFilterValue;
+import org.hypertrace.span.processing.config.service.v1.SpanProcessingConfigServiceGrpc;
+import org.hypertrace.span.processing.config.service.v1.SpanProcessingConfigServiceGrpc.SpanProcessingConfigServiceBlockingStub;
+
+/**
+ * Seeds the tenants and calls the RPCs of the operations, as the tenant of the request. Generic
+ * configs are written to contexts of a single resource, and read back by context chains and
+ * filters on their fields; label keys are drawn from twice the seeded ones, so some of the labels
+ * requested are created.
+ */
+class Workload {
+  private static final String RESOURCE_NAME = "load-test-settings";
+  private static final String RESOURCE_NAMESPACE = "load-test";
+  private static final int LABELS_PER_REQUEST = 5;
+  private static final int PAGE_SIZE = 50;
+  private static final int MAX_PRIORITY = 100;
+
+  private final LoadTestConfig config;
+  private final ConfigServiceBlockingStub configServiceStub;
+  private final LabelsConfigServiceBlockingStub labelsServiceStub;
+  private final SpanProcessingConfigServiceBlockingStub spanProcessingServiceStub;
+
+  Workload(Channel channel, LoadTestConfig config) {
+    this.config = config;
+    this.configServiceStub =
+        ConfigServiceGrpc.newBlockingStub(channel)
+            .withCallCredentials(
+                RequestContextClientCallCredsProviderFactory.getClientCallCredsProvider().get());
+    this.labelsServiceStub =
+        LabelsConfigServiceGrpc.newBlockingStub(channel)
+            .withCallCredentials(
+                RequestContextClientCallCredsProviderFactory.getClientCallCredsProvider().get());
+    this.spanProcessingServiceStub =
+        SpanProcessingConfigServiceGrpc.newBlockingStub(channel)
+            .withCallCredentials(
+                RequestContextClientCallCredsProviderFactory.getClientCallCredsProvider().get());
+  }
+
+  void seed(String tenantId, Random random) {
+    RequestContext requestContext = RequestContext.forTenantId(tenantId);
+    for (int offset = 0; offset < this.config.getSeedContexts(); ) {
+      List<ConfigToUpsert> configs =
+          IntStream.range(
+                  offset,
+                  Math.min(
+                      offset + this.config.getUpsertBatchSize(), this.config.getSeedContexts()))
+              .mapToObj(context -> this.buildConfigToUpsert(context, random))
+              .collect(Collectors.toUnmodifiableList());
+      requestContext.call(
+          () ->
+              this.configServiceStub.upsertAllConfigs(
+                  UpsertAllConfigsRequest.newBuilder().addAllConfigs(configs).build()));
+      offset += configs.size();
+    }
+    requestContext.call(
+        () ->
+            this.labelsServiceStub.getOrCreateLabels(
+                GetOrCreateLabelsRequest.newBuilder()
+                    .addAllRequests(
+                        IntStream.range(0, this.config.getSeedLabels())
+                            .mapToObj(this::buildLabelRequest)
+                            .collect(Collectors.toUnmodifiableList()))
+                    .build()));
+    for (int rule = 0; rule < this.config.getSeedExcludeSpanRules(); rule++) {
+      CreateExcludeSpanRuleRequest request = this.buildCreateExcludeSpanRuleRequest(rule);
+      requestContext.call(() -> this.spanProcessingServiceStub.createExcludeSpanRule(request));
+    }
+  }
+
+  void execute(Operation operation, String tenantId, Random random) {
+    RequestContext requestContext = RequestContext.forTenantId(tenantId);
+    switch (operation) {
+      case GET_CONFIG:
+        GetConfigRequest getConfigRequest = this.buildGetConfigRequest(random);
+        requestContext.call(() -> this.configServiceStub.getConfig(getConfigRequest));
+        return;
+      case GET_ALL_CONFIGS:
+        GetAllConfigsRequest getAllConfigsRequest = this.buildGetAllConfigsRequest(random);
+        requestContext.call(() -> this.configServiceStub.getAllConfigs(getAllConfigsRequest));
+        return;
+      case UPSERT_ALL_CONFIGS:
+        UpsertAllConfigsRequest upsertAllConfigsRequest =
+            UpsertAllConfigsRequest.newBuilder()
+                .addAllConfigs(
+                    // Contexts of a batch are distinct, as the config service requires
+                    random
+                        .ints(0, Math.max(1, this.config.getSeedContexts()))
+                        .distinct()
+                        .limit(
+                            Math.min(
+                                this.config.getUpsertBatchSize(),
+                                Math.max(1, this.config.getSeedContexts())))
+                        .mapToObj(context -> this.buildConfigToUpsert(context, random))
+                        .collect(Collectors.toUnmodifiableList()))
+                .build();
+        requestContext.call(() -> this.configServiceStub.upsertAllConfigs(upsertAllConfigsRequest));
+        return;
+      case GET_OR_CREATE_LABELS:
+        GetOrCreateLabelsRequest getOrCreateLabelsRequest =
+            GetOrCreateLabelsRequest.newBuilder()
+                .addAllRequests(
+                    random
+                        .ints(0, 2 * Math.max(LABELS_PER_REQUEST, this.config.getSeedLabels()))
+                        .distinct()
+                        .limit(LABELS_PER_REQUEST)
+                        .mapToObj(this::buildLabelRequest)
+                        .collect(Collectors.toUnmodifiableList()))
+                .build();
+        requestContext.call(
+            () -> this.labelsServiceStub.getOrCreateLabels(getOrCreateLabelsRequest));
+        return;
+      case GET_ALL_EXCLUDE_SPAN_RULES:
+        requestContext.call(
+            () ->
+                this.spanProcessingServiceStub.getAllExcludeSpanRules(
+                    GetAllExcludeSpanRulesRequest.getDefaultInstance()));
+        return;
+      default:
+        throw new IllegalArgumentException("Unknown operation: " + operation);
+    }
+  }
+
+  /** A chain of seeded contexts, merged in order by the config service. */
+  private GetConfigRequest buildGetConfigRequest(Random random) {
+    return GetConfigRequest.newBuilder()
+        .setResourceName(RESOURCE_NAME)
+        .setResourceNamespace(RESOURCE_NAMESPACE)
+        .addAllContexts(
+            IntStream.range(0, this.config.getContextChainLength())
+                .mapToObj(unused -> this.contextName(this.randomContext(random)))
+                .collect(Collectors.toUnmodifiableList()))
+        .build();
+  }
+
+  /** A page of the configs of a tag above a priority, by descending priority, with the total. */
+  private GetAllConfigsRequest buildGetAllConfigsRequest(Random random) {
+    Filter filter =
+        Filter.newBuilder()
+            .setLogicalFilter(
+                LogicalFilter.newBuilder()
+                    .setOperator(LogicalOperator.LOGICAL_OPERATOR_AND)
+                    .addOperands(
+                        this.relationalFilter(
+                            "tags",
+                            RelationalOperator.RELATIONAL_OPERATOR_IN,
+                            Values.of(List.of(Values.of(this.tag(random))))))
+                    .addOperands(
+                        this.relationalFilter(
+                            "priority",
+                            RelationalOperator.RELATIONAL_OPERATOR_GT,
+                            Values.of(random.nextInt(MAX_PRIORITY)))))
+            .build();
+    return GetAllConfigsRequest.newBuilder()
+        .setResourceName(RESOURCE_NAME)
+        .setResourceNamespace(RESOURCE_NAMESPACE)
+        .setFilter(filter)
+        .addSortBy(
+            SortBy.newBuilder()
+                .setSelection(Selection.newBuilder().setConfigJsonPath("priority"))
+                .setSortOrder(SortOrder.SORT_ORDER_DESC))
+        .setPagination(Pagination.newBuilder().setOffset(0).setLimit(PAGE_SIZE))
+        .setIncludeTotal(true)
+        .build();
+  }
+
+  private ConfigToUpsert buildConfigToUpsert(int context, Random random) {
+    Value config =
+        Values.of(
+            Struct.newBuilder()
+                .putAllFields(
+                    Map.of(
+                        "name", Values.of(this.contextName(context)),
+                        "priority", Values.of(random.nextInt(MAX_PRIORITY)),
+                        "enabled", Values.of(random.nextBoolean()),
+                        "tags", Values.of(List.of(Values.of(this.tag(random)), Values.of("all")))))
+                .build());
+    return ConfigToUpsert.newBuilder()
+        .setResourceName(RESOURCE_NAME)
+        .setResourceNamespace(RESOURCE_NAMESPACE)
+        .setContext(this.contextName(context))
+        .setConfig(config)
+        .build();
+  }
+
+  private LabelRequest buildLabelRequest(int label) {
+    return LabelRequest.newBuilder()
+        .setData(LabelData.newBuilder().setKey("load-test-label-" + label))
+        .build();
+  }
+
+  private CreateExcludeSpanRuleRequest buildCreateExcludeSpanRuleRequest(int rule) {
+    return CreateExcludeSpanRuleRequest.newBuilder()
+        .setRuleInfo(
+            ExcludeSpanRuleInfo.newBuilder()
+                .setName("load-test-rule-" + rule)
+                .setType(RuleType.RULE_TYPE_USER)
+                .setFilter(
+                    SpanFilter.newBuilder()
+                        .setRelationalSpanFilter(
+                            RelationalSpanFilterExpression.newBuilder()
+                                .setField(Field.FIELD_SERVICE_NAME)
+                                .setOperator(
+                                    org.hypertrace.span.processing.config.service.v1
+                                        .RelationalOperator.RELATIONAL_OPERATOR_EQUALS)
+                                .setRightOperand(
+                                    SpanFilterValue.newBuilder()
+                                        .setStringValue("load-test-service-" + rule)))))
+        .build();
+  }
+
+  private Filter relationalFilter(String configJsonPath, RelationalOperator operator, Value value) {
+    return Filter.newBuilder()
+        .setRelationalFilter(
+            RelationalFilter.newBuilder()
+                .setConfigJsonPath(configJsonPath)
+                .setOperator(operator)
+                .setValue(value))
+        .build();
+  }
+
+  private int randomContext(Random random) {
+    return random.nextInt(Math.max(1, this.config.getSeedContexts()));
+  }
+
+  private String contextName(int context) {
+    return "load-test-context-" + context;
+  }
+
+  private String tag(Random random) {
+    return "tag-" + random.nextInt(10);
+  }
+}
@@ -9,6 +9,7 @@ import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 import org.hypertrace.config.objectstore.ConfigObject;
+import org.hypertrace.config.objectstore.ContextualConfigObject;
 import org.hypertrace.config.objectstore.IdentifiedObjectStore;
 import org.hypertrace.config.objectstore.IdentifiedObjectStoreWithFilter;
 import org.hypertrace.config.service.change.event.api.ConfigChangeEventGenerator;
@@ -191,9 +192,11 @@ public class LabelApplicationRuleConfigServiceImpl
   }
 
   private Set<String> getDeletedSystemLabelApplicationRuleIds(RequestContext requestContext) {
-    return this.deletedSystemLabelApplicationRuleStore.getAllObjects(requestContext).stream()
-        .map(ConfigObject::getData)
-        .map(DeletedSystemLabelApplicationRule::getId)
+    // Deleted rules are stored with their id as the context. They are still decoded, as the
+    // eager read skipped the ones which fail to, and such a record should not hide a system rule
+    return this.deletedSystemLabelApplicationRuleStore.getAllLazyObjects(requestContext).stream()
+        .filter(deletedRule -> deletedRule.tryGetData().isPresent())
+        .map(ContextualConfigObject::getContext)
         .collect(Collectors.toUnmodifiableSet());
   }
 
@@ -1,6 +1,7 @@
 package org.hypertrace.label.application.rule.config.service;
 
 import com.google.protobuf.Value;
+import java.util.List;
 import java.util.Optional;
 import lombok.SneakyThrows;
 import org.hypertrace.config.objectstore.IdentifiedObjectStoreWithFilter;
@@ -36,6 +37,12 @@ class LabelApplicationRuleStore
                     || filter.getIdsList().stream().anyMatch(id -> id.equals(rule.getId())));
   }
 
+  @Override
+  protected List<String> buildPushedDownContexts(GetLabelApplicationRuleFilter filter) {
+    // Rules are stored with their id as the context
+    return filter.getIdsList();
+  }
+
   @Override
   protected Optional<LabelApplicationRule> buildDataFromValue(Value value) {
     try {
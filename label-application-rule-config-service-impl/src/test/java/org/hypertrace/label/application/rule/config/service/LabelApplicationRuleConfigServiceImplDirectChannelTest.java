@@ -0,0 +1,13 @@
+package org.hypertrace.label.application.rule.config.service;
+
+import io.grpc.Channel;
+
+/** Runs the service tests with the config service called directly rather than in process. */
+class LabelApplicationRuleConfigServiceImplDirectChannelTest
+    extends LabelApplicationRuleConfigServiceImplTest {
+
+  @Override
+  Channel buildConfigChannel() {
+    return mockGenericConfigService.directChannel();
+  }
+}
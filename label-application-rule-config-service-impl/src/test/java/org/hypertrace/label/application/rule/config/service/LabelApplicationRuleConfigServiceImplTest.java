@@ -8,6 +8,7 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.util.Values;
 import io.grpc.Channel;
 import io.grpc.Status;
 import io.grpc.StatusRuntimeException;
@@ -20,6 +21,8 @@ import java.util.Set;
 import java.util.stream.Collectors;
 import org.hypertrace.config.service.change.event.api.ConfigChangeEventGenerator;
 import org.hypertrace.config.service.test.MockGenericConfigService;
+import org.hypertrace.config.service.v1.ConfigServiceGrpc;
+import org.hypertrace.config.service.v1.UpsertConfigRequest;
 import org.hypertrace.label.application.rule.config.service.v1.CreateLabelApplicationRuleRequest;
 import org.hypertrace.label.application.rule.config.service.v1.CreateLabelApplicationRuleResponse;
 import org.hypertrace.label.application.rule.config.service.v1.DeleteLabelApplicationRuleRequest;
@@ -66,12 +69,17 @@ public class LabelApplicationRuleConfigServiceImplTest {
     when(config.getMaxDynamicLabelApplicationRulesAllowed()).thenReturn(2);
     mockGenericConfigService
         .addService(
-            new LabelApplicationRuleConfigServiceImpl(channel, config, configChangeEventGenerator))
+            new LabelApplicationRuleConfigServiceImpl(
+                this.buildConfigChannel(), config, configChangeEventGenerator))
         .start();
     labelApplicationRuleConfigServiceBlockingStub =
         LabelApplicationRuleConfigServiceGrpc.newBlockingStub(channel);
   }
 
+  Channel buildConfigChannel() {
+    return mockGenericConfigService.channel();
+  }
+
   @AfterEach
   void afterEach() {
     mockGenericConfigService.shutdown();
@@ -241,6 +249,22 @@ public class LabelApplicationRuleConfigServiceImplTest {
     assertEquals(Status.NOT_FOUND, Status.fromThrowable(exception));
   }
 
+  @Test
+  void getLabelApplicationRulesIgnoresUndecodableDeletedSystemRules() {
+    ConfigServiceGrpc.newBlockingStub(mockGenericConfigService.channel())
+        .upsertConfig(
+            UpsertConfigRequest.newBuilder()
+                .setResourceNamespace("labels")
+                .setResourceName("deleted-system-label-application-rule-config")
+                .setContext(systemLabelApplicationRule.getId())
+                .setConfig(Values.of("not a deleted rule"))
+                .build());
+    GetLabelApplicationRulesResponse response =
+        labelApplicationRuleConfigServiceBlockingStub.getLabelApplicationRules(
+            GetLabelApplicationRulesRequest.getDefaultInstance());
+    assertEquals(List.of(systemLabelApplicationRule), response.getLabelApplicationRulesList());
+  }
+
   @Test
   void getLabelApplicationRulesAfterDeletingSystemLabelApplicationRule() {
     LabelApplicationRule simpleRule = createSimpleRule("auth", "valid");
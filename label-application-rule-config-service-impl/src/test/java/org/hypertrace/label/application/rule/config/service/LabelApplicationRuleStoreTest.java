@@ -0,0 +1,65 @@
+package org.hypertrace.label.application.rule.config.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import org.hypertrace.config.service.change.event.api.ConfigChangeEventGenerator;
+import org.hypertrace.config.service.test.MockGenericConfigService;
+import org.hypertrace.config.service.v1.ConfigServiceGrpc;
+import org.hypertrace.label.application.rule.config.service.v1.GetLabelApplicationRuleFilter;
+import org.hypertrace.label.application.rule.config.service.v1.LabelApplicationRule;
+import org.junit.jupiter.api.Test;
+
+class LabelApplicationRuleStoreTest {
+  private final LabelApplicationRuleStore store =
+      new LabelApplicationRuleStore(
+          ConfigServiceGrpc.newBlockingStub(new MockGenericConfigService().channel()),
+          mock(ConfigChangeEventGenerator.class));
+
+  @Test
+  void pushesDownTheRuleIdsAsContexts() {
+    assertEquals(
+        List.of(),
+        this.store.buildPushedDownContexts(GetLabelApplicationRuleFilter.getDefaultInstance()));
+    assertEquals(
+        List.of("a", "b"),
+        this.store.buildPushedDownContexts(
+            GetLabelApplicationRuleFilter.newBuilder().addIds("a").addIds("b").build()));
+  }
+
+  @Test
+  void matchesTheSameRulesAsTheUnfilteredRead() {
+    List<LabelApplicationRule> rules = List.of(buildRule("a"), buildRule("b"), buildRule("c"));
+    for (List<String> ids :
+        List.of(List.<String>of(), List.of("a"), List.of("a", "c"), List.of("d"))) {
+      GetLabelApplicationRuleFilter filter =
+          GetLabelApplicationRuleFilter.newBuilder().addAllIds(ids).build();
+      List<String> pushedDownContexts = this.store.buildPushedDownContexts(filter);
+
+      assertEquals(
+          this.filterRules(rules, filter),
+          this.filterRules(
+              rules.stream()
+                  .filter(
+                      rule ->
+                          pushedDownContexts.isEmpty()
+                              || pushedDownContexts.contains(this.store.getContextFromData(rule)))
+                  .collect(Collectors.toUnmodifiableList()),
+              filter),
+          filter::toString);
+    }
+  }
+
+  private List<LabelApplicationRule> filterRules(
+      List<LabelApplicationRule> rules, GetLabelApplicationRuleFilter filter) {
+    return rules.stream()
+        .flatMap(rule -> this.store.filterConfigData(rule, filter).stream())
+        .collect(Collectors.toUnmodifiableList());
+  }
+
+  private static LabelApplicationRule buildRule(String id) {
+    return LabelApplicationRule.newBuilder().setId(id).build();
+  }
+}
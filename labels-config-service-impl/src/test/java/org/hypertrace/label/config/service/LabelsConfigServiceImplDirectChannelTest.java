@@ -0,0 +1,12 @@
+package org.hypertrace.label.config.service;
+
+import io.grpc.Channel;
+
+/** Runs the service tests with the config service called directly rather than in process. */
+class LabelsConfigServiceImplDirectChannelTest extends LabelsConfigServiceImplTest {
+
+  @Override
+  Channel buildConfigChannel() {
+    return mockGenericConfigService.directChannel();
+  }
+}
@@ -38,7 +38,7 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
-public final class LabelsConfigServiceImplTest {
+public class LabelsConfigServiceImplTest {
   LabelsConfigServiceBlockingStub labelConfigStub;
   Config config;
   MockGenericConfigService mockGenericConfigService;
@@ -79,11 +79,17 @@ public final class LabelsConfigServiceImplTest {
     Channel channel = mockGenericConfigService.channel();
     ConfigChangeEventGenerator configChangeEventGenerator = mock(ConfigChangeEventGenerator.class);
     mockGenericConfigService
-        .addService(new LabelsConfigServiceImpl(channel, config, configChangeEventGenerator))
+        .addService(
+            new LabelsConfigServiceImpl(
+                this.buildConfigChannel(), config, configChangeEventGenerator))
         .start();
     labelConfigStub = LabelsConfigServiceGrpc.newBlockingStub(channel);
   }
 
+  Channel buildConfigChannel() {
+    return mockGenericConfigService.channel();
+  }
+
   @AfterEach
   void afterEach() {
     mockGenericConfigService.shutdown();
@@ -0,0 +1,13 @@
+package org.hypertrace.notification.config.service;
+
+import io.grpc.Channel;
+
+/** Runs the service tests with the config service called directly rather than in process. */
+class NotificationChannelConfigServiceImplDirectChannelTest
+    extends NotificationChannelConfigServiceImplTest {
+
+  @Override
+  Channel buildConfigChannel() {
+    return mockGenericConfigService.directChannel();
+  }
+}
@@ -6,6 +6,7 @@ import static org.mockito.Mockito.mock;
 import com.google.protobuf.Value;
 import com.google.protobuf.util.JsonFormat;
 import com.typesafe.config.Config;
+import io.grpc.Channel;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
@@ -39,13 +40,17 @@ class NotificationChannelConfigServiceImplTest {
     mockGenericConfigService
         .addService(
             new NotificationChannelConfigServiceImpl(
-                mockGenericConfigService.channel(), mock(Config.class), configChangeEventGenerator))
+                this.buildConfigChannel(), mock(Config.class), configChangeEventGenerator))
         .start();
 
     channelStub =
         NotificationChannelConfigServiceGrpc.newBlockingStub(mockGenericConfigService.channel());
   }
 
+  Channel buildConfigChannel() {
+    return mockGenericConfigService.channel();
+  }
+
   @Test
   void testProtoChanges() throws IOException {
     String notificationChannelFileName =
@@ -15,6 +15,7 @@ dependencies {
   implementation(commonLibs.hypertrace.grpcutils.context)
   implementation(commonLibs.hypertrace.grpcutils.client)
   implementation(commonLibs.slf4j2.api)
+  implementation(commonLibs.protobuf.javautil)
 
   annotationProcessor(commonLibs.lombok)
   compileOnly(commonLibs.lombok)
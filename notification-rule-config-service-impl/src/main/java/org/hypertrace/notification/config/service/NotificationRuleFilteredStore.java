@@ -2,14 +2,23 @@ package org.hypertrace.notification.config.service;
 
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.google.protobuf.Value;
+import com.google.protobuf.util.Values;
 import io.grpc.Channel;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.hypertrace.config.objectstore.IdentifiedObjectStoreWithFilter;
 import org.hypertrace.config.proto.converter.ConfigProtoConverter;
 import org.hypertrace.config.service.change.event.api.ConfigChangeEventGenerator;
 import org.hypertrace.config.service.v1.ConfigServiceGrpc;
+import org.hypertrace.config.service.v1.Filter;
+import org.hypertrace.config.service.v1.LogicalFilter;
+import org.hypertrace.config.service.v1.LogicalOperator;
+import org.hypertrace.config.service.v1.RelationalFilter;
+import org.hypertrace.config.service.v1.RelationalOperator;
 import org.hypertrace.core.grpcutils.client.RequestContextClientCallCredsProviderFactory;
 import org.hypertrace.notification.config.service.v1.NotificationRule;
 import org.hypertrace.notification.config.service.v1.NotificationRuleFilter;
@@ -20,6 +29,9 @@ public class NotificationRuleFilteredStore
 
   private static final String NOTIFICATION_CONFIG_NAMESPACE = "notification-v1";
   private static final String NOTIFICATION_RULE_CONFIG_RESOURCE_NAME = "notificationRuleConfig";
+  private static final String DISABLED_CONFIG_JSON_PATH = "notificationRuleMutableData.disabled";
+  private static final String EVENT_CONDITION_TYPE_CONFIG_JSON_PATH =
+      "notificationRuleMutableData.eventConditionType";
 
   public NotificationRuleFilteredStore(
       Channel channel, ConfigChangeEventGenerator configChangeEventGenerator) {
@@ -63,6 +75,52 @@ public class NotificationRuleFilteredStore
         .filter(rule -> satisfiesConditionTypePredicate(rule, filter));
   }
 
+  @Override
+  protected Optional<Filter> buildPushedDownFilter(NotificationRuleFilter filter) {
+    List<Filter> filters = new ArrayList<>();
+    // Only disabled rules can be matched in the store, as a false disabled flag is not persisted
+    if (filter.hasEnabled() && !filter.getEnabled()) {
+      filters.add(
+          buildRelationalFilter(
+              DISABLED_CONFIG_JSON_PATH,
+              RelationalOperator.RELATIONAL_OPERATOR_EQ,
+              Values.of(true)));
+    }
+    // Likewise an empty condition type is not persisted, so it can't be matched in the store
+    if (!filter.getEventConditionTypeList().isEmpty()
+        && !filter.getEventConditionTypeList().contains("")) {
+      filters.add(
+          buildRelationalFilter(
+              EVENT_CONDITION_TYPE_CONFIG_JSON_PATH,
+              RelationalOperator.RELATIONAL_OPERATOR_IN,
+              Values.of(
+                  filter.getEventConditionTypeList().stream()
+                      .map(Values::of)
+                      .collect(Collectors.toUnmodifiableList()))));
+    }
+    if (filters.size() <= 1) {
+      return filters.stream().findFirst();
+    }
+    return Optional.of(
+        Filter.newBuilder()
+            .setLogicalFilter(
+                LogicalFilter.newBuilder()
+                    .setOperator(LogicalOperator.LOGICAL_OPERATOR_AND)
+                    .addAllOperands(filters))
+            .build());
+  }
+
+  private static Filter buildRelationalFilter(
+      String configJsonPath, RelationalOperator operator, Value value) {
+    return Filter.newBuilder()
+        .setRelationalFilter(
+            RelationalFilter.newBuilder()
+                .setConfigJsonPath(configJsonPath)
+                .setOperator(operator)
+                .setValue(value))
+        .build();
+  }
+
   private boolean satisfiesEnabledPredicate(
       NotificationRule notificationRule, NotificationRuleFilter filter) {
     return !filter.hasEnabled()
@@ -5,6 +5,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import io.grpc.Channel;
 import java.util.List;
 import org.hypertrace.config.service.change.event.api.ConfigChangeEventGenerator;
 import org.hypertrace.config.service.test.MockGenericConfigService;
@@ -36,13 +37,17 @@ class NotificationRuleConfigServiceImplTest {
     mockGenericConfigService
         .addService(
             new NotificationRuleConfigServiceImpl(
-                mockGenericConfigService.channel(), configChangeEventGenerator))
+                this.buildConfigChannel(), configChangeEventGenerator))
         .start();
 
     notificationStub =
         NotificationRuleConfigServiceGrpc.newBlockingStub(mockGenericConfigService.channel());
   }
 
+  Channel buildConfigChannel() {
+    return mockGenericConfigService.channel();
+  }
+
   @Test
   void createReadUpdateDeleteNotificationRules() {
     NotificationRuleMutableData notificationRuleMutableData1 =
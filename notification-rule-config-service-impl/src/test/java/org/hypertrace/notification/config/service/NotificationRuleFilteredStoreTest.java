@@ -0,0 +1,169 @@
+package org.hypertrace.notification.config.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+import com.google.protobuf.Value;
+import com.google.protobuf.util.Values;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import org.hypertrace.config.service.change.event.api.ConfigChangeEventGenerator;
+import org.hypertrace.config.service.test.MockGenericConfigService;
+import org.hypertrace.config.service.v1.Filter;
+import org.hypertrace.config.service.v1.LogicalFilter;
+import org.hypertrace.config.service.v1.LogicalOperator;
+import org.hypertrace.config.service.v1.RelationalFilter;
+import org.hypertrace.config.service.v1.RelationalOperator;
+import org.hypertrace.notification.config.service.v1.NotificationRule;
+import org.hypertrace.notification.config.service.v1.NotificationRuleFilter;
+import org.hypertrace.notification.config.service.v1.NotificationRuleMutableData;
+import org.junit.jupiter.api.Test;
+
+class NotificationRuleFilteredStoreTest {
+  private static final String DISABLED_PATH = "notificationRuleMutableData.disabled";
+  private static final String CONDITION_TYPE_PATH =
+      "notificationRuleMutableData.eventConditionType";
+
+  private final NotificationRuleFilteredStore store =
+      new NotificationRuleFilteredStore(
+          new MockGenericConfigService().channel(), mock(ConfigChangeEventGenerator.class));
+
+  @Test
+  void pushesDownDisabledAndConditionTypeFilters() {
+    assertEquals(
+        Optional.empty(),
+        this.store.buildPushedDownFilter(NotificationRuleFilter.getDefaultInstance()));
+    assertEquals(
+        Optional.of(relationalFilter(DISABLED_PATH, "EQ", Values.of(true))),
+        this.store.buildPushedDownFilter(
+            NotificationRuleFilter.newBuilder().setEnabled(false).build()));
+    assertEquals(
+        Optional.of(
+            Filter.newBuilder()
+                .setLogicalFilter(
+                    LogicalFilter.newBuilder()
+                        .setOperator(LogicalOperator.LOGICAL_OPERATOR_AND)
+                        .addOperands(relationalFilter(DISABLED_PATH, "EQ", Values.of(true)))
+                        .addOperands(
+                            relationalFilter(
+                                CONDITION_TYPE_PATH,
+                                "IN",
+                                Values.of(List.of(Values.of("a"), Values.of("b"))))))
+                .build()),
+        this.store.buildPushedDownFilter(
+            NotificationRuleFilter.newBuilder()
+                .setEnabled(false)
+                .addEventConditionType("a")
+                .addEventConditionType("b")
+                .build()));
+  }
+
+  @Test
+  void doesNotPushDownValuesWhichAreNotPersisted() {
+    // A false disabled flag and an empty condition type are left out of the stored configs
+    assertEquals(
+        Optional.empty(),
+        this.store.buildPushedDownFilter(
+            NotificationRuleFilter.newBuilder().setEnabled(true).build()));
+    assertEquals(
+        Optional.empty(),
+        this.store.buildPushedDownFilter(
+            NotificationRuleFilter.newBuilder()
+                .addEventConditionType("a")
+                .addEventConditionType("")
+                .build()));
+  }
+
+  @Test
+  void matchesTheSameRulesAsTheUnfilteredRead() {
+    List<NotificationRule> rules = new ArrayList<>();
+    for (boolean disabled : List.of(true, false)) {
+      for (String conditionType : List.of("a", "b", "")) {
+        rules.add(
+            NotificationRule.newBuilder()
+                .setId(disabled + "-" + conditionType)
+                .setNotificationRuleMutableData(
+                    NotificationRuleMutableData.newBuilder()
+                        .setDisabled(disabled)
+                        .setEventConditionType(conditionType))
+                .build());
+      }
+    }
+    for (Optional<Boolean> enabled :
+        List.of(Optional.<Boolean>empty(), Optional.of(true), Optional.of(false))) {
+      for (List<String> conditionTypes :
+          List.of(
+              List.<String>of(), List.of("a"), List.of("a", "b"), List.of(""), List.of("a", ""))) {
+        NotificationRuleFilter.Builder filter =
+            NotificationRuleFilter.newBuilder().addAllEventConditionType(conditionTypes);
+        enabled.ifPresent(filter::setEnabled);
+        Optional<Filter> pushedDownFilter = this.store.buildPushedDownFilter(filter.build());
+
+        assertEquals(
+            this.filterRules(rules, filter.build()),
+            this.filterRules(
+                rules.stream()
+                    .filter(
+                        rule ->
+                            pushedDownFilter
+                                .map(
+                                    pushedDown ->
+                                        matches(pushedDown, this.store.buildValueFromData(rule)))
+                                .orElse(true))
+                    .collect(Collectors.toUnmodifiableList()),
+                filter.build()),
+            filter::toString);
+      }
+    }
+  }
+
+  private List<NotificationRule> filterRules(
+      List<NotificationRule> rules, NotificationRuleFilter filter) {
+    return rules.stream()
+        .flatMap(rule -> this.store.filterConfigData(rule, filter).stream())
+        .collect(Collectors.toUnmodifiableList());
+  }
+
+  /** Evaluates the filters the store pushes down, as the config service does. */
+  private static boolean matches(Filter filter, Value config) {
+    if (filter.hasLogicalFilter()) {
+      return filter.getLogicalFilter().getOperandsList().stream()
+          .allMatch(operand -> matches(operand, config));
+    }
+    RelationalFilter relationalFilter = filter.getRelationalFilter();
+    Optional<Value> value = getPath(config, relationalFilter.getConfigJsonPath());
+    switch (relationalFilter.getOperator()) {
+      case RELATIONAL_OPERATOR_EQ:
+        return value.equals(Optional.of(relationalFilter.getValue()));
+      case RELATIONAL_OPERATOR_IN:
+        return value
+            .filter(relationalFilter.getValue().getListValue().getValuesList()::contains)
+            .isPresent();
+      default:
+        throw new UnsupportedOperationException(relationalFilter.getOperator().name());
+    }
+  }
+
+  private static Optional<Value> getPath(Value config, String configJsonPath) {
+    Optional<Value> value = Optional.of(config);
+    for (String key : configJsonPath.split("\\.")) {
+      value =
+          value
+              .filter(Value::hasStructValue)
+              .map(struct -> struct.getStructValue().getFieldsMap().get(key));
+    }
+    return value;
+  }
+
+  private static Filter relationalFilter(String configJsonPath, String operator, Value value) {
+    return Filter.newBuilder()
+        .setRelationalFilter(
+            RelationalFilter.newBuilder()
+                .setConfigJsonPath(configJsonPath)
+                .setOperator(RelationalOperator.valueOf("RELATIONAL_OPERATOR_" + operator))
+                .setValue(value))
+        .build();
+  }
+}
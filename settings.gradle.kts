@@ -58,3 +58,6 @@ include(":span-processing-utils")
 
 include(":partitioner-config-service-api")
 include(":partitioner-config-service-impl")
+
+include(":config-service-benchmarks")
+include(":config-service-load-test")
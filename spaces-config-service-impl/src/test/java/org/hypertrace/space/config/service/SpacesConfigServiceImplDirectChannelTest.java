@@ -0,0 +1,12 @@
+package org.hypertrace.space.config.service;
+
+import io.grpc.Channel;
+
+/** Runs the service tests with the config service called directly rather than in process. */
+class SpacesConfigServiceImplDirectChannelTest extends SpacesConfigServiceImplTest {
+
+  @Override
+  Channel buildConfigChannel() {
+    return this.mockGenericConfigService.directChannel();
+  }
+}
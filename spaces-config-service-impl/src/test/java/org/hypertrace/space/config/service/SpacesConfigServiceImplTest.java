@@ -4,6 +4,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertIterableEquals;
 
+import io.grpc.Channel;
 import java.util.List;
 import org.hypertrace.config.service.test.MockGenericConfigService;
 import org.hypertrace.spaces.config.service.v1.AttributeValueRuleData;
@@ -28,13 +29,17 @@ class SpacesConfigServiceImplTest {
         new MockGenericConfigService().mockUpsert().mockGetAll().mockDelete();
 
     this.mockGenericConfigService
-        .addService(new SpacesConfigServiceImpl(this.mockGenericConfigService.channel()))
+        .addService(new SpacesConfigServiceImpl(this.buildConfigChannel()))
         .start();
 
     this.spacesStub =
         SpacesConfigServiceGrpc.newBlockingStub(this.mockGenericConfigService.channel());
   }
 
+  Channel buildConfigChannel() {
+    return this.mockGenericConfigService.channel();
+  }
+
   @AfterEach
   void afterEach() {
     this.mockGenericConfigService.shutdown();
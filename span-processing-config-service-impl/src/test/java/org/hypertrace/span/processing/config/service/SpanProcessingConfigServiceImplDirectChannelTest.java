@@ -0,0 +1,12 @@
+package org.hypertrace.span.processing.config.service;
+
+import io.grpc.Channel;
+
+/** Runs the service tests with the config service called directly rather than in process. */
+class SpanProcessingConfigServiceImplDirectChannelTest extends SpanProcessingConfigServiceImplTest {
+
+  @Override
+  Channel buildConfigChannel() {
+    return this.mockGenericConfigService.directChannel();
+  }
+}
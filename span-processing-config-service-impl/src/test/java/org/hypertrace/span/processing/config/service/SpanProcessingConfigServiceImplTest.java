@@ -16,6 +16,7 @@ import static org.mockito.Mockito.when;
 import com.google.protobuf.Timestamp;
 import com.typesafe.config.Config;
 import com.typesafe.config.ConfigFactory;
+import io.grpc.Channel;
 import io.grpc.StatusRuntimeException;
 import java.util.List;
 import java.util.Map;
@@ -62,7 +63,7 @@ class SpanProcessingConfigServiceImplTest {
             .mockUpsertAll();
 
     ConfigServiceGrpc.ConfigServiceBlockingStub genericStub =
-        ConfigServiceGrpc.newBlockingStub(this.mockGenericConfigService.channel());
+        ConfigServiceGrpc.newBlockingStub(this.buildConfigChannel());
 
     this.timestampConverter = mock(TimestampConverter.class);
     ConfigChangeEventGenerator configChangeEventGenerator = mock(ConfigChangeEventGenerator.class);
@@ -83,6 +84,10 @@ class SpanProcessingConfigServiceImplTest {
         .thenReturn(Timestamp.newBuilder().setSeconds(100).build());
   }
 
+  Channel buildConfigChannel() {
+    return this.mockGenericConfigService.channel();
+  }
+
   @AfterEach
   void afterEach() {
     this.mockGenericConfigService.shutdown();